@@ -0,0 +1,102 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.Aggregates;
+import com.example.calculatorapp.CalculatorModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Масштабирование агрегатных операций по количеству потоков ({@code threads} от 1 до числа ядер).
+ * Результаты {@link Aggregates} совпадают при любом {@code threads}; для сравнения приведены
+ * простой последовательный цикл и сложение через модель ({@code setOperator("+")}/{@code calculate()}
+ * на первых {@link #MODEL_PREFIX} элементах).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AggregateBenchmark {
+    private static final int MODEL_PREFIX = 100_000; // Количество элементов для сложения через модель
+
+    @Param({"1", "2", "4", "8"})
+    private int threads; // Параллелизм пула
+
+    @Param({"10000000"})
+    private int size; // Количество операндов
+
+    private double[] values; // Операнды
+    private String[] texts; // Первые операнды в виде текста для модели
+    private ForkJoinPool pool; // Пул с заданным параллелизмом
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble() * 1000;
+        }
+        texts = new String[Math.min(size, MODEL_PREFIX)];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = Double.toString(values[i]);
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double sum() {
+        return Aggregates.sum(values, pool);
+    }
+
+    @Benchmark
+    public double product() {
+        return Aggregates.product(values, pool);
+    }
+
+    @Benchmark
+    public Aggregates.Summary summarize() {
+        return Aggregates.summarize(values, pool);
+    }
+
+    @Benchmark
+    public double serialLoop() {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public String modelLoop() {
+        CalculatorModel model = new CalculatorModel();
+        model.appendNumber(texts[0]);
+        for (int i = 1; i < texts.length; i++) {
+            model.setOperator("+");
+            model.appendNumber(texts[i]);
+        }
+        model.calculate();
+        return model.getCurrentValue();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.calculatorapp.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа для запуска бенчмарков.
+ * Принимает стандартные аргументы командной строки JMH и всегда подключает GC-профайлер,
+ * чтобы в отчете, помимо пропускной способности и среднего времени, была скорость выделения памяти.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Запускает бенчмарки.
+     * @param args аргументы командной строки JMH (например, регулярное выражение имени бенчмарка)
+     * @throws CommandLineOptionException при неверных аргументах
+     * @throws RunnerException при ошибке выполнения бенчмарков
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculationCache;
+import com.example.calculatorapp.CalculatorModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение вычислений с кэшем результатов и без него.
+ * Операнды повторяются по кругу из {@code distinct} значений, поэтому при размере кэша
+ * не меньше {@code distinct} почти все обращения — попадания.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cached; // Подключен ли кэш
+
+    @Param({"256"})
+    private int distinct; // Количество различных операндов
+
+    private String[] operands; // Операнды в виде текста кнопок
+    private CalculatorModel doubleModel; // Модель в режиме double
+    private CalculatorModel decimalModel; // Модель в режиме повышенной точности
+    private int next = 0; // Индекс следующего операнда
+
+    @Setup
+    public void setUp() {
+        operands = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            operands[i] = Integer.toString(1000 + i * 7) + ".5";
+        }
+        doubleModel = new CalculatorModel();
+        decimalModel = new CalculatorModel();
+        decimalModel.setPrecision(MathContext.DECIMAL128);
+        if (cached) {
+            doubleModel.setCache(new CalculationCache(1024));
+            decimalModel.setCache(new CalculationCache(1024));
+        }
+    }
+
+    private String nextOperand() {
+        String operand = operands[next];
+        next = (next + 1) % operands.length;
+        return operand;
+    }
+
+    /**
+     * Вычисляет унарную операцию над следующим операндом.
+     */
+    private static String unary(CalculatorModel model, String operand, String operator) {
+        model.clear();
+        model.appendNumber(operand);
+        model.setOperator(operator);
+        model.calculate();
+        return model.getCurrentValue();
+    }
+
+    /**
+     * Вычисляет бинарную операцию над следующим операндом.
+     */
+    private static String binary(CalculatorModel model, String left, String operator, String right) {
+        model.clear();
+        model.appendNumber(left);
+        model.setOperator(operator);
+        model.appendNumber(right);
+        model.calculate();
+        return model.getCurrentValue();
+    }
+
+    @Benchmark
+    public String doubleSquareRoot() {
+        return unary(doubleModel, nextOperand(), "√x");
+    }
+
+    @Benchmark
+    public String decimalSquareRoot() {
+        return unary(decimalModel, nextOperand(), "√x");
+    }
+
+    @Benchmark
+    public String decimalDivision() {
+        return binary(decimalModel, "1", "/", nextOperand());
+    }
+}
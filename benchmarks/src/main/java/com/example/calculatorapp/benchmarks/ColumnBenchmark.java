@@ -0,0 +1,69 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.ColumnOperations;
+import com.example.calculatorapp.Opcode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки массовых операций над столбцами операндов.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int size; // Количество элементов столбца
+
+    @Param({"MULTIPLY", "SQUARE", "SQUARE_ROOT", "RECIPROCAL"})
+    private Opcode operator; // Применяемый оператор
+
+    private double[] operands; // Столбец операндов
+    private double[] results; // Столбец результатов
+    private long[] errors; // Маска ошибок
+    private DoubleBuffer directOperands; // Столбец операндов вне кучи
+    private DoubleBuffer directResults; // Столбец результатов вне кучи
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        operands = new double[size];
+        for (int i = 0; i < size; i++) {
+            operands[i] = random.nextDouble() * 200 - 100;
+        }
+        results = new double[size];
+        errors = new long[ColumnOperations.errorMaskLength(size)];
+        directOperands = ByteBuffer.allocateDirect(size * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        directOperands.put(operands).flip();
+        directResults = ByteBuffer.allocateDirect(size * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    @Benchmark
+    public int heapColumn() {
+        return ColumnOperations.apply(operator, operands, 3, results, errors);
+    }
+
+    @Benchmark
+    public int directColumn() {
+        return ColumnOperations.apply(operator, directOperands, 3, directResults, errors);
+    }
+}
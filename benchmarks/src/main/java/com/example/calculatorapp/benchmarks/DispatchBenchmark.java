@@ -0,0 +1,95 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorModel;
+import com.example.calculatorapp.CalculatorView;
+import com.example.calculatorapp.InputProcessor;
+import com.example.calculatorapp.Opcode;
+import javafx.scene.input.KeyCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость пути от нажатой клавиши до модели в расчете на одно нажатие.
+ * {@code stringDispatch} повторяет прежний путь: имя клавиши, строковый {@code switch} до текста кнопки
+ * и строковый {@code switch} в {@link InputProcessor}. {@code opcodeDispatch} — текущий путь:
+ * {@link KeyCode}, {@code EnumMap} до {@link Opcode} и {@code switch} по перечислению.
+ * Обе последовательности нажатий одинаковы и содержат цифры, операторы, {@code =} и {@code C}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    private static final KeyCode[] KEYS = {
+            KeyCode.DIGIT7, KeyCode.PLUS, KeyCode.DIGIT3, KeyCode.ENTER, KeyCode.MULTIPLY, KeyCode.NUMPAD2,
+            KeyCode.ENTER, KeyCode.X, KeyCode.BACK_SPACE, KeyCode.DIGIT9, KeyCode.DIVIDE, KeyCode.DIGIT4,
+            KeyCode.ENTER, KeyCode.S, KeyCode.ESCAPE, KeyCode.DELETE
+    };
+
+    private final String[] keyNames = new String[KEYS.length]; // Имена клавиш для прежнего пути
+    private final CalculatorModel stringModel = new CalculatorModel(); // Модель для прежнего пути
+    private final CalculatorModel opcodeModel = new CalculatorModel(); // Модель для текущего пути
+    private int next = 0; // Индекс следующей клавиши
+
+    public DispatchBenchmark() {
+        for (int i = 0; i < KEYS.length; i++) {
+            keyNames[i] = KEYS[i].toString();
+        }
+    }
+
+    @Benchmark
+    public String stringDispatch() {
+        String text = mapKeyToButtonText(keyNames[next++ & 15]);
+        return text == null ? null : InputProcessor.process(stringModel, text);
+    }
+
+    @Benchmark
+    public String opcodeDispatch() {
+        Opcode opcode = CalculatorView.getOpcode(KEYS[next++ & 15]);
+        return opcode == null ? null : InputProcessor.process(opcodeModel, opcode);
+    }
+
+    /**
+     * Прежнее соответствие имен клавиш текстам кнопок.
+     */
+    private static String mapKeyToButtonText(String key) {
+        return switch (key) {
+            case "DIGIT0", "NUMPAD0" -> "0";
+            case "DIGIT1", "NUMPAD1" -> "1";
+            case "DIGIT2", "NUMPAD2" -> "2";
+            case "DIGIT3", "NUMPAD3" -> "3";
+            case "DIGIT4", "NUMPAD4" -> "4";
+            case "DIGIT5", "NUMPAD5" -> "5";
+            case "DIGIT6", "NUMPAD6" -> "6";
+            case "DIGIT7", "NUMPAD7" -> "7";
+            case "DIGIT8", "NUMPAD8" -> "8";
+            case "DIGIT9", "NUMPAD9" -> "9";
+            case "DECIMAL" -> ".";
+            case "ENTER" -> "=";
+            case "PLUS" -> "+";
+            case "MINUS" -> "-";
+            case "MULTIPLY" -> "*";
+            case "DIVIDE" -> "/";
+            case "BACK_SPACE" -> "⌫";
+            case "DELETE" -> "C";
+            case "ESCAPE" -> "CE";
+            case "P" -> "%";
+            case "R" -> "√x";
+            case "X" -> "x^2";
+            case "I" -> "1/x";
+            case "S" -> "+/-";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorModel;
+import com.example.calculatorapp.NumberEntry;
+import com.example.calculatorapp.NumberFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки форматирования и ввода чисел.
+ * Для {@link #numberEntryKeystrokes()} GC-профайлер должен показывать около 0 байт на операцию.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    @Param({"42", "-1234567", "0.30000000000000004", "1.0E20"})
+    private String value; // Отображаемое значение
+
+    private CalculatorModel model; // Модель с введенным значением
+    private double number; // Значение в виде числа
+    private long integer; // Целая часть значения
+    private final char[] buffer = new char[32]; // Переиспользуемый буфер
+    private final NumberEntry entry = new NumberEntry(); // Переиспользуемое поле ввода
+
+    @Setup
+    public void setUp() {
+        model = new CalculatorModel();
+        model.appendNumber(value);
+        number = Double.parseDouble(value);
+        integer = (long) number;
+    }
+
+    @Benchmark
+    public String modelCurrentValue() {
+        return model.getCurrentValue();
+    }
+
+    @Benchmark
+    public int formatDoubleToBuffer() {
+        return NumberFormatter.formatDouble(number, buffer, 0);
+    }
+
+    @Benchmark
+    public int formatLongToBuffer() {
+        return NumberFormatter.formatLong(integer, buffer, 0);
+    }
+
+    @Benchmark
+    public String longToString() {
+        return Long.toString(integer);
+    }
+
+    @Benchmark
+    public int numberEntryKeystrokes() {
+        entry.clear();
+        entry.appendDigit(1);
+        entry.appendDigit(2);
+        entry.appendDigit(3);
+        entry.appendPoint();
+        entry.appendDigit(4);
+        entry.appendDigit(5);
+        entry.toggleSign();
+        entry.backspace();
+        return entry.format(buffer, 0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.FormulaSheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки пересчета листа формул. Лист состоит из {@code groups} независимых групп:
+ * вход {@code in_i}, формулы {@code a_i = f(in_i)}, {@code b_i = a_i * rate + in_i} и {@code c_i = sqrt(b_i) + b_i / 2},
+ * где {@code f(x) = x^2 + rate*x}; общая переменная {@code rate} влияет на все группы.
+ * <ul>
+ *     <li>{@link #editOneInput()} — изменение одного входа: пересчитываются 4 формулы;</li>
+ *     <li>{@link #editShared()} — изменение {@code rate}: пересчитываются все группы, уровни — параллельно;</li>
+ *     <li>{@link #recomputeAll()} — полный пересчет листа для сравнения.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormulaSheetBenchmark {
+
+    @Param({"1000", "10000"})
+    private int groups; // Количество групп формул
+
+    private FormulaSheet sheet; // Лист формул
+    private int next = 0; // Номер следующего изменяемого входа
+    private double rate = 0.07; // Текущее значение общей переменной
+
+    @Setup
+    public void setUp() {
+        sheet = new FormulaSheet();
+        sheet.define("rate = 0.07");
+        sheet.define("f(x) = x^2 + rate*x");
+        for (int i = 0; i < groups; i++) {
+            sheet.setValue("in_" + i, i);
+            sheet.define("a_" + i + " = f(in_" + i + ")");
+            sheet.define("b_" + i + " = a_" + i + " * rate + in_" + i);
+            sheet.define("c_" + i + " = sqrt(b_" + i + ") + b_" + i + " / 2");
+        }
+    }
+
+    @Benchmark
+    public int editOneInput() {
+        int i = next++ % groups;
+        return sheet.setValue("in_" + i, next);
+    }
+
+    @Benchmark
+    public int editShared() {
+        rate = rate == 0.07 ? 0.08 : 0.07;
+        return sheet.setValue("rate", rate);
+    }
+
+    @Benchmark
+    public int recomputeAll() {
+        return sheet.recomputeAll();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculationHistory;
+import com.example.calculatorapp.CalculatorModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Замер памяти и длины выражения в длинной сессии.
+ * Выполняет цепочку операций в одной модели с подключенной историей и каждые 10 000 операций
+ * выводит длину текущего выражения, количество записей истории в памяти и на диске,
+ * занятую кучу и среднее время операции. Ограниченность выражения и вытеснение истории
+ * проверяет {@code CalculationHistoryTest}.
+ * Использование: {@code HistoryHarness [операций] [размер истории]}.
+ */
+public class HistoryHarness {
+    private static final String[] OPERATORS = {"+", "-", "*", "/"};
+
+    public static void main(String[] args) throws IOException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Path spill = Files.createTempFile("calculator-history", ".txt");
+        Runtime runtime = Runtime.getRuntime();
+
+        try (CalculationHistory history = new CalculationHistory(capacity, spill)) {
+            CalculatorModel model = new CalculatorModel();
+            model.setHistory(history);
+            model.appendNumber("1");
+            long start = System.nanoTime();
+            for (int i = 1; i <= operations; i++) {
+                // Цепочка без «=»: каждый следующий оператор завершает предыдущее вычисление
+                model.setOperator(OPERATORS[i & 3]);
+                model.appendNumber(Integer.toString(i % 9 + 1));
+                if (i % 10_000 == 0) {
+                    long elapsed = System.nanoTime() - start;
+                    System.gc();
+                    System.out.printf("Операций: %d, длина выражения: %d, в памяти: %d, на диске: %d, куча: %d КБ, %.1f нс/операцию%n",
+                            i, model.getCurrentExpression().length(), history.size(), history.getSpilledCount(),
+                            (runtime.totalMemory() - runtime.freeMemory()) / 1024, (double) elapsed / 10_000);
+                    start = System.nanoTime();
+                }
+            }
+        } finally {
+            Files.deleteIfExists(spill);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorView;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.stage.Stage;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Нагрузочный замер обработки нажатий клавиш в живом окне JavaFX.
+ * На каждом импульсе JavaFX внедряет столько событий, сколько нужно для заданной частоты
+ * (по умолчанию 10 000 в секунду), и по окончании выводит количество событий, количество кадров
+ * и максимальный интервал между кадрами. Поведение подсветки при такой частоте проверяет
+ * {@code ButtonHighlighterTest}.
+ * Использование: {@code KeyPressStressHarness [событий в секунду] [секунд]}.
+ */
+public class KeyPressStressHarness {
+    private static final KeyCode[] KEYS = {
+            KeyCode.DIGIT7, KeyCode.PLUS, KeyCode.DIGIT3, KeyCode.ENTER, KeyCode.MULTIPLY, KeyCode.DIGIT2, KeyCode.ENTER,
+            KeyCode.BACK_SPACE, KeyCode.R, KeyCode.X, KeyCode.I, KeyCode.S, KeyCode.ESCAPE, KeyCode.DELETE
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        int eventsPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        CountDownLatch done = new CountDownLatch(1);
+
+        Platform.startup(() -> {
+            CalculatorView view = new CalculatorView();
+            Stage stage = new Stage();
+            stage.setScene(new Scene(view.createContent(), 400, 600));
+            stage.show();
+
+            new AnimationTimer() {
+                private long start = -1; // Время первого кадра
+                private long last; // Время предыдущего кадра
+                private long maxGap; // Максимальный интервал между кадрами
+                private long frames; // Количество кадров
+                private long injected; // Количество внедренных событий
+
+                @Override
+                public void handle(long now) {
+                    if (start < 0) {
+                        start = now;
+                        last = now;
+                    }
+                    maxGap = Math.max(maxGap, now - last);
+                    last = now;
+                    frames++;
+                    long due = (now - start) * eventsPerSecond / 1_000_000_000L;
+                    while (injected < due) {
+                        view.handleKeyPress(KEYS[(int) (injected % KEYS.length)]);
+                        injected++;
+                    }
+                    if (now - start >= seconds * 1_000_000_000L) {
+                        stop();
+                        System.out.printf("Событий: %d за %d с, кадров: %d, макс. интервал кадра: %.1f мс%n",
+                                injected, seconds, frames, maxGap / 1e6);
+                        stage.close();
+                        done.countDown();
+                    }
+                }
+            }.start();
+        });
+
+        done.await();
+        Platform.exit();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.Complex;
+import com.example.calculatorapp.ComplexMatrix;
+import com.example.calculatorapp.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Умножение матриц {@code size}×{@code size} в сравнении с простым тройным циклом.
+ * <ul>
+ *     <li>{@link #naive()} — тройной цикл i-j-k по плоским массивам (столбец второй матрицы читается с шагом);</li>
+ *     <li>{@link #blocked()} — {@link Matrix#multiply(Matrix, ForkJoinPool)} в пуле из одного потока;</li>
+ *     <li>{@link #parallel()} — то же в общем пуле fork-join;</li>
+ *     <li>{@link #complexNaive()} — тройной цикл по массивам объектов {@link Complex};</li>
+ *     <li>{@link #complexBlocked()} — {@link ComplexMatrix} с парами {@code double} в одном массиве;</li>
+ *     <li>{@link #inverse()} — обращение через LU-разложение.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrixBenchmark {
+
+    @Param({"64", "256", "512"})
+    private int size; // Порядок матриц
+
+    private double[] a; // Элементы первой матрицы построчно
+    private double[] b; // Элементы второй матрицы построчно
+    private Matrix left; // Первая матрица
+    private Matrix right; // Вторая матрица
+    private Complex[] complexA; // Первая комплексная матрица из объектов
+    private Complex[] complexB; // Вторая комплексная матрица из объектов
+    private ComplexMatrix complexLeft; // Первая комплексная матрица из пар double
+    private ComplexMatrix complexRight; // Вторая комплексная матрица из пар double
+    private ForkJoinPool single; // Пул из одного потока
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int n = size * size;
+        a = new double[n];
+        b = new double[n];
+        double[] pairsA = new double[2 * n];
+        double[] pairsB = new double[2 * n];
+        complexA = new Complex[n];
+        complexB = new Complex[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextGaussian();
+            b[i] = random.nextGaussian();
+            complexA[i] = new Complex(random.nextGaussian(), random.nextGaussian());
+            complexB[i] = new Complex(random.nextGaussian(), random.nextGaussian());
+            pairsA[2 * i] = complexA[i].re();
+            pairsA[2 * i + 1] = complexA[i].im();
+            pairsB[2 * i] = complexB[i].re();
+            pairsB[2 * i + 1] = complexB[i].im();
+        }
+        left = Matrix.of(size, size, a);
+        right = Matrix.of(size, size, b);
+        complexLeft = ComplexMatrix.of(size, size, pairsA);
+        complexRight = ComplexMatrix.of(size, size, pairsB);
+        single = new ForkJoinPool(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        single.shutdown();
+    }
+
+    @Benchmark
+    public double[] naive() {
+        int n = size;
+        double[] c = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += a[i * n + k] * b[k * n + j];
+                }
+                c[i * n + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    @Benchmark
+    public Matrix blocked() {
+        return left.multiply(right, single);
+    }
+
+    @Benchmark
+    public Matrix parallel() {
+        return left.multiply(right);
+    }
+
+    @Benchmark
+    public Complex[] complexNaive() {
+        int n = size;
+        Complex[] c = new Complex[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                Complex sum = Complex.ZERO;
+                for (int k = 0; k < n; k++) {
+                    sum = sum.add(complexA[i * n + k].multiply(complexB[k * n + j]));
+                }
+                c[i * n + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    @Benchmark
+    public ComplexMatrix complexBlocked() {
+        return complexLeft.multiply(complexRight, single);
+    }
+
+    @Benchmark
+    public Matrix inverse() {
+        return left.inverse();
+    }
+}
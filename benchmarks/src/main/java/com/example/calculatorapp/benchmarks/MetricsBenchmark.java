@@ -0,0 +1,68 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.ControllerMetrics;
+import com.example.calculatorapp.LatencyHistogram;
+import com.example.calculatorapp.Opcode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость записи метрик контроллера в расчете на один токен.
+ * {@code instrumentedToken} повторяет путь контроллера при включенных метриках: счетчик на каждый токен
+ * и замер времени с записью в гистограмму на каждый {@link ControllerMetrics#SAMPLE_INTERVAL}-й токен.
+ * Бюджет — не более 50 нс на токен; {@code nanoTime} показывает стоимость чтения часов на этой машине.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dcalculator.metrics=true")
+@State(Scope.Thread)
+public class MetricsBenchmark {
+    private static final Opcode[] TOKENS = {
+            Opcode.DIGIT_7, Opcode.ADD, Opcode.DIGIT_3, Opcode.EQUALS,
+            Opcode.MULTIPLY, Opcode.DIGIT_2, Opcode.EQUALS, Opcode.CLEAR
+    };
+
+    private final ControllerMetrics metrics = ControllerMetrics.INSTANCE; // Метрики приложения
+    private final LatencyHistogram histogram = new LatencyHistogram(); // Отдельная гистограмма
+    private int next = 0; // Индекс следующего токена
+    private int sampleCountdown = 1; // Количество токенов до следующего замера времени
+    private long value = 0; // Записываемое значение гистограммы
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void countToken() {
+        metrics.countToken(TOKENS[next++ & 7]);
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(value++ & 0xFFFF);
+    }
+
+    @Benchmark
+    public void instrumentedToken() {
+        Opcode token = TOKENS[next++ & 7];
+        if (--sampleCountdown > 0) {
+            metrics.countToken(token);
+        } else {
+            sampleCountdown = ControllerMetrics.SAMPLE_INTERVAL;
+            long start = System.nanoTime();
+            metrics.recordToken(token, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorModel;
+import com.example.calculatorapp.InputProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки вычислений модели: одиночная операция, длинные цепочки нажатий и пути ошибок.
+ * Токены применяются через {@link InputProcessor} — ту же логику, что выполняет
+ * {@code CalculatorController.processInput} перед обновлением меток.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+    private static final String[] SINGLE_OPERATION = {"7", "+", "3", "="};
+    private static final String[] DIVISION_BY_ZERO = {"1", "/", "0", "="};
+    private static final String[] NEGATIVE_ROOT = {"9", "+/-", "√x", "="};
+    private static final String[] LARGE_INTEGERS = {"9007199254740993", "+", "2", "*", "3", "="};
+    private static final String[] CHAIN_PATTERN = {"1", "2", "+", "3", "4", "*", "5", "-", "6", "/", "7", "="};
+
+    @Param({"100", "1000"})
+    private int chainLength; // Количество нажатий в длинной цепочке
+
+    private String[] chain; // Длинная цепочка нажатий
+
+    @Setup
+    public void setUp() {
+        chain = new String[chainLength];
+        for (int i = 0; i < chainLength; i++) {
+            chain[i] = CHAIN_PATTERN[i % CHAIN_PATTERN.length];
+        }
+    }
+
+    /**
+     * Применяет последовательность токенов к новой модели.
+     * @param tokens токены кнопок
+     * @return значение на дисплее после последнего токена
+     */
+    private static String replay(String[] tokens) {
+        return replay(new CalculatorModel(), tokens);
+    }
+
+    /**
+     * Применяет последовательность токенов к переданной модели.
+     * @param model модель калькулятора
+     * @param tokens токены кнопок
+     * @return значение на дисплее после последнего токена
+     */
+    private static String replay(CalculatorModel model, String[] tokens) {
+        String value = null;
+        for (String token : tokens) {
+            value = InputProcessor.process(model, token);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public String singleOperation() {
+        return replay(SINGLE_OPERATION);
+    }
+
+    @Benchmark
+    public String calculateDirect() {
+        CalculatorModel model = new CalculatorModel();
+        model.appendNumber("7");
+        model.setOperator("+");
+        model.appendNumber("3");
+        model.calculate();
+        return model.getCurrentValue();
+    }
+
+    @Benchmark
+    public String keystrokeChain() {
+        return replay(chain);
+    }
+
+    @Benchmark
+    public String decimalSingleOperation() {
+        CalculatorModel model = new CalculatorModel();
+        model.setPrecision(MathContext.DECIMAL64);
+        return replay(model, SINGLE_OPERATION);
+    }
+
+    @Benchmark
+    public String decimalKeystrokeChain() {
+        CalculatorModel model = new CalculatorModel();
+        model.setPrecision(MathContext.DECIMAL64);
+        return replay(model, chain);
+    }
+
+    /**
+     * Целые больше 2^53: вычисляются точно в long, без перехода в double.
+     */
+    @Benchmark
+    public String largeIntegerChain() {
+        return replay(LARGE_INTEGERS);
+    }
+
+    @Benchmark
+    public String divisionByZero() {
+        return replay(DIVISION_BY_ZERO);
+    }
+
+    @Benchmark
+    public String negativeSquareRoot() {
+        return replay(NEGATIVE_ROOT);
+    }
+}
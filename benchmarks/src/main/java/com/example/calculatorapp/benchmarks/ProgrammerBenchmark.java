@@ -0,0 +1,78 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorModel;
+import com.example.calculatorapp.InputProcessor;
+import com.example.calculatorapp.Opcode;
+import com.example.calculatorapp.ProgrammerModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость одного нажатия в режиме программиста. {@code programmerProcess} — только модель на {@code long}
+ * (без создания объектов); {@code programmerRender} добавляет перевод значения в текст, как при отрисовке
+ * каждого нажатия; {@code decimalProcess} — десятичная модель на последовательности той же длины для сравнения.
+ * Запуск с {@code -prof gc} показывает отсутствие выделений памяти в {@code programmerProcess}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProgrammerBenchmark {
+    private static final Opcode[] PROGRAMMER_SEQUENCE = {
+            Opcode.DIGIT_F, Opcode.DIGIT_3, Opcode.AND, Opcode.DIGIT_A, Opcode.ROTATE_LEFT, Opcode.DIGIT_3,
+            Opcode.EQUALS, Opcode.NOT, Opcode.XOR, Opcode.DIGIT_7, Opcode.SHIFT_RIGHT, Opcode.DIGIT_2,
+            Opcode.EQUALS, Opcode.MULTIPLY, Opcode.DIGIT_9, Opcode.EQUALS
+    };
+    private static final Opcode[] DECIMAL_SEQUENCE = {
+            Opcode.DIGIT_7, Opcode.DIGIT_3, Opcode.ADD, Opcode.DIGIT_4, Opcode.MULTIPLY, Opcode.DIGIT_3,
+            Opcode.EQUALS, Opcode.TOGGLE_SIGN, Opcode.SUBTRACT, Opcode.DIGIT_7, Opcode.DIVIDE, Opcode.DIGIT_2,
+            Opcode.EQUALS, Opcode.MULTIPLY, Opcode.DIGIT_9, Opcode.EQUALS
+    };
+
+    @Param({"HEX", "DEC", "BIN"})
+    private ProgrammerModel.Radix radix; // Система счисления
+
+    @Param({"BYTE", "QWORD"})
+    private ProgrammerModel.WordSize wordSize; // Разрядность
+
+    private ProgrammerModel programmer; // Модель режима программиста
+    private final CalculatorModel decimal = new CalculatorModel(); // Десятичная модель
+    private int next = 0; // Индекс следующей кнопки
+
+    @Setup
+    public void setUp() {
+        programmer = new ProgrammerModel();
+        programmer.setRadix(radix);
+        programmer.setWordSize(wordSize);
+    }
+
+    @Benchmark
+    public long programmerProcess() {
+        programmer.process(PROGRAMMER_SEQUENCE[next++ & 15]);
+        return programmer.getValue();
+    }
+
+    @Benchmark
+    public String programmerRender() {
+        programmer.process(PROGRAMMER_SEQUENCE[next++ & 15]);
+        return programmer.getCurrentValue();
+    }
+
+    @Benchmark
+    public String decimalProcess() {
+        return InputProcessor.process(decimal, DECIMAL_SEQUENCE[next++ & 15]);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorView;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Замер времени кадров при непрерывном изменении размеров окна.
+ * На каждом кадре окно меняет ширину и высоту (как при перетаскивании края), а харнесс записывает
+ * интервал между кадрами и время от начала кадра до завершения компоновки.
+ * Выводит медиану, 99-й перцентиль и максимум обеих величин.
+ * Использование: {@code ResizeHarness [кадров]}.
+ */
+public class ResizeHarness {
+    private static final int WARMUP_FRAMES = 60; // Кадры прогрева, не входящие в результат
+
+    public static void main(String[] args) throws InterruptedException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        long[] intervals = new long[frames];
+        long[] layouts = new long[frames];
+        CountDownLatch done = new CountDownLatch(1);
+
+        Platform.startup(() -> {
+            CalculatorView view = new CalculatorView();
+            Stage stage = new Stage();
+            Scene scene = new Scene(view.createContent(), 400, 600);
+            stage.setScene(scene);
+            stage.show();
+
+            long[] pulseStart = new long[1];
+            int[] index = new int[]{-WARMUP_FRAMES};
+            // Время компоновки: от начала кадра (анимации) до окончания компоновки того же кадра
+            scene.addPostLayoutPulseListener(() -> {
+                int i = index[0];
+                if (i >= 0 && i < frames && pulseStart[0] != 0) {
+                    layouts[i] = System.nanoTime() - pulseStart[0];
+                }
+            });
+
+            new AnimationTimer() {
+                private long last = 0; // Время предыдущего кадра
+
+                @Override
+                public void handle(long now) {
+                    pulseStart[0] = System.nanoTime();
+                    int i = ++index[0];
+                    if (i > 0 && i <= frames) {
+                        intervals[i - 1] = now - last;
+                    }
+                    last = now;
+                    if (i >= frames) {
+                        stop();
+                        report("Интервал кадров", intervals);
+                        report("Стилизация и компоновка", layouts);
+                        stage.close();
+                        done.countDown();
+                        return;
+                    }
+                    // Плавное изменение размеров в диапазоне 300x485 — 1200x1000
+                    double phase = (Math.sin(i / 30.0) + 1) / 2;
+                    stage.setWidth(300 + 900 * phase);
+                    stage.setHeight(485 + 515 * phase);
+                }
+            }.start();
+        });
+
+        done.await();
+        Platform.exit();
+    }
+
+    private static void report(String name, long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s: медиана %.2f мс, p99 %.2f мс, максимум %.2f мс%n", name,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.ScientificFunctions;
+import com.example.calculatorapp.ScientificFunctions.AccuracyTier;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Замер точности научных функций: для каждой функции, уровня точности и диапазона аргументов
+ * выводит максимальную и среднюю погрешность в ulp относительно {@link StrictMath}.
+ * Документированные границы погрешности проверяет {@code ScientificFunctionsTest}; здесь
+ * они только измеряются на большем количестве аргументов.
+ * Гамма-функция сравнивается с точными значениями в полуцелых точках (через {@link BigDecimal}),
+ * степень с нецелым показателем — отдельно по диапазонам |y·ln x|.
+ * Использование: {@code ScientificAccuracyHarness [аргументов на диапазон] [seed]}.
+ */
+public class ScientificAccuracyHarness {
+    private static final AccuracyTier[] TIERS = {AccuracyTier.DEFAULT, AccuracyTier.FAST};
+    private static final BigDecimal SQRT_PI = new BigDecimal("1.7724538509055160272981674833411451827975494561223871");
+
+    public static void main(String[] args) {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(args.length > 1 ? Long.parseLong(args[1]) : 42);
+
+        System.out.printf("%-8s %-8s %-28s %12s %10s%n", "функция", "уровень", "аргументы", "макс. ulp", "ср. ulp");
+        for (AccuracyTier tier : TIERS) {
+            unary("sin", tier, "[-π, π]", () -> uniform(random, -Math.PI, Math.PI), StrictMath::sin,
+                    x -> ScientificFunctions.sin(x, tier), samples);
+            unary("sin", tier, "[-2^20, 2^20]", () -> uniform(random, -0x1p20, 0x1p20), StrictMath::sin,
+                    x -> ScientificFunctions.sin(x, tier), samples);
+            unary("cos", tier, "[-π, π]", () -> uniform(random, -Math.PI, Math.PI), StrictMath::cos,
+                    x -> ScientificFunctions.cos(x, tier), samples);
+            unary("cos", tier, "[-2^20, 2^20]", () -> uniform(random, -0x1p20, 0x1p20), StrictMath::cos,
+                    x -> ScientificFunctions.cos(x, tier), samples);
+            unary("tan", tier, "[-π/2, π/2]", () -> uniform(random, -Math.PI / 2, Math.PI / 2), StrictMath::tan,
+                    x -> ScientificFunctions.tan(x, tier), samples);
+            unary("tan", tier, "[-2^20, 2^20]", () -> uniform(random, -0x1p20, 0x1p20), StrictMath::tan,
+                    x -> ScientificFunctions.tan(x, tier), samples);
+            unary("asin", tier, "[-1, 1]", () -> uniform(random, -1, 1), StrictMath::asin,
+                    x -> ScientificFunctions.asin(x, tier), samples);
+            unary("acos", tier, "[-1, 1]", () -> uniform(random, -1, 1), StrictMath::acos,
+                    x -> ScientificFunctions.acos(x, tier), samples);
+            unary("atan", tier, "[-4, 4]", () -> uniform(random, -4, 4), StrictMath::atan,
+                    x -> ScientificFunctions.atan(x, tier), samples);
+            unary("atan", tier, "±[1e-10, 1e10] (лог.)", () -> logUniform(random, 1e-10, 1e10), StrictMath::atan,
+                    x -> ScientificFunctions.atan(x, tier), samples);
+            unary("exp", tier, "[-1, 1]", () -> uniform(random, -1, 1), StrictMath::exp,
+                    x -> ScientificFunctions.exp(x, tier), samples);
+            unary("exp", tier, "[-708, 708]", () -> uniform(random, -708, 708), StrictMath::exp,
+                    x -> ScientificFunctions.exp(x, tier), samples);
+            unary("ln", tier, "[0.5, 2]", () -> uniform(random, 0.5, 2), StrictMath::log,
+                    x -> ScientificFunctions.ln(x, tier), samples);
+            unary("ln", tier, "[1e-300, 1e300] (лог.)", () -> Math.abs(logUniform(random, 1e-300, 1e300)),
+                    StrictMath::log, x -> ScientificFunctions.ln(x, tier), samples);
+            unary("log", tier, "[1e-300, 1e300] (лог.)", () -> Math.abs(logUniform(random, 1e-300, 1e300)),
+                    StrictMath::log10, x -> ScientificFunctions.log10(x, tier), samples);
+            binary("pow", tier, "x∈[0.5, 2], целые |y|≤64", () -> uniform(random, 0.5, 2),
+                    () -> Math.rint(uniform(random, -64, 64)), samples, Double.MAX_VALUE);
+            for (double limit : new double[]{1, 10, 100, 700}) {
+                binary("pow", tier, "x∈(0, 100], |y·ln x|≤" + (int) limit, () -> uniform(random, 1e-3, 100),
+                        () -> uniform(random, -150, 150), samples, limit);
+            }
+            gamma(tier);
+        }
+    }
+
+    /**
+     * Выводит погрешность функции одного аргумента.
+     */
+    private static void unary(String name, AccuracyTier tier, String range, DoubleSupplier arguments,
+                              DoubleUnaryOperator reference, DoubleUnaryOperator function, int samples) {
+        double max = 0;
+        double total = 0;
+        for (int i = 0; i < samples; i++) {
+            double x = arguments.getAsDouble();
+            double error = ulps(function.applyAsDouble(x), reference.applyAsDouble(x));
+            max = Math.max(max, error);
+            total += error;
+        }
+        print(name, tier, range, max, total / samples);
+    }
+
+    /**
+     * Выводит погрешность степени для аргументов с |y·ln x| не больше заданного (предыдущий диапазон исключается).
+     */
+    private static void binary(String name, AccuracyTier tier, String range, DoubleSupplier bases,
+                               DoubleSupplier exponents, int samples, double limit) {
+        DoubleBinaryOperator function = (x, y) -> ScientificFunctions.pow(x, y, tier);
+        double max = 0;
+        double total = 0;
+        int count = 0;
+        while (count < samples) {
+            double x = bases.getAsDouble();
+            double y = exponents.getAsDouble();
+            double t = Math.abs(y * Math.log(x));
+            if (limit != Double.MAX_VALUE && (t > limit || t <= limit / 10)) {
+                continue;
+            }
+            double error = ulps(function.applyAsDouble(x, y), StrictMath.pow(x, y));
+            max = Math.max(max, error);
+            total += error;
+            count++;
+        }
+        print(name, tier, range, max, total / count);
+    }
+
+    /**
+     * Выводит погрешность гамма-функции в полуцелых точках n + 1/2 от -20.5 до 150.5.
+     */
+    private static void gamma(AccuracyTier tier) {
+        double max = 0;
+        double total = 0;
+        int count = 0;
+        for (int n = -21; n <= 150; n++) {
+            double exact = halfIntegerGamma(n);
+            double error = ulps(ScientificFunctions.gamma(n + 0.5, tier), exact);
+            max = Math.max(max, error);
+            total += error;
+            count++;
+        }
+        print("gamma", tier, "n + 1/2, n от -21 до 150", max, total / count);
+    }
+
+    /**
+     * Возвращает точное значение Γ(n + 1/2), округленное до double:
+     * (2n)!·√π / (4^n·n!) для n ≥ 0 и (-4)^m·m!·√π / (2m)! для n = -m.
+     */
+    private static double halfIntegerGamma(int n) {
+        MathContext mc = new MathContext(40);
+        int m = Math.abs(n);
+        BigDecimal factorialM = new BigDecimal(factorial(m));
+        BigDecimal factorial2M = new BigDecimal(factorial(2 * m));
+        BigDecimal powerOf4 = new BigDecimal(BigInteger.valueOf(4).pow(m));
+        BigDecimal value = n >= 0
+                ? factorial2M.multiply(SQRT_PI).divide(powerOf4.multiply(factorialM), mc)
+                : powerOf4.multiply(factorialM).multiply(SQRT_PI).divide(factorial2M, mc);
+        return (m % 2 == 1 && n < 0 ? value.negate() : value).doubleValue();
+    }
+
+    private static BigInteger factorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает погрешность в ulp эталонного значения (0, если оба значения совпадают, включая NaN и бесконечности).
+     */
+    private static double ulps(double value, double reference) {
+        if (Double.compare(value, reference) == 0 || value == reference) {
+            return 0;
+        }
+        if (Double.isNaN(value) || Double.isNaN(reference) || Double.isInfinite(value) || Double.isInfinite(reference)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.abs(value - reference) / Math.ulp(reference);
+    }
+
+    private static double uniform(Random random, double from, double to) {
+        return from + (to - from) * random.nextDouble();
+    }
+
+    /**
+     * Возвращает число со случайным знаком, модуль которого распределен равномерно по логарифмической шкале.
+     */
+    private static double logUniform(Random random, double from, double to) {
+        double value = Math.exp(uniform(random, Math.log(from), Math.log(to)));
+        return random.nextBoolean() ? value : -value;
+    }
+
+    private static void print(String name, AccuracyTier tier, String range, double max, double mean) {
+        System.out.printf("%-8s %-8s %-28s %12.2f %10.3f%n", name, tier, range, max, mean);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.ScientificFunctions;
+import com.example.calculatorapp.ScientificFunctions.AccuracyTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки научных функций на разных уровнях точности.
+ * Аргументы заранее сгенерированы (1024 значения на функцию), чтобы JIT не свернул вычисление в константу;
+ * погрешность уровней измеряет {@link ScientificAccuracyHarness}, а документированные границы проверяют тесты.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScientificBenchmark {
+    private static final int SIZE = 1024; // Количество аргументов (степень двойки)
+
+    @Param({"STRICT", "DEFAULT", "FAST"})
+    private AccuracyTier tier; // Уровень точности
+
+    private final double[] angles = new double[SIZE]; // Аргументы тригонометрических функций
+    private final double[] units = new double[SIZE]; // Аргументы из [-1, 1]
+    private final double[] exponents = new double[SIZE]; // Аргументы экспоненты
+    private final double[] positives = new double[SIZE]; // Положительные аргументы логарифмов и степени
+    private final double[] powers = new double[SIZE]; // Нецелые показатели степени
+    private final double[] gammas = new double[SIZE]; // Аргументы гамма-функции
+    private int next = 0; // Индекс следующего аргумента
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            angles[i] = (random.nextDouble() - 0.5) * 200;
+            units[i] = random.nextDouble() * 2 - 1;
+            exponents[i] = (random.nextDouble() - 0.5) * 100;
+            positives[i] = random.nextDouble() * 1000 + 1e-3;
+            powers[i] = (random.nextDouble() - 0.5) * 20;
+            gammas[i] = random.nextDouble() * 50 + 0.5;
+        }
+    }
+
+    @Benchmark
+    public double sin() {
+        return ScientificFunctions.sin(angles[next++ & (SIZE - 1)], tier);
+    }
+
+    @Benchmark
+    public double tan() {
+        return ScientificFunctions.tan(angles[next++ & (SIZE - 1)], tier);
+    }
+
+    @Benchmark
+    public double asin() {
+        return ScientificFunctions.asin(units[next++ & (SIZE - 1)], tier);
+    }
+
+    @Benchmark
+    public double atan() {
+        return ScientificFunctions.atan(angles[next++ & (SIZE - 1)], tier);
+    }
+
+    @Benchmark
+    public double exp() {
+        return ScientificFunctions.exp(exponents[next++ & (SIZE - 1)], tier);
+    }
+
+    @Benchmark
+    public double ln() {
+        return ScientificFunctions.ln(positives[next++ & (SIZE - 1)], tier);
+    }
+
+    @Benchmark
+    public double pow() {
+        int i = next++ & (SIZE - 1);
+        return ScientificFunctions.pow(positives[i], powers[i], tier);
+    }
+
+    @Benchmark
+    public double gamma() {
+        return ScientificFunctions.gamma(gammas[next++ & (SIZE - 1)], tier);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.calculatorapp.benchmarks;
+
+import com.example.calculatorapp.CalculatorView;
+import com.example.calculatorapp.ThemeManager;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Замер задержки переключения темы в развернутом на весь экран окне.
+ * На каждом кадре тема переключается на следующую, а на следующем кадре считывается задержка
+ * от замены стилевого класса до завершения стилизации и компоновки ({@link ThemeManager#getLastSwitchNanos()}).
+ * Выводит среднюю и максимальную задержку и количество переключений дольше одного кадра (16,7 мс).
+ * Использование: {@code ThemeSwitchHarness [переключений]}.
+ */
+public class ThemeSwitchHarness {
+    private static final long FRAME_NANOS = 16_666_667L; // Длительность кадра при 60 Гц
+    private static final int WARMUP_SWITCHES = 20; // Переключения прогрева, не входящие в результат
+
+    public static void main(String[] args) throws InterruptedException {
+        int switches = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        CountDownLatch done = new CountDownLatch(1);
+
+        Platform.startup(() -> {
+            CalculatorView view = new CalculatorView();
+            Stage stage = new Stage();
+            stage.setScene(new Scene(view.createContent(), 400, 600));
+            stage.setMaximized(true);
+            stage.show();
+            ThemeManager themes = view.getThemeManager();
+            ThemeManager.Theme[] all = ThemeManager.Theme.values();
+
+            new AnimationTimer() {
+                private int count = 0; // Количество выполненных переключений
+                private long total = 0; // Суммарная задержка
+                private long max = 0; // Максимальная задержка
+                private int slow = 0; // Переключения дольше одного кадра
+
+                @Override
+                public void handle(long now) {
+                    if (count > WARMUP_SWITCHES) {
+                        long latency = themes.getLastSwitchNanos();
+                        total += latency;
+                        max = Math.max(max, latency);
+                        if (latency > FRAME_NANOS) {
+                            slow++;
+                        }
+                    }
+                    if (count - WARMUP_SWITCHES == switches) {
+                        stop();
+                        System.out.printf("Переключений: %d, окно %.0fx%.0f, средняя задержка: %.2f мс, максимальная: %.2f мс, дольше кадра: %d%n",
+                                switches, stage.getWidth(), stage.getHeight(), total / 1e6 / switches, max / 1e6, slow);
+                        stage.close();
+                        done.countDown();
+                        return;
+                    }
+                    view.setTheme(all[count % all.length]);
+                    count++;
+                }
+            }.start();
+        });
+
+        done.await();
+        Platform.exit();
+    }
+}
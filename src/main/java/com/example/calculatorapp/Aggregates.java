@@ -0,0 +1,345 @@
+package com.example.calculatorapp;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Агрегатные операции над большими наборами операндов: сумма, произведение, среднее,
+ * минимум и максимум, дисперсия, а также сводка всех показателей за один проход.
+ *
+ * <p>Массив делится на блоки фиксированного размера ({@link #BLOCK_SIZE}); блоки сворачиваются
+ * устойчивыми алгоритмами (компенсированная сумма Ноймайера, двухпроходная дисперсия внутри блока,
+ * произведение с отдельным двоичным порядком), а результаты блоков попарно объединяются по дереву
+ * (дисперсия — по формуле Чана), форма которого зависит только от количества блоков. Поддеревья вычисляются задачами fork-join,
+ * поэтому результат не зависит от количества потоков и совпадает побитово при любом пуле.</p>
+ *
+ * <p>Ошибки — как у {@link CalculatorModel}: среднее и дисперсия пустого набора —
+ * {@link ArithmeticException} «Ошибка: деление на ноль».</p>
+ */
+public final class Aggregates {
+    /** Количество элементов в блоке последовательной свертки. */
+    public static final int BLOCK_SIZE = 4096;
+
+    private static final int SEQUENTIAL_BLOCKS = 16; // Поддерево из стольких блоков вычисляется без разветвления
+    private static final double RENORMALIZE = 0x1p500; // Граница нормализации мантиссы произведения
+
+    /**
+     * Итоговые показатели набора операндов.
+     *
+     * @param count количество элементов
+     * @param sum сумма
+     * @param min минимум
+     * @param max максимум
+     * @param mean среднее — компенсированная сумма, деленная на количество, как в {@link Aggregates#mean}
+     * @param variance дисперсия генеральной совокупности (деление на n)
+     */
+    public record Summary(long count, double sum, double min, double max, double mean, double variance) {
+
+        /**
+         * Возвращает выборочную дисперсию (деление на n - 1).
+         * @return выборочная дисперсия
+         * @throws ArithmeticException если элементов меньше двух
+         */
+        public double sampleVariance() {
+            if (count < 2) {
+                throw new ArithmeticException("Ошибка: деление на ноль");
+            }
+            return variance * count / (count - 1);
+        }
+    }
+
+    /**
+     * Свертка блока и объединение частичных результатов (массивы фиксированной длины).
+     */
+    private interface Reduction {
+        double[] block(double[] values, int from, int to);
+
+        double[] combine(double[] left, double[] right);
+    }
+
+    private Aggregates() {
+    }
+
+    /**
+     * Возвращает сумму элементов (компенсированное суммирование, общий пул fork-join).
+     * @param values операнды
+     * @return сумма
+     */
+    public static double sum(double[] values) {
+        return sum(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает сумму элементов, вычисленную в указанном пуле.
+     * @param values операнды
+     * @param pool пул потоков
+     * @return сумма
+     */
+    public static double sum(double[] values, ForkJoinPool pool) {
+        double[] s = reduce(values, pool, SUM);
+        return s[0] + s[1];
+    }
+
+    /**
+     * Возвращает произведение элементов. Промежуточные переполнения не возникают:
+     * мантисса и двоичный порядок накапливаются отдельно.
+     * @param values операнды
+     * @return произведение (бесконечность или 0, если результат вне диапазона double)
+     */
+    public static double product(double[] values) {
+        return product(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает произведение элементов, вычисленное в указанном пуле.
+     * @param values операнды
+     * @param pool пул потоков
+     * @return произведение
+     */
+    public static double product(double[] values, ForkJoinPool pool) {
+        double[] p = reduce(values, pool, PRODUCT);
+        return scale(p[0], p[1]);
+    }
+
+    /**
+     * Возвращает среднее значение.
+     * @param values операнды
+     * @return среднее
+     * @throws ArithmeticException если набор пуст
+     */
+    public static double mean(double[] values) {
+        return mean(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает среднее значение, вычисленное в указанном пуле.
+     * @param values операнды
+     * @param pool пул потоков
+     * @return среднее
+     * @throws ArithmeticException если набор пуст
+     */
+    public static double mean(double[] values, ForkJoinPool pool) {
+        checkNotEmpty(values);
+        return sum(values, pool) / values.length;
+    }
+
+    /**
+     * Возвращает минимальный элемент (NaN, если среди элементов есть NaN).
+     * @param values операнды
+     * @return минимум
+     * @throws ArithmeticException если набор пуст
+     */
+    public static double min(double[] values) {
+        return summarize(values).min();
+    }
+
+    /**
+     * Возвращает максимальный элемент (NaN, если среди элементов есть NaN).
+     * @param values операнды
+     * @return максимум
+     * @throws ArithmeticException если набор пуст
+     */
+    public static double max(double[] values) {
+        return summarize(values).max();
+    }
+
+    /**
+     * Возвращает дисперсию генеральной совокупности.
+     * @param values операнды
+     * @return дисперсия
+     * @throws ArithmeticException если набор пуст
+     */
+    public static double variance(double[] values) {
+        return summarize(values).variance();
+    }
+
+    /**
+     * Вычисляет все показатели за один проход в общем пуле fork-join.
+     * @param values операнды
+     * @return сводка
+     * @throws ArithmeticException если набор пуст
+     */
+    public static Summary summarize(double[] values) {
+        return summarize(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Вычисляет все показатели за один проход в указанном пуле.
+     * @param values операнды
+     * @param pool пул потоков
+     * @return сводка
+     * @throws ArithmeticException если набор пуст
+     */
+    public static Summary summarize(double[] values, ForkJoinPool pool) {
+        checkNotEmpty(values);
+        double[] s = reduce(values, pool, SUMMARY);
+        // Среднее по формуле Чана нужно только для дисперсии: при сокращении оно точнее из компенсированной суммы
+        double sum = s[3] + s[4];
+        return new Summary(values.length, sum, s[5], s[6], sum / values.length, s[2] / s[0]);
+    }
+
+    /**
+     * Сворачивает массив по блокам и объединяет результаты по фиксированному дереву.
+     */
+    private static double[] reduce(double[] values, ForkJoinPool pool, Reduction reduction) {
+        int blocks = Math.max(1, (values.length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        if (blocks <= SEQUENTIAL_BLOCKS) {
+            return reduce(values, 0, blocks, reduction); // Мало данных: без пула
+        }
+        return pool.invoke(new ReduceTask(values, 0, blocks, reduction));
+    }
+
+    /**
+     * Последовательно сворачивает блоки [from, to) по тому же дереву, что и {@link ReduceTask}.
+     */
+    private static double[] reduce(double[] values, int from, int to, Reduction reduction) {
+        if (to - from == 1) {
+            int start = from * BLOCK_SIZE;
+            return reduction.block(values, start, Math.min(values.length, start + BLOCK_SIZE));
+        }
+        int middle = (from + to) >>> 1;
+        return reduction.combine(reduce(values, from, middle, reduction), reduce(values, middle, to, reduction));
+    }
+
+    /**
+     * Задача fork-join: свертка блоков [from, to) с разделением пополам.
+     */
+    private static final class ReduceTask extends RecursiveTask<double[]> {
+        private final double[] values; // Операнды
+        private final int from; // Первый блок
+        private final int to; // Блок после последнего
+        private final Reduction reduction; // Операция
+
+        ReduceTask(double[] values, int from, int to, Reduction reduction) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.reduction = reduction;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= SEQUENTIAL_BLOCKS) {
+                return reduce(values, from, to, reduction);
+            }
+            int middle = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(values, from, middle, reduction);
+            left.fork();
+            double[] right = new ReduceTask(values, middle, to, reduction).compute();
+            return reduction.combine(left.join(), right);
+        }
+    }
+
+    // Сумма: {сумма, компенсация} (алгоритм Ноймайера)
+    private static final Reduction SUM = new Reduction() {
+        @Override
+        public double[] block(double[] values, int from, int to) {
+            double sum = 0;
+            double compensation = 0;
+            for (int i = from; i < to; i++) {
+                double value = values[i];
+                double t = sum + value;
+                compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+                sum = t;
+            }
+            return new double[]{sum, compensation};
+        }
+
+        @Override
+        public double[] combine(double[] left, double[] right) {
+            double sum = left[0] + right[0];
+            double error = Math.abs(left[0]) >= Math.abs(right[0])
+                    ? (left[0] - sum) + right[0] : (right[0] - sum) + left[0];
+            return new double[]{sum, left[1] + right[1] + error};
+        }
+    };
+
+    // Произведение: {мантисса, двоичный порядок}
+    private static final Reduction PRODUCT = new Reduction() {
+        @Override
+        public double[] block(double[] values, int from, int to) {
+            double mantissa = 1;
+            long exponent = 0;
+            for (int i = from; i < to; i++) {
+                double value = values[i];
+                if (value != 0 && Double.isFinite(value)) {
+                    // Порядок операнда переносится в exponent до умножения: множитель меньше 2,
+                    // поэтому мантисса не переполняется даже при операндах порядка 2^1000
+                    int e = Math.getExponent(value);
+                    value = Math.scalb(value, -e);
+                    exponent += e;
+                }
+                mantissa *= value;
+                double magnitude = Math.abs(mantissa);
+                if (magnitude > RENORMALIZE || magnitude < 1 / RENORMALIZE) {
+                    if (mantissa == 0 || !Double.isFinite(mantissa)) {
+                        continue; // Ноль, бесконечность и NaN сохраняются до конца
+                    }
+                    int e = Math.getExponent(mantissa);
+                    mantissa = Math.scalb(mantissa, -e);
+                    exponent += e;
+                }
+            }
+            return new double[]{mantissa, exponent};
+        }
+
+        @Override
+        public double[] combine(double[] left, double[] right) {
+            double mantissa = left[0] * right[0];
+            double exponent = left[1] + right[1];
+            if (mantissa != 0 && Double.isFinite(mantissa)) {
+                int e = Math.getExponent(mantissa);
+                mantissa = Math.scalb(mantissa, -e);
+                exponent += e;
+            }
+            return new double[]{mantissa, exponent};
+        }
+    };
+
+    // Сводка: {n, среднее, сумма квадратов отклонений, сумма, компенсация суммы, минимум, максимум}
+    private static final Reduction SUMMARY = new Reduction() {
+        @Override
+        public double[] block(double[] values, int from, int to) {
+            // Два прохода по блоку, пока он в кэше: среднее по компенсированной сумме, затем отклонения
+            double[] sum = SUM.block(values, from, to);
+            int n = to - from;
+            double mean = n == 0 ? 0 : (sum[0] + sum[1]) / n;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double m2 = 0;
+            for (int i = from; i < to; i++) {
+                double value = values[i];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                double delta = value - mean;
+                m2 += delta * delta;
+            }
+            return new double[]{n, mean, m2, sum[0], sum[1], min, max};
+        }
+
+        @Override
+        public double[] combine(double[] left, double[] right) {
+            // Объединение по формуле Чана (пустой блок бывает только у пустого набора)
+            double n = left[0] + right[0];
+            double delta = right[1] - left[1];
+            double mean = left[1] + delta * (right[0] / n);
+            double m2 = left[2] + right[2] + delta * delta * (left[0] * right[0] / n);
+            double[] sum = SUM.combine(new double[]{left[3], left[4]}, new double[]{right[3], right[4]});
+            return new double[]{n, mean, m2, sum[0], sum[1], Math.min(left[5], right[5]), Math.max(left[6], right[6])};
+        }
+    };
+
+    /**
+     * Возвращает mantissa · 2^exponent с насыщением до бесконечности или нуля.
+     */
+    private static double scale(double mantissa, double exponent) {
+        int e = (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, exponent));
+        return Math.scalb(mantissa, e);
+    }
+
+    private static void checkNotEmpty(double[] values) {
+        if (values.length == 0) {
+            throw new ArithmeticException("Ошибка: деление на ноль");
+        }
+    }
+}
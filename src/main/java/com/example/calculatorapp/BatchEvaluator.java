@@ -0,0 +1,138 @@
+package com.example.calculatorapp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+/**
+ * Пакетный (headless) режим калькулятора без графического интерфейса.
+ * Каждая строка входных данных — отдельная сессия: последовательность токенов кнопок,
+ * разделенных пробелами (например, {@code 7 + 3 =}). Для каждой сессии выводится
+ * итоговое значение на дисплее. Сессии независимы и обрабатываются параллельно
+ * на всех ядрах, порядок строк в выводе совпадает с порядком во входных данных.
+ * Классы JavaFX в этом режиме не загружаются.
+ */
+public class BatchEvaluator {
+    private static final int DEFAULT_CHUNK_SIZE = 16_384; // Количество сессий в одной порции
+
+    private final int chunkSize; // Размер порции, обрабатываемой параллельно
+    private long sessionCount = 0; // Количество обработанных сессий
+
+    /**
+     * Конструктор с размером порции по умолчанию.
+     */
+    public BatchEvaluator() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Конструктор с указанным размером порции.
+     * @param chunkSize количество сессий, читаемых и обрабатываемых за один раз
+     */
+    public BatchEvaluator(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Размер порции должен быть положительным");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Воспроизводит одну сессию на новой модели.
+     * @param session строка с токенами, разделенными пробелами
+     * @return значение на дисплее после последнего токена
+     */
+    public static String evaluateSession(String session) {
+        CalculatorModel model = new CalculatorModel();
+        String value = "0";
+        int length = session.length();
+        int i = 0;
+        while (i < length) {
+            // Пропуск разделителей
+            while (i < length && Character.isWhitespace(session.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(session.charAt(i))) {
+                i++;
+            }
+            if (start < i) {
+                value = InputProcessor.process(model, session.substring(start, i));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Читает сессии построчно, вычисляет их параллельно порциями и записывает результаты.
+     * Память ограничена размером одной порции независимо от объема входных данных.
+     * @param in источник сессий
+     * @param out приемник результатов (одна строка на сессию)
+     * @throws IOException при ошибке чтения или записи
+     */
+    public void run(Reader in, Writer out) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        String[] sessions = new String[chunkSize];
+        String[] results = new String[chunkSize];
+        while (true) {
+            int count = 0;
+            String line;
+            while (count < chunkSize && (line = reader.readLine()) != null) {
+                sessions[count++] = line;
+            }
+            if (count == 0) {
+                break;
+            }
+            // Параллельное вычисление независимых сессий
+            IntStream.range(0, count).parallel().forEach(i -> results[i] = evaluateSession(sessions[i]));
+            for (int i = 0; i < count; i++) {
+                out.write(results[i]);
+                out.write('\n');
+            }
+            sessionCount += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Возвращает количество обработанных сессий.
+     * @return количество сессий
+     */
+    public long getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Точка входа пакетного режима.
+     * Использование: {@code BatchEvaluator [входной файл|-] [выходной файл]}.
+     * @param args аргументы командной строки
+     * @throws IOException при ошибке чтения или записи
+     */
+    public static void main(String[] args) throws IOException {
+        Reader in = args.length > 0 && !args[0].equals("-")
+                ? Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)
+                : new InputStreamReader(System.in, StandardCharsets.UTF_8);
+        Writer out = args.length > 1
+                ? Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+
+        BatchEvaluator evaluator = new BatchEvaluator();
+        long start = System.nanoTime();
+        try (in; out) {
+            evaluator.run(in, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("Сессий: %d, время: %.3f с, скорость: %.0f сессий/с%n",
+                evaluator.getSessionCount(), seconds, evaluator.getSessionCount() / seconds);
+    }
+}
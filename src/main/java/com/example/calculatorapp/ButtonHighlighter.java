@@ -0,0 +1,72 @@
+package com.example.calculatorapp;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Button;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.paint.Color;
+
+import java.util.function.Consumer;
+
+/**
+ * Подсветка кнопок, нажатых с клавиатуры.
+ * Все подсвеченные кнопки обслуживает один {@link AnimationTimer}, который работает на каждом
+ * импульсе (pulse) JavaFX только пока есть активная подсветка и снимает ее по истечении срока
+ * (сроки хранит {@link HighlightSchedule}). Повторное нажатие уже подсвеченной кнопки лишь продлевает срок.
+ * Потоки не создаются, а эффект изменяется только в потоке JavaFX.
+ */
+public class ButtonHighlighter {
+    static final long HIGHLIGHT_NANOS = 100_000_000L; // Длительность подсветки (100 мс)
+
+    private final DropShadow shadow = new DropShadow(); // Общий эффект подсветки для всех кнопок
+    private final HighlightSchedule<Button> schedule = new HighlightSchedule<>(HIGHLIGHT_NANOS); // Сроки подсветки
+    private final Consumer<Button> reset = button -> button.setEffect(null); // Снятие подсветки
+    private boolean running = false; // Запущен ли таймер
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            expire(now);
+        }
+    };
+
+    /**
+     * Конструктор настраивает общий эффект подсветки.
+     */
+    public ButtonHighlighter() {
+        shadow.setColor(Color.YELLOW);
+    }
+
+    /**
+     * Подсвечивает кнопку на 100 мс. Должен вызываться в потоке JavaFX.
+     * @param button кнопка для подсветки
+     */
+    public void highlight(Button button) {
+        if (!schedule.add(button, System.nanoTime())) {
+            return;
+        }
+        button.setEffect(shadow);
+        if (!running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * Снимает подсветку с кнопок, срок которых истек, и останавливает таймер, если подсвеченных кнопок не осталось.
+     * @param now время текущего импульса в наносекундах
+     */
+    private void expire(long now) {
+        if (schedule.expire(now, reset) == 0) {
+            running = false;
+            timer.stop();
+        }
+    }
+
+    /**
+     * Возвращает количество подсвеченных в данный момент кнопок.
+     * @return количество кнопок
+     */
+    public int getActiveCount() {
+        return schedule.size();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.calculatorapp;
+
+import java.util.Arrays;
+
+/**
+ * Ограниченный кэш результатов вычислений с вытеснением давно не использованных записей (LRU).
+ * Ключ — примитивные биты операндов и код оператора, поэтому поиск и вставка не создают объектов:
+ * записи хранятся в параллельных массивах, а хэш-цепочки и список LRU — в массивах индексов.
+ * Кэшируются только успешные результаты; ошибки и NaN всегда вычисляются заново.
+ * Класс не потокобезопасен: каждая модель должна использовать собственный экземпляр.
+ */
+public final class CalculationCache {
+    private static final int NONE = -1; // Отсутствующий индекс
+    private static final int DECIMAL_FLAG = 1 << 30; // Признак ключа режима повышенной точности
+
+    private final int capacity; // Максимальное количество записей
+    private final int[] buckets; // Первая запись хэш-цепочки для каждой корзины
+    private final int[] chain; // Следующая запись в хэш-цепочке
+    private final long[] firstKeys; // Первая часть ключа (биты предыдущего значения)
+    private final long[] secondKeys; // Вторая часть ключа (биты текущего значения)
+    private final int[] operatorKeys; // Третья часть ключа (код оператора)
+    private final double[] numbers; // Результаты режима double
+    private final DecimalNumber[] decimals; // Результаты режима повышенной точности
+    private final int[] newer; // Следующая (более новая) запись в списке LRU
+    private final int[] older; // Предыдущая (более старая) запись в списке LRU
+    private int newest = NONE; // Последняя использованная запись
+    private int oldest = NONE; // Давно не использованная запись
+    private int size = 0; // Количество записей
+
+    private long hits = 0; // Количество попаданий
+    private long misses = 0; // Количество промахов
+
+    /**
+     * Создает кэш указанного размера.
+     * @param capacity максимальное количество записей
+     */
+    public CalculationCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным");
+        }
+        this.capacity = capacity;
+        this.buckets = new int[Integer.highestOneBit(Math.max(1, capacity - 1)) << 2];
+        this.chain = new int[capacity];
+        this.firstKeys = new long[capacity];
+        this.secondKeys = new long[capacity];
+        this.operatorKeys = new int[capacity];
+        this.numbers = new double[capacity];
+        this.decimals = new DecimalNumber[capacity];
+        this.newer = new int[capacity];
+        this.older = new int[capacity];
+        Arrays.fill(buckets, NONE);
+    }
+
+    /**
+     * Ищет результат вычисления в режиме double.
+     * @param previous предыдущее значение (для унарных операторов передавайте 0)
+     * @param operator код оператора
+     * @param current текущее значение
+     * @return сохраненный результат или NaN при промахе
+     */
+    public double get(double previous, int operator, double current) {
+        int slot = find(Double.doubleToRawLongBits(previous), Double.doubleToRawLongBits(current), operator);
+        return slot == NONE ? Double.NaN : numbers[slot];
+    }
+
+    /**
+     * Сохраняет результат вычисления в режиме double. NaN не сохраняется.
+     * @param previous предыдущее значение (для унарных операторов передавайте 0)
+     * @param operator код оператора
+     * @param current текущее значение
+     * @param result результат
+     */
+    public void put(double previous, int operator, double current, double result) {
+        if (!Double.isNaN(result)) {
+            numbers[insert(Double.doubleToRawLongBits(previous), Double.doubleToRawLongBits(current), operator)] = result;
+        }
+    }
+
+    /**
+     * Ищет результат вычисления в режиме повышенной точности.
+     * Кэшируются только операнды в быстром представлении ({@link DecimalNumber#isFast()}).
+     * @param previous предыдущее значение (для унарных операторов передавайте {@link DecimalNumber#ZERO})
+     * @param operator код оператора
+     * @param current текущее значение
+     * @return сохраненный результат или null при промахе
+     */
+    public DecimalNumber getDecimal(DecimalNumber previous, int operator, DecimalNumber current) {
+        if (!previous.isFast() || !current.isFast()) {
+            misses++;
+            return null;
+        }
+        int slot = find(previous.unscaledValue(), current.unscaledValue(), decimalOperator(previous, operator, current));
+        return slot == NONE ? null : decimals[slot];
+    }
+
+    /**
+     * Сохраняет результат вычисления в режиме повышенной точности.
+     * @param previous предыдущее значение (для унарных операторов передавайте {@link DecimalNumber#ZERO})
+     * @param operator код оператора
+     * @param current текущее значение
+     * @param result результат
+     */
+    public void putDecimal(DecimalNumber previous, int operator, DecimalNumber current, DecimalNumber result) {
+        if (previous.isFast() && current.isFast()) {
+            decimals[insert(previous.unscaledValue(), current.unscaledValue(),
+                    decimalOperator(previous, operator, current))] = result;
+        }
+    }
+
+    /**
+     * Упаковывает код оператора и масштабы операндов в третью часть ключа.
+     */
+    private static int decimalOperator(DecimalNumber previous, int operator, DecimalNumber current) {
+        return DECIMAL_FLAG | operator | previous.scale() << 8 | current.scale() << 16;
+    }
+
+    /**
+     * Ищет запись и при попадании делает ее самой новой.
+     * @return индекс записи или NONE
+     */
+    private int find(long first, long second, int operator) {
+        int slot = buckets[bucket(first, second, operator)];
+        while (slot != NONE) {
+            if (firstKeys[slot] == first && secondKeys[slot] == second && operatorKeys[slot] == operator) {
+                hits++;
+                touch(slot);
+                return slot;
+            }
+            slot = chain[slot];
+        }
+        misses++;
+        return NONE;
+    }
+
+    /**
+     * Вставляет запись с указанным ключом, при необходимости вытесняя самую старую.
+     * @return индекс записи для сохранения результата
+     */
+    private int insert(long first, long second, int operator) {
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = oldest;
+            unlinkBucket(slot);
+            unlinkLru(slot);
+            decimals[slot] = null;
+        }
+        firstKeys[slot] = first;
+        secondKeys[slot] = second;
+        operatorKeys[slot] = operator;
+        int bucket = bucket(first, second, operator);
+        chain[slot] = buckets[bucket];
+        buckets[bucket] = slot;
+        linkNewest(slot);
+        return slot;
+    }
+
+    private int bucket(long first, long second, int operator) {
+        long h = first * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(second * 0xC2B2AE3D27D4EB4FL, 31) ^ operator;
+        h ^= h >>> 29;
+        return (int) h & (buckets.length - 1);
+    }
+
+    private void touch(int slot) {
+        if (slot != newest) {
+            unlinkLru(slot);
+            linkNewest(slot);
+        }
+    }
+
+    private void linkNewest(int slot) {
+        older[slot] = newest;
+        newer[slot] = NONE;
+        if (newest != NONE) {
+            newer[newest] = slot;
+        }
+        newest = slot;
+        if (oldest == NONE) {
+            oldest = slot;
+        }
+    }
+
+    private void unlinkLru(int slot) {
+        if (older[slot] != NONE) {
+            newer[older[slot]] = newer[slot];
+        } else {
+            oldest = newer[slot];
+        }
+        if (newer[slot] != NONE) {
+            older[newer[slot]] = older[slot];
+        } else {
+            newest = older[slot];
+        }
+    }
+
+    private void unlinkBucket(int slot) {
+        int bucket = bucket(firstKeys[slot], secondKeys[slot], operatorKeys[slot]);
+        if (buckets[bucket] == slot) {
+            buckets[bucket] = chain[slot];
+            return;
+        }
+        int previous = buckets[bucket];
+        while (chain[previous] != slot) {
+            previous = chain[previous];
+        }
+        chain[previous] = chain[slot];
+    }
+
+    /**
+     * Удаляет все записи. Счетчики попаданий и промахов сохраняются.
+     */
+    public void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(decimals, null);
+        newest = NONE;
+        oldest = NONE;
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество попаданий.
+     * @return количество попаданий
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Возвращает количество промахов.
+     * @return количество промахов
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Возвращает текущее количество записей.
+     * @return количество записей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает максимальное количество записей.
+     * @return размер кэша
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
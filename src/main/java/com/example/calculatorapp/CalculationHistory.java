@@ -0,0 +1,179 @@
+package com.example.calculatorapp;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ограниченная история завершенных вычислений (например, {@code 12.5 * 3 = 37.5}).
+ * В памяти хранятся последние N записей в кольцевом буфере; вытесненные записи дописываются
+ * в файл (по одной на строку), если он указан, иначе отбрасываются. Поэтому объем памяти
+ * не зависит от количества операций в сессии.
+ * Класс не потокобезопасен: историю должен изменять и читать один поток (например, поток JavaFX).
+ */
+public class CalculationHistory implements Closeable {
+    private final String[] entries; // Кольцевой буфер записей
+    private final Path spillPath; // Файл для вытесненных записей (null — записи отбрасываются)
+    private BufferedWriter spill; // Поток записи в файл, открывается при первом вытеснении
+    private boolean spillEnabled; // Сохраняются ли вытесненные записи (false после ошибки записи)
+    private int head = 0; // Индекс самой старой записи в буфере
+    private int size = 0; // Количество записей в буфере
+    private long totalCount = 0; // Количество записей, добавленных за все время
+    private long spilledCount = 0; // Количество записей, сохраненных в файл
+
+    /**
+     * Создает историю без сохранения вытесненных записей.
+     * @param capacity количество записей, хранимых в памяти
+     */
+    public CalculationHistory(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Создает историю с сохранением вытесненных записей в файл.
+     * @param capacity количество записей, хранимых в памяти
+     * @param spillPath файл для вытесненных записей (дописывается) или null
+     */
+    public CalculationHistory(int capacity, Path spillPath) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+        this.entries = new String[capacity];
+        this.spillPath = spillPath;
+        this.spillEnabled = spillPath != null;
+    }
+
+    /**
+     * Добавляет завершенное вычисление. Если буфер заполнен, самая старая запись вытесняется в файл.
+     * При ошибке записи файл отключается, а история продолжает работать в памяти.
+     * @param entry текст вычисления
+     */
+    public void add(String entry) {
+        if (size == entries.length) {
+            spill(entries[head]);
+            entries[head] = entry;
+            head = (head + 1) % entries.length;
+        } else {
+            entries[(head + size) % entries.length] = entry;
+            size++;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Сохраняет вытесненную запись в файл, если он указан.
+     * @param entry вытесненная запись
+     */
+    private void spill(String entry) {
+        if (!spillEnabled) {
+            return;
+        }
+        try {
+            if (spill == null) {
+                spill = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            spill.write(entry);
+            spill.newLine();
+            spilledCount++;
+        } catch (IOException e) {
+            System.err.println("Сохранение истории отключено: " + e.getMessage());
+            spillEnabled = false;
+            closeSpill();
+        }
+    }
+
+    /**
+     * Возвращает запись из памяти.
+     * @param index индекс записи: 0 — самая старая из хранимых, {@link #size()} - 1 — последняя
+     * @return текст вычисления
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс " + index + ", записей " + size);
+        }
+        return entries[(head + index) % entries.length];
+    }
+
+    /**
+     * Возвращает количество записей в памяти.
+     * @return количество записей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает максимальное количество записей в памяти.
+     * @return размер кольцевого буфера
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Возвращает количество записей, добавленных за все время.
+     * Позволяет представлению определить, сколько записей появилось с прошлой отрисовки.
+     * @return количество записей
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Возвращает количество записей, сохраненных в файл.
+     * @return количество записей
+     */
+    public long getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Возвращает файл для вытесненных записей.
+     * @return путь к файлу или null
+     */
+    public Path getSpillPath() {
+        return spillPath;
+    }
+
+    /**
+     * Удаляет записи из памяти. Сохраненные в файл записи не затрагиваются.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[(head + i) % entries.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Сбрасывает вытесненные записи в файл и закрывает его. Записи в памяти не сохраняются.
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        if (spill != null) {
+            try {
+                spill.close();
+            } finally {
+                spill = null;
+            }
+        }
+    }
+
+    /**
+     * Закрывает файл после ошибки записи, игнорируя повторные ошибки.
+     */
+    private void closeSpill() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            // Файл уже отключен
+        }
+    }
+}
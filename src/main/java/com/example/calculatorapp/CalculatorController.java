@@ -1,12 +1,23 @@
 package com.example.calculatorapp;
 
+import java.io.IOException;
+import java.math.MathContext;
+import java.util.List;
+
 /**
  * Контроллер калькулятора, отвечающий за взаимодействие между представлением (View) и моделью (Model).
  * Этот класс обрабатывает ввод пользователя и обновляет интерфейс в соответствии с результатами вычислений.
+ * В режиме программиста ввод направляется в целочисленную модель {@link ProgrammerModel}.
+ * После каждого нажатия в десятичном режиме публикуется снимок модели ({@link #getSnapshot()}),
+ * который потоки мониторинга читают без блокировок; по сохраненным снимкам работают отмена и повтор.
  */
 public class CalculatorController {
     private CalculatorModel model; // Модель калькулятора
+    private ProgrammerModel programmer; // Модель режима программиста (null — десятичный режим)
     private CalculatorView view; // Представление калькулятора
+    private SessionJournal journal; // Журнал нажатий и результатов (null — журнал не ведется)
+    private int sampleCountdown = 1; // Количество токенов до следующего замера времени
+    private final CalculatorStateStore states = new CalculatorStateStore(CalculatorStateStore.UNDO_LIMIT); // Снимки модели
 
     /**
      * Конструктор инициализирует контроллер с указанным представлением.
@@ -19,47 +30,392 @@ public class CalculatorController {
 
     /**
      * Обрабатывает ввод пользователя и выполняет соответствующие действия.
+     * Представление не перерисовывается сразу, а помечается как измененное и обновляется
+     * один раз на ближайшем кадре JavaFX.
+     * @param input нажатая кнопка
+     */
+    public void processInput(Opcode input) {
+        apply(input);
+        view.requestRender();
+    }
+
+    /**
+     * Обрабатывает ввод пользователя, заданный текстом кнопки. Адаптер для строкового ввода;
+     * текст, не совпадающий ни с одной кнопкой, добавляется к текущему числу, как раньше.
      * @param input ввод пользователя
      */
     public void processInput(String input) {
+        Opcode opcode = Opcode.fromText(input);
+        if (opcode != null) {
+            processInput(opcode);
+        } else if (programmer == null) {
+            InputProcessor.process(model, input);
+            states.push(model.snapshot());
+            view.requestRender();
+        }
+    }
+
+    /**
+     * Обрабатывает вставленный текст целиком (режим вставки): все токены применяются к модели
+     * до следующего кадра, а представление обновляется один раз.
+     * @param text вставленный текст, например {@code "12.5*3="}
+     * @return количество примененных токенов
+     */
+    public int processText(CharSequence text) {
+        List<Opcode> tokens = programmer != null ? InputProcessor.tokenizeProgrammer(text) : InputProcessor.tokenize(text);
+        for (Opcode token : tokens) {
+            apply(token);
+        }
+        if (!tokens.isEmpty()) {
+            view.requestRender();
+        }
+        return tokens.size();
+    }
+
+    /**
+     * Применяет одну кнопку к модели без обновления представления.
+     * @param input нажатая кнопка
+     */
+    private void apply(Opcode input) {
+        if (ControllerMetrics.ENABLED) {
+            applyMeasured(input);
+        } else {
+            applyToModel(input);
+        }
+    }
+
+    /**
+     * Применяет токен к модели и записывает метрики: тип токена и переход в состояние ошибки — всегда,
+     * время работы модели и событие JFR — для каждого {@link ControllerMetrics#SAMPLE_INTERVAL}-го токена,
+     * чтобы стоимость чтения часов не ложилась на каждое нажатие.
+     * @param input нажатая кнопка
+     */
+    private void applyMeasured(Opcode input) {
+        String errorBefore = getErrorMessage();
+        if (--sampleCountdown > 0) {
+            applyToModel(input);
+            ControllerMetrics.INSTANCE.countToken(input);
+        } else {
+            sampleCountdown = ControllerMetrics.SAMPLE_INTERVAL;
+            TokenEvent event = new TokenEvent();
+            event.begin();
+            long start = System.nanoTime();
+            applyToModel(input);
+            ControllerMetrics.INSTANCE.recordToken(input, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.token = input.getText();
+                event.type = ControllerMetrics.TokenType.of(input).name();
+                event.error = getErrorMessage();
+                event.commit();
+            }
+        }
+        String error = getErrorMessage();
+        if (!error.isEmpty() && !error.equals(errorBefore)) {
+            ControllerMetrics.INSTANCE.recordError(error);
+        }
+    }
+
+    /**
+     * Применяет кнопку к модели и записывает ее в журнал.
+     * @param input нажатая кнопка
+     */
+    private void applyToModel(Opcode input) {
+        if (programmer != null) {
+            applyToProgrammer(input);
+            return;
+        }
         try {
-            switch (input) {
-                case "+": // Установка оператора сложения
-                case "-": // Установка оператора вычитания
-                case "*": // Установка оператора умножения
-                case "/": // Установка оператора деления
-                case "%": // Установка оператора остатка от деления
-                case "1/x": // Установка оператора обратного значения
-                case "x^2": // Установка оператора возведения в квадрат
-                case "√x": // Установка оператора квадратного корня
-                    model.setOperator(input);
-                    break;
-                case "=": // Выполнение вычисления
-                    model.calculate();
-                    break;
-                case "C": // Очистка всех значений
-                    model.clear();
-                    break;
-                case "CE": // Очистка текущего значения
-                    model.clearEntry();
-                    break;
-                case "⌫": // Удаление последнего символа
-                    model.backspace();
-                    break;
-                case "+/-": // Переключение знака текущего числа
-                    model.toggleSign();
-                    break;
-                default: // Добавление цифры или десятичной точки
-                    model.appendNumber(input);
+            // Применение токена к модели (общая логика с пакетным режимом)
+            String value = InputProcessor.process(model, input);
+            if (journal != null) {
+                recordJournal(input, value);
             }
-            // Обновление отображаемого значения и текущего выражения
-            view.updateDisplay(model.getCurrentValue());
-            view.updateCurrentOperationDisplay(model.getCurrentExpression());
         } catch (Exception e) {
             // Обработка неизвестных ошибок
+            if (ControllerMetrics.ENABLED) {
+                ControllerMetrics.INSTANCE.recordException(e);
+            }
             model.setError("Ошибка: неизвестная ошибка");
-            view.updateDisplay(model.getCurrentValue());
-            view.updateCurrentOperationDisplay(model.getCurrentExpression());
+        }
+        states.push(model.snapshot());
+    }
+
+    /**
+     * Применяет кнопку к модели режима программиста и записывает ее в журнал (результат — целым числом).
+     * @param input нажатая кнопка
+     */
+    private void applyToProgrammer(Opcode input) {
+        try {
+            programmer.process(input);
+            if (journal != null) {
+                String error = programmer.getErrorMessage();
+                if (error.isEmpty()) {
+                    journal.record(input, programmer.getValue());
+                } else {
+                    journal.record(input, error);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Журнал отключен: " + e.getMessage());
+            journal = null;
+        } catch (Exception e) {
+            // Обработка неизвестных ошибок
+            if (ControllerMetrics.ENABLED) {
+                ControllerMetrics.INSTANCE.recordException(e);
+            }
+            programmer.setError("Ошибка: неизвестная ошибка");
+        }
+    }
+
+    /**
+     * Возвращает сообщение об ошибке активной модели.
+     * @return сообщение об ошибке или пустая строка
+     */
+    private String getErrorMessage() {
+        return programmer != null ? programmer.getErrorMessage() : model.getErrorMessage();
+    }
+
+    /**
+     * Возвращает значение для основного поля отображения. Вызывается представлением при отрисовке кадра.
+     * @return текущее значение модели
+     */
+    public String getDisplayValue() {
+        return programmer != null ? programmer.getCurrentValue() : model.getCurrentValue();
+    }
+
+    /**
+     * Возвращает текст для поля текущей операции. Вызывается представлением при отрисовке кадра.
+     * @return текущее выражение модели
+     */
+    public String getDisplayExpression() {
+        return programmer != null ? programmer.getCurrentExpression() : model.getCurrentExpression();
+    }
+
+    /**
+     * Включает или выключает режим программиста. Переключение начинает новую сессию:
+     * режим программиста — с нулевого значения (64 бита, со знаком, десятичная система),
+     * десятичный режим — с очищенной модели; в журнал записывается начало сессии нужного вида.
+     * @param enabled true, чтобы включить режим программиста
+     */
+    public void setProgrammerMode(boolean enabled) {
+        if (enabled == isProgrammerMode()) {
+            return;
+        }
+        if (enabled) {
+            programmer = new ProgrammerModel();
+        } else {
+            programmer = null;
+            model.clear();
+            states.reset(model.snapshot());
+        }
+        if (journal != null) {
+            try {
+                if (enabled) {
+                    journal.startProgrammerSession();
+                } else {
+                    journal.startSession();
+                    recordSettings(); // Новая сессия воспроизводится на новой модели с текущими настройками
+                }
+            } catch (IOException e) {
+                System.err.println("Журнал отключен: " + e.getMessage());
+                journal = null;
+            }
+        }
+        view.requestRender();
+    }
+
+    /**
+     * Проверяет, включен ли режим программиста.
+     * @return true в режиме программиста
+     */
+    public boolean isProgrammerMode() {
+        return programmer != null;
+    }
+
+    /**
+     * Возвращает модель режима программиста.
+     * @return модель или null в десятичном режиме
+     */
+    public ProgrammerModel getProgrammerModel() {
+        return programmer;
+    }
+
+    /**
+     * Записывает нажатие в журнал. При ошибке записи журнал отключается, а калькулятор продолжает работу.
+     * @param input нажатая кнопка
+     * @param value значение на дисплее после обработки ввода
+     */
+    private void recordJournal(Opcode input, String value) {
+        try {
+            journal.record(input, value);
+        } catch (IOException e) {
+            System.err.println("Журнал отключен: " + e.getMessage());
+            journal = null;
+        }
+    }
+
+    /**
+     * Возвращает снимок десятичной модели после последнего обработанного нажатия.
+     * Безопасно для вызова из любого потока: снимок неизменяем и публикуется без блокировок.
+     * @return снимок состояния модели
+     */
+    public CalculatorState getSnapshot() {
+        return states.snapshot();
+    }
+
+    /**
+     * Отменяет последнее нажатие в десятичном режиме, восстанавливая модель из предыдущего снимка.
+     * Отмена записывается в журнал, чтобы воспроизведение восстановило тот же снимок.
+     * @return true, если нажатие было отменено
+     */
+    public boolean undo() {
+        if (programmer != null || !restore(states.undo())) {
+            return false;
+        }
+        if (journal != null) {
+            try {
+                journal.recordUndo();
+            } catch (IOException e) {
+                System.err.println("Журнал отключен: " + e.getMessage());
+                journal = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Повторяет последнее отмененное нажатие в десятичном режиме.
+     * @return true, если нажатие было повторено
+     */
+    public boolean redo() {
+        if (programmer != null || !restore(states.redo())) {
+            return false;
+        }
+        if (journal != null) {
+            try {
+                journal.recordRedo();
+            } catch (IOException e) {
+                System.err.println("Журнал отключен: " + e.getMessage());
+                journal = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Восстанавливает модель из снимка и обновляет представление.
+     * @param state снимок или null
+     * @return true, если снимок был восстановлен
+     */
+    private boolean restore(CalculatorState state) {
+        if (state == null) {
+            return false;
+        }
+        model.restore(state);
+        view.requestRender();
+        return true;
+    }
+
+    /**
+     * Подключает историю завершенных вычислений к модели.
+     * @param history история или null, чтобы отключить ее
+     */
+    public void setHistory(CalculationHistory history) {
+        model.setHistory(history);
+    }
+
+    /**
+     * Возвращает историю завершенных вычислений.
+     * @return история или null
+     */
+    public CalculationHistory getHistory() {
+        return model.getHistory();
+    }
+
+    /**
+     * Устанавливает уровень точности функций научного режима и отмечает смену в журнале.
+     * @param accuracyTier уровень точности
+     */
+    public void setAccuracyTier(ScientificFunctions.AccuracyTier accuracyTier) {
+        model.setAccuracyTier(accuracyTier);
+        if (journal != null) {
+            try {
+                journal.recordAccuracyTier(accuracyTier);
+            } catch (IOException e) {
+                System.err.println("Журнал отключен: " + e.getMessage());
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Возвращает уровень точности функций научного режима.
+     * @return уровень точности
+     */
+    public ScientificFunctions.AccuracyTier getAccuracyTier() {
+        return model.getAccuracyTier();
+    }
+
+    /**
+     * Включает режим повышенной точности или возвращает режим double и отмечает смену в журнале.
+     * @param mathContext контекст округления или null для режима double
+     */
+    public void setPrecision(MathContext mathContext) {
+        model.setPrecision(mathContext);
+        states.push(model.snapshot());
+        if (journal != null) {
+            try {
+                journal.recordPrecision(mathContext);
+            } catch (IOException e) {
+                System.err.println("Журнал отключен: " + e.getMessage());
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Возвращает контекст режима повышенной точности.
+     * @return контекст округления или null в режиме double
+     */
+    public MathContext getPrecision() {
+        return model.getPrecision();
+    }
+
+    /**
+     * Подключает журнал нажатий и результатов. Текущие настройки точности модели
+     * записываются сразу, чтобы сессия воспроизводилась с ними.
+     * @param journal журнал или null, чтобы прекратить запись
+     */
+    public void setJournal(SessionJournal journal) {
+        this.journal = journal;
+        if (journal != null) {
+            recordSettings();
+        }
+    }
+
+    /**
+     * Записывает в журнал настройки точности модели, отличные от настроек новой модели.
+     * Воспроизведение начинает сессию с новой модели и считает записанную смену точности шагом отмены,
+     * поэтому шаги отмены контроллера начинаются так же: с состояния новой модели и, если режим
+     * повышенной точности включен, шага его включения.
+     */
+    private void recordSettings() {
+        MathContext precision = model.getPrecision();
+        states.reset(precision == null ? model.snapshot() : CalculatorState.INITIAL);
+        if (precision != null) {
+            states.push(model.snapshot());
+        }
+        try {
+            if (model.getPrecision() != null) {
+                journal.recordPrecision(model.getPrecision());
+            }
+            if (model.getAccuracyTier() != ScientificFunctions.AccuracyTier.DEFAULT) {
+                journal.recordAccuracyTier(model.getAccuracyTier());
+            }
+        } catch (IOException e) {
+            System.err.println("Журнал отключен: " + e.getMessage());
+            journal = null;
         }
     }
 }
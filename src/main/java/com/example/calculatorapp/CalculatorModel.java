@@ -1,26 +1,55 @@
 package com.example.calculatorapp;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+
 /**
  * Модель калькулятора, отвечающая за выполнение всех вычислений и управление состоянием калькулятора.
+ * В режиме double целые операнды вычисляются точно в long (с проверкой переполнения через {@code Math.*Exact});
+ * вычисление в double выполняется только при переполнении, дробном операнде или дробном результате.
+ * Функции научного режима вычисляются {@link ScientificFunctions} на выбранном уровне точности.
  */
 public class CalculatorModel {
-    private StringBuilder currentNumber = new StringBuilder(); // Текущее число, введенное пользователем
-    private StringBuilder currentExpression = new StringBuilder(); // Текущее выражение, введенное пользователем
-    private String operator = ""; // Текущий оператор
+    private static final double MAX_EXACT_DOUBLE = 0x1p53; // Граница точного представления целых в double
+    private static final long MAX_LONG_ROOT = 3_037_000_499L; // Наибольшее число, квадрат которого помещается в long
+
+    /** Максимальная длина вводимого числа в символах; цифры сверх нее игнорируются. */
+    public static final int MAX_ENTRY_LENGTH = 400;
+
+    private StringBuilder currentNumber = new StringBuilder(); // Текущее число в виде текста (результат или текстовый ввод)
+    private final NumberEntry entry = new NumberEntry(); // Число, вводимое с кнопок, без создания объектов
+    private boolean entering = false; // Текущее число хранится в entry, а не в currentNumber
+    private final ExpressionBuffer currentExpression = new ExpressionBuffer(); // Текущее выражение, введенное пользователем
+    private Opcode operator = null; // Текущий оператор (null — оператора нет)
     private double previousValue = 0; // Предыдущее значение
+    private long previousLong = 0; // Предыдущее значение в виде целого числа
+    private boolean previousExact = true; // Является ли предыдущее значение точным целым (previousLong)
+    private long currentLong = 0; // Текущее число, разобранное как целое (см. parseCurrentLong)
+    private final char[] digits = new char[25]; // Буфер форматирования результата
     private boolean clearNext = false; // Флаг, указывающий на необходимость очистки следующего числа
     private String errorMessage = ""; // Сообщение об ошибке
+    private MathContext mathContext = null; // Контекст режима повышенной точности (null — режим double)
+    private DecimalNumber previousDecimal = DecimalNumber.ZERO; // Предыдущее значение в режиме повышенной точности
+    private CalculationCache cache = null; // Необязательный кэш результатов вычислений
+    private CalculationHistory history = null; // Необязательная история завершенных вычислений
+    private ScientificFunctions.AccuracyTier accuracyTier = ScientificFunctions.AccuracyTier.DEFAULT; // Точность функций
 
     /**
      * Добавляет цифру или десятичную точку к текущему числу.
      * @param number цифра или десятичная точка для добавления
      */
     public void appendNumber(String number) {
-        if (clearNext) {
-            currentNumber.setLength(0);
-            clearNext = false;
+        if (number.length() == 1) {
+            Opcode opcode = Opcode.fromText(number);
+            if (opcode != null && (opcode.isDigit() || opcode == Opcode.POINT)) {
+                appendNumber(opcode);
+                return;
+            }
         }
-        if (number.equals(".") && currentNumber.indexOf(".") != -1) {
+        startEntry();
+        materializeEntry();
+        if (number.equals(".") && currentNumber.indexOf(".") != -1
+                || currentNumber.length() + number.length() > MAX_ENTRY_LENGTH) {
             return;
         }
         if (currentNumber.length() == 1 && currentNumber.charAt(0) == '0' && !number.equals(".")) {
@@ -31,18 +60,116 @@ public class CalculatorModel {
     }
 
     /**
-     * Устанавливает оператор для следующего вычисления.
-     * @param operator оператор для установки
+     * Добавляет цифру или десятичную точку к текущему числу. Нажатия изменяют только поля {@link NumberEntry};
+     * число длиннее {@link NumberEntry#MAX_DIGITS} цифр переносится в текст и дальше вводится как раньше,
+     * но не длиннее {@link #MAX_ENTRY_LENGTH} символов.
+     * @param opcode кнопка цифры или десятичной точки
+     */
+    public void appendNumber(Opcode opcode) {
+        char c = opcode.getChar();
+        startEntry();
+        if (!entering && currentNumber.length() == 0) {
+            entry.clear();
+            entering = true;
+        }
+        if (entering) {
+            if (c == '.' ? entry.appendPoint() : entry.appendDigit(c - '0')) {
+                currentExpression.append(c);
+                return;
+            }
+            if (c == '.') {
+                return; // Точка уже введена
+            }
+            materializeEntry(); // Цифра не поместилась в NumberEntry
+        }
+        if (c == '.' && currentNumber.indexOf(".") != -1 || currentNumber.length() >= MAX_ENTRY_LENGTH) {
+            return;
+        }
+        if (currentNumber.length() == 1 && currentNumber.charAt(0) == '0' && c != '.') {
+            currentNumber.setLength(0);
+        }
+        currentNumber.append(c);
+        currentExpression.append(c);
+    }
+
+    /**
+     * Очищает текущее число, если после вычисления или оператора начинается ввод нового.
+     */
+    private void startEntry() {
+        if (clearNext) {
+            currentNumber.setLength(0);
+            entering = false;
+            if (history != null && operator == null) {
+                currentExpression.setLength(0); // Новое вычисление после результата, предыдущее уже в истории
+            }
+            clearNext = false;
+        }
+    }
+
+    /**
+     * Переносит вводимое с кнопок число в текст, чтобы продолжить ввод в {@link #currentNumber}.
+     */
+    private void materializeEntry() {
+        if (entering) {
+            currentNumber.setLength(0);
+            currentNumber.append(entry);
+            entering = false;
+        }
+    }
+
+    /**
+     * Возвращает текущее число: вводимое с кнопок или текстовое.
+     */
+    private CharSequence number() {
+        return entering ? entry : currentNumber;
+    }
+
+    /**
+     * Возвращает значение текущего числа в double.
+     * @throws NumberFormatException если текстовое число записано неверно
+     */
+    private double currentDouble() {
+        return entering ? entry.getValue() : Double.parseDouble(currentNumber.toString());
+    }
+
+    /**
+     * Устанавливает оператор для следующего вычисления. Адаптер для строкового ввода.
+     * @param operator оператор для установки (текст кнопки)
+     * @throws IllegalArgumentException если это не текст кнопки оператора
      */
     public void setOperator(String operator) {
+        Opcode opcode = Opcode.fromText(operator);
+        if (opcode == null || !opcode.isOperator()) {
+            throw new IllegalArgumentException("Неизвестный оператор: " + operator);
+        }
+        setOperator(opcode);
+    }
+
+    /**
+     * Устанавливает оператор для следующего вычисления.
+     * @param operator кнопка оператора
+     */
+    public void setOperator(Opcode operator) {
         try {
-            if (!this.operator.isEmpty()) {
+            if (this.operator != null) {
                 calculate(); // Выполняет вычисление, если есть ожидающий оператор
-            } else if (currentNumber.length() > 0) {
-                previousValue = Double.parseDouble(currentNumber.toString());
+            } else if (number().length() > 0) {
+                if (parseCurrentLong()) {
+                    setPrevious(currentLong);
+                } else {
+                    setPrevious(currentDouble());
+                }
+                if (mathContext != null) {
+                    previousDecimal = DecimalNumber.parse(number());
+                }
+            }
+            if (history != null && currentExpression.lastIndexOf('=') >= 0) {
+                // Продолжение завершенного вычисления, которое уже в истории, начинается с результата
+                currentExpression.setLength(0);
+                currentExpression.append(number());
             }
             this.operator = operator;
-            currentExpression.append(" ").append(operator).append(" ");
+            currentExpression.append(' ').append(operator.getText()).append(' ');
             clearNext = true;
         } catch (NumberFormatException e) {
             setError("Ошибка: неверный формат числа");
@@ -54,11 +181,12 @@ public class CalculatorModel {
      * @param number число для форматирования
      * @return отформатированное число в виде строки
      */
-    private String formatNumber(double number) {
+    static String formatNumber(double number) {
+        // Long.toString и Double.toString дают тот же текст, что и String.format("%d"/"%s"), без Formatter
         if (number == (long) number) {
-            return String.format("%d", (long) number);
+            return Long.toString((long) number);
         } else {
-            return String.format("%s", number);
+            return Double.toString(number);
         }
     }
 
@@ -68,73 +196,487 @@ public class CalculatorModel {
      */
     public void calculate() {
         try {
-            if (operator.isEmpty()) return; // Если нет ожидающей операции, выйти
+            if (operator == null) return; // Если нет ожидающей операции, выйти
+            if (mathContext != null) {
+                calculateDecimal();
+                return;
+            }
+
+            int code = operator.getOperatorCode();
+            boolean unary = operator.isUnaryOperator();
+            if ((unary || previousExact) && parseCurrentLong() && calculateExact(unary ? 0 : previousLong, currentLong)) {
+                return;
+            }
+
+            double currentValue = currentDouble();
+            // Для унарных операторов предыдущее значение не влияет на результат и не входит в ключ кэша
+            double cachedPrevious = unary ? 0 : previousValue;
+            boolean cached = cache != null && code >= 0;
+            double result = cached ? cache.get(cachedPrevious, code, currentValue) : Double.NaN;
+
+            if (Double.isNaN(result)) {
+                result = previousValue;
+                switch (operator) {
+                    case ADD:
+                        result = previousValue + currentValue;
+                        break;
+                    case SUBTRACT:
+                        result = previousValue - currentValue;
+                        break;
+                    case MULTIPLY:
+                        result = previousValue * currentValue;
+                        break;
+                    case DIVIDE:
+                        if (currentValue != 0) {
+                            result = previousValue / currentValue;
+                        } else {
+                            setError("Ошибка: деление на ноль");
+                            return;
+                        }
+                        break;
+                    case PERCENT:
+                        result = previousValue % currentValue;
+                        break;
+                    case RECIPROCAL:
+                        if (currentValue != 0) {
+                            result = 1 / currentValue;
+                        } else {
+                            setError("Ошибка: деление на ноль");
+                            return;
+                        }
+                        break;
+                    case SQUARE:
+                        result = currentValue * currentValue;
+                        break;
+                    case SQUARE_ROOT:
+                        if (currentValue >= 0) {
+                            result = Math.sqrt(currentValue);
+                        } else {
+                            setError("Ошибка: отрицательное число");
+                            return;
+                        }
+                        break;
+                    default:
+                        result = scientific(previousValue, currentValue);
+                        if (!Double.isFinite(result)) {
+                            setError(scientificError(result));
+                            return;
+                        }
+                }
+                if (cached) {
+                    cache.put(cachedPrevious, code, currentValue, result);
+                }
+            }
+
+            setPrevious(result); // Обновляем предыдущее значение результатом для следующей операции
+            entering = false;
+            currentNumber.setLength(0);
+            currentNumber.append(digits, 0, NumberFormatter.formatDouble(result, digits, 0));
+            completeExpression(currentNumber);
+            operator = null;
+            clearNext = true;
+        } catch (NumberFormatException e) {
+            setError("Ошибка: неверный формат числа");
+        }
+    }
+
+    /**
+     * Выполняет вычисление над целыми операндами точно, без преобразования в double.
+     * Кэш результатов не используется: целочисленная операция дешевле обращения к кэшу.
+     * @param previous предыдущее значение (0 для унарных операторов)
+     * @param current текущее число
+     * @return true, если вычисление завершено (результатом или ошибкой); false, если результат
+     *         не является точным целым или не помещается в long и нужно вычисление в double
+     */
+    private boolean calculateExact(long previous, long current) {
+        long result;
+        try {
+            switch (operator) {
+                case ADD:
+                    result = Math.addExact(previous, current);
+                    break;
+                case SUBTRACT:
+                    result = Math.subtractExact(previous, current);
+                    break;
+                case MULTIPLY:
+                    result = Math.multiplyExact(previous, current);
+                    break;
+                case DIVIDE:
+                    if (current == 0) {
+                        setError("Ошибка: деление на ноль");
+                        return true;
+                    }
+                    if (previous % current != 0 || (previous == Long.MIN_VALUE && current == -1)) {
+                        return false; // Дробное частное или переполнение
+                    }
+                    result = previous / current;
+                    break;
+                case PERCENT:
+                    if (current == 0) {
+                        return false; // В double остаток от деления на ноль — NaN
+                    }
+                    result = previous % current;
+                    break;
+                case RECIPROCAL:
+                    if (current == 0) {
+                        setError("Ошибка: деление на ноль");
+                        return true;
+                    }
+                    if (current != 1 && current != -1) {
+                        return false;
+                    }
+                    result = current;
+                    break;
+                case SQUARE:
+                    result = Math.multiplyExact(current, current);
+                    break;
+                case SQUARE_ROOT:
+                    if (current < 0) {
+                        setError("Ошибка: отрицательное число");
+                        return true;
+                    }
+                    result = isqrt(current);
+                    if (result * result != current) {
+                        return false; // Корень не целый
+                    }
+                    break;
+                case POWER:
+                    if (current < 0) {
+                        return false;
+                    }
+                    result = ScientificFunctions.powExact(previous, current);
+                    break;
+                case COMBINATIONS:
+                    if (previous < 0 || current < 0 || current > previous) {
+                        return false; // Недопустимые аргументы — ошибка в вычислении double
+                    }
+                    result = ScientificFunctions.combinationsExact(previous, current);
+                    break;
+                case FACTORIAL:
+                    if (current < 0) {
+                        return false;
+                    }
+                    result = ScientificFunctions.factorialExact(current);
+                    break;
+                default:
+                    return false; // Трансцендентные функции вычисляются в double
+            }
+        } catch (ArithmeticException e) {
+            return false; // Переполнение long
+        }
+
+        setPrevious(result);
+        entering = false;
+        currentNumber.setLength(0);
+        currentNumber.append(digits, 0, NumberFormatter.formatLong(result, digits, 0));
+        completeExpression(currentNumber);
+        operator = null;
+        clearNext = true;
+        return true;
+    }
+
+    /**
+     * Вычисляет оператор научного режима в double на текущем уровне точности.
+     * @param previous предыдущее значение (для бинарных операторов)
+     * @param current текущее число
+     * @return результат (NaN вне области определения, бесконечность при переполнении)
+     */
+    private double scientific(double previous, double current) {
+        ScientificFunctions.AccuracyTier tier = accuracyTier;
+        switch (operator) {
+            case POWER:
+                return ScientificFunctions.pow(previous, current, tier);
+            case COMBINATIONS:
+                return ScientificFunctions.combinations(previous, current);
+            case SINE:
+                return ScientificFunctions.sin(current, tier);
+            case COSINE:
+                return ScientificFunctions.cos(current, tier);
+            case TANGENT:
+                return ScientificFunctions.tan(current, tier);
+            case ARCSINE:
+                return ScientificFunctions.asin(current, tier);
+            case ARCCOSINE:
+                return ScientificFunctions.acos(current, tier);
+            case ARCTANGENT:
+                return ScientificFunctions.atan(current, tier);
+            case NATURAL_LOG:
+                return ScientificFunctions.ln(current, tier);
+            case LOG10:
+                return ScientificFunctions.log10(current, tier);
+            case EXP:
+                return ScientificFunctions.exp(current, tier);
+            case FACTORIAL:
+                return ScientificFunctions.factorial(current, tier);
+            default:
+                throw new IllegalStateException("Оператор не относится к научному режиму: " + operator.getText());
+        }
+    }
+
+    /**
+     * Возвращает сообщение об ошибке для недопустимого результата научной функции.
+     * Бесконечный логарифм (аргумент 0) считается недопустимым аргументом, а не переполнением.
+     * @param result результат (NaN или бесконечность)
+     * @return сообщение об ошибке
+     */
+    private String scientificError(double result) {
+        boolean logarithm = operator == Opcode.NATURAL_LOG || operator == Opcode.LOG10;
+        return Double.isNaN(result) || logarithm ? "Ошибка: недопустимый аргумент" : "Ошибка: переполнение";
+    }
+
+    /**
+     * Возвращает целую часть квадратного корня неотрицательного числа.
+     */
+    private static long isqrt(long value) {
+        long root = Math.min((long) Math.sqrt((double) value), MAX_LONG_ROOT);
+        // Округление value до double может сдвинуть оценку на единицу в любую сторону;
+        // квадрат числа больше MAX_LONG_ROOT переполняет long, поэтому оценка ограничена сверху
+        while (root * root > value) {
+            root--;
+        }
+        while (root < MAX_LONG_ROOT && (root + 1) * (root + 1) <= value) {
+            root++;
+        }
+        return root;
+    }
+
+    /**
+     * Разбирает текущее число как целое без создания объектов.
+     * Результат сохраняется в {@link #currentLong}.
+     * @return true, если текущее число — целое без точки и экспоненты, помещающееся в long
+     */
+    private boolean parseCurrentLong() {
+        if (entering) {
+            currentLong = entry.getLongValue();
+            return entry.isInteger();
+        }
+        if (!isLong(currentNumber)) {
+            return false;
+        }
+        currentLong = Long.parseLong(currentNumber, 0, currentNumber.length(), 10);
+        return true;
+    }
+
+    /**
+     * Проверяет без создания объектов, что текст — целое без точки и экспоненты, помещающееся в long.
+     * @param text текст числа
+     * @return true для такого целого
+     */
+    static boolean isLong(CharSequence text) {
+        int length = text.length();
+        int start = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        if (start == length) {
+            return false;
+        }
+        long value = 0; // Накапливается со знаком минус, чтобы поместился Long.MIN_VALUE
+        for (int i = start; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                return false;
+            }
+            value = value * 10 - digit;
+        }
+        return start == 1 || value != Long.MIN_VALUE;
+    }
+
+    /**
+     * Запоминает предыдущее значение, полученное точно в целых числах.
+     * @param value предыдущее значение
+     */
+    private void setPrevious(long value) {
+        previousLong = value;
+        previousExact = true;
+        previousValue = value;
+    }
 
-            double currentValue = Double.parseDouble(currentNumber.toString());
-            double result = previousValue;
+    /**
+     * Запоминает предыдущее значение в double. Целое значение, представимое в double точно
+     * (не больше 2^53 по модулю), запоминается и как целое для следующего точного вычисления.
+     * @param value предыдущее значение
+     */
+    private void setPrevious(double value) {
+        previousValue = value;
+        previousExact = value == (long) value && Math.abs(value) <= MAX_EXACT_DOUBLE;
+        previousLong = previousExact ? (long) value : 0;
+    }
 
+    /**
+     * Выполняет вычисление в режиме повышенной точности.
+     * Операции и сообщения об ошибках совпадают с вычислением в режиме double.
+     */
+    private void calculateDecimal() {
+        DecimalNumber currentValue = DecimalNumber.parse(number());
+        int code = operator.getOperatorCode();
+        DecimalNumber cachedPrevious = operator.isUnaryOperator() ? DecimalNumber.ZERO : previousDecimal;
+        boolean cached = cache != null && code >= 0;
+        DecimalNumber result = cached ? cache.getDecimal(cachedPrevious, code, currentValue) : null;
+
+        if (result == null) {
+            result = previousDecimal;
             switch (operator) {
-                case "+":
-                    result = previousValue + currentValue;
+                case ADD:
+                    result = previousDecimal.add(currentValue, mathContext);
                     break;
-                case "-":
-                    result = previousValue - currentValue;
+                case SUBTRACT:
+                    result = previousDecimal.subtract(currentValue, mathContext);
                     break;
-                case "*":
-                    result = previousValue * currentValue;
+                case MULTIPLY:
+                    result = previousDecimal.multiply(currentValue, mathContext);
                     break;
-                case "/":
-                    if (currentValue != 0) {
-                        result = previousValue / currentValue;
+                case DIVIDE:
+                    if (currentValue.signum() != 0) {
+                        result = previousDecimal.divide(currentValue, mathContext);
                     } else {
                         setError("Ошибка: деление на ноль");
                         return;
                     }
                     break;
-                case "%":
-                    result = previousValue % currentValue;
+                case PERCENT:
+                    if (currentValue.signum() != 0) {
+                        result = previousDecimal.remainder(currentValue, mathContext);
+                    } else {
+                        setError("Ошибка: деление на ноль");
+                        return;
+                    }
                     break;
-                case "1/x":
-                    if (currentValue != 0) {
-                        result = 1 / currentValue;
+                case RECIPROCAL:
+                    if (currentValue.signum() != 0) {
+                        result = DecimalNumber.ONE.divide(currentValue, mathContext);
                     } else {
                         setError("Ошибка: деление на ноль");
                         return;
                     }
                     break;
-                case "x^2":
-                    result = currentValue * currentValue;
+                case SQUARE:
+                    result = currentValue.multiply(currentValue, mathContext);
                     break;
-                case "√x":
-                    if (currentValue >= 0) {
-                        result = Math.sqrt(currentValue);
+                case SQUARE_ROOT:
+                    if (currentValue.signum() >= 0) {
+                        result = currentValue.sqrt(mathContext);
                     } else {
                         setError("Ошибка: отрицательное число");
                         return;
                     }
                     break;
+                default:
+                    // Функции научного режима вычисляются в double и округляются до контекста
+                    double value = scientific(previousDecimal.doubleValue(), currentValue.doubleValue());
+                    if (!Double.isFinite(value)) {
+                        setError(scientificError(value));
+                        return;
+                    }
+                    result = DecimalNumber.valueOf(BigDecimal.valueOf(value).round(mathContext));
+            }
+            if (cached) {
+                cache.putDecimal(cachedPrevious, code, currentValue, result);
             }
+        }
 
-            previousValue = result; // Обновляем previousValue результатом для следующей операции
-            currentNumber.setLength(0);
-            currentNumber.append(formatNumber(result));
-            currentExpression.append(" = ").append(formatNumber(result));
-            operator = "";
-            clearNext = true;
-        } catch (NumberFormatException e) {
-            setError("Ошибка: неверный формат числа");
+        String text = result.toString();
+        previousDecimal = result;
+        setPrevious(result.doubleValue());
+        entering = false;
+        currentNumber.setLength(0);
+        currentNumber.append(text);
+        completeExpression(text);
+        operator = null;
+        clearNext = true;
+    }
+
+    /**
+     * Завершает выражение результатом. Если подключена история, завершенное вычисление
+     * переносится в нее и остается в выражении до продолжения: следующий оператор начинает
+     * выражение с результата ({@link #setOperator(Opcode)}), а ввод числа — заново, поэтому
+     * длина выражения не растет на длинных цепочках операций.
+     * @param text результат вычисления
+     */
+    private void completeExpression(CharSequence text) {
+        currentExpression.append(" = ").append(text);
+        if (history != null) {
+            history.add(currentExpression.toString());
         }
     }
 
+    /**
+     * Подключает кэш результатов вычислений или отключает его.
+     * @param cache кэш результатов или null
+     */
+    public void setCache(CalculationCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Возвращает подключенный кэш результатов вычислений.
+     * @return кэш результатов или null
+     */
+    public CalculationCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Подключает историю завершенных вычислений или отключает ее.
+     * @param history история или null
+     */
+    public void setHistory(CalculationHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Возвращает подключенную историю вычислений.
+     * @return история или null
+     */
+    public CalculationHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Включает режим повышенной точности на основе BigDecimal или возвращает режим double.
+     * @param mathContext контекст округления (например, {@link MathContext#DECIMAL64}) или null для режима double
+     */
+    public void setPrecision(MathContext mathContext) {
+        this.mathContext = mathContext;
+        previousDecimal = DecimalNumber.ZERO;
+        if (cache != null) {
+            cache.clear(); // Результаты зависят от контекста округления
+        }
+    }
+
+    /**
+     * Устанавливает уровень точности функций научного режима.
+     * @param accuracyTier уровень точности
+     */
+    public void setAccuracyTier(ScientificFunctions.AccuracyTier accuracyTier) {
+        this.accuracyTier = accuracyTier;
+        if (cache != null) {
+            cache.clear(); // Результаты функций зависят от уровня точности
+        }
+    }
+
+    /**
+     * Возвращает уровень точности функций научного режима.
+     * @return уровень точности
+     */
+    public ScientificFunctions.AccuracyTier getAccuracyTier() {
+        return accuracyTier;
+    }
+
+    /**
+     * Возвращает контекст режима повышенной точности.
+     * @return контекст округления или null, если используется режим double
+     */
+    public MathContext getPrecision() {
+        return mathContext;
+    }
+
     /**
      * Очищает все текущие значения и выражения.
      */
     public void clear() {
-        currentNumber.setLength(0);
-        currentNumber.append("0");
+        resetEntry();
         currentExpression.setLength(0);
-        operator = "";
-        previousValue = 0;
+        operator = null;
+        setPrevious(0L);
+        previousDecimal = DecimalNumber.ZERO;
         errorMessage = "";
     }
 
@@ -142,10 +684,9 @@ public class CalculatorModel {
      * Очищает текущее число.
      */
     public void clearEntry() {
-        currentNumber.setLength(0);
-        currentNumber.append("0");
+        resetEntry();
         if (currentExpression.length() > 0) {
-            int lastIndex = currentExpression.lastIndexOf(" ");
+            int lastIndex = currentExpression.lastIndexOf(' ');
             if (lastIndex != -1) {
                 currentExpression.setLength(lastIndex + 1);
             } else {
@@ -154,26 +695,39 @@ public class CalculatorModel {
         }
     }
 
+    /**
+     * Сбрасывает текущее число в ноль, вводимый с кнопок.
+     */
+    private void resetEntry() {
+        currentNumber.setLength(0);
+        entry.clear();
+        entering = true;
+    }
+
     /**
      * Удаляет последний введенный символ.
      */
     public void backspace() {
-        if (currentNumber.length() > 0) {
-            currentNumber.deleteCharAt(currentNumber.length() - 1);
-        }
-        if (currentNumber.length() == 0) {
-            currentNumber.append("0");
-        }
-        if (currentExpression.length() > 0) {
-            currentExpression.deleteCharAt(currentExpression.length() - 1);
+        if (entering) {
+            entry.backspace();
+        } else {
+            if (currentNumber.length() > 0) {
+                currentNumber.deleteCharAt(currentNumber.length() - 1);
+            }
+            if (currentNumber.length() == 0) {
+                currentNumber.append("0");
+            }
         }
+        currentExpression.deleteLast();
     }
 
     /**
      * Переключает знак текущего числа.
      */
     public void toggleSign() {
-        if (currentNumber.length() > 0 && !currentNumber.toString().equals("0")) {
+        if (entering) {
+            entry.toggleSign();
+        } else if (currentNumber.length() > 0 && !(currentNumber.length() == 1 && currentNumber.charAt(0) == '0')) {
             if (currentNumber.charAt(0) == '-') {
                 currentNumber.deleteCharAt(0);
             } else {
@@ -182,9 +736,9 @@ public class CalculatorModel {
         }
         if (currentExpression.length() > 0) {
             if (currentExpression.charAt(currentExpression.length() - 1) == '-') {
-                currentExpression.deleteCharAt(currentExpression.length() - 1);
+                currentExpression.deleteLast();
             } else {
-                currentExpression.append("-");
+                currentExpression.append('-');
             }
         }
     }
@@ -197,7 +751,22 @@ public class CalculatorModel {
         if (!errorMessage.isEmpty()) {
             return errorMessage;
         }
-        return formatNumber(Double.parseDouble(currentNumber.toString()));
+        if (parseCurrentLong()) {
+            // Целые больше 2^53 отображаются точно; текст целого одинаков в режиме double и BigDecimal
+            return new String(digits, 0, NumberFormatter.formatLong(currentLong, digits, 0));
+        }
+        if (mathContext != null) {
+            return DecimalNumber.parse(number()).toString();
+        }
+        return formatNumber(currentDouble());
+    }
+
+    /**
+     * Возвращает сообщение об ошибке.
+     * @return сообщение об ошибке или пустая строка, если ошибки нет
+     */
+    String getErrorMessage() {
+        return errorMessage;
     }
 
     /**
@@ -208,12 +777,51 @@ public class CalculatorModel {
         return currentExpression.toString();
     }
 
+    /**
+     * Возвращает неизменяемый снимок состояния модели. Снимок не копирует выражение,
+     * поэтому его можно создавать после каждого нажатия и передавать другим потокам.
+     * @return снимок состояния
+     */
+    public CalculatorState snapshot() {
+        return new CalculatorState(entering ? null : currentNumber.toString(), entering ? entry.pack() : 0,
+                currentExpression.share(), currentExpression.length(), operator, previousValue, previousLong,
+                previousExact, previousDecimal, clearNext, errorMessage, mathContext);
+    }
+
+    /**
+     * Восстанавливает модель из снимка (например, для отмены и повтора).
+     * Подключенные кэш, история и уровень точности функций не изменяются.
+     * @param state снимок состояния
+     */
+    public void restore(CalculatorState state) {
+        currentNumber.setLength(0);
+        entering = state.number() == null;
+        if (entering) {
+            entry.unpack(state.entry());
+        } else {
+            currentNumber.append(state.number());
+        }
+        currentExpression.restore(state.expression(), state.expressionLength());
+        operator = state.getOperator();
+        previousValue = state.getPreviousValue();
+        previousLong = state.previousLong();
+        previousExact = state.previousExact();
+        previousDecimal = state.previousDecimal();
+        clearNext = state.clearNext();
+        errorMessage = state.getErrorMessage();
+        if (mathContext != state.mathContext() && cache != null) {
+            cache.clear(); // Результаты зависят от контекста округления
+        }
+        mathContext = state.mathContext();
+    }
+
     /**
      * Устанавливает сообщение об ошибке и очищает текущие значения.
      * @param message сообщение об ошибке
      */
     public void setError(String message) {
         errorMessage = message;
+        entering = false;
         currentNumber.setLength(0);
         currentNumber.append("Ошибка");
         currentExpression.setLength(0);
@@ -0,0 +1,444 @@
+package com.example.calculatorapp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Локальный сервер калькулятора с множеством независимых сессий.
+ * Каждая сессия имеет собственную модель и принимает те же токены кнопок, что и контроллер.
+ *
+ * <p>Режим сокета: каждое подключение — одна сессия, обслуживаемая отдельным виртуальным потоком
+ * (или потоком из ограниченного пула, если виртуальные потоки недоступны). Клиент отправляет по одному
+ * токену в строке и получает строку {@code значение<TAB>выражение}. Подключение, молчащее дольше
+ * {@link #IDLE_TIMEOUT_MILLIS}, закрывается.</p>
+ *
+ * <p>Режим stdin/stdout: строки вида {@code <id сессии> <токен>}, ответы {@code <id сессии> значение<TAB>выражение}.
+ * Сессии, не получавшие запросов дольше {@link #IDLE_TIMEOUT_MILLIS}, закрываются; при достижении
+ * ограничения на количество сессий новая сессия вытесняет самую давно использованную.</p>
+ *
+ * <p>Модель каждой сессии подключена к истории из {@link #HISTORY_SIZE} записей, поэтому
+ * выражение в ответе содержит только текущее вычисление и не растет с длиной сессии.</p>
+ *
+ * <p>Сессии хранятся в неблокирующем реестре {@link ConcurrentHashMap}. Модель сессии изменяет
+ * только один поток — ее владелец, поэтому блокировки не нужны.</p>
+ */
+public class CalculatorServer {
+    /**
+     * Максимальная длина строки запроса. Более длинная строка закрывает подключение сокета,
+     * а в режиме stdin/stdout отклоняется; в обоих случаях она не читается в память целиком.
+     */
+    public static final int MAX_LINE_LENGTH = 64;
+
+    /** Количество завершенных вычислений, хранимых в истории каждой сессии. */
+    public static final int HISTORY_SIZE = 16;
+
+    /** Время без запросов, после которого сессия закрывается. */
+    public static final long IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+    /** Наибольшее количество обычных потоков, если виртуальные потоки недоступны. */
+    public static final int MAX_PLATFORM_THREADS = 256;
+
+    private final int maxSessions; // Максимальное количество одновременных сессий
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>(); // Реестр активных сессий
+    private final AtomicInteger sessionCount = new AtomicInteger(); // Количество активных сессий
+    private final AtomicLong nextSessionId = new AtomicLong(1); // Идентификатор следующей сессии
+
+    /**
+     * Сессия калькулятора с собственной моделью.
+     */
+    public static final class Session {
+        private final long id; // Идентификатор сессии
+        private final CalculatorModel model = new CalculatorModel(); // Модель сессии
+        private volatile long tokenCount = 0; // Количество обработанных токенов (для мониторинга)
+        private long lastAccess; // Время последнего запроса (System.nanoTime)
+
+        Session(long id) {
+            this.id = id;
+            model.setHistory(new CalculationHistory(HISTORY_SIZE));
+            lastAccess = System.nanoTime();
+        }
+
+        /**
+         * Применяет токен к модели сессии. Вызывается только потоком-владельцем сессии.
+         * @param token токен кнопки
+         * @return ответ в формате {@code значение<TAB>выражение}
+         */
+        String process(String token) {
+            String value = InputProcessor.process(model, token);
+            tokenCount++;
+            lastAccess = System.nanoTime();
+            return value + '\t' + model.getCurrentExpression();
+        }
+
+        /**
+         * Возвращает идентификатор сессии.
+         * @return идентификатор
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Возвращает количество обработанных токенов.
+         * @return количество токенов
+         */
+        public long getTokenCount() {
+            return tokenCount;
+        }
+
+        /**
+         * Возвращает историю завершенных вычислений сессии.
+         * @return история
+         */
+        public CalculationHistory getHistory() {
+            return model.getHistory();
+        }
+
+        /**
+         * Проверяет, не получала ли сессия запросов дольше {@link #IDLE_TIMEOUT_MILLIS}.
+         * @param now текущее время (System.nanoTime)
+         * @return true, если сессия простаивает
+         */
+        boolean isIdle(long now) {
+            return now - lastAccess > TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MILLIS);
+        }
+    }
+
+    /**
+     * Чтение строк запросов с ограничением длины. Символы читаются в буфер из {@link #MAX_LINE_LENGTH}
+     * символов, поэтому строка без перевода строки любой длины не накапливается в памяти.
+     */
+    static final class LineReader {
+        /** Результат {@link #read()}: строка длиннее {@link #MAX_LINE_LENGTH}. */
+        static final int TOO_LONG = -2;
+
+        private final Reader in; // Источник символов
+        private final char[] line = new char[MAX_LINE_LENGTH + 1]; // Символы текущей строки и завершающий \r
+        private boolean truncated = false; // Остаток слишком длинной строки еще не прочитан
+
+        LineReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Читает строку до перевода строки (завершающий {@code \r} отбрасывается). Чтение слишком длинной
+         * строки прекращается на границе буфера; остаток пропускает {@link #skipLine()}.
+         * @return длина строки, -1 в конце потока или {@link #TOO_LONG}
+         * @throws IOException при ошибке чтения
+         */
+        int read() throws IOException {
+            int length = 0;
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') {
+                if (length == line.length) {
+                    truncated = true;
+                    return TOO_LONG;
+                }
+                line[length++] = (char) c;
+            }
+            if (c == -1 && length == 0) {
+                return -1;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            return length > MAX_LINE_LENGTH ? TOO_LONG : length;
+        }
+
+        /**
+         * Пропускает непрочитанный остаток слишком длинной строки, не сохраняя его.
+         * @throws IOException при ошибке чтения
+         */
+        void skipLine() throws IOException {
+            if (!truncated) {
+                return;
+            }
+            truncated = false;
+            int c;
+            do {
+                c = in.read();
+            } while (c != -1 && c != '\n');
+        }
+
+        /**
+         * Возвращает прочитанную строку.
+         * @param length длина, возвращенная {@link #read()}
+         * @return строка
+         */
+        String text(int length) {
+            return new String(line, 0, length);
+        }
+    }
+
+    /**
+     * Создает сервер с ограничением на количество сессий.
+     * @param maxSessions максимальное количество одновременных сессий
+     */
+    public CalculatorServer(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Регистрирует новую сессию, если не превышено ограничение.
+     * @return новая сессия или null, если достигнуто максимальное количество сессий
+     */
+    Session openSession() {
+        if (sessionCount.incrementAndGet() > maxSessions) {
+            sessionCount.decrementAndGet();
+            return null;
+        }
+        Session session = new Session(nextSessionId.getAndIncrement());
+        sessions.put(session.id, session);
+        return session;
+    }
+
+    /**
+     * Удаляет сессию из реестра.
+     * @param session сессия
+     */
+    void closeSession(Session session) {
+        if (sessions.remove(session.id) != null) {
+            sessionCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Возвращает количество активных сессий.
+     * @return количество сессий
+     */
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * Возвращает сессию по идентификатору (для мониторинга).
+     * @param id идентификатор сессии
+     * @return сессия или null
+     */
+    public Session getSession(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Принимает подключения на указанном порту и обслуживает каждое в отдельном потоке.
+     * @param port порт для прослушивания
+     * @throws IOException при ошибке открытия сокета
+     */
+    public void serve(int port) throws IOException {
+        ExecutorService executor = newConnectionExecutor();
+        try (ServerSocket serverSocket = new ServerSocket(port, 1024)) {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                try {
+                    executor.execute(() -> handleConnection(socket));
+                } catch (RejectedExecutionException e) {
+                    reject(socket);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Отклоняет подключение, для которого нет свободного потока.
+     * @param socket сокет клиента
+     */
+    private static void reject(Socket socket) {
+        try (socket; Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            writer.write("Ошибка: превышено количество сессий\n");
+        } catch (IOException ignored) {
+            // Клиент уже отключился
+        }
+    }
+
+    /**
+     * Обслуживает одно подключение как одну сессию.
+     * @param socket сокет клиента
+     */
+    private void handleConnection(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 256);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), 256)) {
+            Session session = openSession();
+            if (session == null) {
+                writer.write("Ошибка: превышено количество сессий\n");
+                writer.flush();
+                return;
+            }
+            try {
+                socket.setSoTimeout((int) IDLE_TIMEOUT_MILLIS); // Простаивающая сессия закрывается исключением чтения
+                serveSession(session, reader, writer);
+            } finally {
+                closeSession(session);
+            }
+        } catch (IOException ignored) {
+            // Клиент отключился или простаивал — сессия уже удалена
+        }
+    }
+
+    /**
+     * Обслуживает одну сессию: по токену в строке, ответ на каждую строку. Слишком длинная строка
+     * завершает обслуживание (подключение закрывается), поэтому клиент не может занять память потоком без перевода строки.
+     * @param session сессия
+     * @param reader источник строк запросов
+     * @param writer приемник ответов
+     * @throws IOException при ошибке чтения или записи
+     */
+    void serveSession(Session session, BufferedReader reader, Writer writer) throws IOException {
+        LineReader lines = new LineReader(reader);
+        int length;
+        while ((length = lines.read()) != -1) {
+            if (length == LineReader.TOO_LONG) {
+                writer.write("Ошибка: слишком длинный запрос\n");
+                writer.flush();
+                return;
+            }
+            writer.write(session.process(lines.text(length).trim()));
+            writer.write('\n');
+            if (!reader.ready()) {
+                writer.flush(); // Сброс только когда прочитаны все пришедшие токены
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Обслуживает сессии через стандартные потоки ввода и вывода.
+     * Все строки читаются одним потоком, поэтому у каждой сессии один писатель.
+     * @throws IOException при ошибке чтения или записи
+     */
+    public void serveStandardStreams() throws IOException {
+        serveStreams(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    /**
+     * Обслуживает сессии, читая запросы и записывая ответы в переданные потоки.
+     * @param reader источник строк запросов
+     * @param writer приемник ответов
+     * @throws IOException при ошибке чтения или записи
+     */
+    void serveStreams(BufferedReader reader, Writer writer) throws IOException {
+        // Сессии по идентификатору клиента в порядке использования: первая — самая давно использованная
+        Map<String, Session> byName = new LinkedHashMap<>(16, 0.75f, true);
+        LineReader lines = new LineReader(reader);
+        int length;
+        while ((length = lines.read()) != -1) {
+            if (length == LineReader.TOO_LONG) {
+                lines.skipLine(); // Остаток строки пропускается без сохранения
+                writer.write("Ошибка: неверный запрос\n");
+                continue;
+            }
+            String line = lines.text(length);
+            int space = line.indexOf(' ');
+            if (space <= 0) {
+                writer.write("Ошибка: неверный запрос\n");
+                continue;
+            }
+            String name = line.substring(0, space);
+            evictIdle(byName);
+            Session session = byName.get(name);
+            if (session == null) {
+                session = openSession();
+                if (session == null && !byName.isEmpty()) {
+                    // Ограничение достигнуто — освобождаем место самой давно использованной сессии
+                    Iterator<Session> eldest = byName.values().iterator();
+                    closeSession(eldest.next());
+                    eldest.remove();
+                    session = openSession();
+                }
+                if (session == null) {
+                    writer.write(name + " Ошибка: превышено количество сессий\n");
+                    continue;
+                }
+                byName.put(name, session);
+            }
+            writer.write(name);
+            writer.write(' ');
+            writer.write(session.process(line.substring(space + 1).trim()));
+            writer.write('\n');
+            if (!reader.ready()) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Закрывает сессии, простаивающие дольше {@link #IDLE_TIMEOUT_MILLIS}.
+     * Сессии упорядочены по времени использования, поэтому проверка останавливается на первой активной.
+     * @param byName сессии по идентификатору клиента
+     */
+    private void evictIdle(Map<String, Session> byName) {
+        long now = System.nanoTime();
+        Iterator<Session> iterator = byName.values().iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (!session.isIdle(now)) {
+                break;
+            }
+            closeSession(session);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Создает исполнитель с виртуальным потоком на каждое подключение.
+     * На Java 19 виртуальные потоки являются preview-возможностью, поэтому при их
+     * недоступности используется пул не более чем из {@link #MAX_PLATFORM_THREADS} обычных потоков
+     * с ограниченной очередью; подключения сверх очереди отклоняются.
+     * @return исполнитель для обслуживания подключений
+     */
+    private ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            int threads = Math.max(1, Math.min(maxSessions, MAX_PLATFORM_THREADS));
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(1024));
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    /**
+     * Точка входа сервера.
+     * Использование: {@code CalculatorServer <порт> [максимум сессий]} или {@code CalculatorServer --stdio [максимум сессий]}.
+     * @param args аргументы командной строки
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Использование: CalculatorServer <порт>|--stdio [максимум сессий]");
+            return;
+        }
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        CalculatorServer server = new CalculatorServer(maxSessions);
+        if (args[0].equals("--stdio")) {
+            server.serveStandardStreams();
+        } else {
+            server.serve(Integer.parseInt(args[0]));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.calculatorapp;
+
+import java.math.MathContext;
+
+/**
+ * Неизменяемый снимок состояния {@link CalculatorModel}, создаваемый методом {@link CalculatorModel#snapshot()}.
+ * Снимок хранит все поля модели, поэтому по нему можно восстановить модель ({@link CalculatorModel#restore})
+ * для отмены и повтора, а читать его может любой поток без блокировок.
+ *
+ * <p>Переходов в снимке нет: вычисления выполняет только модель, поэтому поведение снимков
+ * не может разойтись с ней. Выражение не копируется: снимок ссылается на массив символов
+ * {@link ExpressionBuffer}, который модель больше не изменяет в пределах его длины. Пока число вводится
+ * с кнопок, оно упаковано в long ({@link NumberEntry#pack()}), и создание снимка — один небольшой объект;
+ * текстовое число (результат вычисления или введенное строкой) копируется в строку. Текст выражения
+ * и отображаемое значение строятся только при чтении по полям снимка.</p>
+ */
+public final class CalculatorState {
+    /** Начальное состояние, совпадающее с состоянием новой модели. */
+    public static final CalculatorState INITIAL = new CalculatorModel().snapshot();
+
+    private final String number; // Текущее число в виде текста или null, если оно вводится с кнопок
+    private final long entry; // Упакованное число, вводимое с кнопок (если number равен null)
+    private final char[] expression; // Символы выражения (используются первые expressionLength)
+    private final int expressionLength; // Длина выражения
+    private final Opcode operator; // Ожидающий оператор или null
+    private final double previousValue; // Предыдущее значение
+    private final long previousLong; // Предыдущее значение в виде целого числа
+    private final boolean previousExact; // Является ли предыдущее значение точным целым
+    private final DecimalNumber previousDecimal; // Предыдущее значение в режиме повышенной точности
+    private final boolean clearNext; // Нужно ли очистить число при следующем вводе
+    private final String errorMessage; // Сообщение об ошибке (пустая строка, если ошибки нет)
+    private final MathContext mathContext; // Контекст режима повышенной точности или null
+
+    CalculatorState(String number, long entry, char[] expression, int expressionLength, Opcode operator,
+                    double previousValue, long previousLong, boolean previousExact, DecimalNumber previousDecimal,
+                    boolean clearNext, String errorMessage, MathContext mathContext) {
+        this.number = number;
+        this.entry = entry;
+        this.expression = expression;
+        this.expressionLength = expressionLength;
+        this.operator = operator;
+        this.previousValue = previousValue;
+        this.previousLong = previousLong;
+        this.previousExact = previousExact;
+        this.previousDecimal = previousDecimal;
+        this.clearNext = clearNext;
+        this.errorMessage = errorMessage;
+        this.mathContext = mathContext;
+    }
+
+    /**
+     * Возвращает текущее значение так же, как {@link CalculatorModel#getCurrentValue()}:
+     * целые — точно, в режиме повышенной точности — через {@link DecimalNumber}, иначе — как double.
+     * @return текущее значение или сообщение об ошибке
+     */
+    public String getCurrentValue() {
+        if (!errorMessage.isEmpty()) {
+            return errorMessage;
+        }
+        if (number == null) {
+            long unscaled = NumberEntry.unscaledValue(entry);
+            int scale = NumberEntry.scale(entry);
+            if (scale == 0) {
+                return Long.toString(unscaled);
+            }
+            if (mathContext != null) {
+                return DecimalNumber.valueOf(unscaled, scale).toString();
+            }
+            return CalculatorModel.formatNumber(NumberEntry.value(entry));
+        }
+        if (CalculatorModel.isLong(number)) {
+            return Long.toString(Long.parseLong(number));
+        }
+        if (mathContext != null) {
+            return DecimalNumber.parse(number).toString();
+        }
+        return CalculatorModel.formatNumber(Double.parseDouble(number));
+    }
+
+    /**
+     * Возвращает текущее выражение.
+     * @return текущее выражение
+     */
+    public String getCurrentExpression() {
+        return new String(expression, 0, expressionLength);
+    }
+
+    /**
+     * Возвращает ожидающий оператор.
+     * @return оператор или null
+     */
+    public Opcode getOperator() {
+        return operator;
+    }
+
+    /**
+     * Возвращает предыдущее значение.
+     * @return предыдущее значение
+     */
+    public double getPreviousValue() {
+        return previousValue;
+    }
+
+    /**
+     * Возвращает сообщение об ошибке.
+     * @return сообщение об ошибке или пустая строка
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    String number() {
+        return number;
+    }
+
+    long entry() {
+        return entry;
+    }
+
+    char[] expression() {
+        return expression;
+    }
+
+    int expressionLength() {
+        return expressionLength;
+    }
+
+    long previousLong() {
+        return previousLong;
+    }
+
+    boolean previousExact() {
+        return previousExact;
+    }
+
+    DecimalNumber previousDecimal() {
+        return previousDecimal;
+    }
+
+    boolean clearNext() {
+        return clearNext;
+    }
+
+    MathContext mathContext() {
+        return mathContext;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.calculatorapp;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Хранилище снимков {@link CalculatorState} модели с отменой и повтором.
+ * Снимки записывает один поток — владелец модели (например, поток JavaFX) — после каждого перехода,
+ * а читать текущий снимок через {@link #snapshot()} может любой поток без блокировок.
+ * Отмена и повтор возвращают снимок, из которого владелец восстанавливает модель ({@link CalculatorModel#restore}).
+ */
+public class CalculatorStateStore {
+    /** Глубина отмены контроллера; с ней же воспроизводятся отмены из журнала. */
+    public static final int UNDO_LIMIT = 100;
+
+    private final AtomicReference<CalculatorState> current = new AtomicReference<>(CalculatorState.INITIAL); // Текущее состояние
+    private final Deque<CalculatorState> undoStack = new ArrayDeque<>(); // Предыдущие состояния
+    private final Deque<CalculatorState> redoStack = new ArrayDeque<>(); // Отмененные состояния
+    private final int historyLimit; // Максимальное количество сохраняемых состояний для отмены
+
+    /**
+     * Создает хранилище с указанной глубиной отмены.
+     * @param historyLimit максимальное количество шагов отмены
+     */
+    public CalculatorStateStore(int historyLimit) {
+        this.historyLimit = historyLimit;
+    }
+
+    /**
+     * Публикует снимок модели после перехода и сохраняет предыдущий для отмены.
+     * @param state новый снимок модели
+     */
+    public void push(CalculatorState state) {
+        undoStack.push(current.getAndSet(state));
+        if (undoStack.size() > historyLimit) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Отменяет последний шаг.
+     * @return снимок, который нужно восстановить в модели, или null, если отменять нечего
+     */
+    public CalculatorState undo() {
+        CalculatorState previous = undoStack.poll();
+        if (previous == null) {
+            return null;
+        }
+        redoStack.push(current.getAndSet(previous));
+        return previous;
+    }
+
+    /**
+     * Повторяет последний отмененный шаг.
+     * @return снимок, который нужно восстановить в модели, или null, если повторять нечего
+     */
+    public CalculatorState redo() {
+        CalculatorState next = redoStack.poll();
+        if (next == null) {
+            return null;
+        }
+        undoStack.push(current.getAndSet(next));
+        return next;
+    }
+
+    /**
+     * Заменяет текущий снимок без записи шага отмены (например, после очистки модели при смене режима).
+     * @param state снимок модели
+     */
+    public void reset(CalculatorState state) {
+        undoStack.clear();
+        redoStack.clear();
+        current.set(state);
+    }
+
+    /**
+     * Возвращает текущее состояние. Безопасно для вызова из любого потока.
+     * @return неизменяемый снимок состояния
+     */
+    public CalculatorState snapshot() {
+        return current.get();
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.calculatorapp;
 
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
-import javafx.scene.paint.Color;
-import javafx.scene.effect.DropShadow;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,6 +28,36 @@ public class CalculatorView {
     private Label currentOperationDisplay; // Поле отображения текущей операции
     private BorderPane borderPane; // Основная панель компоновки
     private Map<String, Button> buttonMap; // Карта для хранения кнопок по их меткам
+    private final EnumMap<Opcode, Button> buttons = new EnumMap<>(Opcode.class); // Кнопки по кодам
+    private ButtonHighlighter highlighter; // Подсветка кнопок, нажатых с клавиатуры
+    private ThemeManager themeManager; // Управление темами оформления
+    private ListView<String> historyList; // Список истории вычислений (ячейки переиспользуются)
+    private long historySynced = 0; // Количество записей истории, уже перенесенных в список
+    private GridPane buttonGrid; // Сетка кнопок
+    private GridPane scientificGrid; // Панель научного режима (создается при первом показе)
+    private GridPane programmerGrid; // Панель режима программиста (создается при первом включении)
+    private VBox keypad; // Контейнер дополнительной панели и сетки кнопок
+    private double buttonFontSize = 0; // Текущий размер шрифта кнопок (0 — задается темой)
+    private boolean renderRequested = false; // Ожидает ли представление отрисовки на следующем кадре
+    private boolean resizeRequested = false; // Ожидает ли представление пересчета размеров на следующем кадре
+
+    private static final EnumMap<KeyCode, Opcode> KEY_MAP = createKeyMap(); // Кнопки по клавишам
+    private static final EnumMap<KeyCode, Opcode> PROGRAMMER_KEY_MAP = createProgrammerKeyMap(); // Клавиши режима программиста
+    private static final int GRID_COLUMNS = 4; // Количество колонок сетки кнопок
+    private static final int GRID_ROWS = 6; // Количество строк сетки кнопок
+    private static final int SCIENTIFIC_ROWS = 3; // Количество строк панели научного режима
+    private static final int PROGRAMMER_ROWS = 6; // Количество строк панели режима программиста
+    private static final double MIN_BUTTON_FONT = 18; // Размер шрифта кнопок из тем (окно по умолчанию)
+    private static final double MAX_BUTTON_FONT = 40; // Максимальный размер шрифта кнопок
+    private static final double FONT_PER_CELL_HEIGHT = 0.25; // Отношение размера шрифта к высоте кнопки
+
+    // Таймер кадра: срабатывает на ближайшем кадре после изменений, выполняет отложенную работу и останавливается
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flush();
+        }
+    };
 
     /**
      * Конструктор инициализирует контроллер и карту кнопок.
@@ -29,6 +65,7 @@ public class CalculatorView {
     public CalculatorView() {
         this.controller = new CalculatorController(this);
         this.buttonMap = new HashMap<>();
+        this.highlighter = new ButtonHighlighter();
     }
 
     /**
@@ -61,13 +98,26 @@ public class CalculatorView {
         topContainer.setPadding(new Insets(3));
         topContainer.setAlignment(Pos.CENTER_RIGHT);
 
+        // Создание списка истории вычислений; отображается только видимая часть записей
+        historyList = new ListView<>();
+        historyList.getStyleClass().add("history-list");
+        historyList.setFixedCellSize(24);
+        historyList.setPrefHeight(150);
+        historyList.setFocusTraversable(false);
+
         // Установка верхнего контейнера и сетки кнопок в основную панель
         borderPane.setTop(topContainer);
-        borderPane.setCenter(createButtonGrid());
+        buttonGrid = createButtonGrid();
+        keypad = new VBox(buttonGrid);
+        VBox.setVgrow(buttonGrid, Priority.ALWAYS);
+        borderPane.setCenter(keypad);
+
+        // Изменение размеров только помечает представление; пересчет — не чаще одного раза за кадр
+        buttonGrid.widthProperty().addListener((obs, oldVal, newVal) -> requestResize());
+        buttonGrid.heightProperty().addListener((obs, oldVal, newVal) -> requestResize());
 
-        // Загрузка и установка CSS стилей
-        String css = getClass().getResource("/com/example/calculatorapp/style.css").toExternalForm();
-        borderPane.getStylesheets().add(css);
+        // Загрузка стилей всех тем один раз; тема переключается стилевым классом корня
+        themeManager = new ThemeManager(borderPane);
 
         return borderPane;
     }
@@ -77,55 +127,83 @@ public class CalculatorView {
      * @return сетка с кнопками калькулятора
      */
     private GridPane createButtonGrid() {
+        // Порядок Opcode совпадает с порядком в сетке; основная сетка — первые BASIC_COUNT кнопок
+        return createGrid(0, Opcode.BASIC_COUNT, GRID_ROWS);
+    }
+
+    /**
+     * Создает панель кнопок научного режима (кнопки после основных).
+     * @return сетка с кнопками научных функций
+     */
+    private GridPane createScientificGrid() {
+        GridPane gridPane = createGrid(Opcode.BASIC_COUNT, Opcode.FIRST_PROGRAMMER, SCIENTIFIC_ROWS);
+        gridPane.setPadding(new Insets(10, 10, 0, 10));
+        return gridPane;
+    }
+
+    /**
+     * Создает панель кнопок режима программиста: системы счисления, разрядность, знаковость,
+     * побитовые операции, сдвиги и цифры A–F.
+     * @return сетка с кнопками режима программиста
+     */
+    private GridPane createProgrammerGrid() {
+        GridPane gridPane = createGrid(Opcode.FIRST_PROGRAMMER, Opcode.count(), PROGRAMMER_ROWS);
+        gridPane.setPadding(new Insets(10, 10, 0, 10));
+        return gridPane;
+    }
+
+    /**
+     * Создает сетку из кнопок с кодами в заданном диапазоне.
+     * @param from код первой кнопки
+     * @param to код, следующий за последней кнопкой
+     * @param rows количество строк сетки
+     * @return сетка с кнопками
+     */
+    private GridPane createGrid(int from, int to, int rows) {
         GridPane gridPane = new GridPane();
         gridPane.setPadding(new Insets(10));
         gridPane.setHgap(10);
         gridPane.setVgap(10);
         gridPane.setAlignment(Pos.CENTER);
 
-        // Определение кнопок и их размещение в сетке
-        String[][] buttons = {
-                {"%", "CE", "C", "⌫"},
-                {"1/x", "x^2", "√x", "/"},
-                {"7", "8", "9", "*"},
-                {"4", "5", "6", "-"},
-                {"1", "2", "3", "+"},
-                {"+/-", "0", ".", "="}
-        };
-
         // Создание и настройка кнопок, добавление их в сетку
-        for (int row = 0; row < buttons.length; row++) {
-            for (int col = 0; col < buttons[row].length; col++) {
-                String text = buttons[row][col];
-                Button button = new Button(text);
-                button.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
-                button.setPrefSize(80, 80);
-                // Применение различных стилей к кнопкам в зависимости от их типа
-                if (text.matches("[0-9]")) {
-                    button.getStyleClass().add("number-button");
-                } else if (text.equals("=")) {
-                    button.getStyleClass().add("equals-button");
-                } else {
-                    button.getStyleClass().add("button");
-                }
-                // Добавление обработчика нажатия кнопки
-                button.setOnAction(e -> controller.processInput(text));
-                buttonMap.put(text, button);
-                GridPane.setFillWidth(button, true);
-                GridPane.setFillHeight(button, true);
-                gridPane.add(button, col, row);
+        for (int code = from; code < to; code++) {
+            Opcode opcode = Opcode.fromCode(code);
+            int row = (code - from) / GRID_COLUMNS;
+            int col = (code - from) % GRID_COLUMNS;
+            Button button = new Button(opcode.getText());
+            button.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+            button.setPrefSize(80, 80);
+            // Применение различных стилей к кнопкам в зависимости от их типа
+            if (opcode.isDigit()) {
+                button.getStyleClass().add("number-button");
+            } else if (opcode == Opcode.EQUALS) {
+                button.getStyleClass().add("equals-button");
+            } else {
+                button.getStyleClass().add("button");
             }
+            // Добавление обработчика нажатия кнопки
+            button.setOnAction(e -> controller.processInput(opcode));
+            buttons.put(opcode, button);
+            buttonMap.putIfAbsent(opcode.getText(), button); // «C» остается кнопкой очистки, а не цифрой
+            GridPane.setFillWidth(button, true);
+            GridPane.setFillHeight(button, true);
+            gridPane.add(button, col, row);
         }
 
-        // Настройка колонок и строк для растягивания
-        for (int col = 0; col < buttons[0].length; col++) {
+        // Настройка колонок и строк: равные доли доступного места, размеры кнопок задает сама сетка
+        for (int col = 0; col < GRID_COLUMNS; col++) {
             ColumnConstraints cc = new ColumnConstraints();
+            cc.setPercentWidth(100.0 / GRID_COLUMNS);
             cc.setHgrow(Priority.ALWAYS);
+            cc.setFillWidth(true);
             gridPane.getColumnConstraints().add(cc);
         }
-        for (int row = 0; row < buttons.length; row++) {
+        for (int row = 0; row < rows; row++) {
             RowConstraints rc = new RowConstraints();
+            rc.setPercentHeight(100.0 / rows);
             rc.setVgrow(Priority.ALWAYS);
+            rc.setFillHeight(true);
             gridPane.getRowConstraints().add(rc);
         }
 
@@ -148,71 +226,325 @@ public class CalculatorView {
         currentOperationDisplay.setText(text);
     }
 
+    /**
+     * Помечает представление как измененное. Сколько бы изменений ни произошло до следующего кадра,
+     * поля отображения обновятся один раз. Должен вызываться в потоке JavaFX.
+     */
+    public void requestRender() {
+        if (!renderRequested) {
+            renderRequested = true;
+            pulseTimer.start();
+        }
+    }
+
+    /**
+     * Помечает, что размеры сетки изменились. Пересчет выполняется один раз на ближайшем кадре,
+     * сколько бы событий изменения размера ни пришло до него.
+     */
+    private void requestResize() {
+        if (!resizeRequested) {
+            resizeRequested = true;
+            pulseTimer.start();
+        }
+    }
+
+    /**
+     * Выполняет отложенную работу кадра (отрисовку и пересчет размеров) и останавливает таймер.
+     */
+    private void flush() {
+        pulseTimer.stop();
+        if (renderRequested) {
+            if (ControllerMetrics.ENABLED) {
+                long start = System.nanoTime();
+                render();
+                ControllerMetrics.INSTANCE.recordRender(System.nanoTime() - start);
+            } else {
+                render();
+            }
+        }
+        if (resizeRequested) {
+            resize();
+        }
+    }
+
+    /**
+     * Пересчет размеров за кадр: размеры кнопок задают процентные ограничения сетки, здесь
+     * только масштабируется шрифт кнопок по высоте ячейки. Стиль кнопок меняется лишь
+     * при изменении размера шрифта на целый пиксель, а в окне по умолчанию остается шрифт темы.
+     */
+    private void resize() {
+        resizeRequested = false;
+        double cellHeight = (buttonGrid.getHeight() - buttonGrid.getPadding().getTop() - buttonGrid.getPadding().getBottom()
+                - buttonGrid.getVgap() * (GRID_ROWS - 1)) / GRID_ROWS;
+        double fontSize = Math.floor(Math.min(MAX_BUTTON_FONT, cellHeight * FONT_PER_CELL_HEIGHT));
+        if (fontSize <= MIN_BUTTON_FONT) {
+            fontSize = 0; // Шрифт из темы
+        }
+        if (fontSize == buttonFontSize) {
+            return;
+        }
+        buttonFontSize = fontSize;
+        String style = fontSize == 0 ? "" : "-fx-font-size: " + (int) fontSize + "px;";
+        for (Button button : buttons.values()) {
+            button.setStyle(style);
+        }
+    }
+
+    /**
+     * Обновляет поля отображения по текущему состоянию контроллера.
+     * Текст меток меняется только при фактическом изменении значения.
+     */
+    private void render() {
+        renderRequested = false;
+        if (display == null) {
+            return; // Содержимое еще не создано
+        }
+        String value = controller.getDisplayValue();
+        if (!value.equals(display.getText())) {
+            updateDisplay(value);
+        }
+        String expression = controller.getDisplayExpression();
+        if (!expression.equals(currentOperationDisplay.getText())) {
+            updateCurrentOperationDisplay(expression);
+        }
+        if (controller.isProgrammerMode()) {
+            updateAvailableButtons();
+        }
+        syncHistory();
+    }
+
+    /**
+     * Переносит в список новые записи истории, появившиеся с прошлой отрисовки, одним изменением,
+     * и удаляет из начала списка записи, вытесненные из памяти истории.
+     */
+    private void syncHistory() {
+        CalculationHistory history = controller.getHistory();
+        if (history == null || history.getTotalCount() == historySynced) {
+            return;
+        }
+        int size = history.size();
+        int added = (int) Math.min(history.getTotalCount() - historySynced, size);
+        List<String> entries = new ArrayList<>(added);
+        for (int i = size - added; i < size; i++) {
+            entries.add(history.get(i));
+        }
+        historySynced = history.getTotalCount();
+
+        ObservableList<String> items = historyList.getItems();
+        int overflow = items.size() + added - size;
+        if (overflow >= items.size()) {
+            items.setAll(entries);
+        } else {
+            if (overflow > 0) {
+                items.remove(0, overflow);
+            }
+            items.addAll(entries);
+        }
+        if (historyList.getParent() != null) {
+            historyList.scrollTo(items.size() - 1);
+        }
+    }
+
+    /**
+     * Показывает или скрывает список истории вычислений под сеткой кнопок.
+     * @param visible true, чтобы показать список
+     */
+    public void setHistoryVisible(boolean visible) {
+        borderPane.setBottom(visible ? historyList : null);
+        if (visible && !historyList.getItems().isEmpty()) {
+            historyList.scrollTo(historyList.getItems().size() - 1);
+        }
+    }
+
+    /**
+     * Проверяет, показан ли список истории вычислений.
+     * @return true, если список показан
+     */
+    public boolean isHistoryVisible() {
+        return borderPane.getBottom() != null;
+    }
+
+    /**
+     * Показывает или скрывает панель научного режима над сеткой кнопок.
+     * Панель создается при первом показе.
+     * @param visible true, чтобы показать панель
+     */
+    public void setScientificVisible(boolean visible) {
+        if (visible == isScientificVisible()) {
+            return;
+        }
+        if (visible) {
+            setProgrammerMode(false);
+            if (scientificGrid == null) {
+                scientificGrid = createScientificGrid();
+                applyButtonFont(scientificGrid);
+            }
+            keypad.getChildren().add(0, scientificGrid);
+        } else {
+            keypad.getChildren().remove(scientificGrid);
+        }
+    }
+
+    /**
+     * Проверяет, показана ли панель научного режима.
+     * @return true, если панель показана
+     */
+    public boolean isScientificVisible() {
+        return scientificGrid != null && scientificGrid.getParent() != null;
+    }
+
+    /**
+     * Включает или выключает режим программиста: над сеткой кнопок показывается его панель
+     * (вместо панели научного режима), а кнопки, не действующие в текущем состоянии, блокируются.
+     * Панель создается при первом включении.
+     * @param enabled true, чтобы включить режим программиста
+     */
+    public void setProgrammerMode(boolean enabled) {
+        if (enabled == isProgrammerMode()) {
+            return;
+        }
+        controller.setProgrammerMode(enabled);
+        if (enabled) {
+            setScientificVisible(false);
+            if (programmerGrid == null) {
+                programmerGrid = createProgrammerGrid();
+                applyButtonFont(programmerGrid);
+            }
+            keypad.getChildren().add(0, programmerGrid);
+        } else {
+            keypad.getChildren().remove(programmerGrid);
+        }
+        updateAvailableButtons();
+    }
+
+    /**
+     * Проверяет, включен ли режим программиста.
+     * @return true в режиме программиста
+     */
+    public boolean isProgrammerMode() {
+        return controller.isProgrammerMode();
+    }
+
+    /**
+     * Блокирует кнопки, не действующие в режиме программиста (цифры вне системы счисления, текущие
+     * система счисления и разрядность, точка и функции), и разблокирует все кнопки в десятичном режиме.
+     * Свойство disable меняется только при фактическом изменении.
+     */
+    private void updateAvailableButtons() {
+        ProgrammerModel programmer = controller.getProgrammerModel();
+        for (Map.Entry<Opcode, Button> entry : buttons.entrySet()) {
+            entry.getValue().setDisable(programmer != null && !programmer.isAvailable(entry.getKey()));
+        }
+    }
+
+    /**
+     * Применяет текущий размер шрифта кнопок к панели, созданной после пересчета размеров.
+     * @param gridPane панель кнопок
+     */
+    private void applyButtonFont(GridPane gridPane) {
+        if (buttonFontSize != 0) {
+            String style = "-fx-font-size: " + (int) buttonFontSize + "px;";
+            gridPane.getChildren().forEach(node -> node.setStyle(style));
+        }
+    }
+
+    /**
+     * Вставляет текст из системного буфера обмена (режим вставки): выражение целиком
+     * обрабатывается моделью до следующего кадра.
+     */
+    public void pasteFromClipboard() {
+        String text = Clipboard.getSystemClipboard().getString();
+        if (text != null) {
+            controller.processText(text);
+        }
+    }
+
     /**
      * Обрабатывает нажатия клавиш и симулирует нажатия кнопок калькулятора.
      * @param key нажатая клавиша
      */
+    public void handleKeyPress(KeyCode key) {
+        Opcode opcode = controller.isProgrammerMode() ? PROGRAMMER_KEY_MAP.get(key) : null;
+        if (opcode == null) {
+            opcode = getOpcode(key);
+        }
+        if (opcode != null) {
+            highlighter.highlight(buttons.get(opcode));
+            controller.processInput(opcode);
+        }
+    }
+
+    /**
+     * Обрабатывает нажатие клавиши, заданной именем {@link KeyCode} (например, {@code "DIGIT7"}).
+     * Адаптер для строкового ввода; неизвестные имена игнорируются.
+     * @param key имя нажатой клавиши
+     */
     public void handleKeyPress(String key) {
-        String buttonText = mapKeyToButtonText(key);
-        if (buttonText != null) {
-            Button button = buttonMap.get(buttonText);
-            if (button != null) {
-                simulateButtonPress(button);
-                controller.processInput(buttonText);
-            }
+        try {
+            handleKeyPress(KeyCode.valueOf(key));
+        } catch (IllegalArgumentException e) {
+            // Клавиша не соответствует ни одной кнопке
         }
     }
 
     /**
-     * Преобразует нажатие клавиши в соответствующий текст кнопки калькулятора.
-     * @param key нажатая клавиша
-     * @return текст кнопки или null, если клавиша не соответствует ни одной кнопке
-     */
-    private String mapKeyToButtonText(String key) {
-        return switch (key) {
-            case "DIGIT0", "NUMPAD0" -> "0";
-            case "DIGIT1", "NUMPAD1" -> "1";
-            case "DIGIT2", "NUMPAD2" -> "2";
-            case "DIGIT3", "NUMPAD3" -> "3";
-            case "DIGIT4", "NUMPAD4" -> "4";
-            case "DIGIT5", "NUMPAD5" -> "5";
-            case "DIGIT6", "NUMPAD6" -> "6";
-            case "DIGIT7", "NUMPAD7" -> "7";
-            case "DIGIT8", "NUMPAD8" -> "8";
-            case "DIGIT9", "NUMPAD9" -> "9";
-            case "DECIMAL" -> ".";
-            case "ENTER" -> "=";
-            case "PLUS" -> "+";
-            case "MINUS" -> "-";
-            case "MULTIPLY" -> "*";
-            case "DIVIDE" -> "/";
-            case "BACK_SPACE" -> "⌫";
-            case "DELETE" -> "C";
-            case "ESCAPE" -> "CE";
-            case "P" -> "%";
-            case "R" -> "√x";
-            case "X" -> "x^2";
-            case "I" -> "1/x";
-            case "S" -> "+/-";
-            default -> null;
-        };
-    }
-
-    /**
-     * Симулирует нажатие кнопки, применяя визуальный эффект.
-     * @param button кнопка для симуляции нажатия
-     */
-    private void simulateButtonPress(Button button) {
-        DropShadow shadow = new DropShadow();
-        shadow.setColor(Color.YELLOW);
-        button.setEffect(shadow);
-        new Thread(() -> {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException ignored) {
-            }
-            button.setEffect(null);
-        }).start();
+     * Возвращает кнопку калькулятора, соответствующую клавише.
+     * @param key клавиша
+     * @return кнопка или null, если клавиша не назначена
+     */
+    public static Opcode getOpcode(KeyCode key) {
+        return KEY_MAP.get(key);
+    }
+
+    /**
+     * Создает соответствие клавиш кнопкам калькулятора.
+     * @return кнопки по клавишам
+     */
+    private static EnumMap<KeyCode, Opcode> createKeyMap() {
+        EnumMap<KeyCode, Opcode> keys = new EnumMap<>(KeyCode.class);
+        KeyCode[] digits = {KeyCode.DIGIT0, KeyCode.DIGIT1, KeyCode.DIGIT2, KeyCode.DIGIT3, KeyCode.DIGIT4,
+                KeyCode.DIGIT5, KeyCode.DIGIT6, KeyCode.DIGIT7, KeyCode.DIGIT8, KeyCode.DIGIT9};
+        KeyCode[] numpad = {KeyCode.NUMPAD0, KeyCode.NUMPAD1, KeyCode.NUMPAD2, KeyCode.NUMPAD3, KeyCode.NUMPAD4,
+                KeyCode.NUMPAD5, KeyCode.NUMPAD6, KeyCode.NUMPAD7, KeyCode.NUMPAD8, KeyCode.NUMPAD9};
+        for (int digit = 0; digit <= 9; digit++) {
+            keys.put(digits[digit], Opcode.digit(digit));
+            keys.put(numpad[digit], Opcode.digit(digit));
+        }
+        keys.put(KeyCode.DECIMAL, Opcode.POINT);
+        keys.put(KeyCode.ENTER, Opcode.EQUALS);
+        keys.put(KeyCode.PLUS, Opcode.ADD);
+        keys.put(KeyCode.MINUS, Opcode.SUBTRACT);
+        keys.put(KeyCode.MULTIPLY, Opcode.MULTIPLY);
+        keys.put(KeyCode.DIVIDE, Opcode.DIVIDE);
+        keys.put(KeyCode.BACK_SPACE, Opcode.BACKSPACE);
+        keys.put(KeyCode.DELETE, Opcode.CLEAR);
+        keys.put(KeyCode.ESCAPE, Opcode.CLEAR_ENTRY);
+        keys.put(KeyCode.P, Opcode.PERCENT);
+        keys.put(KeyCode.R, Opcode.SQUARE_ROOT);
+        keys.put(KeyCode.X, Opcode.SQUARE);
+        keys.put(KeyCode.I, Opcode.RECIPROCAL);
+        keys.put(KeyCode.S, Opcode.TOGGLE_SIGN);
+        return keys;
+    }
+
+    /**
+     * Создает соответствие клавиш кнопкам режима программиста, проверяемое раньше основного.
+     * @return кнопки по клавишам
+     */
+    private static EnumMap<KeyCode, Opcode> createProgrammerKeyMap() {
+        EnumMap<KeyCode, Opcode> keys = new EnumMap<>(KeyCode.class);
+        keys.put(KeyCode.A, Opcode.DIGIT_A);
+        keys.put(KeyCode.B, Opcode.DIGIT_B);
+        keys.put(KeyCode.C, Opcode.DIGIT_C);
+        keys.put(KeyCode.D, Opcode.DIGIT_D);
+        keys.put(KeyCode.E, Opcode.DIGIT_E);
+        keys.put(KeyCode.F, Opcode.DIGIT_F);
+        keys.put(KeyCode.AMPERSAND, Opcode.AND);
+        keys.put(KeyCode.CIRCUMFLEX, Opcode.XOR);
+        keys.put(KeyCode.LESS, Opcode.SHIFT_LEFT);
+        keys.put(KeyCode.GREATER, Opcode.SHIFT_RIGHT);
+        keys.put(KeyCode.N, Opcode.NOT);
+        return keys;
     }
 
     /**
@@ -220,9 +552,31 @@ public class CalculatorView {
      * @param theme имя файла CSS с новой темой
      */
     public void setTheme(String theme) {
-        borderPane.getStylesheets().clear();
-        String css = getClass().getResource("/com/example/calculatorapp/" + theme).toExternalForm();
-        borderPane.getStylesheets().add(css);
+        setTheme(ThemeManager.Theme.fromFile(theme));
+    }
+
+    /**
+     * Устанавливает тему оформления для калькулятора заменой стилевого класса корня.
+     * @param theme новая тема
+     */
+    public void setTheme(ThemeManager.Theme theme) {
+        themeManager.apply(theme);
+    }
+
+    /**
+     * Возвращает менеджер тем оформления.
+     * @return менеджер тем
+     */
+    public ThemeManager getThemeManager() {
+        return themeManager;
+    }
+
+    /**
+     * Возвращает контроллер калькулятора.
+     * @return контроллер
+     */
+    public CalculatorController getController() {
+        return controller;
     }
 
     /**
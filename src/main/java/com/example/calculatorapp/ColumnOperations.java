@@ -0,0 +1,383 @@
+package com.example.calculatorapp;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Массовое применение операторов калькулятора к столбцам операндов.
+ * Бинарные операторы ({@code + - * / %}) применяются как {@code x op k}, где x — элемент
+ * столбца (предыдущее значение), а k — второй операнд (скаляр или элемент второго столбца);
+ * унарные ({@code 1/x}, {@code x^2}, {@code √x}) — к каждому элементу.
+ * Оператор выбирается один раз до цикла: для каждого оператора свой цикл без ветвлений.
+ * Ошибки (деление на ноль, корень из отрицательного числа или NaN — как в {@link CalculatorModel})
+ * не вызывают исключений: соответствующий бит устанавливается в маске ошибок, а в результат записывается NaN.
+ * Основные циклы не содержат ветвлений и исключений, поэтому JIT-компилятор векторизует их.
+ */
+public final class ColumnOperations {
+
+    private ColumnOperations() {
+    }
+
+    /**
+     * Возвращает длину маски ошибок для столбца указанной длины.
+     * @param length количество элементов столбца
+     * @return количество слов long в маске
+     */
+    public static int errorMaskLength(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    /**
+     * Проверяет, установлен ли бит ошибки для элемента.
+     * @param errors маска ошибок
+     * @param index индекс элемента
+     * @return true, если при вычислении элемента произошла ошибка
+     */
+    public static boolean isError(long[] errors, int index) {
+        return (errors[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Применяет оператор к столбцу и скаляру.
+     * @param operator оператор калькулятора
+     * @param operands столбец операндов
+     * @param k второй операнд бинарных операторов (для унарных не используется)
+     * @param results столбец результатов (может совпадать с operands)
+     * @param errors маска ошибок длиной не меньше {@link #errorMaskLength(int)}; перезаписывается
+     * @return количество элементов с ошибкой
+     */
+    public static int apply(Opcode operator, double[] operands, double k, double[] results, long[] errors) {
+        int n = operands.length;
+        checkLengths(n, results.length, errors);
+        switch (operator) {
+            case ADD -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = operands[i] + k;
+                }
+            }
+            case SUBTRACT -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = operands[i] - k;
+                }
+            }
+            case MULTIPLY -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = operands[i] * k;
+                }
+            }
+            case DIVIDE -> {
+                if (k == 0) {
+                    return failAll(n, results, errors);
+                }
+                for (int i = 0; i < n; i++) {
+                    results[i] = operands[i] / k;
+                }
+            }
+            case PERCENT -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = operands[i] % k;
+                }
+            }
+            case RECIPROCAL -> {
+                int count = maskZeros(operands, n, errors);
+                for (int i = 0; i < n; i++) {
+                    results[i] = 1 / operands[i];
+                }
+                return markErrors(count, n, results, errors);
+            }
+            case SQUARE -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = operands[i] * operands[i];
+                }
+            }
+            case SQUARE_ROOT -> {
+                int count = maskNegativesAndNaN(operands, n, errors);
+                for (int i = 0; i < n; i++) {
+                    results[i] = Math.sqrt(operands[i]);
+                }
+                return markErrors(count, n, results, errors);
+            }
+            default -> throw new IllegalArgumentException("Неизвестный оператор: " + operator.getText());
+        }
+        clearMask(n, errors);
+        return 0;
+    }
+
+    /**
+     * Применяет бинарный оператор к двум столбцам поэлементно.
+     * @param operator бинарный оператор калькулятора ({@code + - * / %})
+     * @param left столбец левых операндов
+     * @param right столбец правых операндов той же длины
+     * @param results столбец результатов (может совпадать с одним из операндов)
+     * @param errors маска ошибок длиной не меньше {@link #errorMaskLength(int)}; перезаписывается
+     * @return количество элементов с ошибкой
+     */
+    public static int apply(Opcode operator, double[] left, double[] right, double[] results, long[] errors) {
+        int n = left.length;
+        if (right.length != n) {
+            throw new IllegalArgumentException("Столбцы операндов должны иметь одинаковую длину");
+        }
+        checkLengths(n, results.length, errors);
+        switch (operator) {
+            case ADD -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = left[i] + right[i];
+                }
+            }
+            case SUBTRACT -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = left[i] - right[i];
+                }
+            }
+            case MULTIPLY -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = left[i] * right[i];
+                }
+            }
+            case DIVIDE -> {
+                int count = maskZeros(right, n, errors);
+                for (int i = 0; i < n; i++) {
+                    results[i] = left[i] / right[i];
+                }
+                return markErrors(count, n, results, errors);
+            }
+            case PERCENT -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = left[i] % right[i];
+                }
+            }
+            default -> throw new IllegalArgumentException("Неизвестный бинарный оператор: " + operator.getText());
+        }
+        clearMask(n, errors);
+        return 0;
+    }
+
+    /**
+     * Применяет оператор к столбцу во внешнем буфере (например, прямом {@link DoubleBuffer} вне кучи).
+     * Обрабатываются элементы от текущей позиции до границы буфера; позиции буферов не изменяются.
+     * @param operator оператор калькулятора
+     * @param operands буфер операндов
+     * @param k второй операнд бинарных операторов
+     * @param results буфер результатов с не меньшим количеством оставшихся элементов
+     * @param errors маска ошибок длиной не меньше {@link #errorMaskLength(int)}; перезаписывается
+     * @return количество элементов с ошибкой
+     */
+    public static int apply(Opcode operator, DoubleBuffer operands, double k, DoubleBuffer results, long[] errors) {
+        int n = operands.remaining();
+        checkLengths(n, results.remaining(), errors);
+        int in = operands.position();
+        int out = results.position();
+        switch (operator) {
+            case ADD -> {
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, operands.get(in + i) + k);
+                }
+            }
+            case SUBTRACT -> {
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, operands.get(in + i) - k);
+                }
+            }
+            case MULTIPLY -> {
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, operands.get(in + i) * k);
+                }
+            }
+            case DIVIDE -> {
+                if (k == 0) {
+                    return failAll(n, results, out, errors);
+                }
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, operands.get(in + i) / k);
+                }
+            }
+            case PERCENT -> {
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, operands.get(in + i) % k);
+                }
+            }
+            case RECIPROCAL -> {
+                int count = maskZeros(operands, in, n, errors);
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, 1 / operands.get(in + i));
+                }
+                return markErrors(count, n, results, out, errors);
+            }
+            case SQUARE -> {
+                for (int i = 0; i < n; i++) {
+                    double x = operands.get(in + i);
+                    results.put(out + i, x * x);
+                }
+            }
+            case SQUARE_ROOT -> {
+                int count = maskNegativesAndNaN(operands, in, n, errors);
+                for (int i = 0; i < n; i++) {
+                    results.put(out + i, Math.sqrt(operands.get(in + i)));
+                }
+                return markErrors(count, n, results, out, errors);
+            }
+            default -> throw new IllegalArgumentException("Неизвестный оператор: " + operator.getText());
+        }
+        clearMask(n, errors);
+        return 0;
+    }
+
+    /**
+     * Заполняет маску битами нулевых элементов.
+     * @return количество нулевых элементов
+     */
+    private static int maskZeros(double[] values, int n, long[] errors) {
+        int count = 0;
+        for (int word = 0, base = 0; base < n; word++, base += 64) {
+            int end = Math.min(base + 64, n);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                bits |= (values[i] == 0 ? 1L : 0L) << (i - base);
+            }
+            errors[word] = bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Заполняет маску битами отрицательных элементов и NaN.
+     * @return количество отмеченных элементов
+     */
+    private static int maskNegativesAndNaN(double[] values, int n, long[] errors) {
+        int count = 0;
+        for (int word = 0, base = 0; base < n; word++, base += 64) {
+            int end = Math.min(base + 64, n);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                bits |= (values[i] >= 0 ? 0L : 1L) << (i - base);
+            }
+            errors[word] = bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Записывает NaN в результаты элементов, отмеченных в маске.
+     * @return количество элементов с ошибкой
+     */
+    private static int markErrors(int count, int n, double[] results, long[] errors) {
+        if (count == 0) {
+            return 0;
+        }
+        for (int word = 0; word < errorMaskLength(n); word++) {
+            long bits = errors[word];
+            while (bits != 0) {
+                results[(word << 6) + Long.numberOfTrailingZeros(bits)] = Double.NaN;
+                bits &= bits - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Отмечает ошибку для всех элементов (например, деление на скалярный ноль).
+     * @return количество элементов
+     */
+    private static int failAll(int n, double[] results, long[] errors) {
+        for (int i = 0; i < n; i++) {
+            results[i] = Double.NaN;
+        }
+        fillMask(n, errors);
+        return n;
+    }
+
+    /**
+     * Устанавливает в маске биты всех n элементов.
+     */
+    private static void fillMask(int n, long[] errors) {
+        int words = errorMaskLength(n);
+        for (int word = 0; word < words; word++) {
+            errors[word] = -1L;
+        }
+        if ((n & 63) != 0) {
+            errors[words - 1] = (1L << n) - 1;
+        }
+    }
+
+    /**
+     * Заполняет маску битами нулевых элементов буфера, начиная с позиции offset.
+     * @return количество нулевых элементов
+     */
+    private static int maskZeros(DoubleBuffer values, int offset, int n, long[] errors) {
+        int count = 0;
+        for (int word = 0, base = 0; base < n; word++, base += 64) {
+            int end = Math.min(base + 64, n);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                bits |= (values.get(offset + i) == 0 ? 1L : 0L) << (i - base);
+            }
+            errors[word] = bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Заполняет маску битами отрицательных элементов и NaN буфера, начиная с позиции offset.
+     * @return количество отмеченных элементов
+     */
+    private static int maskNegativesAndNaN(DoubleBuffer values, int offset, int n, long[] errors) {
+        int count = 0;
+        for (int word = 0, base = 0; base < n; word++, base += 64) {
+            int end = Math.min(base + 64, n);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                bits |= (values.get(offset + i) >= 0 ? 0L : 1L) << (i - base);
+            }
+            errors[word] = bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Записывает NaN в результаты буфера для элементов, отмеченных в маске.
+     * @return количество элементов с ошибкой
+     */
+    private static int markErrors(int count, int n, DoubleBuffer results, int offset, long[] errors) {
+        if (count == 0) {
+            return 0;
+        }
+        for (int word = 0; word < errorMaskLength(n); word++) {
+            long bits = errors[word];
+            while (bits != 0) {
+                results.put(offset + (word << 6) + Long.numberOfTrailingZeros(bits), Double.NaN);
+                bits &= bits - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Отмечает ошибку для всех элементов буфера, начиная с позиции offset.
+     * @return количество элементов
+     */
+    private static int failAll(int n, DoubleBuffer results, int offset, long[] errors) {
+        for (int i = 0; i < n; i++) {
+            results.put(offset + i, Double.NaN);
+        }
+        fillMask(n, errors);
+        return n;
+    }
+
+    private static void clearMask(int n, long[] errors) {
+        for (int word = 0; word < errorMaskLength(n); word++) {
+            errors[word] = 0;
+        }
+    }
+
+    private static void checkLengths(int n, int resultLength, long[] errors) {
+        if (resultLength < n) {
+            throw new IllegalArgumentException("Столбец результатов короче столбца операндов");
+        }
+        if (errors.length < errorMaskLength(n)) {
+            throw new IllegalArgumentException("Маска ошибок слишком короткая");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.calculatorapp;
+
+import java.util.List;
+
+/**
+ * Скомпилированное выражение в виде компактного стекового байт-кода.
+ * Создается с помощью {@link ExpressionCompiler} один раз и затем вычисляется многократно
+ * с разными значениями переменных без повторного разбора строки и без выделения памяти.
+ */
+public final class CompiledExpression {
+    // Коды операций байт-кода
+    static final int PUSH = 0; // Поместить константу на стек (операнд — индекс константы)
+    static final int LOAD = 1; // Поместить значение переменной на стек (операнд — индекс переменной)
+    static final int ADD = 2; // Сложение
+    static final int SUB = 3; // Вычитание
+    static final int MUL = 4; // Умножение
+    static final int DIV = 5; // Деление
+    static final int MOD = 6; // Остаток от деления
+    static final int POW = 7; // Возведение в степень
+    static final int NEG = 8; // Смена знака
+    static final int SQUARE = 9; // Возведение в квадрат
+    static final int SQRT = 10; // Квадратный корень
+    static final int INVERT = 11; // Обратное значение
+    static final int SIN = 12; // Синус
+    static final int COS = 13; // Косинус
+    static final int TAN = 14; // Тангенс
+    static final int ASIN = 15; // Арксинус
+    static final int ACOS = 16; // Арккосинус
+    static final int ATAN = 17; // Арктангенс
+    static final int LN = 18; // Натуральный логарифм
+    static final int LOG10 = 19; // Десятичный логарифм
+    static final int EXP = 20; // Экспонента
+    static final int FACTORIAL = 21; // Факториал
+    static final int GAMMA = 22; // Гамма-функция
+    static final int NCR = 23; // Число сочетаний (бинарная)
+    static final int STORE_LOCAL = 24; // Снять значение со стека в локальную ячейку (операнд — номер ячейки)
+    static final int LOAD_LOCAL = 25; // Поместить значение локальной ячейки на стек (операнд — номер ячейки)
+
+    private final String source; // Исходный текст выражения
+    private final int[] code; // Байт-код
+    private final double[] constants; // Таблица констант
+    private final List<String> variables; // Имена переменных в порядке их индексов
+    private final int maxStack; // Максимальная глубина стека при вычислении
+    private final int localCount; // Количество локальных ячеек (аргументы пользовательских функций)
+    private final double[] stack; // Собственный стек для однопоточного вычисления
+    private final ScientificFunctions.AccuracyTier tier; // Уровень точности научных функций
+
+    CompiledExpression(String source, int[] code, double[] constants, List<String> variables, int maxStack,
+                       int localCount, ScientificFunctions.AccuracyTier tier) {
+        this.source = source;
+        this.code = code;
+        this.constants = constants;
+        this.variables = List.copyOf(variables);
+        this.maxStack = maxStack;
+        this.localCount = localCount;
+        this.stack = new double[Math.max(1, maxStack + localCount)];
+        this.tier = tier;
+    }
+
+    /**
+     * Вычисляет выражение, используя собственный стек объекта.
+     * Метод не потокобезопасен; для параллельного вычисления используйте
+     * {@link #evaluate(double[], double[])} со своим стеком в каждом потоке.
+     * @param values значения переменных в порядке {@link #getVariables()}
+     * @return результат вычисления
+     * @throws ArithmeticException при делении на ноль (в том числе остатке {@code %}), корне из отрицательного числа
+     *         или аргументе научной функции вне области определения
+     */
+    public double evaluate(double[] values) {
+        return evaluate(values, stack);
+    }
+
+    /**
+     * Вычисляет выражение на переданном стеке.
+     * @param values значения переменных в порядке {@link #getVariables()}
+     * @param stack рабочий стек длиной не меньше {@link #getMaxStackDepth()}
+     * @return результат вычисления
+     * @throws ArithmeticException при делении на ноль (в том числе остатке {@code %}), корне из отрицательного числа
+     *         или аргументе научной функции вне области определения
+     */
+    public double evaluate(double[] values, double[] stack) {
+        int sp = 0;
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case PUSH -> stack[sp++] = constants[code[pc++]];
+                case LOAD -> stack[sp++] = values[code[pc++]];
+                // Локальные ячейки расположены в стеке сразу за его рабочей частью
+                case STORE_LOCAL -> stack[maxStack + code[pc++]] = stack[--sp];
+                case LOAD_LOCAL -> stack[sp++] = stack[maxStack + code[pc++]];
+                case ADD -> {
+                    sp--;
+                    stack[sp - 1] += stack[sp];
+                }
+                case SUB -> {
+                    sp--;
+                    stack[sp - 1] -= stack[sp];
+                }
+                case MUL -> {
+                    sp--;
+                    stack[sp - 1] *= stack[sp];
+                }
+                case DIV -> {
+                    sp--;
+                    if (stack[sp] == 0) {
+                        throw new ArithmeticException("Ошибка: деление на ноль");
+                    }
+                    stack[sp - 1] /= stack[sp];
+                }
+                case MOD -> {
+                    sp--;
+                    if (stack[sp] == 0) {
+                        throw new ArithmeticException("Ошибка: деление на ноль");
+                    }
+                    stack[sp - 1] %= stack[sp];
+                }
+                case POW -> {
+                    sp--;
+                    stack[sp - 1] = checked(ScientificFunctions.pow(stack[sp - 1], stack[sp], tier));
+                }
+                case NEG -> stack[sp - 1] = -stack[sp - 1];
+                case SQUARE -> stack[sp - 1] *= stack[sp - 1];
+                case SQRT -> {
+                    if (stack[sp - 1] < 0) {
+                        throw new ArithmeticException("Ошибка: отрицательное число");
+                    }
+                    stack[sp - 1] = Math.sqrt(stack[sp - 1]);
+                }
+                case INVERT -> {
+                    if (stack[sp - 1] == 0) {
+                        throw new ArithmeticException("Ошибка: деление на ноль");
+                    }
+                    stack[sp - 1] = 1 / stack[sp - 1];
+                }
+                case SIN -> stack[sp - 1] = checked(ScientificFunctions.sin(stack[sp - 1], tier));
+                case COS -> stack[sp - 1] = checked(ScientificFunctions.cos(stack[sp - 1], tier));
+                case TAN -> stack[sp - 1] = checked(ScientificFunctions.tan(stack[sp - 1], tier));
+                case ASIN -> stack[sp - 1] = checked(ScientificFunctions.asin(stack[sp - 1], tier));
+                case ACOS -> stack[sp - 1] = checked(ScientificFunctions.acos(stack[sp - 1], tier));
+                case ATAN -> stack[sp - 1] = checked(ScientificFunctions.atan(stack[sp - 1], tier));
+                case LN -> stack[sp - 1] = checked(ScientificFunctions.ln(stack[sp - 1], tier));
+                case LOG10 -> stack[sp - 1] = checked(ScientificFunctions.log10(stack[sp - 1], tier));
+                case EXP -> stack[sp - 1] = ScientificFunctions.exp(stack[sp - 1], tier);
+                case FACTORIAL -> stack[sp - 1] = checked(ScientificFunctions.factorial(stack[sp - 1], tier));
+                case GAMMA -> stack[sp - 1] = checked(ScientificFunctions.gamma(stack[sp - 1], tier));
+                case NCR -> {
+                    sp--;
+                    stack[sp - 1] = checked(ScientificFunctions.combinations(stack[sp - 1], stack[sp]));
+                }
+                default -> throw new IllegalStateException("Неизвестный код операции: " + code[pc - 1]);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Проверяет результат научной функции: NaN означает аргумент вне области определения.
+     */
+    private static double checked(double value) {
+        if (Double.isNaN(value)) {
+            throw new ArithmeticException("Ошибка: недопустимый аргумент");
+        }
+        return value;
+    }
+
+    /**
+     * Возвращает имена переменных выражения в порядке их индексов.
+     * @return неизменяемый список имен переменных
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Возвращает необходимый размер стека для вычисления (включая локальные ячейки пользовательских функций).
+     * @return размер стека
+     */
+    public int getMaxStackDepth() {
+        return maxStack + localCount;
+    }
+
+    /**
+     * Возвращает исходный текст выражения.
+     * @return текст выражения
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.calculatorapp;
+
+/**
+ * Комплексное число: отдельное значение на границе API (элемент и определитель {@link ComplexMatrix},
+ * ввод и вывод). Массивы комплексных чисел хранятся не как объекты, а парами {@code double}
+ * в {@link ComplexMatrix}; операции над отдельными значениями не сохраняют ссылок на них, поэтому
+ * JIT раскладывает промежуточные значения в вычислениях по полям.
+ *
+ * @param re действительная часть
+ * @param im мнимая часть
+ */
+public record Complex(double re, double im) {
+    /** Ноль. */
+    public static final Complex ZERO = new Complex(0, 0);
+
+    /** Мнимая единица. */
+    public static final Complex I = new Complex(0, 1);
+
+    /**
+     * Создает комплексное число по модулю и аргументу.
+     * @param modulus модуль
+     * @param argument аргумент в радианах
+     * @return комплексное число
+     */
+    public static Complex polar(double modulus, double argument) {
+        return new Complex(modulus * Math.cos(argument), modulus * Math.sin(argument));
+    }
+
+    /**
+     * Возвращает сумму.
+     * @param other второе слагаемое
+     * @return сумма
+     */
+    public Complex add(Complex other) {
+        return new Complex(re + other.re, im + other.im);
+    }
+
+    /**
+     * Возвращает разность.
+     * @param other вычитаемое
+     * @return разность
+     */
+    public Complex subtract(Complex other) {
+        return new Complex(re - other.re, im - other.im);
+    }
+
+    /**
+     * Возвращает произведение.
+     * @param other второй множитель
+     * @return произведение
+     */
+    public Complex multiply(Complex other) {
+        return new Complex(re * other.re - im * other.im, re * other.im + im * other.re);
+    }
+
+    /**
+     * Возвращает частное (алгоритм Смита: без переполнения при больших частях делителя).
+     * @param other делитель
+     * @return частное
+     * @throws ArithmeticException при делении на ноль
+     */
+    public Complex divide(Complex other) {
+        if (other.re == 0 && other.im == 0) {
+            throw new ArithmeticException("Ошибка: деление на ноль");
+        }
+        return new Complex(divideReal(re, im, other.re, other.im), divideImaginary(re, im, other.re, other.im));
+    }
+
+    /**
+     * Возвращает модуль.
+     * @return модуль
+     */
+    public double abs() {
+        return Math.hypot(re, im);
+    }
+
+    /**
+     * Возвращает аргумент в радианах от -π до π.
+     * @return аргумент
+     */
+    public double arg() {
+        return Math.atan2(im, re);
+    }
+
+    /**
+     * Возвращает сопряженное число.
+     * @return сопряженное число
+     */
+    public Complex conjugate() {
+        return new Complex(re, -im);
+    }
+
+    /**
+     * Возвращает главное значение квадратного корня.
+     * @return квадратный корень
+     */
+    public Complex sqrt() {
+        if (re == 0 && im == 0) {
+            return ZERO;
+        }
+        double t = Math.sqrt((Math.abs(re) + abs()) / 2);
+        return re >= 0 ? new Complex(t, im / (2 * t)) : new Complex(Math.abs(im) / (2 * t), Math.copySign(t, im));
+    }
+
+    /**
+     * Возвращает экспоненту.
+     * @return e в степени этого числа
+     */
+    public Complex exp() {
+        return polar(Math.exp(re), im);
+    }
+
+    /**
+     * Возвращает главное значение натурального логарифма.
+     * @return логарифм
+     * @throws ArithmeticException для нуля
+     */
+    public Complex log() {
+        if (re == 0 && im == 0) {
+            throw new ArithmeticException("Ошибка: недопустимый аргумент");
+        }
+        return new Complex(Math.log(abs()), arg());
+    }
+
+    /**
+     * Возвращает главное значение степени.
+     * @param exponent показатель
+     * @return степень
+     */
+    public Complex pow(Complex exponent) {
+        if (re == 0 && im == 0) {
+            return exponent.re == 0 && exponent.im == 0 ? new Complex(1, 0) : ZERO;
+        }
+        return log().multiply(exponent).exp();
+    }
+
+    /**
+     * Действительная часть частного (a + bi) / (c + di) по алгоритму Смита.
+     */
+    static double divideReal(double a, double b, double c, double d) {
+        if (Math.abs(c) >= Math.abs(d)) {
+            double r = d / c;
+            return (a + b * r) / (c + d * r);
+        }
+        double r = c / d;
+        return (a * r + b) / (c * r + d);
+    }
+
+    /**
+     * Мнимая часть частного (a + bi) / (c + di) по алгоритму Смита.
+     */
+    static double divideImaginary(double a, double b, double c, double d) {
+        if (Math.abs(c) >= Math.abs(d)) {
+            double r = d / c;
+            return (b - a * r) / (c + d * r);
+        }
+        double r = c / d;
+        return (b * r - a) / (c * r + d);
+    }
+
+    /**
+     * Возвращает число в алгебраической форме.
+     * @param re действительная часть
+     * @param im мнимая часть
+     * @return текст, например {@code 3 + 4i}, {@code -2i} или {@code 5}
+     */
+    static String format(double re, double im) {
+        if (im == 0) {
+            return CalculatorModel.formatNumber(re);
+        }
+        String imaginary = (Math.abs(im) == 1 ? "" : CalculatorModel.formatNumber(Math.abs(im))) + "i";
+        if (re == 0) {
+            return im < 0 ? "-" + imaginary : imaginary;
+        }
+        return CalculatorModel.formatNumber(re) + (im < 0 ? " - " : " + ") + imaginary;
+    }
+
+    @Override
+    public String toString() {
+        return format(re, im);
+    }
+}
@@ -0,0 +1,479 @@
+package com.example.calculatorapp;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Комплексная матрица: сложение, умножение, эрмитово сопряжение, определитель, обратная матрица
+ * и решение систем линейных уравнений.
+ *
+ * <p>Элементы хранятся в одном массиве {@code double[]} построчно, парами: действительная часть
+ * элемента (i, j) — {@code data[2 * (i * cols + j)]}, мнимая — следующий элемент. Объекты
+ * {@link Complex} создаются только на границе API. Умножение и LU-разложение устроены так же,
+ * как в {@link Matrix}: блоки по {@link Matrix#BLOCK_SIZE}, параллельное выполнение по строкам
+ * начиная с {@link Matrix#PARALLEL_THRESHOLD} умножений-сложений.</p>
+ */
+public final class ComplexMatrix {
+    private final int rows; // Количество строк
+    private final int cols; // Количество столбцов
+    private final double[] data; // Пары (re, im) построчно
+
+    /**
+     * Создает нулевую матрицу.
+     * @param rows количество строк
+     * @param cols количество столбцов
+     * @throws IllegalArgumentException если размер не положителен
+     */
+    public ComplexMatrix(int rows, int cols) {
+        this(rows, cols, new double[2 * checkSize(rows, cols)]);
+    }
+
+    private ComplexMatrix(int rows, int cols, double[] data) {
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    /**
+     * Создает матрицу из пар (re, im), перечисленных построчно.
+     * @param rows количество строк
+     * @param cols количество столбцов
+     * @param values пары действительных и мнимых частей построчно (копируются)
+     * @return матрица
+     * @throws IllegalArgumentException если количество чисел не равно 2 · rows · cols
+     */
+    public static ComplexMatrix of(int rows, int cols, double... values) {
+        if (values.length != 2 * checkSize(rows, cols)) {
+            throw new IllegalArgumentException("Ожидалось " + 2 * rows * cols + " чисел, получено " + values.length);
+        }
+        return new ComplexMatrix(rows, cols, values.clone());
+    }
+
+    /**
+     * Создает матрицу из действительной и мнимой частей.
+     * @param re действительная часть
+     * @param im мнимая часть того же размера
+     * @return матрица re + i · im
+     */
+    public static ComplexMatrix of(Matrix re, Matrix im) {
+        if (re.getRows() != im.getRows() || re.getCols() != im.getCols()) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + re.size() + " и " + im.size());
+        }
+        double[] real = re.toArray();
+        double[] imaginary = im.toArray();
+        double[] data = new double[2 * real.length];
+        for (int i = 0; i < real.length; i++) {
+            data[2 * i] = real[i];
+            data[2 * i + 1] = imaginary[i];
+        }
+        return new ComplexMatrix(re.getRows(), re.getCols(), data);
+    }
+
+    /**
+     * Создает единичную матрицу.
+     * @param n порядок матрицы
+     * @return единичная матрица n × n
+     */
+    public static ComplexMatrix identity(int n) {
+        ComplexMatrix matrix = new ComplexMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            matrix.data[2 * (i * n + i)] = 1;
+        }
+        return matrix;
+    }
+
+    /**
+     * Возвращает количество строк.
+     * @return количество строк
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов.
+     * @return количество столбцов
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает элемент.
+     * @param row номер строки
+     * @param col номер столбца
+     * @return элемент (row, col)
+     */
+    public Complex get(int row, int col) {
+        int k = index(row, col);
+        return new Complex(data[k], data[k + 1]);
+    }
+
+    /**
+     * Возвращает действительную часть элемента без создания объекта.
+     * @param row номер строки
+     * @param col номер столбца
+     * @return действительная часть
+     */
+    public double getReal(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    /**
+     * Возвращает мнимую часть элемента без создания объекта.
+     * @param row номер строки
+     * @param col номер столбца
+     * @return мнимая часть
+     */
+    public double getImaginary(int row, int col) {
+        return data[index(row, col) + 1];
+    }
+
+    /**
+     * Устанавливает элемент.
+     * @param row номер строки
+     * @param col номер столбца
+     * @param re действительная часть
+     * @param im мнимая часть
+     */
+    public void set(int row, int col, double re, double im) {
+        int k = index(row, col);
+        data[k] = re;
+        data[k + 1] = im;
+    }
+
+    /**
+     * Возвращает копию пар (re, im) построчно.
+     * @return пары построчно
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Возвращает сумму матриц.
+     * @param other вторая матрица того же размера
+     * @return сумма
+     */
+    public ComplexMatrix add(ComplexMatrix other) {
+        checkSameSize(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i] + other.data[i];
+        }
+        return new ComplexMatrix(rows, cols, result);
+    }
+
+    /**
+     * Возвращает разность матриц.
+     * @param other вычитаемая матрица того же размера
+     * @return разность
+     */
+    public ComplexMatrix subtract(ComplexMatrix other) {
+        checkSameSize(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i] - other.data[i];
+        }
+        return new ComplexMatrix(rows, cols, result);
+    }
+
+    /**
+     * Возвращает эрмитово сопряженную матрицу (транспонированную с сопряжением элементов).
+     * @return сопряженная матрица
+     */
+    public ComplexMatrix conjugateTranspose() {
+        double[] result = new double[data.length];
+        for (int ii = 0; ii < rows; ii += Matrix.BLOCK_SIZE) {
+            int iEnd = Math.min(rows, ii + Matrix.BLOCK_SIZE);
+            for (int jj = 0; jj < cols; jj += Matrix.BLOCK_SIZE) {
+                int jEnd = Math.min(cols, jj + Matrix.BLOCK_SIZE);
+                for (int i = ii; i < iEnd; i++) {
+                    for (int j = jj; j < jEnd; j++) {
+                        int from = 2 * (i * cols + j);
+                        int to = 2 * (j * rows + i);
+                        result[to] = data[from];
+                        result[to + 1] = -data[from + 1];
+                    }
+                }
+            }
+        }
+        return new ComplexMatrix(cols, rows, result);
+    }
+
+    /**
+     * Возвращает произведение матриц, вычисленное в общем пуле fork-join для больших матриц.
+     * @param other правая матрица (количество строк равно количеству столбцов этой)
+     * @return произведение
+     */
+    public ComplexMatrix multiply(ComplexMatrix other) {
+        return multiply(other, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает произведение матриц, вычисленное в указанном пуле для больших матриц.
+     * @param other правая матрица (количество строк равно количеству столбцов этой)
+     * @param pool пул потоков
+     * @return произведение
+     */
+    public ComplexMatrix multiply(ComplexMatrix other, ForkJoinPool pool) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + size() + " и " + other.size());
+        }
+        double[] a = data;
+        double[] b = other.data;
+        int inner = cols;
+        int resultCols = other.cols;
+        double[] c = new double[2 * rows * resultCols];
+        int block = Matrix.BLOCK_SIZE / 2; // Элемент занимает два double
+        // Одно комплексное умножение-сложение — четыре действительных
+        Matrix.forEachRows(pool, rows, 4L * inner * resultCols, (from, to) -> {
+            for (int kk = 0; kk < inner; kk += block) {
+                int kEnd = Math.min(inner, kk + block);
+                for (int jj = 0; jj < resultCols; jj += block) {
+                    int jEnd = Math.min(resultCols, jj + block);
+                    for (int i = from; i < to; i++) {
+                        int ci = 2 * i * resultCols;
+                        int ai = 2 * i * inner;
+                        for (int k = kk; k < kEnd; k++) {
+                            double ar = a[ai + 2 * k];
+                            double aim = a[ai + 2 * k + 1];
+                            int bk = 2 * k * resultCols;
+                            for (int j = 2 * jj; j < 2 * jEnd; j += 2) {
+                                double br = b[bk + j];
+                                double bim = b[bk + j + 1];
+                                c[ci + j] += ar * br - aim * bim;
+                                c[ci + j + 1] += ar * bim + aim * br;
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        return new ComplexMatrix(rows, resultCols, c);
+    }
+
+    /**
+     * Возвращает определитель (0 для вырожденной матрицы).
+     * @return определитель
+     * @throws IllegalArgumentException если матрица не квадратная
+     */
+    public Complex determinant() {
+        Decomposition lu = decompose(ForkJoinPool.commonPool());
+        if (lu.singular) {
+            return Complex.ZERO; // Остаток ошибок округления вместо нуля не выдается за определитель
+        }
+        double re = lu.sign;
+        double im = 0;
+        for (int i = 0; i < rows; i++) {
+            int k = 2 * (i * rows + i);
+            double dr = lu.lu[k];
+            double di = lu.lu[k + 1];
+            double t = re * dr - im * di;
+            im = re * di + im * dr;
+            re = t;
+        }
+        return new Complex(re, im);
+    }
+
+    /**
+     * Возвращает обратную матрицу.
+     * @return обратная матрица
+     * @throws IllegalArgumentException если матрица не квадратная
+     * @throws ArithmeticException если матрица вырождена
+     */
+    public ComplexMatrix inverse() {
+        return solve(identity(rows));
+    }
+
+    /**
+     * Решает систему A · X = B для нескольких правых частей.
+     * @param b правые части по столбцам (количество строк равно порядку матрицы)
+     * @return решение X
+     * @throws IllegalArgumentException если матрица не квадратная или размеры не совпадают
+     * @throws ArithmeticException если матрица вырождена
+     */
+    public ComplexMatrix solve(ComplexMatrix b) {
+        if (b.rows != rows) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + size() + " и " + b.size());
+        }
+        Decomposition lu = decompose(ForkJoinPool.commonPool());
+        if (lu.singular) {
+            throw new ArithmeticException("Ошибка: вырожденная матрица");
+        }
+        int n = rows;
+        int m = b.cols;
+        double[] x = new double[2 * n * m];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(b.data, 2 * lu.pivot[i] * m, x, 2 * i * m, 2 * m);
+        }
+        // Прямой ход: L · Y = P · B (единичная диагональ)
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < i; k++) {
+                int f = 2 * (i * n + k);
+                axpy(-lu.lu[f], -lu.lu[f + 1], x, 2 * k * m, x, 2 * i * m, m);
+            }
+        }
+        // Обратный ход: U · X = Y
+        for (int i = n - 1; i >= 0; i--) {
+            for (int k = i + 1; k < n; k++) {
+                int f = 2 * (i * n + k);
+                axpy(-lu.lu[f], -lu.lu[f + 1], x, 2 * k * m, x, 2 * i * m, m);
+            }
+            int d = 2 * (i * n + i);
+            double dr = lu.lu[d];
+            double di = lu.lu[d + 1];
+            for (int j = 2 * i * m; j < 2 * i * m + 2 * m; j += 2) {
+                double re = Complex.divideReal(x[j], x[j + 1], dr, di);
+                x[j + 1] = Complex.divideImaginary(x[j], x[j + 1], dr, di);
+                x[j] = re;
+            }
+        }
+        return new ComplexMatrix(n, m, x);
+    }
+
+    /**
+     * LU-разложение P · A = L · U с выбором ведущего элемента по модулю в столбце.
+     */
+    private static final class Decomposition {
+        final double[] lu; // Множители L под диагональю и U на диагонали и выше (пары re, im)
+        final int[] pivot; // Исходный номер строки для каждой строки разложения
+        int sign = 1; // Знак перестановки
+        boolean singular = false; // Найден ли нулевой (относительно масштабов строки и столбца) ведущий элемент
+
+        Decomposition(double[] lu, int n) {
+            this.lu = lu;
+            this.pivot = new int[n];
+            for (int i = 0; i < n; i++) {
+                pivot[i] = i;
+            }
+        }
+    }
+
+    /**
+     * Выполняет LU-разложение; обновление оставшейся части больших матриц — параллельно по строкам.
+     */
+    private Decomposition decompose(ForkJoinPool pool) {
+        if (rows != cols) {
+            throw new IllegalArgumentException("Матрица не квадратная: " + size());
+        }
+        int n = rows;
+        Decomposition d = new Decomposition(data.clone(), n);
+        double[] lu = d.lu;
+        // Масштабы строк и столбцов по модулю, как в Matrix
+        double[] rowScale = new double[n];
+        double[] colScale = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double value = Math.hypot(lu[2 * (i * n + j)], lu[2 * (i * n + j) + 1]);
+                rowScale[i] = Math.max(rowScale[i], value);
+                colScale[j] = Math.max(colScale[j], value);
+            }
+        }
+        double[] swap = new double[2 * n];
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            double max = Math.hypot(lu[2 * (k * n + k)], lu[2 * (k * n + k) + 1]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.hypot(lu[2 * (i * n + k)], lu[2 * (i * n + k) + 1]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (max <= n * Matrix.EPSILON * Math.min(rowScale[d.pivot[p]], colScale[k])) {
+                d.singular = true;
+                if (max == 0) {
+                    continue; // Столбец уже исключен
+                }
+            }
+            if (p != k) {
+                System.arraycopy(lu, 2 * p * n, swap, 0, 2 * n);
+                System.arraycopy(lu, 2 * k * n, lu, 2 * p * n, 2 * n);
+                System.arraycopy(swap, 0, lu, 2 * k * n, 2 * n);
+                int t = d.pivot[p];
+                d.pivot[p] = d.pivot[k];
+                d.pivot[k] = t;
+                d.sign = -d.sign;
+            }
+            int step = k;
+            double pr = lu[2 * (k * n + k)];
+            double pi = lu[2 * (k * n + k) + 1];
+            Matrix.forEachRows(pool, n - k - 1, 4L * (n - k), (from, to) -> {
+                for (int i = step + 1 + from; i < step + 1 + to; i++) {
+                    int f = 2 * (i * n + step);
+                    double fr = Complex.divideReal(lu[f], lu[f + 1], pr, pi);
+                    double fi = Complex.divideImaginary(lu[f], lu[f + 1], pr, pi);
+                    lu[f] = fr;
+                    lu[f + 1] = fi;
+                    if (fr != 0 || fi != 0) {
+                        axpy(-fr, -fi, lu, 2 * (step * n + step + 1), lu, 2 * (i * n + step + 1), n - step - 1);
+                    }
+                }
+            });
+        }
+        return d;
+    }
+
+    /**
+     * Прибавляет к отрезку y из {@code length} комплексных чисел отрезок x, умноженный на (ar + i · ai).
+     */
+    private static void axpy(double ar, double ai, double[] x, int xFrom, double[] y, int yFrom, int length) {
+        for (int j = 0; j < 2 * length; j += 2) {
+            double xr = x[xFrom + j];
+            double xi = x[xFrom + j + 1];
+            y[yFrom + j] += ar * xr - ai * xi;
+            y[yFrom + j + 1] += ar * xi + ai * xr;
+        }
+    }
+
+    /**
+     * Возвращает размер матрицы в виде «строки×столбцы».
+     * @return размер
+     */
+    String size() {
+        return rows + "×" + cols;
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Элемент (" + row + ", " + col + ") вне матрицы " + size());
+        }
+        return 2 * (row * cols + col);
+    }
+
+    private void checkSameSize(ComplexMatrix other) {
+        if (rows != other.rows || cols != other.cols) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + size() + " и " + other.size());
+        }
+    }
+
+    private static int checkSize(int rows, int cols) {
+        int size = Matrix.checkSize(rows, cols);
+        if (size > (Integer.MAX_VALUE - 8) / 2) {
+            throw new IllegalArgumentException("Недопустимый размер матрицы: " + rows + "×" + cols);
+        }
+        return size;
+    }
+
+    /**
+     * Возвращает матрицу построчно: строки через «;», элементы через запятую.
+     * @return текст матрицы, например {@code [1 + 2i, 3; -i, 4]}
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                text.append("; ");
+            }
+            for (int j = 0; j < cols; j++) {
+                if (j > 0) {
+                    text.append(", ");
+                }
+                int k = 2 * (i * cols + j);
+                text.append(Complex.format(data[k], data[k + 1]));
+            }
+        }
+        return text.append(']').toString();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.calculatorapp;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики обработки ввода: счетчики токенов по типам, гистограммы задержек модели и отрисовки,
+ * счетчики ошибок модели и срабатываний общего обработчика исключений.
+ *
+ * <p>Сбор включается системным свойством {@code calculator.metrics}. Флаг {@link #ENABLED} —
+ * статическая константа, поэтому при выключенных метриках JIT удаляет проверки и вызовы целиком.
+ * Токены считаются все, а время обработки замеряется выборочно (каждый {@link #SAMPLE_INTERVAL}-й токен):
+ * два чтения часов стоят больше, чем сама обработка токена. Запись не создает объектов (кроме первой ошибки каждого вида): счетчики — {@link LongAdder},
+ * задержки — {@link LatencyHistogram}. Данные доступны через JMX ({@link ControllerMetricsMXBean})
+ * и события JFR ({@link TokenEvent}).</p>
+ */
+public final class ControllerMetrics implements ControllerMetricsMXBean {
+    /** Включен ли сбор метрик. */
+    public static final boolean ENABLED = Boolean.getBoolean("calculator.metrics");
+
+    /** Время обработки замеряется для каждого N-го токена (свойство calculator.metrics.sampleInterval, по умолчанию 8). */
+    public static final int SAMPLE_INTERVAL = Math.max(1, Integer.getInteger("calculator.metrics.sampleInterval", 8));
+
+    private static final String OBJECT_NAME = "com.example.calculatorapp:type=ControllerMetrics"; // Имя объекта JMX
+
+    /**
+     * Типы токенов ввода.
+     */
+    public enum TokenType {
+        DIGIT, POINT, OPERATOR, UNARY_OPERATOR, EQUALS, CLEAR, CLEAR_ENTRY, BACKSPACE, TOGGLE_SIGN, OTHER;
+
+        /**
+         * Определяет тип токена.
+         * @param token токен ввода (текст кнопки)
+         * @return тип токена
+         */
+        public static TokenType of(String token) {
+            return switch (token) {
+                case "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "A", "B", "D", "E", "F" -> DIGIT;
+                case "." -> POINT;
+                case "+", "-", "*", "/", "%", "x^y", "nCr", "AND", "OR", "XOR", "<<", ">>", "RoL", "RoR" -> OPERATOR;
+                case "1/x", "x^2", "√x", "sin", "cos", "tan", "asin", "acos", "atan", "ln", "log", "e^x", "n!", "NOT" ->
+                        UNARY_OPERATOR;
+                case "=" -> EQUALS;
+                case "C" -> CLEAR;
+                case "CE" -> CLEAR_ENTRY;
+                case "⌫" -> BACKSPACE;
+                case "+/-" -> TOGGLE_SIGN;
+                default -> OTHER;
+            };
+        }
+
+        /**
+         * Определяет тип кнопки.
+         * @param opcode кнопка
+         * @return тип токена
+         */
+        public static TokenType of(Opcode opcode) {
+            return BY_OPCODE[opcode.ordinal()];
+        }
+    }
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values(); // Типы токенов по порядковым номерам
+    private static final TokenType[] BY_OPCODE = new TokenType[Opcode.count()]; // Типы токенов по кодам кнопок
+
+    static {
+        for (int i = 0; i < BY_OPCODE.length; i++) {
+            BY_OPCODE[i] = TokenType.of(Opcode.fromCode(i).getText());
+        }
+        BY_OPCODE[Opcode.DIGIT_C.ordinal()] = TokenType.DIGIT; // Текст цифры совпадает с текстом «C»
+    }
+
+    /** Общий экземпляр метрик приложения (объявлен после констант, которые использует конструктор). */
+    public static final ControllerMetrics INSTANCE = new ControllerMetrics();
+
+    private final LongAdder[] tokenCounts = new LongAdder[TOKEN_TYPES.length]; // Количество токенов по типам
+    private final LatencyHistogram modelLatency = new LatencyHistogram(); // Время обработки токена моделью
+    private final LatencyHistogram renderLatency = new LatencyHistogram(); // Время отрисовки представления
+    private final ConcurrentHashMap<String, LongAdder> errorCounts = new ConcurrentHashMap<>(); // Ошибки модели
+    private final ConcurrentHashMap<String, LongAdder> exceptionCounts = new ConcurrentHashMap<>(); // Исключения
+
+    private ControllerMetrics() {
+        for (int i = 0; i < tokenCounts.length; i++) {
+            tokenCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Регистрирует метрики в платформенном сервере MBean, если сбор включен.
+     * Повторная регистрация игнорируется.
+     */
+    public static void registerMBean() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Не удалось зарегистрировать метрики в JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Учитывает токен без замера времени.
+     * @param token нажатая кнопка
+     */
+    public void countToken(Opcode token) {
+        tokenCounts[TokenType.of(token).ordinal()].increment();
+    }
+
+    /**
+     * Учитывает токен и записывает время его обработки моделью.
+     * @param token нажатая кнопка
+     * @param nanos время обработки в наносекундах
+     */
+    public void recordToken(Opcode token, long nanos) {
+        tokenCounts[TokenType.of(token).ordinal()].increment();
+        modelLatency.record(nanos);
+    }
+
+    /**
+     * Записывает переход модели в состояние ошибки.
+     * @param message сообщение об ошибке
+     */
+    public void recordError(String message) {
+        errorCounts.computeIfAbsent(message, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Записывает срабатывание общего обработчика исключений.
+     * @param e перехваченное исключение
+     */
+    public void recordException(Exception e) {
+        exceptionCounts.computeIfAbsent(e.getClass().getName(), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Записывает отрисовку представления.
+     * @param nanos время отрисовки в наносекундах
+     */
+    public void recordRender(long nanos) {
+        renderLatency.record(nanos);
+    }
+
+    /**
+     * Возвращает гистограмму времени обработки токенов моделью.
+     * @return гистограмма
+     */
+    public LatencyHistogram getModelLatency() {
+        return modelLatency;
+    }
+
+    /**
+     * Возвращает гистограмму времени отрисовки представления.
+     * @return гистограмма
+     */
+    public LatencyHistogram getRenderLatency() {
+        return renderLatency;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public long getTokenCount() {
+        long total = 0;
+        for (LongAdder counter : tokenCounts) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getTokenCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (TokenType type : TOKEN_TYPES) {
+            result.put(type.name(), tokenCounts[type.ordinal()].sum());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        return snapshot(errorCounts);
+    }
+
+    @Override
+    public Map<String, Long> getExceptionCounts() {
+        return snapshot(exceptionCounts);
+    }
+
+    /**
+     * Возвращает копию счетчиков, упорядоченную по ключу.
+     */
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+
+    @Override
+    public double getModelLatencyMean() {
+        return modelLatency.getMean();
+    }
+
+    @Override
+    public long getModelLatencyP50() {
+        return modelLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getModelLatencyP99() {
+        return modelLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getModelLatencyMax() {
+        return modelLatency.getMax();
+    }
+
+    @Override
+    public long getRenderCount() {
+        return renderLatency.getCount();
+    }
+
+    @Override
+    public long getRenderLatencyP50() {
+        return renderLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getRenderLatencyP99() {
+        return renderLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getRenderLatencyMax() {
+        return renderLatency.getMax();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : tokenCounts) {
+            counter.reset();
+        }
+        modelLatency.reset();
+        renderLatency.reset();
+        errorCounts.clear();
+        exceptionCounts.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.calculatorapp;
+
+import java.util.Map;
+
+/**
+ * Интерфейс управления метриками контроллера для JMX
+ * (объект {@code com.example.calculatorapp:type=ControllerMetrics}).
+ * Задержки возвращаются в наносекундах.
+ */
+public interface ControllerMetricsMXBean {
+
+    /**
+     * Проверяет, включен ли сбор метрик (свойство calculator.metrics).
+     * @return true, если метрики собираются
+     */
+    boolean isEnabled();
+
+    /**
+     * Возвращает общее количество обработанных токенов.
+     * @return количество токенов
+     */
+    long getTokenCount();
+
+    /**
+     * Возвращает количество токенов по типам.
+     * @return тип токена → количество
+     */
+    Map<String, Long> getTokenCounts();
+
+    /**
+     * Возвращает количество переходов в состояние ошибки по сообщениям модели.
+     * @return сообщение об ошибке → количество
+     */
+    Map<String, Long> getErrorCounts();
+
+    /**
+     * Возвращает количество срабатываний общего обработчика исключений по типам исключений.
+     * @return имя класса исключения → количество
+     */
+    Map<String, Long> getExceptionCounts();
+
+    /**
+     * Возвращает среднее время обработки токена моделью.
+     * @return задержка в наносекундах
+     */
+    double getModelLatencyMean();
+
+    /**
+     * Возвращает медиану времени обработки токена моделью.
+     * @return задержка в наносекундах
+     */
+    long getModelLatencyP50();
+
+    /**
+     * Возвращает 99-й перцентиль времени обработки токена моделью.
+     * @return задержка в наносекундах
+     */
+    long getModelLatencyP99();
+
+    /**
+     * Возвращает максимальное время обработки токена моделью.
+     * @return задержка в наносекундах
+     */
+    long getModelLatencyMax();
+
+    /**
+     * Возвращает количество отрисовок представления.
+     * @return количество отрисовок
+     */
+    long getRenderCount();
+
+    /**
+     * Возвращает медиану времени отрисовки представления.
+     * @return задержка в наносекундах
+     */
+    long getRenderLatencyP50();
+
+    /**
+     * Возвращает 99-й перцентиль времени отрисовки представления.
+     * @return задержка в наносекундах
+     */
+    long getRenderLatencyP99();
+
+    /**
+     * Возвращает максимальное время отрисовки представления.
+     * @return задержка в наносекундах
+     */
+    long getRenderLatencyMax();
+
+    /**
+     * Сбрасывает все метрики.
+     */
+    void reset();
+}
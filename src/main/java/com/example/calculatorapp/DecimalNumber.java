@@ -0,0 +1,367 @@
+package com.example.calculatorapp;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Неизменяемое десятичное число для режима повышенной точности.
+ * Пока значение помещается в {@code long} с масштабом не больше {@link #MAX_FAST_SCALE},
+ * оно хранится как пара примитивов (немасштабированное значение и масштаб), и операции
+ * выполняются целочисленной арифметикой с контролем переполнения. При переполнении или
+ * неточном результате значение переводится в {@link BigDecimal} с заданным {@link MathContext}.
+ */
+public final class DecimalNumber {
+    /** Максимальный масштаб быстрого представления. */
+    public static final int MAX_FAST_SCALE = 18;
+
+    /** Наибольшее количество цифр, при котором число отображается без экспоненты. */
+    public static final int MAX_PLAIN_DIGITS = 40;
+
+    /** Ноль. */
+    public static final DecimalNumber ZERO = new DecimalNumber(0, 0);
+
+    /** Единица. */
+    public static final DecimalNumber ONE = new DecimalNumber(1, 0);
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long unscaled; // Немасштабированное значение быстрого представления
+    private final int scale; // Масштаб быстрого представления
+    private final BigDecimal big; // Значение в виде BigDecimal или null для быстрого представления
+
+    private DecimalNumber(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.big = null;
+    }
+
+    private DecimalNumber(BigDecimal big) {
+        this.unscaled = 0;
+        this.scale = 0;
+        this.big = big;
+    }
+
+    /**
+     * Разбирает десятичное число из текста ввода калькулятора (например, {@code -12.50} или {@code 5.}).
+     * @param text текст числа
+     * @return десятичное число
+     * @throws NumberFormatException если текст не является числом
+     */
+    public static DecimalNumber parse(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && text.charAt(0) == '-') {
+            negative = true;
+            i++;
+        }
+        long value = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - 9) / 10 || scale >= MAX_FAST_SCALE) {
+                    return valueOf(new BigDecimal(text.toString()));
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                // Экспоненциальная запись и прочие формы разбираются BigDecimal
+                return valueOf(new BigDecimal(text.toString()));
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Неверный формат числа: " + text);
+        }
+        return normalize(negative ? -value : value, Math.max(scale, 0));
+    }
+
+    /**
+     * Создает десятичное число из {@link BigDecimal}, переводя его в быстрое представление, если оно помещается.
+     * @param value значение
+     * @return десятичное число
+     */
+    public static DecimalNumber valueOf(BigDecimal value) {
+        BigDecimal stripped = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        int scale = stripped.scale();
+        if (scale < 0 && scale >= -MAX_FAST_SCALE) {
+            // Целые числа вида 12E+3 приводятся к нулевому масштабу
+            stripped = stripped.setScale(0);
+            scale = 0;
+        }
+        if (scale >= 0 && scale <= MAX_FAST_SCALE && stripped.unscaledValue().bitLength() < 63) {
+            return new DecimalNumber(stripped.unscaledValue().longValue(), scale);
+        }
+        return new DecimalNumber(stripped);
+    }
+
+    /**
+     * Создает десятичное число из немасштабированного значения и масштаба не больше {@link #MAX_FAST_SCALE}
+     * так же, как {@link #parse(CharSequence)} из текста этого числа.
+     * @param unscaled немасштабированное значение
+     * @param scale масштаб
+     * @return десятичное число
+     */
+    static DecimalNumber valueOf(long unscaled, int scale) {
+        return normalize(unscaled, scale);
+    }
+
+    /**
+     * Приводит быстрое представление к минимальному масштабу (без завершающих нулей дробной части).
+     */
+    private static DecimalNumber normalize(long unscaled, int scale) {
+        if (unscaled == 0) {
+            return ZERO;
+        }
+        while (scale > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        return new DecimalNumber(unscaled, scale);
+    }
+
+    /**
+     * Возвращает результат быстрой операции, округляя его до точности контекста при необходимости.
+     */
+    private static DecimalNumber fast(long unscaled, int scale, MathContext mc) {
+        if (mc.getPrecision() > 0 && unscaled != Long.MIN_VALUE
+                && NumberFormatter.digitCount(Math.abs(unscaled)) > mc.getPrecision()) {
+            return valueOf(BigDecimal.valueOf(unscaled, scale).round(mc));
+        }
+        return normalize(unscaled, scale);
+    }
+
+    /**
+     * Проверяет, хранится ли число в быстром представлении.
+     * @return true, если число хранится в виде long и масштаба
+     */
+    public boolean isFast() {
+        return big == null;
+    }
+
+    /**
+     * Возвращает немасштабированное значение быстрого представления.
+     * @return немасштабированное значение (0 для представления BigDecimal)
+     */
+    long unscaledValue() {
+        return unscaled;
+    }
+
+    /**
+     * Возвращает масштаб быстрого представления.
+     * @return масштаб (0 для представления BigDecimal)
+     */
+    int scale() {
+        return scale;
+    }
+
+    /**
+     * Сложение.
+     * @param other второе слагаемое
+     * @param mc контекст округления
+     * @return сумма
+     */
+    public DecimalNumber add(DecimalNumber other, MathContext mc) {
+        if (big == null && other.big == null) {
+            try {
+                int s = Math.max(scale, other.scale);
+                return fast(Math.addExact(rescale(unscaled, s - scale), rescale(other.unscaled, s - other.scale)), s, mc);
+            } catch (ArithmeticException ignored) {
+                // Переполнение — переход к BigDecimal
+            }
+        }
+        return valueOf(toBigDecimal().add(other.toBigDecimal(), mc));
+    }
+
+    /**
+     * Вычитание.
+     * @param other вычитаемое
+     * @param mc контекст округления
+     * @return разность
+     */
+    public DecimalNumber subtract(DecimalNumber other, MathContext mc) {
+        return add(other.negate(), mc);
+    }
+
+    /**
+     * Умножение.
+     * @param other второй множитель
+     * @param mc контекст округления
+     * @return произведение
+     */
+    public DecimalNumber multiply(DecimalNumber other, MathContext mc) {
+        if (big == null && other.big == null && scale + other.scale <= MAX_FAST_SCALE) {
+            try {
+                return fast(Math.multiplyExact(unscaled, other.unscaled), scale + other.scale, mc);
+            } catch (ArithmeticException ignored) {
+                // Переполнение — переход к BigDecimal
+            }
+        }
+        return valueOf(toBigDecimal().multiply(other.toBigDecimal(), mc));
+    }
+
+    /**
+     * Деление. Делитель не должен быть равен нулю.
+     * @param other делитель
+     * @param mc контекст округления
+     * @return частное
+     */
+    public DecimalNumber divide(DecimalNumber other, MathContext mc) {
+        if (big == null && other.big == null && other.unscaled != 0
+                && unscaled % other.unscaled == 0 && !(unscaled == Long.MIN_VALUE && other.unscaled == -1)) {
+            // Точное деление без остатка остается в быстром представлении
+            long quotient = unscaled / other.unscaled;
+            int s = scale - other.scale;
+            if (s >= 0) {
+                return fast(quotient, s, mc);
+            }
+            try {
+                return fast(rescale(quotient, -s), 0, mc);
+            } catch (ArithmeticException ignored) {
+                // Переполнение — переход к BigDecimal
+            }
+        }
+        return valueOf(toBigDecimal().divide(other.toBigDecimal(), mc.getPrecision() > 0 ? mc : MathContext.DECIMAL128));
+    }
+
+    /**
+     * Остаток от деления (знак совпадает со знаком делимого, как у оператора % для double).
+     * Остаток вычисляется точно и только затем округляется: {@link BigDecimal#remainder(BigDecimal, MathContext)}
+     * отказывает, если целая часть частного не помещается в точность контекста.
+     * @param other делитель
+     * @param mc контекст округления
+     * @return остаток
+     */
+    public DecimalNumber remainder(DecimalNumber other, MathContext mc) {
+        if (big == null && other.big == null) {
+            try {
+                int s = Math.max(scale, other.scale);
+                long divisor = rescale(other.unscaled, s - other.scale);
+                if (divisor != 0) {
+                    return fast(rescale(unscaled, s - scale) % divisor, s, mc);
+                }
+            } catch (ArithmeticException ignored) {
+                // Переполнение — переход к BigDecimal
+            }
+        }
+        return valueOf(toBigDecimal().remainder(other.toBigDecimal()).round(mc));
+    }
+
+    /**
+     * Квадратный корень. Число не должно быть отрицательным.
+     * @param mc контекст округления
+     * @return квадратный корень
+     */
+    public DecimalNumber sqrt(MathContext mc) {
+        if (big == null && scale % 2 == 0 && unscaled >= 0 && unscaled < 1L << 62) {
+            // Точный корень из точного квадрата остается в быстром представлении
+            long root = (long) Math.sqrt((double) unscaled);
+            while (root * root > unscaled) {
+                root--;
+            }
+            while ((root + 1) * (root + 1) <= unscaled) {
+                root++;
+            }
+            if (root * root == unscaled) {
+                return fast(root, scale / 2, mc);
+            }
+        }
+        return valueOf(toBigDecimal().sqrt(mc.getPrecision() > 0 ? mc : MathContext.DECIMAL128));
+    }
+
+    /**
+     * Смена знака.
+     * @return число с противоположным знаком
+     */
+    public DecimalNumber negate() {
+        if (big == null && unscaled != Long.MIN_VALUE) {
+            return new DecimalNumber(-unscaled, scale);
+        }
+        return valueOf(toBigDecimal().negate());
+    }
+
+    /**
+     * Возвращает знак числа.
+     * @return -1, 0 или 1
+     */
+    public int signum() {
+        return big == null ? Long.signum(unscaled) : big.signum();
+    }
+
+    /**
+     * Преобразует число в {@link BigDecimal}.
+     * @return значение в виде BigDecimal
+     */
+    public BigDecimal toBigDecimal() {
+        return big != null ? big : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Преобразует число в double (с возможной потерей точности).
+     * @return ближайшее значение double
+     */
+    public double doubleValue() {
+        if (big == null && scale == 0) {
+            return unscaled;
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    /**
+     * Умножает значение на степень десяти с контролем переполнения.
+     */
+    private static long rescale(long value, int power) {
+        if (power == 0) {
+            return value;
+        }
+        if (power > MAX_FAST_SCALE) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.multiplyExact(value, POWERS_OF_TEN[power]);
+    }
+
+    /**
+     * Возвращает текстовое представление без завершающих нулей дробной части. Число, запись которого
+     * без экспоненты длиннее {@link #MAX_PLAIN_DIGITS} цифр, записывается с экспонентой так же,
+     * как модель отображает double (например, {@code 1.5E40} или {@code 1.0E-50}).
+     * @return текст числа
+     */
+    @Override
+    public String toString() {
+        if (big != null) {
+            int exponent = big.precision() - big.scale() - 1; // Порядок старшей цифры
+            if (exponent < MAX_PLAIN_DIGITS && big.precision() - exponent <= MAX_PLAIN_DIGITS) {
+                return big.toPlainString();
+            }
+            String digits = big.unscaledValue().abs().toString();
+            StringBuilder text = new StringBuilder(digits.length() + 8);
+            if (big.signum() < 0) {
+                text.append('-');
+            }
+            text.append(digits.charAt(0)).append('.');
+            if (digits.length() > 1) {
+                text.append(digits, 1, digits.length());
+            } else {
+                text.append('0');
+            }
+            return text.append('E').append(exponent).toString();
+        }
+        if (scale == 0) {
+            return Long.toString(unscaled);
+        }
+        return BigDecimal.valueOf(unscaled, scale).toPlainString();
+    }
+}
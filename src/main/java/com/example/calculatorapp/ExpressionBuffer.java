@@ -0,0 +1,138 @@
+package com.example.calculatorapp;
+
+import java.util.Arrays;
+
+/**
+ * Текст текущего выражения модели, который можно передавать неизменяемым снимкам {@link CalculatorState}
+ * без копирования. Снимок ссылается на массив символов и свою длину; символы до опубликованной длины
+ * больше не изменяются, а запись в эту область сначала копирует оставшееся начало выражения
+ * (копирование при записи). Поэтому добавление символов после снимка не копирует выражение,
+ * а копирование происходит только после удаления символов (⌫, CE, новое вычисление).
+ * Класс не потокобезопасен: буфер изменяет только поток-владелец модели.
+ */
+final class ExpressionBuffer implements CharSequence {
+    private char[] chars = new char[32]; // Символы выражения
+    private int length = 0; // Длина выражения
+    private int shared = 0; // Символы до этой позиции видны снимкам и не изменяются
+
+    /**
+     * Добавляет символ.
+     * @param c символ
+     * @return этот буфер
+     */
+    ExpressionBuffer append(char c) {
+        prepareWrite(1);
+        chars[length++] = c;
+        return this;
+    }
+
+    /**
+     * Добавляет текст.
+     * @param text текст
+     * @return этот буфер
+     */
+    ExpressionBuffer append(CharSequence text) {
+        int count = text.length();
+        prepareWrite(count);
+        for (int i = 0; i < count; i++) {
+            chars[length + i] = text.charAt(i);
+        }
+        length += count;
+        return this;
+    }
+
+    /**
+     * Укорачивает выражение.
+     * @param newLength новая длина, не больше текущей
+     */
+    void setLength(int newLength) {
+        if (newLength < 0 || newLength > length) {
+            throw new IndexOutOfBoundsException(newLength);
+        }
+        length = newLength;
+    }
+
+    /**
+     * Удаляет последний символ выражения, если оно не пустое.
+     */
+    void deleteLast() {
+        if (length > 0) {
+            length--;
+        }
+    }
+
+    /**
+     * Возвращает позицию последнего вхождения символа.
+     * @param c символ
+     * @return позиция или -1
+     */
+    int lastIndexOf(char c) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Отдает массив символов снимку: символы до текущей длины больше не изменяются.
+     * @return массив символов (первые {@link #length()} символов — выражение)
+     */
+    char[] share() {
+        shared = Math.max(shared, length);
+        return chars;
+    }
+
+    /**
+     * Восстанавливает выражение из снимка. Массив снимка может быть общим с другими снимками
+     * с большей длиной, поэтому он целиком считается опубликованным.
+     * @param chars массив символов снимка
+     * @param length длина выражения
+     */
+    void restore(char[] chars, int length) {
+        this.chars = chars;
+        this.length = length;
+        this.shared = chars.length;
+    }
+
+    /**
+     * Готовит место для записи count символов в конец выражения: копирует начало выражения в новый
+     * массив, если запись затронет опубликованные символы, или расширяет массив.
+     */
+    private void prepareWrite(int count) {
+        if (length < shared) {
+            char[] copy = new char[Math.max(32, 2 * (length + count))];
+            System.arraycopy(chars, 0, copy, 0, length);
+            chars = copy;
+            shared = 0;
+        } else if (length + count > chars.length) {
+            // Старый массив остается снимкам, новый еще не опубликован
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+            shared = 0;
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
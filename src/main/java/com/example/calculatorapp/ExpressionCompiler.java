@@ -0,0 +1,461 @@
+package com.example.calculatorapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Компилятор инфиксных выражений в стековый байт-код {@link CompiledExpression}.
+ * Поддерживает приоритет операций, скобки, унарный минус и операторы калькулятора:
+ * {@code + - * / %}, {@code ^} (степень, {@code x^2} компилируется в возведение в квадрат),
+ * {@code √} (квадратный корень), а также функции {@code sqrt(x)}, {@code sqr(x)} и {@code inv(x)}
+ * (аналоги кнопок √x, x^2 и 1/x), научные функции {@code sin cos tan asin acos atan ln log exp fact gamma}
+ * и число сочетаний {@code ncr(n, r)}. Научные функции и степень вычисляются {@link ScientificFunctions}
+ * на заданном уровне точности. Идентификаторы, не являющиеся функциями, считаются переменными.
+ *
+ * <p>Пользовательские функции ({@link UserFunction}) подставляются в место вызова: аргументы вычисляются
+ * один раз и сохраняются в локальные ячейки стека, тело компилируется с параметрами, ссылающимися на эти ячейки.
+ * Остальные идентификаторы тела — переменные вызывающего выражения. Рекурсия запрещена.</p>
+ *
+ * <pre>
+ * выражение := слагаемое (('+' | '-') слагаемое)*
+ * слагаемое := унарное (('*' | '/' | '%') унарное)*
+ * унарное   := ('-' | '+' | '√') унарное | степень
+ * степень   := первичное ('^' унарное)?
+ * первичное := число | переменная | функция '(' выражение (',' выражение)* ')' | '(' выражение ')'
+ * </pre>
+ */
+public final class ExpressionCompiler {
+    private String text; // Разбираемый текст (выражения или тела подставляемой функции)
+    private final List<String> variables; // Переменные выражения
+    private final boolean declareVariables; // Разрешено ли автоматически объявлять переменные
+    private final ScientificFunctions.AccuracyTier tier; // Уровень точности научных функций
+    private final Function<String, UserFunction> functions; // Пользовательские функции по имени (может быть null)
+    private int pos = 0; // Текущая позиция разбора
+    private Map<String, Integer> parameters = Map.of(); // Параметры подставляемой функции → локальные ячейки
+    private final Set<String> expanding = new HashSet<>(); // Функции, подставляемые в данный момент
+    private String function = null; // Имя функции, тело которой разбирается (для сообщений об ошибках)
+    private int localCount = 0; // Количество локальных ячеек
+
+    private int[] code = new int[16]; // Формируемый байт-код
+    private int codeLength = 0; // Длина байт-кода
+    private double[] constants = new double[8]; // Таблица констант
+    private int constantCount = 0; // Количество констант
+    private int depth = 0; // Текущая глубина стека
+    private int maxDepth = 0; // Максимальная глубина стека
+
+    private ExpressionCompiler(String text, List<String> variables, boolean declareVariables,
+                               ScientificFunctions.AccuracyTier tier, Function<String, UserFunction> functions) {
+        this.text = text;
+        this.variables = variables;
+        this.declareVariables = declareVariables;
+        this.tier = tier;
+        this.functions = functions;
+    }
+
+    /**
+     * Компилирует выражение, объявляя переменные в порядке их первого появления.
+     * @param expression текст выражения
+     * @return скомпилированное выражение
+     * @throws IllegalArgumentException если выражение записано неверно
+     */
+    public static CompiledExpression compile(String expression) {
+        return new ExpressionCompiler(expression, new ArrayList<>(), true,
+                ScientificFunctions.AccuracyTier.DEFAULT, null).compileAll();
+    }
+
+    /**
+     * Компилирует выражение с заранее заданным порядком переменных.
+     * @param expression текст выражения
+     * @param variables допустимые имена переменных; их порядок задает порядок значений при вычислении
+     * @return скомпилированное выражение
+     * @throws IllegalArgumentException если выражение записано неверно или содержит неизвестную переменную
+     */
+    public static CompiledExpression compile(String expression, List<String> variables) {
+        return compile(expression, variables, ScientificFunctions.AccuracyTier.DEFAULT);
+    }
+
+    /**
+     * Компилирует выражение с заранее заданным порядком переменных и уровнем точности научных функций.
+     * @param expression текст выражения
+     * @param variables допустимые имена переменных; их порядок задает порядок значений при вычислении
+     * @param tier уровень точности научных функций и степени
+     * @return скомпилированное выражение
+     * @throws IllegalArgumentException если выражение записано неверно или содержит неизвестную переменную
+     */
+    public static CompiledExpression compile(String expression, List<String> variables,
+                                             ScientificFunctions.AccuracyTier tier) {
+        return new ExpressionCompiler(expression, new ArrayList<>(variables), false, tier, null).compileAll();
+    }
+
+    /**
+     * Компилирует выражение с пользовательскими функциями, объявляя переменные в порядке их первого появления
+     * (включая переменные из тел подставленных функций).
+     * @param expression текст выражения
+     * @param functions поиск пользовательской функции по имени (null, если функции нет)
+     * @param tier уровень точности научных функций и степени
+     * @return скомпилированное выражение
+     * @throws IllegalArgumentException если выражение или тело функции записано неверно,
+     *         функция вызвана с неверным числом аргументов или определена рекурсивно
+     */
+    public static CompiledExpression compile(String expression, Function<String, UserFunction> functions,
+                                             ScientificFunctions.AccuracyTier tier) {
+        return new ExpressionCompiler(expression, new ArrayList<>(), true, tier, functions).compileAll();
+    }
+
+    /**
+     * Проверяет, является ли имя встроенной функцией.
+     * @param name имя
+     * @return true для встроенной функции
+     */
+    public static boolean isBuiltinFunction(String name) {
+        return builtinOpcode(name) >= 0;
+    }
+
+    /**
+     * Разбирает все выражение и формирует результат компиляции.
+     * @return скомпилированное выражение
+     */
+    private CompiledExpression compileAll() {
+        parseExpression();
+        skipSpaces();
+        if (pos < text.length()) {
+            throw error();
+        }
+        return new CompiledExpression(text, Arrays.copyOf(code, codeLength),
+                Arrays.copyOf(constants, constantCount), variables, maxDepth, localCount, tier);
+    }
+
+    /**
+     * Разбирает сложение и вычитание.
+     */
+    private void parseExpression() {
+        parseTerm();
+        while (true) {
+            if (accept('+')) {
+                parseTerm();
+                emitBinary(CompiledExpression.ADD);
+            } else if (accept('-')) {
+                parseTerm();
+                emitBinary(CompiledExpression.SUB);
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Разбирает умножение, деление и остаток от деления.
+     */
+    private void parseTerm() {
+        parseUnary();
+        while (true) {
+            if (accept('*')) {
+                parseUnary();
+                emitBinary(CompiledExpression.MUL);
+            } else if (accept('/')) {
+                parseUnary();
+                emitBinary(CompiledExpression.DIV);
+            } else if (accept('%')) {
+                parseUnary();
+                emitBinary(CompiledExpression.MOD);
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Разбирает унарные операторы.
+     */
+    private void parseUnary() {
+        if (accept('-')) {
+            parseUnary();
+            emit(CompiledExpression.NEG);
+        } else if (accept('+')) {
+            parseUnary();
+        } else if (accept('√')) {
+            parseUnary();
+            emit(CompiledExpression.SQRT);
+        } else {
+            parsePower();
+        }
+    }
+
+    /**
+     * Разбирает возведение в степень (правоассоциативно).
+     */
+    private void parsePower() {
+        parsePrimary();
+        if (accept('^')) {
+            int mark = codeLength;
+            parseUnary();
+            // Степень 2 компилируется в отдельную операцию, как кнопка x^2
+            if (codeLength == mark + 2 && code[mark] == CompiledExpression.PUSH
+                    && constants[code[mark + 1]] == 2) {
+                codeLength = mark;
+                depth--;
+                emit(CompiledExpression.SQUARE);
+            } else {
+                emitBinary(CompiledExpression.POW);
+            }
+        }
+    }
+
+    /**
+     * Разбирает числа, переменные, функции и выражения в скобках.
+     */
+    private void parsePrimary() {
+        skipSpaces();
+        if (pos >= text.length()) {
+            throw error();
+        }
+        char c = text.charAt(pos);
+        if (accept('(')) {
+            parseExpression();
+            expect(')');
+        } else if (Character.isDigit(c) || c == '.') {
+            parseNumber();
+        } else if (Character.isLetter(c)) {
+            int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            String name = text.substring(start, pos);
+            if (accept('(')) {
+                int arguments = 0;
+                do {
+                    parseExpression();
+                    arguments++;
+                } while (accept(','));
+                expect(')');
+                emitFunction(name, arguments, start);
+            } else if (parameters.containsKey(name)) {
+                emit(CompiledExpression.LOAD_LOCAL, parameters.get(name));
+                push();
+            } else {
+                emitVariable(name, start);
+            }
+        } else {
+            throw error();
+        }
+    }
+
+    /**
+     * Разбирает числовую константу (с необязательной дробной частью и экспонентой).
+     */
+    private void parseNumber() {
+        int start = pos;
+        while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            int mark = pos++;
+            if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                    pos++;
+                }
+            } else {
+                pos = mark; // Это не экспонента, а, например, переменная e
+            }
+        }
+        try {
+            emitConstant(Double.parseDouble(text.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error();
+        }
+    }
+
+    /**
+     * Формирует вызов встроенной функции или подставляет пользовательскую.
+     * Аргументы к этому моменту уже находятся на стеке.
+     * @param name имя функции
+     * @param arguments количество аргументов
+     * @param start позиция имени в тексте (для сообщения об ошибке)
+     */
+    private void emitFunction(String name, int arguments, int start) {
+        int op = builtinOpcode(name);
+        UserFunction function = op < 0 && functions != null ? functions.apply(name) : null;
+        if (function != null) {
+            expandFunction(function, arguments, start);
+            return;
+        }
+        int expected = op == CompiledExpression.NCR ? 2 : 1;
+        if (op < 0 || arguments != expected) {
+            pos = start;
+            throw error();
+        }
+        if (expected == 2) {
+            emitBinary(op);
+        } else {
+            emit(op);
+        }
+    }
+
+    /**
+     * Подставляет тело пользовательской функции: снимает аргументы со стека в новые локальные ячейки
+     * и компилирует тело, в котором параметры ссылаются на эти ячейки.
+     * @param function функция
+     * @param arguments количество аргументов на стеке
+     * @param start позиция имени в тексте (для сообщения об ошибке)
+     */
+    private void expandFunction(UserFunction function, int arguments, int start) {
+        if (arguments != function.parameters().size()) {
+            pos = start;
+            throw error();
+        }
+        if (!expanding.add(function.name())) {
+            throw new IllegalArgumentException("Ошибка: рекурсивное определение функции " + function.name());
+        }
+        Map<String, Integer> scope = new HashMap<>();
+        for (int i = arguments - 1; i >= 0; i--) {
+            emit(CompiledExpression.STORE_LOCAL, localCount + i);
+            depth--;
+            scope.put(function.parameters().get(i), localCount + i);
+        }
+        localCount += arguments;
+
+        // Разбор тела функции вместо текста выражения с последующим восстановлением состояния
+        String savedText = text;
+        int savedPos = pos;
+        Map<String, Integer> savedParameters = parameters;
+        String savedFunction = this.function;
+        text = function.body();
+        pos = 0;
+        parameters = scope;
+        this.function = function.name();
+        parseExpression();
+        skipSpaces();
+        if (pos < text.length()) {
+            throw error();
+        }
+        text = savedText;
+        pos = savedPos;
+        parameters = savedParameters;
+        this.function = savedFunction;
+        expanding.remove(function.name());
+    }
+
+    /**
+     * Возвращает код операции встроенной функции.
+     * @param name имя функции
+     * @return код операции или -1, если встроенной функции с таким именем нет
+     */
+    private static int builtinOpcode(String name) {
+        return switch (name) {
+            case "sqrt" -> CompiledExpression.SQRT;
+            case "sqr" -> CompiledExpression.SQUARE;
+            case "inv" -> CompiledExpression.INVERT;
+            case "sin" -> CompiledExpression.SIN;
+            case "cos" -> CompiledExpression.COS;
+            case "tan" -> CompiledExpression.TAN;
+            case "asin" -> CompiledExpression.ASIN;
+            case "acos" -> CompiledExpression.ACOS;
+            case "atan" -> CompiledExpression.ATAN;
+            case "ln" -> CompiledExpression.LN;
+            case "log" -> CompiledExpression.LOG10;
+            case "exp" -> CompiledExpression.EXP;
+            case "fact" -> CompiledExpression.FACTORIAL;
+            case "gamma" -> CompiledExpression.GAMMA;
+            case "ncr" -> CompiledExpression.NCR;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Формирует загрузку переменной, при необходимости объявляя ее.
+     * @param name имя переменной
+     * @param start позиция имени в тексте (для сообщения об ошибке)
+     */
+    private void emitVariable(String name, int start) {
+        int index = variables.indexOf(name);
+        if (index < 0) {
+            if (!declareVariables) {
+                pos = start;
+                throw error();
+            }
+            variables.add(name);
+            index = variables.size() - 1;
+        }
+        emit(CompiledExpression.LOAD, index);
+        push();
+    }
+
+    /**
+     * Формирует загрузку константы.
+     * @param value значение константы
+     */
+    private void emitConstant(double value) {
+        if (constantCount == constants.length) {
+            constants = Arrays.copyOf(constants, constantCount * 2);
+        }
+        constants[constantCount] = value;
+        emit(CompiledExpression.PUSH, constantCount++);
+        push();
+    }
+
+    /**
+     * Формирует бинарную операцию, снимающую со стека один операнд.
+     * @param op код операции
+     */
+    private void emitBinary(int op) {
+        emit(op);
+        depth--;
+    }
+
+    private void emit(int op) {
+        if (codeLength == code.length) {
+            code = Arrays.copyOf(code, codeLength * 2);
+        }
+        code[codeLength++] = op;
+    }
+
+    private void emit(int op, int operand) {
+        emit(op);
+        emit(operand);
+    }
+
+    private void push() {
+        depth++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private boolean accept(char c) {
+        skipSpaces();
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error();
+        }
+    }
+
+    /**
+     * Создает исключение с указанием позиции ошибки.
+     * @return исключение о неверном формате выражения
+     */
+    private IllegalArgumentException error() {
+        String where = function == null ? "" : ", функция " + function;
+        return new IllegalArgumentException("Ошибка: неверный формат выражения (позиция " + (pos + 1) + where + ")");
+    }
+}
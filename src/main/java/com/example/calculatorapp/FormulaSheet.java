@@ -0,0 +1,510 @@
+package com.example.calculatorapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Лист формул: именованные переменные ({@code rate = 0.07}), формулы, ссылающиеся на них
+ * ({@code total = price * (1 + rate)}), и пользовательские функции ({@code f(x) = x^2 + rate*x}).
+ * Формулы компилируются {@link ExpressionCompiler} один раз; значения хранятся в графе зависимостей.
+ *
+ * <p>При изменении формулы пересчитываются только зависящие от нее формулы, в топологическом порядке.
+ * Затронутые формулы разбиваются на уровни: формулы одного уровня не зависят друг от друга,
+ * поэтому большие уровни (от {@link #PARALLEL_THRESHOLD} формул) вычисляются параллельно.
+ * Циклические зависимости отклоняются, лист при этом не меняется. Ошибка формулы
+ * (например, деление на ноль) передается всем зависящим от нее формулам.</p>
+ *
+ * <p>Изменять лист следует из одного потока; параллельно выполняется только пересчет внутри вызова.</p>
+ */
+public class FormulaSheet {
+    /** Минимальное количество формул уровня, при котором уровень вычисляется параллельно. */
+    public static final int PARALLEL_THRESHOLD = 256;
+
+    private static final String NAME = "\\p{L}[\\p{L}\\p{Nd}_]*"; // Имя переменной или функции
+    private static final Pattern VARIABLE = Pattern.compile("\\s*(" + NAME + ")\\s*");
+    private static final Pattern FUNCTION = Pattern.compile("\\s*(" + NAME + ")\\s*\\(([^)]*)\\)\\s*");
+    private static final Pattern PARAMETER = Pattern.compile(NAME);
+    private static final Cell[] NO_CELLS = new Cell[0];
+
+    /**
+     * Ячейка листа: формула, ее байт-код, связи графа и последнее вычисленное значение.
+     */
+    private static final class Cell {
+        final String name; // Имя переменной
+        String formula = null; // Текст формулы (null — имя только упоминается в других формулах)
+        CompiledExpression expression = null; // Байт-код формулы (null для числа и неопределенной ячейки)
+        double constant; // Значение ячейки-числа
+        Cell[] inputs = NO_CELLS; // Ячейки, от которых зависит формула, в порядке переменных байт-кода
+        final ArrayList<Cell> dependents = new ArrayList<>(); // Ячейки, зависящие от этой (без повторов)
+        Set<String> functions = Set.of(); // Пользовательские функции, подставленные в формулу
+        double[] arguments = new double[0]; // Значения входов (своя память ячейки: без выделений при пересчете)
+        double[] stack = new double[0]; // Стек вычисления
+        // Значение и ошибка пишутся при параллельном пересчете; видимость обеспечивает завершение уровня
+        double value = Double.NaN; // Последнее значение
+        String error; // Сообщение об ошибке или null
+        int mark = 0; // Номер пересчета, в который ячейка попала в затронутые
+        int pending = 0; // Количество еще не вычисленных затронутых входов
+
+        Cell(String name) {
+            this.name = name;
+            this.error = "Ошибка: неизвестная переменная " + name;
+        }
+    }
+
+    private final Map<String, Cell> cells = new HashMap<>(); // Ячейки по именам
+    private final Map<String, UserFunction> functions = new HashMap<>(); // Пользовательские функции по именам
+    private final ScientificFunctions.AccuracyTier tier; // Уровень точности научных функций
+    private int epoch = 0; // Номер текущего пересчета
+    private long evaluationCount = 0; // Количество вычислений формул с момента создания
+
+    /**
+     * Создает пустой лист со стандартной точностью научных функций.
+     */
+    public FormulaSheet() {
+        this(ScientificFunctions.AccuracyTier.DEFAULT);
+    }
+
+    /**
+     * Создает пустой лист.
+     * @param tier уровень точности научных функций
+     */
+    public FormulaSheet(ScientificFunctions.AccuracyTier tier) {
+        this.tier = tier;
+    }
+
+    /**
+     * Выполняет определение вида {@code имя = формула} или {@code имя(x, y) = тело}.
+     * @param definition текст определения
+     * @return количество пересчитанных формул
+     * @throws IllegalArgumentException при неверной записи, неизвестной функции или циклической зависимости
+     */
+    public int define(String definition) {
+        int equals = definition.indexOf('=');
+        if (equals < 0) {
+            throw new IllegalArgumentException("Ошибка: ожидается определение вида имя = формула");
+        }
+        String left = definition.substring(0, equals);
+        String right = definition.substring(equals + 1);
+        Matcher variable = VARIABLE.matcher(left);
+        if (variable.matches()) {
+            return set(variable.group(1), right);
+        }
+        Matcher function = FUNCTION.matcher(left);
+        if (function.matches()) {
+            List<String> parameters = new ArrayList<>();
+            if (!function.group(2).isBlank()) {
+                for (String parameter : function.group(2).split(",")) {
+                    parameter = parameter.trim();
+                    if (!PARAMETER.matcher(parameter).matches()) {
+                        throw new IllegalArgumentException("Ошибка: неверное имя параметра " + parameter);
+                    }
+                    parameters.add(parameter);
+                }
+            }
+            return defineFunction(new UserFunction(function.group(1), parameters, right.trim()));
+        }
+        throw new IllegalArgumentException("Ошибка: неверное имя в определении " + left.trim());
+    }
+
+    /**
+     * Задает формулу переменной и пересчитывает зависящие от нее формулы.
+     * @param name имя переменной
+     * @param formula текст формулы
+     * @return количество пересчитанных формул
+     * @throws IllegalArgumentException при неверной записи, неизвестной функции или циклической зависимости
+     */
+    public int set(String name, String formula) {
+        if (!PARAMETER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Ошибка: неверное имя переменной " + name);
+        }
+        Set<String> used = new LinkedHashSet<>();
+        CompiledExpression expression = compile(formula, used); // До изменения листа: ошибка не меняет его
+        Cell cell = cells.computeIfAbsent(name, Cell::new);
+        String oldFormula = cell.formula;
+        CompiledExpression oldExpression = cell.expression;
+        double oldConstant = cell.constant;
+        Set<String> oldFunctions = cell.functions;
+
+        link(cell, formula.trim(), expression, used);
+        List<Cell[]> levels = schedule(List.of(cell));
+        if (levels == null) {
+            link(cell, oldFormula, oldExpression, oldFunctions);
+            cell.constant = oldConstant;
+            if (oldFormula == null && cell.dependents.isEmpty()) {
+                cells.remove(name);
+            }
+            throw new IllegalArgumentException("Ошибка: циклическая зависимость (" + name + ")");
+        }
+        return evaluate(levels);
+    }
+
+    /**
+     * Задает переменной числовое значение без разбора текста (быстрый путь для входных данных)
+     * и пересчитывает зависящие от нее формулы.
+     * @param name имя переменной
+     * @param value значение
+     * @return количество пересчитанных формул
+     */
+    public int setValue(String name, double value) {
+        if (!PARAMETER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Ошибка: неверное имя переменной " + name);
+        }
+        Cell cell = cells.computeIfAbsent(name, Cell::new);
+        char[] buffer = new char[32];
+        link(cell, new String(buffer, 0, NumberFormatter.formatDouble(value, buffer, 0)), null, Set.of());
+        cell.constant = value;
+        return evaluate(schedule(List.of(cell))); // Ячейка-число не имеет входов: цикл невозможен
+    }
+
+    /**
+     * Определяет или заменяет пользовательскую функцию и пересчитывает формулы, которые ее используют.
+     * @param function функция
+     * @return количество пересчитанных формул
+     * @throws IllegalArgumentException если имя занято встроенной функцией, тело записано неверно,
+     *         функция рекурсивна или замена создает циклическую зависимость
+     */
+    public int defineFunction(UserFunction function) {
+        if (ExpressionCompiler.isBuiltinFunction(function.name())) {
+            throw new IllegalArgumentException("Ошибка: имя встроенной функции " + function.name());
+        }
+        UserFunction old = functions.put(function.name(), function);
+        List<Cell> users = new ArrayList<>();
+        for (Cell cell : cells.values()) {
+            if (cell.functions.contains(function.name())) {
+                users.add(cell);
+            }
+        }
+        try {
+            // Проверка тела: параметры — переменные, вызовы других функций подставляются
+            ExpressionCompiler.compile(function.body(), functions::get, tier);
+            List<Cell[]> levels = relinkAll(users);
+            if (levels != null) {
+                return evaluate(levels);
+            }
+        } catch (IllegalArgumentException e) {
+            restoreFunction(function.name(), old, users);
+            throw e;
+        }
+        restoreFunction(function.name(), old, users);
+        throw new IllegalArgumentException("Ошибка: циклическая зависимость (функция " + function.name() + ")");
+    }
+
+    /**
+     * Удаляет формулу переменной. Если на переменную ссылаются другие формулы, она остается
+     * неопределенной, и эти формулы получают ошибку.
+     * @param name имя переменной
+     * @return количество пересчитанных формул
+     */
+    public int remove(String name) {
+        Cell cell = cells.get(name);
+        if (cell == null || cell.formula == null) {
+            return 0;
+        }
+        link(cell, null, null, Set.of());
+        if (cell.dependents.isEmpty()) {
+            cells.remove(name);
+            return 0;
+        }
+        return evaluate(schedule(List.of(cell)));
+    }
+
+    /**
+     * Пересчитывает все формулы листа (например, для сравнения с инкрементальным пересчетом).
+     * @return количество пересчитанных формул
+     */
+    public int recomputeAll() {
+        return evaluate(schedule(cells.values()));
+    }
+
+    /**
+     * Возвращает значение переменной.
+     * @param name имя переменной
+     * @return значение или NaN, если переменная не определена или ее формула вычислена с ошибкой
+     */
+    public double getValue(String name) {
+        Cell cell = cells.get(name);
+        return cell == null || cell.error != null ? Double.NaN : cell.value;
+    }
+
+    /**
+     * Возвращает сообщение об ошибке формулы.
+     * @param name имя переменной
+     * @return сообщение об ошибке или null, если значение вычислено
+     */
+    public String getError(String name) {
+        Cell cell = cells.get(name);
+        return cell == null ? "Ошибка: неизвестная переменная " + name : cell.error;
+    }
+
+    /**
+     * Возвращает значение переменной так, как его отображает калькулятор, или сообщение об ошибке.
+     * @param name имя переменной
+     * @return отображаемое значение
+     */
+    public String getDisplayValue(String name) {
+        String error = getError(name);
+        if (error != null) {
+            return error;
+        }
+        char[] buffer = new char[32];
+        return new String(buffer, 0, NumberFormatter.formatDouble(cells.get(name).value, buffer, 0));
+    }
+
+    /**
+     * Возвращает текст формулы переменной.
+     * @param name имя переменной
+     * @return формула или null, если переменная не определена
+     */
+    public String getFormula(String name) {
+        Cell cell = cells.get(name);
+        return cell == null ? null : cell.formula;
+    }
+
+    /**
+     * Возвращает пользовательскую функцию.
+     * @param name имя функции
+     * @return функция или null
+     */
+    public UserFunction getFunction(String name) {
+        return functions.get(name);
+    }
+
+    /**
+     * Возвращает имена определенных переменных.
+     * @return неизменяемое множество имен
+     */
+    public Set<String> getNames() {
+        Set<String> names = new LinkedHashSet<>();
+        cells.forEach((name, cell) -> {
+            if (cell.formula != null) {
+                names.add(name);
+            }
+        });
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Возвращает общее количество вычислений формул с момента создания листа.
+     * @return количество вычислений
+     */
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * Компилирует формулу, запоминая подставленные пользовательские функции.
+     * @param formula текст формулы
+     * @param used множество, в которое добавляются имена подставленных функций
+     * @return байт-код формулы
+     */
+    private CompiledExpression compile(String formula, Set<String> used) {
+        return ExpressionCompiler.compile(formula, name -> {
+            UserFunction function = functions.get(name);
+            if (function != null) {
+                used.add(name);
+            }
+            return function;
+        }, tier);
+    }
+
+    /**
+     * Связывает ячейку с новой формулой: заменяет ее входы и обратные ссылки в графе.
+     * Неизвестные имена создают неопределенные ячейки.
+     * @param cell ячейка
+     * @param formula текст формулы или null
+     * @param expression байт-код или null
+     * @param used подставленные пользовательские функции
+     */
+    private void link(Cell cell, String formula, CompiledExpression expression, Set<String> used) {
+        for (Cell input : cell.inputs) {
+            input.dependents.remove(cell);
+            if (input.formula == null && input.dependents.isEmpty()) {
+                cells.remove(input.name); // Неопределенная ячейка больше никем не упоминается
+            }
+        }
+        cell.formula = formula;
+        cell.expression = expression;
+        cell.functions = used;
+        if (expression == null) {
+            cell.inputs = NO_CELLS;
+            cell.arguments = new double[0];
+            cell.stack = new double[0];
+            return;
+        }
+        List<String> variables = expression.getVariables();
+        cell.inputs = new Cell[variables.size()];
+        for (int i = 0; i < cell.inputs.length; i++) {
+            Cell input = cells.computeIfAbsent(variables.get(i), Cell::new);
+            input.dependents.add(cell);
+            cell.inputs[i] = input;
+        }
+        cell.arguments = new double[cell.inputs.length];
+        cell.stack = new double[expression.getMaxStackDepth()];
+    }
+
+    /**
+     * Перекомпилирует формулы после изменения функции и строит план пересчета.
+     * @param users формулы, использующие функцию
+     * @return уровни пересчета или null при циклической зависимости
+     * @throws IllegalArgumentException если формула перестала компилироваться
+     */
+    private List<Cell[]> relinkAll(List<Cell> users) {
+        List<CompiledExpression> expressions = new ArrayList<>(users.size());
+        List<Set<String>> used = new ArrayList<>(users.size());
+        for (Cell cell : users) {
+            Set<String> names = new LinkedHashSet<>();
+            expressions.add(compile(cell.formula, names));
+            used.add(names);
+        }
+        for (int i = 0; i < users.size(); i++) {
+            link(users.get(i), users.get(i).formula, expressions.get(i), used.get(i));
+        }
+        return schedule(users);
+    }
+
+    /**
+     * Восстанавливает прежнее определение функции и формулы, которые ее используют.
+     */
+    private void restoreFunction(String name, UserFunction old, List<Cell> users) {
+        if (old == null) {
+            functions.remove(name);
+        } else {
+            functions.put(name, old);
+        }
+        relinkAll(users); // Прежние определения компилировались и не содержали циклов
+    }
+
+    /**
+     * Строит план пересчета: все ячейки, достижимые из измененных по обратным ссылкам,
+     * разбитые на уровни в топологическом порядке (алгоритм Кана).
+     * @param changed измененные ячейки
+     * @return уровни пересчета или null, если затронутые ячейки содержат цикл
+     */
+    private List<Cell[]> schedule(Collection<Cell> changed) {
+        int mark = ++epoch;
+        List<Cell> affected = new ArrayList<>();
+        ArrayDeque<Cell> stack = new ArrayDeque<>();
+        for (Cell cell : changed) {
+            if (cell.mark != mark) {
+                cell.mark = mark;
+                stack.push(cell);
+            }
+        }
+        while (!stack.isEmpty()) {
+            Cell cell = stack.pop();
+            affected.add(cell);
+            List<Cell> dependents = cell.dependents;
+            for (int i = 0; i < dependents.size(); i++) {
+                Cell dependent = dependents.get(i);
+                if (dependent.mark != mark) {
+                    dependent.mark = mark;
+                    stack.push(dependent);
+                }
+            }
+        }
+
+        // Количество затронутых входов каждой ячейки; ячейки без таких входов образуют первый уровень
+        List<Cell> level = new ArrayList<>();
+        for (Cell cell : affected) {
+            int pending = 0;
+            for (Cell input : cell.inputs) {
+                if (input.mark == mark) {
+                    pending++;
+                }
+            }
+            cell.pending = pending;
+            if (pending == 0) {
+                level.add(cell);
+            }
+        }
+        List<Cell[]> levels = new ArrayList<>();
+        int scheduled = 0;
+        while (!level.isEmpty()) {
+            levels.add(level.toArray(NO_CELLS));
+            scheduled += level.size();
+            List<Cell> next = new ArrayList<>();
+            for (Cell cell : level) {
+                List<Cell> dependents = cell.dependents;
+                for (int i = 0; i < dependents.size(); i++) {
+                    Cell dependent = dependents.get(i);
+                    if (--dependent.pending == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            level = next;
+        }
+        return scheduled == affected.size() ? levels : null;
+    }
+
+    /**
+     * Вычисляет уровни по порядку; большие уровни — параллельно.
+     * @param levels уровни пересчета
+     * @return количество вычисленных ячеек
+     */
+    private int evaluate(List<Cell[]> levels) {
+        int count = 0;
+        for (Cell[] level : levels) {
+            if (level.length >= PARALLEL_THRESHOLD) {
+                Arrays.stream(level).parallel().forEach(FormulaSheet::evaluateCell);
+            } else {
+                for (Cell cell : level) {
+                    evaluateCell(cell);
+                }
+            }
+            count += level.length;
+        }
+        evaluationCount += count;
+        return count;
+    }
+
+    /**
+     * Вычисляет одну ячейку по значениям входов, вычисленным на предыдущих уровнях.
+     * Использует только память ячейки, поэтому ячейки одного уровня вычисляются независимо.
+     * @param cell ячейка
+     */
+    private static void evaluateCell(Cell cell) {
+        if (cell.formula == null) {
+            cell.error = "Ошибка: неизвестная переменная " + cell.name;
+            return;
+        }
+        if (cell.expression == null) {
+            cell.value = cell.constant;
+            cell.error = null;
+            return;
+        }
+        Cell[] inputs = cell.inputs;
+        double[] arguments = cell.arguments;
+        for (int i = 0; i < inputs.length; i++) {
+            String error = inputs[i].error;
+            if (error != null) {
+                cell.error = error; // Ошибка передается зависящим формулам
+                return;
+            }
+            arguments[i] = inputs[i].value;
+        }
+        try {
+            double value = cell.expression.evaluate(arguments, cell.stack);
+            if (Double.isNaN(value)) {
+                cell.error = "Ошибка: недопустимый аргумент";
+            } else if (Double.isInfinite(value)) {
+                cell.error = "Ошибка: переполнение";
+            } else {
+                cell.value = value;
+                cell.error = null;
+            }
+        } catch (ArithmeticException e) {
+            cell.error = e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.calculatorapp;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Сроки подсветки для {@link ButtonHighlighter}: какие элементы подсвечены и когда подсветку нужно снять.
+ * Класс не зависит от JavaFX и не создает потоков; время передает вызывающий код (нажатие и импульс таймера),
+ * поэтому его можно проверить с виртуальными часами. Не потокобезопасен: используется только в потоке JavaFX.
+ * @param <T> тип подсвечиваемого элемента
+ */
+final class HighlightSchedule<T> {
+    private final long durationNanos; // Длительность подсветки
+    private Object[] items = new Object[32]; // Подсвеченные элементы
+    private long[] deadlines = new long[32]; // Время снятия подсветки для каждого элемента
+    private int count = 0; // Количество подсвеченных элементов
+
+    /**
+     * Создает расписание с указанной длительностью подсветки.
+     * @param durationNanos длительность подсветки в наносекундах
+     */
+    HighlightSchedule(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Отмечает нажатие элемента. Если элемент уже подсвечен, его подсветка лишь продлевается.
+     * @param item элемент
+     * @param now текущее время в наносекундах
+     * @return true, если элемент не был подсвечен и подсветку нужно включить
+     */
+    boolean add(T item, long now) {
+        long deadline = now + durationNanos;
+        for (int i = 0; i < count; i++) {
+            if (items[i] == item) {
+                deadlines[i] = deadline; // Элемент уже подсвечен — продлеваем подсветку
+                return false;
+            }
+        }
+        if (count == items.length) {
+            items = Arrays.copyOf(items, count * 2);
+            deadlines = Arrays.copyOf(deadlines, count * 2);
+        }
+        items[count] = item;
+        deadlines[count] = deadline;
+        count++;
+        return true;
+    }
+
+    /**
+     * Снимает подсветку с элементов, срок которых истек.
+     * @param now время текущего импульса в наносекундах
+     * @param reset действие, снимающее подсветку с элемента
+     * @return количество элементов, которые остались подсвеченными
+     */
+    @SuppressWarnings("unchecked")
+    int expire(long now, Consumer<? super T> reset) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (deadlines[i] - now <= 0) {
+                reset.accept((T) items[i]);
+            } else {
+                items[kept] = items[i];
+                deadlines[kept] = deadlines[i];
+                kept++;
+            }
+        }
+        for (int i = kept; i < count; i++) {
+            items[i] = null;
+        }
+        count = kept;
+        return count;
+    }
+
+    /**
+     * Возвращает количество подсвеченных элементов.
+     * @return количество элементов
+     */
+    int size() {
+        return count;
+    }
+}
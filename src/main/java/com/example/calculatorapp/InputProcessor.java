@@ -0,0 +1,224 @@
+package com.example.calculatorapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Общая логика обработки ввода, не зависящая от графического интерфейса.
+ * Используется контроллером и пакетным (headless) режимом, чтобы оба пути
+ * применяли токены к модели одинаково.
+ */
+public final class InputProcessor {
+    // Кнопки с многосимвольным текстом; проверяются раньше односимвольных
+    private static final Opcode[] LONG_TOKENS = {Opcode.RECIPROCAL, Opcode.SQUARE, Opcode.SQUARE_ROOT, Opcode.TOGGLE_SIGN, Opcode.CLEAR_ENTRY,
+            Opcode.ARCSINE, Opcode.ARCCOSINE, Opcode.ARCTANGENT, Opcode.SINE, Opcode.COSINE, Opcode.TANGENT,
+            Opcode.POWER, Opcode.EXP, Opcode.COMBINATIONS, Opcode.FACTORIAL, Opcode.LOG10, Opcode.NATURAL_LOG};
+    // Многосимвольные кнопки режима программиста
+    private static final Opcode[] PROGRAMMER_TOKENS = {Opcode.AND, Opcode.OR, Opcode.XOR, Opcode.NOT, Opcode.SHIFT_LEFT,
+            Opcode.SHIFT_RIGHT, Opcode.ROTATE_LEFT, Opcode.ROTATE_RIGHT, Opcode.TOGGLE_SIGN};
+
+    private InputProcessor() {
+    }
+
+    /**
+     * Применяет одну кнопку к модели и возвращает значение для отображения.
+     * Повторяет поведение контроллера: любая неожиданная ошибка переводит модель в состояние ошибки.
+     * @param model модель калькулятора
+     * @param opcode нажатая кнопка
+     * @return текущее значение модели после обработки кнопки
+     */
+    public static String process(CalculatorModel model, Opcode opcode) {
+        try {
+            switch (opcode) {
+                case ADD: // Установка оператора сложения
+                case SUBTRACT: // Установка оператора вычитания
+                case MULTIPLY: // Установка оператора умножения
+                case DIVIDE: // Установка оператора деления
+                case PERCENT: // Установка оператора остатка от деления
+                case RECIPROCAL: // Установка оператора обратного значения
+                case SQUARE: // Установка оператора возведения в квадрат
+                case SQUARE_ROOT: // Установка оператора квадратного корня
+                case SINE: // Функции научного режима
+                case COSINE:
+                case TANGENT:
+                case POWER:
+                case ARCSINE:
+                case ARCCOSINE:
+                case ARCTANGENT:
+                case COMBINATIONS:
+                case NATURAL_LOG:
+                case LOG10:
+                case EXP:
+                case FACTORIAL:
+                    model.setOperator(opcode);
+                    break;
+                case EQUALS: // Выполнение вычисления
+                    model.calculate();
+                    break;
+                case CLEAR: // Очистка всех значений
+                    model.clear();
+                    break;
+                case CLEAR_ENTRY: // Очистка текущего значения
+                    model.clearEntry();
+                    break;
+                case BACKSPACE: // Удаление последнего символа
+                    model.backspace();
+                    break;
+                case TOGGLE_SIGN: // Переключение знака текущего числа
+                    model.toggleSign();
+                    break;
+                default:
+                    if (opcode.isProgrammer()) {
+                        break; // Кнопки режима программиста обрабатывает ProgrammerModel
+                    }
+                    model.appendNumber(opcode); // Добавление цифры или десятичной точки
+            }
+            return model.getCurrentValue();
+        } catch (Exception e) {
+            return fail(model, e);
+        }
+    }
+
+    /**
+     * Применяет один токен ввода к модели и возвращает значение для отображения.
+     * Адаптер для строкового ввода: текст кнопки преобразуется в {@link Opcode}, а прочий текст
+     * (например, многозначное число из пакетного режима) добавляется к текущему числу, как раньше.
+     * Текст кнопок режима программиста тоже считается числом, чтобы пакетный ввод сообщал об ошибке формата.
+     * @param model модель калькулятора
+     * @param input токен ввода (текст кнопки)
+     * @return текущее значение модели после обработки токена
+     */
+    public static String process(CalculatorModel model, String input) {
+        Opcode opcode = Opcode.fromText(input);
+        if (opcode != null && !opcode.isProgrammer()) {
+            return process(model, opcode);
+        }
+        try {
+            model.appendNumber(input);
+            return model.getCurrentValue();
+        } catch (Exception e) {
+            return fail(model, e);
+        }
+    }
+
+    /**
+     * Переводит модель в состояние ошибки после неожиданного исключения.
+     * @param model модель калькулятора
+     * @param e перехваченное исключение
+     * @return значение модели в состоянии ошибки
+     */
+    private static String fail(CalculatorModel model, Exception e) {
+        // Обработка неизвестных ошибок
+        if (ControllerMetrics.ENABLED) {
+            ControllerMetrics.INSTANCE.recordException(e);
+        }
+        model.setError("Ошибка: неизвестная ошибка");
+        return model.getCurrentValue();
+    }
+
+    /**
+     * Разбивает вставленный текст на кнопки (например, {@code "12.5*3="} → {@code 1 2 . 5 * 3 =}).
+     * Сначала распознаются многосимвольные токены ({@code 1/x}, {@code x^2}, {@code √x}, {@code +/-}, {@code CE}
+     * и функции научного режима: {@code sin}, {@code x^y}, {@code nCr}, {@code n!} и т. д.),
+     * затем цифры, точка, операторы и «=». Запятая читается как точка, «×» и «÷» — как «*» и «/».
+     * Пробелы и прочие символы пропускаются.
+     * @param text вставленный текст
+     * @return список кнопок в порядке ввода
+     */
+    public static List<Opcode> tokenize(CharSequence text) {
+        List<Opcode> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        outer:
+        while (i < length) {
+            for (Opcode token : LONG_TOKENS) {
+                if (regionMatches(text, i, token.getText())) {
+                    tokens.add(token);
+                    i += token.getText().length();
+                    continue outer;
+                }
+            }
+            char c = text.charAt(i++);
+            switch (c) {
+                case '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> tokens.add(Opcode.digit(c - '0'));
+                case '.', ',' -> tokens.add(Opcode.POINT);
+                case '+' -> tokens.add(Opcode.ADD);
+                case '-' -> tokens.add(Opcode.SUBTRACT);
+                case '*', '×' -> tokens.add(Opcode.MULTIPLY);
+                case '/', '÷' -> tokens.add(Opcode.DIVIDE);
+                case '%' -> tokens.add(Opcode.PERCENT);
+                case '=' -> tokens.add(Opcode.EQUALS);
+                case 'C' -> tokens.add(Opcode.CLEAR);
+                case '⌫' -> tokens.add(Opcode.BACKSPACE);
+                default -> {
+                    // Пробелы и неизвестные символы пропускаются
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Разбивает вставленный текст на кнопки режима программиста (например, {@code "FF AND 0F="}).
+     * Распознаются операции {@code AND OR XOR NOT << >> RoL RoR}, их символы {@code & | ^ ~},
+     * цифры 0–9 и A–F в любом регистре, {@code + - * / % =} и {@code +/-}.
+     * Буквы «C» и «CE» читаются как цифры, а не как очистка. Пробелы и прочие символы пропускаются.
+     * @param text вставленный текст
+     * @return список кнопок в порядке ввода
+     */
+    public static List<Opcode> tokenizeProgrammer(CharSequence text) {
+        List<Opcode> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        outer:
+        while (i < length) {
+            for (Opcode token : PROGRAMMER_TOKENS) {
+                if (regionMatches(text, i, token.getText())) {
+                    tokens.add(token);
+                    i += token.getText().length();
+                    continue outer;
+                }
+            }
+            char c = text.charAt(i++);
+            switch (c) {
+                case '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> tokens.add(Opcode.digit(c - '0'));
+                case 'A', 'a' -> tokens.add(Opcode.DIGIT_A);
+                case 'B', 'b' -> tokens.add(Opcode.DIGIT_B);
+                case 'C', 'c' -> tokens.add(Opcode.DIGIT_C);
+                case 'D', 'd' -> tokens.add(Opcode.DIGIT_D);
+                case 'E', 'e' -> tokens.add(Opcode.DIGIT_E);
+                case 'F', 'f' -> tokens.add(Opcode.DIGIT_F);
+                case '&' -> tokens.add(Opcode.AND);
+                case '|' -> tokens.add(Opcode.OR);
+                case '^' -> tokens.add(Opcode.XOR);
+                case '~' -> tokens.add(Opcode.NOT);
+                case '+' -> tokens.add(Opcode.ADD);
+                case '-' -> tokens.add(Opcode.SUBTRACT);
+                case '*', '×' -> tokens.add(Opcode.MULTIPLY);
+                case '/', '÷' -> tokens.add(Opcode.DIVIDE);
+                case '%' -> tokens.add(Opcode.PERCENT);
+                case '=' -> tokens.add(Opcode.EQUALS);
+                case '⌫' -> tokens.add(Opcode.BACKSPACE);
+                default -> {
+                    // Пробелы и неизвестные символы пропускаются
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Проверяет, начинается ли текст с указанной позиции с заданного токена.
+     */
+    private static boolean regionMatches(CharSequence text, int offset, String token) {
+        if (offset + token.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (text.charAt(offset + i) != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.calculatorapp;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Воспроизведение двоичного журнала {@link SessionJournal}.
+ * Файл читается через отображение в память окнами ограниченного размера, поэтому журналы
+ * размером в гигабайты просматриваются без загрузки в кучу. Каждая сессия заново вычисляется
+ * на новой модели ({@link ProgrammerModel} для сессий режима программиста) с записанными сменами
+ * режима точности и уровня точности функций, а записанные результаты сравниваются с полученными.
+ * Отмена и повтор воспроизводятся по снимкам {@link CalculatorStateStore}, которые, как и контроллер,
+ * сохраняются после каждого нажатия и смены режима точности.
+ */
+public class JournalReplayer {
+    private static final long WINDOW_SIZE = 1L << 28; // Размер окна отображения (256 МБ)
+    private static final int MAX_RECORD_SIZE = SessionJournal.MAX_TEXT_LENGTH + 16; // Максимальный размер записи
+
+    /**
+     * Итоги воспроизведения журнала.
+     */
+    public static final class Summary {
+        private long sessions = 0; // Количество сессий
+        private long tokens = 0; // Количество нажатий кнопок
+        private long results = 0; // Количество проверенных результатов
+        private long mismatches = 0; // Количество расхождений
+
+        /**
+         * Возвращает количество сессий.
+         * @return количество сессий
+         */
+        public long getSessions() {
+            return sessions;
+        }
+
+        /**
+         * Возвращает количество нажатий кнопок.
+         * @return количество нажатий кнопок
+         */
+        public long getTokens() {
+            return tokens;
+        }
+
+        /**
+         * Возвращает количество проверенных результатов.
+         * @return количество проверенных результатов
+         */
+        public long getResults() {
+            return results;
+        }
+
+        /**
+         * Возвращает количество расхождений с записанными результатами.
+         * @return количество расхождений с записанными результатами
+         */
+        public long getMismatches() {
+            return mismatches;
+        }
+
+        @Override
+        public String toString() {
+            return "Сессий: " + sessions + ", нажатий: " + tokens + ", результатов: " + results
+                    + ", расхождений: " + mismatches;
+        }
+    }
+
+    /**
+     * Воспроизводит журнал и проверяет записанные результаты.
+     * @param path путь к файлу журнала
+     * @return итоги воспроизведения
+     * @throws IOException при ошибке чтения, неверном формате файла или обрезанной последней записи
+     */
+    public static Summary replay(Path path) throws IOException {
+        Summary summary = new Summary();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long base = 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size, WINDOW_SIZE));
+            for (byte b : SessionJournal.MAGIC) {
+                if (!buffer.hasRemaining() || buffer.get() != b) {
+                    throw new IOException("Неверный формат журнала: " + path);
+                }
+            }
+
+            CalculatorModel model = null;
+            CalculatorStateStore states = null; // Снимки десятичной модели для отмены и повтора
+            ProgrammerModel programmer = null;
+            String value = "0";
+            while (true) {
+                // Переотображение окна, если следующая запись может выйти за его границу
+                if (buffer.remaining() < MAX_RECORD_SIZE && base + buffer.limit() < size) {
+                    base += buffer.position();
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, WINDOW_SIZE));
+                }
+                if (!buffer.hasRemaining()) {
+                    break;
+                }
+                int code = buffer.get() & 0xFF;
+                if (code < Opcode.count()) {
+                    if (programmer != null) {
+                        programmer.process(Opcode.fromCode(code));
+                        summary.tokens++;
+                        continue;
+                    }
+                    if (model == null) {
+                        model = new CalculatorModel();
+                        states = new CalculatorStateStore(CalculatorStateStore.UNDO_LIMIT);
+                        summary.sessions++;
+                    }
+                    value = InputProcessor.process(model, Opcode.fromCode(code));
+                    states.push(model.snapshot());
+                    summary.tokens++;
+                    continue;
+                }
+                String recorded;
+                try {
+                    switch (code) {
+                        case SessionJournal.SESSION_START -> {
+                            model = new CalculatorModel();
+                            states = new CalculatorStateStore(CalculatorStateStore.UNDO_LIMIT);
+                            programmer = null;
+                            value = "0";
+                            summary.sessions++;
+                            continue;
+                        }
+                        case SessionJournal.PROGRAMMER_START -> {
+                            programmer = new ProgrammerModel();
+                            summary.sessions++;
+                            continue;
+                        }
+                        case SessionJournal.PRECISION, SessionJournal.ACCURACY_TIER -> {
+                            if (model == null) {
+                                model = new CalculatorModel();
+                                states = new CalculatorStateStore(CalculatorStateStore.UNDO_LIMIT);
+                                summary.sessions++;
+                            }
+                            if (code == SessionJournal.PRECISION) {
+                                model.setPrecision(SessionJournal.readPrecision(buffer));
+                                states.push(model.snapshot());
+                            } else {
+                                model.setAccuracyTier(ScientificFunctions.AccuracyTier.values()[buffer.get()]);
+                            }
+                            continue;
+                        }
+                        case SessionJournal.UNDO, SessionJournal.REDO -> {
+                            CalculatorState state = states == null ? null
+                                    : code == SessionJournal.UNDO ? states.undo() : states.redo();
+                            if (state != null) {
+                                model.restore(state);
+                                value = model.getCurrentValue();
+                            }
+                            continue;
+                        }
+                        case SessionJournal.RESULT_LONG -> {
+                            long zigzag = SessionJournal.readVarint(buffer);
+                            recorded = Long.toString((zigzag >>> 1) ^ -(zigzag & 1));
+                        }
+                        case SessionJournal.RESULT_DOUBLE -> recorded = Double.toString(buffer.getDouble());
+                        case SessionJournal.RESULT_TEXT -> {
+                            byte[] bytes = new byte[(int) SessionJournal.readVarint(buffer)];
+                            buffer.get(bytes);
+                            recorded = new String(bytes, StandardCharsets.UTF_8);
+                        }
+                        default -> throw new IOException("Неизвестный код записи " + code + " в позиции " + (base + buffer.position() - 1));
+                    }
+                } catch (BufferUnderflowException e) {
+                    throw new IOException("Журнал обрезан: неполная запись в конце файла " + path, e);
+                }
+                summary.results++;
+                String actual = canonical(value);
+                if (programmer != null) {
+                    String error = programmer.getErrorMessage();
+                    actual = error.isEmpty() ? Long.toString(programmer.getValue()) : canonical(error);
+                }
+                if (!recorded.equals(actual)) {
+                    summary.mismatches++;
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Приводит отображаемое значение к виду, в котором оно хранится в журнале.
+     * @param value значение на дисплее
+     * @return значение после кодирования и декодирования записью результата
+     */
+    private static String canonical(String value) {
+        if (SessionJournal.isLong(value)) {
+            return Long.toString(Long.parseLong(value));
+        }
+        try {
+            return Double.toString(Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            return bytes.length <= SessionJournal.MAX_TEXT_LENGTH ? value
+                    : new String(bytes, 0, SessionJournal.MAX_TEXT_LENGTH, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Точка входа воспроизведения. Использование: {@code JournalReplayer <файл журнала>}.
+     * @param args аргументы командной строки
+     * @throws IOException при ошибке чтения
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Использование: JournalReplayer <файл журнала>");
+            return;
+        }
+        Summary summary = replay(Path.of(args[0]));
+        System.out.println(summary);
+        if (summary.getMismatches() > 0) {
+            System.exit(1);
+        }
+    }
+}
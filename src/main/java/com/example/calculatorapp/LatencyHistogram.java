@@ -0,0 +1,122 @@
+package com.example.calculatorapp;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек с логарифмически-линейными корзинами (по образцу HdrHistogram).
+ * Значения до 16 нс хранятся точно, далее каждая степень двойки делится на 16 равных корзин,
+ * поэтому относительная погрешность не превышает 1/16 (6,25 %). Запись не создает объектов
+ * и потокобезопасна: счетчики корзин — {@link AtomicLongArray}, сумма и количество — {@link LongAdder},
+ * максимум обновляется через CAS только при его росте.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4; // Двоичный логарифм количества корзин на степень двойки
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Количество корзин на степень двойки
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS; // Общее количество корзин
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS); // Количество значений в корзинах
+    private final LongAdder count = new LongAdder(); // Количество значений
+    private final LongAdder total = new LongAdder(); // Сумма значений
+    private final AtomicLong max = new AtomicLong(); // Максимальное значение
+
+    /**
+     * Записывает значение.
+     * @param nanos задержка в наносекундах (отрицательные значения считаются нулем)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        total.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Повтор при одновременном обновлении максимума
+        }
+    }
+
+    /**
+     * Возвращает индекс корзины для значения.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Возвращает наибольшее значение, попадающее в корзину.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Возвращает значение перцентиля (верхнюю границу корзины, в которую он попадает).
+     * @param percentile перцентиль от 0 до 100
+     * @return задержка в наносекундах или 0, если значений нет
+     */
+    public long getPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Возвращает количество записанных значений.
+     * @return количество значений
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Возвращает среднее значение.
+     * @return средняя задержка в наносекундах или 0, если значений нет
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Возвращает максимальное значение.
+     * @return максимальная задержка в наносекундах
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Сбрасывает все значения. Значения, записываемые одновременно со сбросом, могут быть учтены частично.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+}
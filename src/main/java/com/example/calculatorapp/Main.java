@@ -1,28 +1,39 @@
 package com.example.calculatorapp;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Menu;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.RadioMenuItem;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.control.ToggleGroup;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
 
-import java.util.Objects;
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Главный класс приложения Калькулятор, наследующий Application.
  * Этот класс отвечает за создание и настройку главного окна приложения.
  */
 public class Main extends Application {
+    private static final String ICON = "/com/example/calculatorapp/ico_1.png"; // Иконка приложения
 
     // Переменные для отслеживания перемещения и изменения размера окна
     private double xOffset = 0;
@@ -32,57 +43,205 @@ public class Main extends Application {
     private double startWidth = 0;
     private double startHeight = 0;
 
+    private ContextMenu themeMenu; // Меню выбора темы, создается при первом открытии
+
     /**
      * Метод start, вызываемый при запуске приложения.
      * @param primaryStage главный Stage(сцена / окно) приложения
      */
     @Override
     public void start(Stage primaryStage) {
+        StartupTimer.mark("Application.start");
         // Убираем стандартную панель заголовка окна
         primaryStage.initStyle(StageStyle.UNDECORATED);
 
         // Создаем представление калькулятора
         CalculatorView calculatorView = new CalculatorView();
         BorderPane root = new BorderPane();
+        // Иконка загружается один раз и декодируется в фоне, не задерживая первый кадр
+        Image icon = new Image(getClass().getResource(ICON).toExternalForm(), true);
         // Устанавливаем пользовательскую панель заголовка
-        root.setTop(createCustomTitleBar(primaryStage, calculatorView));
+        root.setTop(createCustomTitleBar(primaryStage, calculatorView, icon));
         // Устанавливаем содержимое калькулятора в центр
         root.setCenter(calculatorView.createContent());
+        StartupTimer.mark("интерфейс создан");
 
         // Создаем сцену с указанными размерами
         Scene scene = new Scene(root, 400, 600);
-        // Добавляем обработчик нажатий клавиш
-        scene.setOnKeyPressed(e -> calculatorView.handleKeyPress(e.getCode().toString()));
+        // Добавляем обработчик нажатий клавиш (Ctrl+V — вставка выражения из буфера обмена)
+        scene.setOnKeyPressed(e -> {
+            if (e.isShortcutDown() && e.getCode() == KeyCode.V) {
+                calculatorView.pasteFromClipboard();
+            } else {
+                calculatorView.handleKeyPress(e.getCode());
+            }
+        });
 
         // Устанавливаем заголовок окна
         primaryStage.setTitle("Калькулятор");
-        // Устанавливаем иконку окна
-        primaryStage.getIcons().add(new Image(Objects.requireNonNull(getClass().getResourceAsStream("/com/example/calculatorapp/ico_1.png"))));
         // Устанавливаем сцену
         primaryStage.setScene(scene);
         // Устанавливаем минимальные размеры окна
         primaryStage.setMinWidth(300);
         primaryStage.setMinHeight(485);
 
-        // Добавляем слушатели изменения размеров окна
-        primaryStage.widthProperty().addListener((obs, oldVal, newVal) -> adjustGridSize(calculatorView));
-        primaryStage.heightProperty().addListener((obs, oldVal, newVal) -> adjustGridSize(calculatorView));
-
         // Включаем возможность изменения размеров окна
         enableWindowResizing(primaryStage, root);
 
+        // Подключаем журнал сессии, если указан путь -Dcalculator.journal=<файл>
+        openJournal(primaryStage, calculatorView);
+
+        // Подключаем ограниченную историю вычислений
+        openHistory(primaryStage, calculatorView);
+
+        // Уровень точности научных функций: -Dcalculator.accuracy=STRICT|DEFAULT|FAST
+        applyAccuracyTier(calculatorView);
+
+        // Публикуем метрики контроллера в JMX, если включено -Dcalculator.metrics=true
+        ControllerMetrics.registerMBean();
+
+        // Откладываем некритичную работу до первого кадра
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean done = false; // Срабатывает только на первом кадре
+
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                StartupTimer.mark("первый кадр");
+                Runnable listener = this;
+                // Слушатель удаляется после кадра: изменять список слушателей во время кадра нельзя
+                Platform.runLater(() -> {
+                    scene.removePostLayoutPulseListener(listener);
+                    finishStartup(primaryStage, calculatorView, icon);
+                });
+            }
+        });
+
         // Отображаем окно
         primaryStage.show();
+        StartupTimer.mark("окно показано");
+    }
+
+    /**
+     * Завершает запуск после первого кадра: устанавливает иконку окна, когда она загружена,
+     * выводит отчет о запуске и, при обучающем запуске, выполняет обучающую сессию.
+     * @param stage основной Stage приложения
+     * @param calculatorView представление калькулятора
+     * @param icon загружаемая в фоне иконка приложения
+     */
+    private void finishStartup(Stage stage, CalculatorView calculatorView, Image icon) {
+        // Устанавливаем иконку окна
+        if (icon.getProgress() >= 1) {
+            stage.getIcons().add(icon);
+        } else {
+            icon.progressProperty().addListener((obs, oldVal, newVal) -> {
+                if (newVal.doubleValue() >= 1) {
+                    stage.getIcons().add(icon);
+                }
+            });
+        }
+        StartupTimer.mark("отложенная инициализация");
+        StartupTimer.printReportIfEnabled();
+
+        if (Boolean.getBoolean("calculator.trainingRun")) {
+            runTrainingSession(stage, calculatorView);
+        }
+    }
+
+    /**
+     * Обучающий запуск для сборки архива AppCDS (профиль startup): проходит по типичным сценариям,
+     * чтобы загрузились используемые классы, и завершает приложение.
+     * @param stage основной Stage приложения
+     * @param calculatorView представление калькулятора
+     */
+    private void runTrainingSession(Stage stage, CalculatorView calculatorView) {
+        for (KeyCode key : new KeyCode[]{KeyCode.DIGIT7, KeyCode.PLUS, KeyCode.DIGIT3, KeyCode.ENTER, KeyCode.R, KeyCode.X,
+                KeyCode.I, KeyCode.S, KeyCode.BACK_SPACE, KeyCode.ESCAPE, KeyCode.DELETE}) {
+            calculatorView.handleKeyPress(key);
+        }
+        calculatorView.getController().processText("12.5*3=");
+        calculatorView.getController().processText("1/0=");
+        getThemeMenu(calculatorView);
+        for (ThemeManager.Theme theme : ThemeManager.Theme.values()) {
+            calculatorView.setTheme(theme);
+        }
+        calculatorView.setTheme(ThemeManager.Theme.DEFAULT);
+        calculatorView.setHistoryVisible(true);
+
+        // Даем отрисоваться нескольким кадрам и выходим
+        PauseTransition pause = new PauseTransition(Duration.millis(500));
+        pause.setOnFinished(e -> {
+            stage.close();
+            Platform.exit();
+        });
+        pause.play();
     }
 
     /**
-     * Метод для корректировки размеров кнопок калькулятора при изменении размеров окна.
+     * Подключает двоичный журнал нажатий и результатов, если задано системное свойство calculator.journal.
+     * Журнал закрывается при закрытии окна.
+     * @param stage основной Stage приложения
      * @param calculatorView представление калькулятора
      */
-    private void adjustGridSize(CalculatorView calculatorView) {
-        for (Button button : calculatorView.getButtonMap().values()) {
-            button.setPrefWidth(calculatorView.getBorderPane().getWidth() / 4 - 20);
-            button.setPrefHeight(calculatorView.getBorderPane().getHeight() / 6 - 20);
+    private void openJournal(Stage stage, CalculatorView calculatorView) {
+        String path = System.getProperty("calculator.journal");
+        if (path == null) {
+            return;
+        }
+        try {
+            SessionJournal journal = new SessionJournal(Path.of(path));
+            calculatorView.getController().setJournal(journal);
+            stage.setOnHidden(event -> {
+                calculatorView.getController().setJournal(null);
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.err.println("Ошибка закрытия журнала: " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Не удалось открыть журнал: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Подключает историю вычислений. Размер истории в памяти задается свойством calculator.history.size
+     * (по умолчанию 1000), файл для вытесненных записей — свойством calculator.history.
+     * Файл закрывается при закрытии окна.
+     * @param stage основной Stage приложения
+     * @param calculatorView представление калькулятора
+     */
+    private void openHistory(Stage stage, CalculatorView calculatorView) {
+        String spill = System.getProperty("calculator.history");
+        CalculationHistory history = new CalculationHistory(Integer.getInteger("calculator.history.size", 1000),
+                spill != null ? Path.of(spill) : null);
+        calculatorView.getController().setHistory(history);
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> {
+            try {
+                history.close();
+            } catch (IOException e) {
+                System.err.println("Ошибка закрытия истории: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Устанавливает уровень точности научных функций из системного свойства calculator.accuracy.
+     * Неизвестное значение игнорируется (остается уровень по умолчанию).
+     * @param calculatorView представление калькулятора
+     */
+    private void applyAccuracyTier(CalculatorView calculatorView) {
+        String tier = System.getProperty("calculator.accuracy");
+        if (tier == null) {
+            return;
+        }
+        try {
+            calculatorView.getController().setAccuracyTier(ScientificFunctions.AccuracyTier.valueOf(tier.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Неизвестный уровень точности: " + tier);
         }
     }
 
@@ -90,9 +249,10 @@ public class Main extends Application {
      * Метод для создания пользовательской панели заголовка окна.
      * @param stage основной Stage приложения
      * @param calculatorView представление калькулятора
+     * @param icon иконка приложения
      * @return пользовательская панель заголовка
      */
-    private HBox createCustomTitleBar(Stage stage, CalculatorView calculatorView) {
+    private HBox createCustomTitleBar(Stage stage, CalculatorView calculatorView, Image icon) {
         HBox titleBar = new HBox();
         titleBar.setStyle("-fx-background-color: #202124; -fx-padding: 5;");
         titleBar.setPadding(new Insets(5));
@@ -106,29 +266,17 @@ public class Main extends Application {
         });
 
         // Добавление иконки приложения
-        ImageView iconView = new ImageView(new Image(getClass().getResourceAsStream("/com/example/calculatorapp/ico_1.png")));
+        ImageView iconView = new ImageView(icon);
         iconView.setFitWidth(24); // Установите ширину иконки
         iconView.setFitHeight(24); // Установите высоту иконки
         Label iconLabel = new Label();
         iconLabel.setGraphic(iconView);
         iconLabel.setPadding(new Insets(0, 10, 0, 0));
 
-        // Создание контекстного меню для выбора темы
-        ContextMenu themeMenu = new ContextMenu();
-        MenuItem darkTheme = new MenuItem("Тёмная");
-        MenuItem lightTheme = new MenuItem("Светлая");
-        MenuItem gamerTheme = new MenuItem("Геймерская");
-
-        darkTheme.setOnAction(e -> calculatorView.setTheme("dark.css"));
-        lightTheme.setOnAction(e -> calculatorView.setTheme("light.css"));
-        gamerTheme.setOnAction(e -> calculatorView.setTheme("gamer.css"));
-
-        themeMenu.getItems().addAll(darkTheme, lightTheme, gamerTheme);
-
         // Добавление события для показа контекстного меню при нажатии на иконку
         iconLabel.setOnMouseClicked(event -> {
             if (event.getButton() == MouseButton.PRIMARY) {
-                themeMenu.show(iconLabel, event.getScreenX(), event.getScreenY());
+                getThemeMenu(calculatorView).show(iconLabel, event.getScreenX(), event.getScreenY());
             }
         });
 
@@ -161,6 +309,53 @@ public class Main extends Application {
         return titleBar;
     }
 
+    /**
+     * Возвращает контекстное меню выбора темы, создавая его при первом обращении,
+     * чтобы меню не строилось до первого кадра.
+     * @param calculatorView представление калькулятора
+     * @return меню выбора темы
+     */
+    private ContextMenu getThemeMenu(CalculatorView calculatorView) {
+        if (themeMenu == null) {
+            themeMenu = new ContextMenu();
+            MenuItem darkTheme = new MenuItem("Тёмная");
+            MenuItem lightTheme = new MenuItem("Светлая");
+            MenuItem gamerTheme = new MenuItem("Геймерская");
+
+            darkTheme.setOnAction(e -> calculatorView.setTheme(ThemeManager.Theme.DARK));
+            lightTheme.setOnAction(e -> calculatorView.setTheme(ThemeManager.Theme.LIGHT));
+            gamerTheme.setOnAction(e -> calculatorView.setTheme(ThemeManager.Theme.GAMER));
+
+            // Пункт для показа и скрытия истории вычислений
+            MenuItem historyItem = new MenuItem("История");
+            historyItem.setOnAction(e -> calculatorView.setHistoryVisible(!calculatorView.isHistoryVisible()));
+
+            // Пункт для показа и скрытия панели научного режима
+            MenuItem scientificItem = new MenuItem("Научный режим");
+            scientificItem.setOnAction(e -> calculatorView.setScientificVisible(!calculatorView.isScientificVisible()));
+
+            // Пункт для включения и выключения режима программиста
+            MenuItem programmerItem = new MenuItem("Режим программиста");
+            programmerItem.setOnAction(e -> calculatorView.setProgrammerMode(!calculatorView.isProgrammerMode()));
+
+            // Подменю уровня точности научных функций
+            Menu accuracyMenu = new Menu("Точность");
+            ToggleGroup accuracyGroup = new ToggleGroup();
+            String[] accuracyNames = {"Строгая", "Стандартная", "Быстрая"};
+            for (ScientificFunctions.AccuracyTier tier : ScientificFunctions.AccuracyTier.values()) {
+                RadioMenuItem item = new RadioMenuItem(accuracyNames[tier.ordinal()]);
+                item.setToggleGroup(accuracyGroup);
+                item.setSelected(calculatorView.getController().getAccuracyTier() == tier);
+                item.setOnAction(e -> calculatorView.getController().setAccuracyTier(tier));
+                accuracyMenu.getItems().add(item);
+            }
+
+            themeMenu.getItems().addAll(darkTheme, lightTheme, gamerTheme, new SeparatorMenuItem(), historyItem,
+                    scientificItem, programmerItem, accuracyMenu);
+        }
+        return themeMenu;
+    }
+
     /**
      * Метод для включения возможности изменения размеров окна.
      * @param stage основной Stage приложения
@@ -210,6 +405,7 @@ public class Main extends Application {
      * @param args аргументы командной строки
      */
     public static void main(String[] args) {
+        StartupTimer.mark("main");
         launch(args);
     }
 }
@@ -0,0 +1,508 @@
+package com.example.calculatorapp;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Вещественная матрица для инженерных вычислений: сложение, умножение, транспонирование,
+ * определитель, обратная матрица и решение систем линейных уравнений.
+ *
+ * <p>Элементы хранятся в одном массиве {@code double[]} построчно, без объектов на элемент.
+ * Умножение выполняется блоками {@link #BLOCK_SIZE}×{@link #BLOCK_SIZE}, чтобы блок второй матрицы
+ * оставался в кэше, пока по нему проходят строки первой; внутренний цикл идет по строке подряд.
+ * Начиная с {@link #PARALLEL_THRESHOLD} умножений-сложений строки результата делятся между задачами
+ * fork-join. Определитель, обратная матрица и решение систем вычисляются через LU-разложение
+ * с выбором ведущего элемента по столбцу; исключение в больших матрицах тоже выполняется параллельно.</p>
+ *
+ * <p>Ошибки: несовместимые размеры — {@link IllegalArgumentException}, вырожденная матрица
+ * при обращении и решении — {@link ArithmeticException} «Ошибка: вырожденная матрица».</p>
+ */
+public final class Matrix {
+    /** Размер стороны блока при умножении (64 × 64 × 8 байт = 32 КБ). */
+    public static final int BLOCK_SIZE = 64;
+
+    /** Количество умножений-сложений, начиная с которого вычисление выполняется параллельно. */
+    public static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    static final double EPSILON = 0x1p-52; // Относительная точность double для проверки вырожденности
+
+    private final int rows; // Количество строк
+    private final int cols; // Количество столбцов
+    private final double[] data; // Элементы построчно: (i, j) — data[i * cols + j]
+
+    /**
+     * Создает нулевую матрицу.
+     * @param rows количество строк
+     * @param cols количество столбцов
+     * @throws IllegalArgumentException если размер не положителен
+     */
+    public Matrix(int rows, int cols) {
+        this(rows, cols, new double[checkSize(rows, cols)]);
+    }
+
+    private Matrix(int rows, int cols, double[] data) {
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    /**
+     * Создает матрицу из элементов, перечисленных построчно.
+     * @param rows количество строк
+     * @param cols количество столбцов
+     * @param values элементы построчно (копируются)
+     * @return матрица
+     * @throws IllegalArgumentException если количество элементов не равно rows · cols
+     */
+    public static Matrix of(int rows, int cols, double... values) {
+        if (values.length != checkSize(rows, cols)) {
+            throw new IllegalArgumentException("Ожидалось " + rows * cols + " элементов, получено " + values.length);
+        }
+        return new Matrix(rows, cols, values.clone());
+    }
+
+    /**
+     * Создает единичную матрицу.
+     * @param n порядок матрицы
+     * @return единичная матрица n × n
+     */
+    public static Matrix identity(int n) {
+        Matrix matrix = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            matrix.data[i * n + i] = 1;
+        }
+        return matrix;
+    }
+
+    /**
+     * Возвращает количество строк.
+     * @return количество строк
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов.
+     * @return количество столбцов
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает элемент.
+     * @param row номер строки
+     * @param col номер столбца
+     * @return элемент (row, col)
+     */
+    public double get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    /**
+     * Устанавливает элемент.
+     * @param row номер строки
+     * @param col номер столбца
+     * @param value значение
+     */
+    public void set(int row, int col, double value) {
+        data[index(row, col)] = value;
+    }
+
+    /**
+     * Возвращает копию элементов построчно.
+     * @return элементы построчно
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Возвращает сумму матриц.
+     * @param other вторая матрица того же размера
+     * @return сумма
+     */
+    public Matrix add(Matrix other) {
+        checkSameSize(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i] + other.data[i];
+        }
+        return new Matrix(rows, cols, result);
+    }
+
+    /**
+     * Возвращает разность матриц.
+     * @param other вычитаемая матрица того же размера
+     * @return разность
+     */
+    public Matrix subtract(Matrix other) {
+        checkSameSize(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i] - other.data[i];
+        }
+        return new Matrix(rows, cols, result);
+    }
+
+    /**
+     * Возвращает матрицу, умноженную на число.
+     * @param factor множитель
+     * @return произведение
+     */
+    public Matrix scale(double factor) {
+        double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i] * factor;
+        }
+        return new Matrix(rows, cols, result);
+    }
+
+    /**
+     * Возвращает транспонированную матрицу (копирование блоками, чтобы и чтение, и запись шли по кэшу).
+     * @return транспонированная матрица
+     */
+    public Matrix transpose() {
+        double[] result = new double[data.length];
+        for (int ii = 0; ii < rows; ii += BLOCK_SIZE) {
+            int iEnd = Math.min(rows, ii + BLOCK_SIZE);
+            for (int jj = 0; jj < cols; jj += BLOCK_SIZE) {
+                int jEnd = Math.min(cols, jj + BLOCK_SIZE);
+                for (int i = ii; i < iEnd; i++) {
+                    for (int j = jj; j < jEnd; j++) {
+                        result[j * rows + i] = data[i * cols + j];
+                    }
+                }
+            }
+        }
+        return new Matrix(cols, rows, result);
+    }
+
+    /**
+     * Возвращает произведение матриц, вычисленное в общем пуле fork-join для больших матриц.
+     * @param other правая матрица (количество строк равно количеству столбцов этой)
+     * @return произведение
+     */
+    public Matrix multiply(Matrix other) {
+        return multiply(other, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает произведение матриц, вычисленное в указанном пуле для больших матриц.
+     * @param other правая матрица (количество строк равно количеству столбцов этой)
+     * @param pool пул потоков
+     * @return произведение
+     */
+    public Matrix multiply(Matrix other, ForkJoinPool pool) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + size() + " и " + other.size());
+        }
+        double[] a = data;
+        double[] b = other.data;
+        int inner = cols;
+        int resultCols = other.cols;
+        double[] c = new double[rows * resultCols];
+        forEachRows(pool, rows, (long) inner * resultCols, (from, to) -> {
+            for (int kk = 0; kk < inner; kk += BLOCK_SIZE) {
+                int kEnd = Math.min(inner, kk + BLOCK_SIZE);
+                for (int jj = 0; jj < resultCols; jj += BLOCK_SIZE) {
+                    int jEnd = Math.min(resultCols, jj + BLOCK_SIZE);
+                    for (int i = from; i < to; i++) {
+                        int ci = i * resultCols;
+                        int ai = i * inner;
+                        for (int k = kk; k < kEnd; k++) {
+                            double aik = a[ai + k];
+                            int bk = k * resultCols;
+                            for (int j = jj; j < jEnd; j++) {
+                                c[ci + j] += aik * b[bk + j];
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        return new Matrix(rows, resultCols, c);
+    }
+
+    /**
+     * Возвращает определитель (0 для вырожденной матрицы).
+     * @return определитель
+     * @throws IllegalArgumentException если матрица не квадратная
+     */
+    public double determinant() {
+        Decomposition lu = decompose(ForkJoinPool.commonPool());
+        if (lu.singular) {
+            return 0; // Остаток ошибок округления вместо нуля не выдается за определитель
+        }
+        double det = lu.sign;
+        for (int i = 0; i < rows; i++) {
+            det *= lu.lu[i * rows + i];
+        }
+        return det;
+    }
+
+    /**
+     * Возвращает обратную матрицу.
+     * @return обратная матрица
+     * @throws IllegalArgumentException если матрица не квадратная
+     * @throws ArithmeticException если матрица вырождена
+     */
+    public Matrix inverse() {
+        return solve(identity(rows));
+    }
+
+    /**
+     * Решает систему A · X = B для нескольких правых частей.
+     * @param b правые части по столбцам (количество строк равно порядку матрицы)
+     * @return решение X
+     * @throws IllegalArgumentException если матрица не квадратная или размеры не совпадают
+     * @throws ArithmeticException если матрица вырождена
+     */
+    public Matrix solve(Matrix b) {
+        if (b.rows != rows) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + size() + " и " + b.size());
+        }
+        Decomposition lu = decompose(ForkJoinPool.commonPool());
+        lu.checkRegular();
+        int n = rows;
+        int m = b.cols;
+        double[] x = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(b.data, lu.pivot[i] * m, x, i * m, m);
+        }
+        // Прямой ход: L · Y = P · B (единичная диагональ)
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < i; k++) {
+                double factor = lu.lu[i * n + k];
+                if (factor != 0) {
+                    axpy(-factor, x, k * m, x, i * m, m);
+                }
+            }
+        }
+        // Обратный ход: U · X = Y
+        for (int i = n - 1; i >= 0; i--) {
+            for (int k = i + 1; k < n; k++) {
+                double factor = lu.lu[i * n + k];
+                if (factor != 0) {
+                    axpy(-factor, x, k * m, x, i * m, m);
+                }
+            }
+            double diagonal = lu.lu[i * n + i];
+            for (int j = i * m; j < i * m + m; j++) {
+                x[j] /= diagonal;
+            }
+        }
+        return new Matrix(n, m, x);
+    }
+
+    /**
+     * Решает систему A · x = b.
+     * @param b правая часть
+     * @return решение x
+     * @throws IllegalArgumentException если матрица не квадратная или размеры не совпадают
+     * @throws ArithmeticException если матрица вырождена
+     */
+    public double[] solve(double[] b) {
+        return solve(new Matrix(b.length, 1, b.clone())).data;
+    }
+
+    /**
+     * LU-разложение P · A = L · U с выбором ведущего элемента по столбцу.
+     * L (без единичной диагонали) и U хранятся в одном массиве.
+     */
+    private static final class Decomposition {
+        final double[] lu; // Множители L под диагональю и U на диагонали и выше
+        final int[] pivot; // Исходный номер строки для каждой строки разложения
+        int sign = 1; // Знак перестановки
+        boolean singular = false; // Найден ли нулевой (относительно масштабов строки и столбца) ведущий элемент
+
+        Decomposition(double[] lu, int n) {
+            this.lu = lu;
+            this.pivot = new int[n];
+            for (int i = 0; i < n; i++) {
+                pivot[i] = i;
+            }
+        }
+
+        void checkRegular() {
+            if (singular) {
+                throw new ArithmeticException("Ошибка: вырожденная матрица");
+            }
+        }
+    }
+
+    /**
+     * Выполняет LU-разложение; обновление оставшейся части больших матриц — параллельно по строкам.
+     */
+    private Decomposition decompose(ForkJoinPool pool) {
+        if (rows != cols) {
+            throw new IllegalArgumentException("Матрица не квадратная: " + size());
+        }
+        int n = rows;
+        Decomposition d = new Decomposition(data.clone(), n);
+        double[] lu = d.lu;
+        // Масштабы строк и столбцов: ведущий элемент сравнивается с меньшим из масштабов своей строки
+        // и своего столбца, поэтому проверка не зависит от масштабирования отдельных строк и столбцов
+        double[] rowScale = new double[n];
+        double[] colScale = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double value = Math.abs(lu[i * n + j]);
+                rowScale[i] = Math.max(rowScale[i], value);
+                colScale[j] = Math.max(colScale[j], value);
+            }
+        }
+        double[] swap = new double[n];
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[i * n + k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (max <= n * EPSILON * Math.min(rowScale[d.pivot[p]], colScale[k])) {
+                d.singular = true;
+                if (max == 0) {
+                    continue; // Столбец уже исключен
+                }
+            }
+            if (p != k) {
+                System.arraycopy(lu, p * n, swap, 0, n);
+                System.arraycopy(lu, k * n, lu, p * n, n);
+                System.arraycopy(swap, 0, lu, k * n, n);
+                int t = d.pivot[p];
+                d.pivot[p] = d.pivot[k];
+                d.pivot[k] = t;
+                d.sign = -d.sign;
+            }
+            int step = k;
+            double pivotValue = lu[k * n + k];
+            forEachRows(pool, n - k - 1, n - k, (from, to) -> {
+                for (int i = step + 1 + from; i < step + 1 + to; i++) {
+                    double factor = lu[i * n + step] /= pivotValue;
+                    if (factor != 0) {
+                        axpy(-factor, lu, step * n + step + 1, lu, i * n + step + 1, n - step - 1);
+                    }
+                }
+            });
+        }
+        return d;
+    }
+
+    /**
+     * Прибавляет к отрезку y отрезок x, умноженный на a.
+     */
+    static void axpy(double a, double[] x, int xFrom, double[] y, int yFrom, int length) {
+        for (int j = 0; j < length; j++) {
+            y[yFrom + j] += a * x[xFrom + j];
+        }
+    }
+
+    /**
+     * Обработчик диапазона строк [from, to).
+     */
+    interface RowKernel {
+        void compute(int from, int to);
+    }
+
+    /**
+     * Выполняет обработчик для строк [0, count): последовательно, если общая работа меньше
+     * {@link #PARALLEL_THRESHOLD}, иначе — задачами fork-join, каждая не меньше порога на поток.
+     * @param pool пул потоков
+     * @param count количество строк
+     * @param workPerRow количество умножений-сложений на строку
+     * @param kernel обработчик
+     */
+    static void forEachRows(ForkJoinPool pool, int count, long workPerRow, RowKernel kernel) {
+        if (count <= 0) {
+            return;
+        }
+        long work = count * Math.max(1, workPerRow);
+        if (work < PARALLEL_THRESHOLD || count == 1) {
+            kernel.compute(0, count);
+            return;
+        }
+        int grain = (int) Math.max(1, Math.min(count, (PARALLEL_THRESHOLD / 4) / Math.max(1, workPerRow)));
+        pool.invoke(new RowTask(kernel, 0, count, grain));
+    }
+
+    /**
+     * Задача fork-join: обработка строк [from, to) с разделением пополам до {@code grain} строк.
+     */
+    private static final class RowTask extends RecursiveAction {
+        private final RowKernel kernel; // Обработчик
+        private final int from; // Первая строка
+        private final int to; // Строка после последней
+        private final int grain; // Наибольшее количество строк в неразделяемой задаче
+
+        RowTask(RowKernel kernel, int from, int to, int grain) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                kernel.compute(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowTask(kernel, from, middle, grain), new RowTask(kernel, middle, to, grain));
+        }
+    }
+
+    /**
+     * Возвращает размер матрицы в виде «строки×столбцы».
+     * @return размер
+     */
+    String size() {
+        return rows + "×" + cols;
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Элемент (" + row + ", " + col + ") вне матрицы " + size());
+        }
+        return row * cols + col;
+    }
+
+    private void checkSameSize(Matrix other) {
+        if (rows != other.rows || cols != other.cols) {
+            throw new IllegalArgumentException("Несовместимые размеры матриц: " + size() + " и " + other.size());
+        }
+    }
+
+    static int checkSize(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Недопустимый размер матрицы: " + rows + "×" + cols);
+        }
+        return rows * cols;
+    }
+
+    /**
+     * Возвращает матрицу построчно: строки через «;», элементы через пробел.
+     * @return текст матрицы, например {@code [1 2; 3 4]}
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                text.append("; ");
+            }
+            for (int j = 0; j < cols; j++) {
+                if (j > 0) {
+                    text.append(' ');
+                }
+                text.append(CalculatorModel.formatNumber(data[i * cols + j]));
+            }
+        }
+        return text.append(']').toString();
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.calculatorapp;
+
+/**
+ * Вводимое пользователем число, хранящееся в виде примитивов: мантиссы, количества
+ * дробных цифр и знака. Нажатия цифр, точки, удаления и смены знака изменяют только
+ * поля объекта, а текстовое представление записывается в собственный переиспользуемый
+ * буфер символов, поэтому ввод не создает ни строк, ни других объектов.
+ */
+public final class NumberEntry implements CharSequence {
+    /** Максимальное количество значащих цифр: такие мантиссы представимы в double точно. */
+    public static final int MAX_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private long mantissa = 0; // Введенные цифры без учета точки
+    private int scale = 0; // Количество цифр после десятичной точки
+    private int digits = 0; // Количество значащих цифр в мантиссе
+    private boolean negative = false; // Признак отрицательного числа
+    private boolean point = false; // Признак введенной десятичной точки
+
+    private final char[] text = new char[MAX_DIGITS + 4]; // Буфер текстового представления
+    private int length = 0; // Длина текстового представления
+    private boolean dirty = true; // Признак устаревшего текстового представления
+
+    /**
+     * Добавляет цифру к числу. Цифры сверх {@link #MAX_DIGITS} (значащих или дробных) игнорируются,
+     * ведущий ноль заменяется введенной цифрой.
+     * @param digit цифра от 0 до 9
+     * @return false, если цифра не поместилась и была проигнорирована
+     */
+    public boolean appendDigit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Ожидалась цифра: " + digit);
+        }
+        if (digits == MAX_DIGITS || scale == MAX_DIGITS) {
+            return false;
+        }
+        if (mantissa == 0 && digit == 0) {
+            // Ведущие нули в целой части не накапливаются, а после точки учитываются в масштабе
+            if (point) {
+                scale++;
+                dirty = true;
+            }
+            return true;
+        }
+        mantissa = mantissa * 10 + digit;
+        digits = mantissa == digit ? 1 : digits + 1;
+        if (point) {
+            scale++;
+        }
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Добавляет десятичную точку, если ее еще нет.
+     * @return false, если точка уже введена
+     */
+    public boolean appendPoint() {
+        if (point) {
+            return false;
+        }
+        point = true;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Удаляет последний введенный символ (цифру или точку).
+     */
+    public void backspace() {
+        if (scale > 0) {
+            mantissa /= 10;
+            scale--;
+        } else if (point) {
+            point = false;
+        } else {
+            mantissa /= 10;
+        }
+        digits = mantissa == 0 ? 0 : NumberFormatter.digitCount(mantissa);
+        if (mantissa == 0 && !point) {
+            negative = false;
+        }
+        dirty = true;
+    }
+
+    /**
+     * Переключает знак числа. Ноль без дробной части остается положительным.
+     */
+    public void toggleSign() {
+        if (mantissa != 0 || point) {
+            negative = !negative;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Сбрасывает число в ноль.
+     */
+    public void clear() {
+        mantissa = 0;
+        scale = 0;
+        digits = 0;
+        negative = false;
+        point = false;
+        dirty = true;
+    }
+
+    /**
+     * Возвращает значение числа. Результат округлен корректно, так как мантисса
+     * и степень десяти представимы в double точно.
+     * @return значение числа
+     */
+    public double getValue() {
+        double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Проверяет, что число целое (после точки, если она есть, нет цифр).
+     * @return true для целого числа
+     */
+    public boolean isInteger() {
+        return scale == 0;
+    }
+
+    /**
+     * Возвращает значение целого числа (см. {@link #isInteger()}).
+     * @return значение числа
+     */
+    public long getLongValue() {
+        return negative ? -mantissa : mantissa;
+    }
+
+    /**
+     * Упаковывает число в одно значение long для неизменяемого снимка (см. {@link #unpack(long)}):
+     * мантисса занимает младшие 50 бит, затем масштаб (4 бита), признак точки и знак.
+     * @return упакованное число
+     */
+    public long pack() {
+        return mantissa | (long) scale << 50 | (point ? 1L : 0L) << 54 | (negative ? 1L : 0L) << 55;
+    }
+
+    /**
+     * Возвращает мантиссу упакованного числа со знаком (см. {@link #pack()}).
+     * @param packed упакованное число
+     * @return мантисса со знаком
+     */
+    static long unscaledValue(long packed) {
+        long mantissa = packed & ((1L << 50) - 1);
+        return (packed & 1L << 55) != 0 ? -mantissa : mantissa;
+    }
+
+    /**
+     * Возвращает количество дробных цифр упакованного числа (см. {@link #pack()}).
+     * @param packed упакованное число
+     * @return масштаб
+     */
+    static int scale(long packed) {
+        return (int) (packed >>> 50) & 0xF;
+    }
+
+    /**
+     * Возвращает значение упакованного числа так же, как {@link #getValue()}.
+     * @param packed упакованное число
+     * @return значение числа
+     */
+    static double value(long packed) {
+        double value = packed & ((1L << 50) - 1);
+        int scale = scale(packed);
+        if (scale > 0) {
+            value /= POWERS_OF_TEN[scale];
+        }
+        return (packed & 1L << 55) != 0 ? -value : value;
+    }
+
+    /**
+     * Восстанавливает число, упакованное {@link #pack()}.
+     * @param packed упакованное число
+     */
+    public void unpack(long packed) {
+        mantissa = packed & ((1L << 50) - 1);
+        scale = (int) (packed >>> 50) & 0xF;
+        point = (packed & 1L << 54) != 0;
+        negative = (packed & 1L << 55) != 0;
+        digits = mantissa == 0 ? 0 : NumberFormatter.digitCount(mantissa);
+        dirty = true;
+    }
+
+    /**
+     * Записывает текстовое представление числа в переданный буфер.
+     * @param buffer буфер символов
+     * @param offset позиция начала записи
+     * @return позиция сразу после последнего записанного символа
+     */
+    public int format(char[] buffer, int offset) {
+        format();
+        System.arraycopy(text, 0, buffer, offset, length);
+        return offset + length;
+    }
+
+    /**
+     * Обновляет собственный буфер текстового представления, если число изменилось.
+     */
+    private void format() {
+        if (!dirty) {
+            return;
+        }
+        int pos = 0;
+        if (negative) {
+            text[pos++] = '-';
+        }
+        int end = NumberFormatter.formatLong(mantissa, text, pos);
+        int count = end - pos;
+        if (scale >= count) {
+            // Дополнение ведущими нулями: 5 при масштабе 3 — это 0.005
+            int zeros = scale - count + 1;
+            System.arraycopy(text, pos, text, pos + zeros, count);
+            for (int i = 0; i < zeros; i++) {
+                text[pos + i] = '0';
+            }
+            end += zeros;
+        }
+        if (point) {
+            int split = end - scale;
+            System.arraycopy(text, split, text, split + 1, scale);
+            text[split] = '.';
+            end++;
+        }
+        length = end;
+        dirty = false;
+    }
+
+    @Override
+    public int length() {
+        format();
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        format();
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return text[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        format();
+        return new String(text, 0, length);
+    }
+}
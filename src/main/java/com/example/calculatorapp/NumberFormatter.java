@@ -0,0 +1,97 @@
+package com.example.calculatorapp;
+
+/**
+ * Форматирование чисел в переиспользуемый буфер символов без создания промежуточных строк.
+ */
+public final class NumberFormatter {
+    private static final char[] MIN_LONG = Long.toString(Long.MIN_VALUE).toCharArray(); // Long.MIN_VALUE нельзя сменить знак
+    private static final char[] DIGIT_TENS = new char[100]; // Старшие цифры чисел 0–99
+    private static final char[] DIGIT_ONES = new char[100]; // Младшие цифры чисел 0–99
+    private static final long[] POWERS_OF_TEN = new long[19]; // Степени десяти от 10^0 до 10^18
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private NumberFormatter() {
+    }
+
+    /**
+     * Записывает десятичное представление целого числа в буфер.
+     * Цифры записываются парами по таблицам, а пока значение помещается в int, деление выполняется над int.
+     * @param value число для форматирования
+     * @param buffer буфер символов (не менее 20 свободных позиций)
+     * @param offset позиция начала записи
+     * @return позиция сразу после последнего записанного символа
+     */
+    public static int formatLong(long value, char[] buffer, int offset) {
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG, 0, buffer, offset, MIN_LONG.length);
+            return offset + MIN_LONG.length;
+        }
+        if (value < 0) {
+            buffer[offset++] = '-';
+            value = -value;
+        }
+        int end = offset + digitCount(value);
+        int i = end;
+        while (value > Integer.MAX_VALUE) {
+            long quotient = value / 100;
+            int pair = (int) (value - quotient * 100);
+            value = quotient;
+            buffer[--i] = DIGIT_ONES[pair];
+            buffer[--i] = DIGIT_TENS[pair];
+        }
+        int rest = (int) value;
+        while (rest >= 100) {
+            int quotient = rest / 100;
+            int pair = rest - quotient * 100;
+            rest = quotient;
+            buffer[--i] = DIGIT_ONES[pair];
+            buffer[--i] = DIGIT_TENS[pair];
+        }
+        if (rest >= 10) {
+            buffer[--i] = DIGIT_ONES[rest];
+            buffer[--i] = DIGIT_TENS[rest];
+        } else {
+            buffer[--i] = (char) ('0' + rest);
+        }
+        return end;
+    }
+
+    /**
+     * Записывает число так же, как {@code CalculatorModel} отображает результат:
+     * целые значения без дробной части, остальные — как {@link Double#toString(double)}.
+     * Целые значения форматируются без выделения памяти.
+     * @param value число для форматирования
+     * @param buffer буфер символов (не менее 25 свободных позиций)
+     * @param offset позиция начала записи
+     * @return позиция сразу после последнего записанного символа
+     */
+    public static int formatDouble(double value, char[] buffer, int offset) {
+        if (value == (long) value) {
+            return formatLong((long) value, buffer, offset);
+        }
+        String text = Double.toString(value);
+        text.getChars(0, text.length(), buffer, offset);
+        return offset + text.length();
+    }
+
+    /**
+     * Возвращает количество десятичных цифр неотрицательного числа.
+     * Оценка по количеству значащих битов (log10(2) ≈ 1233 / 4096) уточняется одним сравнением.
+     * @param value неотрицательное число
+     * @return количество цифр (не менее 1)
+     */
+    static int digitCount(long value) {
+        int guess = ((64 - Long.numberOfLeadingZeros(value)) * 1233) >>> 12;
+        return Math.max(1, value >= POWERS_OF_TEN[guess] ? guess + 1 : guess);
+    }
+}
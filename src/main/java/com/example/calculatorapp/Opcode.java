@@ -0,0 +1,285 @@
+package com.example.calculatorapp;
+
+/**
+ * Кнопки калькулятора в компактном виде. Ввод передается как {@code Opcode} на всем пути
+ * от события клавиатуры до модели, без сравнения и хэширования строк.
+ * Порядок констант совпадает с сеткой кнопок ({@link CalculatorView}) и кодами
+ * двоичного журнала ({@link SessionJournal}), поэтому {@link #ordinal()} — код кнопки.
+ * Первые {@link #BASIC_COUNT} кнопок образуют основную сетку, за ними следуют кнопки научного режима
+ * и, начиная с {@link #FIRST_PROGRAMMER}, кнопки режима программиста;
+ * новые кнопки добавляются только в конец, чтобы не менять коды в существующих журналах.
+ */
+public enum Opcode {
+    PERCENT("%", 4, false),
+    CLEAR_ENTRY("CE"),
+    CLEAR("C"),
+    BACKSPACE("⌫"),
+    RECIPROCAL("1/x", 5, true),
+    SQUARE("x^2", 6, true),
+    SQUARE_ROOT("√x", 7, true),
+    DIVIDE("/", 3, false),
+    DIGIT_7("7"),
+    DIGIT_8("8"),
+    DIGIT_9("9"),
+    MULTIPLY("*", 2, false),
+    DIGIT_4("4"),
+    DIGIT_5("5"),
+    DIGIT_6("6"),
+    SUBTRACT("-", 1, false),
+    DIGIT_1("1"),
+    DIGIT_2("2"),
+    DIGIT_3("3"),
+    ADD("+", 0, false),
+    TOGGLE_SIGN("+/-"),
+    DIGIT_0("0"),
+    POINT("."),
+    EQUALS("="),
+    // Научный режим
+    SINE("sin", 10, true),
+    COSINE("cos", 11, true),
+    TANGENT("tan", 12, true),
+    POWER("x^y", 8, false),
+    ARCSINE("asin", 13, true),
+    ARCCOSINE("acos", 14, true),
+    ARCTANGENT("atan", 15, true),
+    COMBINATIONS("nCr", 9, false),
+    NATURAL_LOG("ln", 16, true),
+    LOG10("log", 17, true),
+    EXP("e^x", 18, true),
+    FACTORIAL("n!", 19, true),
+    // Режим программиста
+    HEX("HEX"),
+    DEC("DEC"),
+    OCT("OCT"),
+    BIN("BIN"),
+    BYTE("BYTE"),
+    WORD("WORD"),
+    DWORD("DWORD"),
+    QWORD("QWORD"),
+    SIGNED("INT"),
+    UNSIGNED("UINT"),
+    ROTATE_LEFT("RoL", 25, false),
+    ROTATE_RIGHT("RoR", 26, false),
+    AND("AND", 20, false),
+    OR("OR", 21, false),
+    XOR("XOR", 22, false),
+    NOT("NOT", 27, true),
+    DIGIT_A("A"),
+    DIGIT_B("B"),
+    DIGIT_C("C"),
+    SHIFT_LEFT("<<", 23, false),
+    DIGIT_D("D"),
+    DIGIT_E("E"),
+    DIGIT_F("F"),
+    SHIFT_RIGHT(">>", 24, false);
+
+    /** Количество кнопок основной сетки. */
+    public static final int BASIC_COUNT = 24;
+
+    /** Код первой кнопки режима программиста; кнопки научного режима — от {@link #BASIC_COUNT} до него. */
+    public static final int FIRST_PROGRAMMER = 36;
+
+    /** Код первого оператора научного режима (см. {@link #getOperatorCode()}). */
+    static final int FIRST_SCIENTIFIC_OPERATOR = 8;
+
+    /** Код первого оператора режима программиста (см. {@link #getOperatorCode()}). */
+    static final int FIRST_PROGRAMMER_OPERATOR = 20;
+
+    private static final Opcode[] VALUES = values(); // Кнопки по кодам
+
+    private final String text; // Текст кнопки
+    private final int operatorCode; // Код оператора (-1, если кнопка не оператор)
+    private final boolean unary; // Является ли кнопка унарным оператором
+    private final boolean digit; // Является ли кнопка цифрой
+
+    Opcode(String text) {
+        this(text, -1, false);
+    }
+
+    Opcode(String text, int operatorCode, boolean unary) {
+        this.text = text;
+        this.operatorCode = operatorCode;
+        this.unary = unary;
+        this.digit = text.length() == 1 && Character.isDigit(text.charAt(0));
+    }
+
+    /**
+     * Возвращает текст кнопки.
+     * @return текст кнопки
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Возвращает код оператора: 0–4 для {@code + - * / %}, 5–7 для {@code 1/x x^2 √x},
+     * 8–9 для {@code x^y nCr}, 10–19 для функций научного режима, 20–27 для побитовых операций,
+     * сдвигов и вращений режима программиста.
+     * Используется как ключ кэша результатов.
+     * @return код оператора или -1, если кнопка не оператор
+     */
+    public int getOperatorCode() {
+        return operatorCode;
+    }
+
+    /**
+     * Проверяет, является ли кнопка оператором.
+     * @return true для бинарных и унарных операторов
+     */
+    public boolean isOperator() {
+        return operatorCode >= 0;
+    }
+
+    /**
+     * Проверяет, является ли кнопка унарным оператором (результат зависит только от текущего числа).
+     * @return true для унарных операторов
+     */
+    public boolean isUnaryOperator() {
+        return unary;
+    }
+
+    /**
+     * Проверяет, является ли кнопка оператором научного режима.
+     * @return true для {@code x^y}, {@code nCr} и функций
+     */
+    public boolean isScientific() {
+        return operatorCode >= FIRST_SCIENTIFIC_OPERATOR && operatorCode < FIRST_PROGRAMMER_OPERATOR;
+    }
+
+    /**
+     * Проверяет, является ли кнопка кнопкой режима программиста.
+     * @return true для шестнадцатеричных цифр, побитовых операций, сдвигов, систем счисления и разрядности
+     */
+    public boolean isProgrammer() {
+        return ordinal() >= FIRST_PROGRAMMER;
+    }
+
+    /**
+     * Проверяет, является ли кнопка цифрой.
+     * @return true для цифр 0–9
+     */
+    public boolean isDigit() {
+        return digit;
+    }
+
+    /**
+     * Возвращает символ, добавляемый к числу.
+     * @return цифра или точка
+     * @throws IllegalStateException если кнопка не цифра и не точка
+     */
+    public char getChar() {
+        if (this != POINT && !digit) {
+            throw new IllegalStateException("Кнопка " + text + " не вводит символ числа");
+        }
+        return text.charAt(0);
+    }
+
+    /**
+     * Возвращает кнопку по коду.
+     * @param code код кнопки ({@link #ordinal()})
+     * @return кнопка
+     */
+    public static Opcode fromCode(int code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Возвращает количество кнопок.
+     * @return количество кодов
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * Находит кнопку по тексту. Адаптер для строкового ввода.
+     * Текст «C» означает {@link #CLEAR}; шестнадцатеричная цифра {@link #DIGIT_C} по тексту не находится.
+     * @param text текст кнопки
+     * @return кнопка или null, если кнопки с таким текстом нет
+     */
+    public static Opcode fromText(String text) {
+        return switch (text) {
+            case "%" -> PERCENT;
+            case "CE" -> CLEAR_ENTRY;
+            case "C" -> CLEAR;
+            case "⌫" -> BACKSPACE;
+            case "1/x" -> RECIPROCAL;
+            case "x^2" -> SQUARE;
+            case "√x" -> SQUARE_ROOT;
+            case "/" -> DIVIDE;
+            case "*" -> MULTIPLY;
+            case "-" -> SUBTRACT;
+            case "+" -> ADD;
+            case "+/-" -> TOGGLE_SIGN;
+            case "." -> POINT;
+            case "=" -> EQUALS;
+            case "0" -> DIGIT_0;
+            case "1" -> DIGIT_1;
+            case "2" -> DIGIT_2;
+            case "3" -> DIGIT_3;
+            case "4" -> DIGIT_4;
+            case "5" -> DIGIT_5;
+            case "6" -> DIGIT_6;
+            case "7" -> DIGIT_7;
+            case "8" -> DIGIT_8;
+            case "9" -> DIGIT_9;
+            case "sin" -> SINE;
+            case "cos" -> COSINE;
+            case "tan" -> TANGENT;
+            case "x^y" -> POWER;
+            case "asin" -> ARCSINE;
+            case "acos" -> ARCCOSINE;
+            case "atan" -> ARCTANGENT;
+            case "nCr" -> COMBINATIONS;
+            case "ln" -> NATURAL_LOG;
+            case "log" -> LOG10;
+            case "e^x" -> EXP;
+            case "n!" -> FACTORIAL;
+            case "HEX" -> HEX;
+            case "DEC" -> DEC;
+            case "OCT" -> OCT;
+            case "BIN" -> BIN;
+            case "BYTE" -> BYTE;
+            case "WORD" -> WORD;
+            case "DWORD" -> DWORD;
+            case "QWORD" -> QWORD;
+            case "INT" -> SIGNED;
+            case "UINT" -> UNSIGNED;
+            case "RoL" -> ROTATE_LEFT;
+            case "RoR" -> ROTATE_RIGHT;
+            case "AND" -> AND;
+            case "OR" -> OR;
+            case "XOR" -> XOR;
+            case "NOT" -> NOT;
+            case "<<" -> SHIFT_LEFT;
+            case ">>" -> SHIFT_RIGHT;
+            case "A" -> DIGIT_A;
+            case "B" -> DIGIT_B;
+            case "D" -> DIGIT_D;
+            case "E" -> DIGIT_E;
+            case "F" -> DIGIT_F;
+            default -> null;
+        };
+    }
+
+    /**
+     * Возвращает кнопку цифры.
+     * @param digit цифра от 0 до 9
+     * @return кнопка цифры
+     */
+    public static Opcode digit(int digit) {
+        return switch (digit) {
+            case 0 -> DIGIT_0;
+            case 1 -> DIGIT_1;
+            case 2 -> DIGIT_2;
+            case 3 -> DIGIT_3;
+            case 4 -> DIGIT_4;
+            case 5 -> DIGIT_5;
+            case 6 -> DIGIT_6;
+            case 7 -> DIGIT_7;
+            case 8 -> DIGIT_8;
+            case 9 -> DIGIT_9;
+            default -> throw new IllegalArgumentException("Не цифра: " + digit);
+        };
+    }
+}
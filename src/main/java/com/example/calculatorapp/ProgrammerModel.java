@@ -0,0 +1,482 @@
+package com.example.calculatorapp;
+
+import java.util.Arrays;
+
+/**
+ * Модель режима программиста: целочисленная арифметика фиксированной разрядности (8, 16, 32 или 64 бита)
+ * со знаком или без знака, побитовые операции, сдвиги и вращения, ввод и отображение в двоичной,
+ * восьмеричной, десятичной и шестнадцатеричной системах счисления.
+ *
+ * <p>Все значения хранятся в {@code long}, приведенными к текущей разрядности: со знаковым расширением
+ * для знаковых типов и с маской для беззнаковых. Переполнение циклическое, как в дополнительном коде.
+ * Обработка кнопки не создает объектов и не форматирует текст: значение переводится в текст
+ * только при отображении ({@link #getCurrentValue()}) и кэшируется до следующего изменения.</p>
+ *
+ * <p>Сдвиг на количество бит не меньше разрядности (или на отрицательное) дает 0, а для знакового
+ * сдвига вправо — знак числа; вращение выполняется по модулю разрядности.</p>
+ */
+public class ProgrammerModel {
+    /**
+     * Система счисления ввода и отображения.
+     */
+    public enum Radix {
+        BIN(2), OCT(8), DEC(10), HEX(16);
+
+        private final int base; // Основание
+
+        Radix(int base) {
+            this.base = base;
+        }
+
+        /**
+         * Возвращает основание системы счисления.
+         * @return основание
+         */
+        public int getBase() {
+            return base;
+        }
+    }
+
+    /**
+     * Разрядность значений.
+     */
+    public enum WordSize {
+        BYTE(8), WORD(16), DWORD(32), QWORD(64);
+
+        private final int bits; // Количество бит
+        private final long mask; // Маска значащих бит
+
+        WordSize(int bits) {
+            this.bits = bits;
+            this.mask = -1L >>> (64 - bits);
+        }
+
+        /**
+         * Возвращает количество бит.
+         * @return количество бит
+         */
+        public int getBits() {
+            return bits;
+        }
+
+        /**
+         * Возвращает маску значащих бит.
+         * @return маска
+         */
+        public long getMask() {
+            return mask;
+        }
+    }
+
+    private static final char[] DIGIT_CHARS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'}; // Цифры систем счисления
+    private static final int[] DIGIT_VALUES = createDigitValues(); // Значения цифр по кодам кнопок (-1 — не цифра)
+    private static final int GROUP_SIZE = 4; // Количество цифр в группе при отображении HEX и BIN
+
+    private long value = 0; // Текущее число
+    private long accumulator = 0; // Левый операнд ожидающей операции
+    private Opcode operator = null; // Ожидающая бинарная операция (null — операции нет)
+    private boolean clearNext = false; // Следующая цифра начинает новое число
+    private String errorMessage = ""; // Сообщение об ошибке
+    private Radix radix = Radix.DEC; // Система счисления
+    private WordSize wordSize = WordSize.QWORD; // Разрядность
+    private boolean signed = true; // Знаковые ли значения
+    private final char[] text = new char[80]; // Буфер форматирования (64 двоичные цифры с разделителями)
+    private String display = null; // Текст текущего значения (null — значение изменилось)
+    private String expression = null; // Текст текущего выражения (null — выражение изменилось)
+
+    /**
+     * Применяет нажатую кнопку. Кнопки, не действующие в режиме программиста (десятичная точка,
+     * функции научного режима, {@code 1/x}, {@code x^2}, {@code √x}), игнорируются.
+     * В состоянии ошибки действуют только «C» и «CE».
+     * @param opcode нажатая кнопка
+     */
+    public void process(Opcode opcode) {
+        if (!errorMessage.isEmpty() && opcode != Opcode.CLEAR && opcode != Opcode.CLEAR_ENTRY) {
+            return;
+        }
+        switch (opcode) {
+            case ADD, SUBTRACT, MULTIPLY, DIVIDE, PERCENT, AND, OR, XOR,
+                    SHIFT_LEFT, SHIFT_RIGHT, ROTATE_LEFT, ROTATE_RIGHT -> setOperator(opcode);
+            case NOT -> {
+                value = normalize(~value);
+                clearNext = true;
+            }
+            case TOGGLE_SIGN -> value = normalize(-value);
+            case EQUALS -> calculate();
+            case CLEAR -> clear();
+            case CLEAR_ENTRY -> clearEntry();
+            case BACKSPACE -> backspace();
+            case HEX -> radix = Radix.HEX;
+            case DEC -> radix = Radix.DEC;
+            case OCT -> radix = Radix.OCT;
+            case BIN -> radix = Radix.BIN;
+            case BYTE -> setWordSize(WordSize.BYTE);
+            case WORD -> setWordSize(WordSize.WORD);
+            case DWORD -> setWordSize(WordSize.DWORD);
+            case QWORD -> setWordSize(WordSize.QWORD);
+            case SIGNED -> setSigned(true);
+            case UNSIGNED -> setSigned(false);
+            default -> {
+                int digit = DIGIT_VALUES[opcode.ordinal()];
+                if (digit >= 0) {
+                    appendDigit(digit);
+                }
+            }
+        }
+        display = null;
+        expression = null;
+    }
+
+    /**
+     * Проверяет, действует ли кнопка в текущем состоянии: цифры — только меньше основания,
+     * кнопки системы счисления, разрядности и знаковости — только отличные от текущих.
+     * Используется представлением для блокировки кнопок.
+     * @param opcode кнопка
+     * @return true, если кнопка действует
+     */
+    public boolean isAvailable(Opcode opcode) {
+        return switch (opcode) {
+            case POINT, RECIPROCAL, SQUARE, SQUARE_ROOT -> false;
+            case HEX -> radix != Radix.HEX;
+            case DEC -> radix != Radix.DEC;
+            case OCT -> radix != Radix.OCT;
+            case BIN -> radix != Radix.BIN;
+            case BYTE -> wordSize != WordSize.BYTE;
+            case WORD -> wordSize != WordSize.WORD;
+            case DWORD -> wordSize != WordSize.DWORD;
+            case QWORD -> wordSize != WordSize.QWORD;
+            case SIGNED -> !signed;
+            case UNSIGNED -> signed;
+            default -> {
+                int digit = DIGIT_VALUES[opcode.ordinal()];
+                yield digit >= 0 ? digit < radix.getBase() : !opcode.isScientific();
+            }
+        };
+    }
+
+    /**
+     * Добавляет цифру к текущему числу. Цифра, которая не помещается в разрядность, игнорируется.
+     * @param digit цифра от 0 до основания системы счисления
+     */
+    private void appendDigit(int digit) {
+        int base = radix.getBase();
+        if (digit >= base) {
+            return;
+        }
+        if (clearNext) {
+            value = 0;
+            clearNext = false;
+        }
+        if (radix == Radix.DEC && signed) {
+            // Десятичный знаковый ввод: модуль не больше 2^(n-1) - 1 (или 2^(n-1) для отрицательных)
+            boolean negative = value < 0;
+            long magnitude = negative ? -value : value;
+            long bound = (1L << (wordSize.getBits() - 1)) - (negative ? 0 : 1);
+            if (Long.compareUnsigned(magnitude, Long.divideUnsigned(bound - digit, 10)) > 0) {
+                return;
+            }
+            magnitude = magnitude * 10 + digit;
+            value = negative ? -magnitude : magnitude;
+        } else {
+            // Прочий ввод задает битовое представление, ограниченное разрядностью
+            long mask = wordSize.getMask();
+            long bits = value & mask;
+            if (Long.compareUnsigned(bits, Long.divideUnsigned(mask - digit, base)) > 0) {
+                return;
+            }
+            value = normalize(bits * base + digit);
+        }
+    }
+
+    /**
+     * Устанавливает бинарную операцию, выполняя ожидающую, если после нее введено число.
+     * @param opcode кнопка операции
+     */
+    private void setOperator(Opcode opcode) {
+        if (operator != null && !clearNext && !compute()) {
+            return;
+        }
+        accumulator = value;
+        operator = opcode;
+        clearNext = true;
+    }
+
+    /**
+     * Выполняет ожидающую операцию.
+     */
+    private void calculate() {
+        if (operator != null && compute()) {
+            operator = null;
+        }
+        clearNext = true;
+    }
+
+    /**
+     * Применяет ожидающую операцию к накопленному и текущему значениям.
+     * @return false, если возникла ошибка
+     */
+    private boolean compute() {
+        long a = accumulator;
+        long b = value;
+        int bits = wordSize.getBits();
+        long result;
+        switch (operator) {
+            case ADD -> result = a + b;
+            case SUBTRACT -> result = a - b;
+            case MULTIPLY -> result = a * b;
+            case DIVIDE, PERCENT -> {
+                if (b == 0) {
+                    setError("Ошибка: деление на ноль");
+                    return false;
+                }
+                if (operator == Opcode.DIVIDE) {
+                    result = signed ? a / b : Long.divideUnsigned(a, b);
+                } else {
+                    result = signed ? a % b : Long.remainderUnsigned(a, b);
+                }
+            }
+            case AND -> result = a & b;
+            case OR -> result = a | b;
+            case XOR -> result = a ^ b;
+            case SHIFT_LEFT -> result = Long.compareUnsigned(b, bits) >= 0 ? 0 : a << b;
+            case SHIFT_RIGHT -> {
+                if (Long.compareUnsigned(b, bits) >= 0) {
+                    result = signed ? a >> 63 : 0;
+                } else {
+                    result = signed ? a >> b : a >>> b;
+                }
+            }
+            case ROTATE_LEFT -> result = rotateLeft(a, (int) (b & (bits - 1)));
+            case ROTATE_RIGHT -> result = rotateLeft(a, (int) (-b & (bits - 1)));
+            default -> throw new IllegalStateException("Не операция режима программиста: " + operator);
+        }
+        value = normalize(result);
+        return true;
+    }
+
+    /**
+     * Вращает значение влево в пределах разрядности.
+     * @param a значение
+     * @param distance количество бит от 0 до разрядности - 1
+     * @return результат вращения (до приведения к разрядности)
+     */
+    private long rotateLeft(long a, int distance) {
+        long bits = a & wordSize.getMask();
+        return distance == 0 ? bits : (bits << distance) | (bits >>> (wordSize.getBits() - distance));
+    }
+
+    /**
+     * Приводит значение к текущей разрядности и знаковости.
+     * @param v значение
+     * @return младшие биты значения со знаковым расширением или нулями в старших битах
+     */
+    private long normalize(long v) {
+        int shift = 64 - wordSize.getBits();
+        return signed ? (v << shift) >> shift : (v << shift) >>> shift;
+    }
+
+    /**
+     * Удаляет последнюю цифру текущего числа.
+     */
+    private void backspace() {
+        if (clearNext) {
+            return;
+        }
+        if (radix == Radix.DEC && signed) {
+            value /= 10;
+        } else {
+            value = normalize(Long.divideUnsigned(value & wordSize.getMask(), radix.getBase()));
+        }
+    }
+
+    /**
+     * Очищает все значения и ошибку. Система счисления, разрядность и знаковость сохраняются.
+     */
+    public void clear() {
+        value = 0;
+        accumulator = 0;
+        operator = null;
+        clearNext = false;
+        errorMessage = "";
+        display = null;
+        expression = null;
+    }
+
+    /**
+     * Очищает текущее число и ошибку.
+     */
+    public void clearEntry() {
+        value = 0;
+        clearNext = false;
+        if (!errorMessage.isEmpty()) {
+            clear();
+        }
+        display = null;
+    }
+
+    /**
+     * Устанавливает систему счисления ввода и отображения.
+     * @param radix система счисления
+     */
+    public void setRadix(Radix radix) {
+        this.radix = radix;
+        display = null;
+        expression = null;
+    }
+
+    /**
+     * Возвращает систему счисления ввода и отображения.
+     * @return система счисления
+     */
+    public Radix getRadix() {
+        return radix;
+    }
+
+    /**
+     * Устанавливает разрядность; текущее и накопленное значения усекаются до нее.
+     * @param wordSize разрядность
+     */
+    public void setWordSize(WordSize wordSize) {
+        this.wordSize = wordSize;
+        renormalize();
+    }
+
+    /**
+     * Возвращает разрядность.
+     * @return разрядность
+     */
+    public WordSize getWordSize() {
+        return wordSize;
+    }
+
+    /**
+     * Устанавливает знаковость; битовое представление значений сохраняется.
+     * @param signed true для знаковых значений
+     */
+    public void setSigned(boolean signed) {
+        this.signed = signed;
+        renormalize();
+    }
+
+    /**
+     * Проверяет, знаковые ли значения.
+     * @return true для знаковых значений
+     */
+    public boolean isSigned() {
+        return signed;
+    }
+
+    /**
+     * Приводит значения к новой разрядности или знаковости.
+     */
+    private void renormalize() {
+        value = normalize(value);
+        accumulator = normalize(accumulator);
+        display = null;
+        expression = null;
+    }
+
+    /**
+     * Возвращает текущее значение. Для беззнаковых 64-битных значений — битовое представление.
+     * @return текущее значение
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Возвращает текущее значение в выбранной системе счисления (цифры HEX и BIN — группами по 4).
+     * @return текущее значение или сообщение об ошибке
+     */
+    public String getCurrentValue() {
+        if (!errorMessage.isEmpty()) {
+            return errorMessage;
+        }
+        if (display == null) {
+            display = format(value);
+        }
+        return display;
+    }
+
+    /**
+     * Возвращает текущее выражение: накопленное значение и ожидающую операцию.
+     * @return текущее выражение или пустая строка
+     */
+    public String getCurrentExpression() {
+        if (expression == null) {
+            expression = operator == null || !errorMessage.isEmpty() ? "" : format(accumulator) + " " + operator.getText();
+        }
+        return expression;
+    }
+
+    /**
+     * Возвращает сообщение об ошибке.
+     * @return сообщение об ошибке или пустая строка, если ошибки нет
+     */
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Устанавливает сообщение об ошибке и сбрасывает ожидающую операцию.
+     * @param message сообщение об ошибке
+     */
+    public void setError(String message) {
+        errorMessage = message;
+        operator = null;
+        value = 0;
+        display = null;
+        expression = null;
+    }
+
+    /**
+     * Переводит значение в текст в выбранной системе счисления.
+     * @param v значение, приведенное к разрядности
+     * @return текст значения
+     */
+    private String format(long v) {
+        int position = text.length;
+        if (radix == Radix.DEC) {
+            boolean negative = signed && v < 0;
+            long magnitude = negative ? -v : v; // Для Long.MIN_VALUE — 2^63 без знака
+            do {
+                text[--position] = DIGIT_CHARS[(int) Long.remainderUnsigned(magnitude, 10)];
+                magnitude = Long.divideUnsigned(magnitude, 10);
+            } while (magnitude != 0);
+            if (negative) {
+                text[--position] = '-';
+            }
+        } else {
+            int shift = Integer.numberOfTrailingZeros(radix.getBase());
+            long digitMask = radix.getBase() - 1;
+            long bits = v & wordSize.getMask();
+            int count = 0;
+            do {
+                if (count > 0 && count % GROUP_SIZE == 0 && radix != Radix.OCT) {
+                    text[--position] = ' ';
+                }
+                text[--position] = DIGIT_CHARS[(int) (bits & digitMask)];
+                bits >>>= shift;
+                count++;
+            } while (bits != 0);
+        }
+        return new String(text, position, text.length - position);
+    }
+
+    /**
+     * Создает таблицу значений цифр по кодам кнопок.
+     * @return значения цифр 0–F или -1 для прочих кнопок
+     */
+    private static int[] createDigitValues() {
+        int[] values = new int[Opcode.count()];
+        Arrays.fill(values, -1);
+        for (int digit = 0; digit <= 9; digit++) {
+            values[Opcode.digit(digit).ordinal()] = digit;
+        }
+        Opcode[] letters = {Opcode.DIGIT_A, Opcode.DIGIT_B, Opcode.DIGIT_C, Opcode.DIGIT_D, Opcode.DIGIT_E, Opcode.DIGIT_F};
+        for (int i = 0; i < letters.length; i++) {
+            values[letters[i].ordinal()] = 10 + i;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,599 @@
+package com.example.calculatorapp;
+
+import java.math.BigInteger;
+
+/**
+ * Научные функции калькулятора: тригонометрические и обратные к ним, экспонента, логарифмы,
+ * степень, факториал, гамма-функция и число сочетаний. Элементарные функции вычисляются
+ * на выбранном уровне точности ({@link AccuracyTier}); факториал целых чисел берется из таблицы,
+ * число сочетаний считается точно в long, пока результат в него помещается.
+ *
+ * <p>Углы задаются в радианах. Вне области определения функции возвращают NaN,
+ * при переполнении — бесконечность; методы не создают объектов и не бросают исключений
+ * (кроме {@link #factorialExact(long)}, {@link #powExact(long, long)} и {@link #combinationsExact(long, long)}).</p>
+ */
+public final class ScientificFunctions {
+
+    /**
+     * Уровни точности научных функций. Погрешность указана в ulp (единицах последнего разряда)
+     * относительно {@link StrictMath}; границы для FAST проверяются тестом {@code ScientificFunctionsTest}
+     * на случайных аргументах каждой функции.
+     */
+    public enum AccuracyTier {
+        /** {@link StrictMath}: алгоритмы fdlibm, одинаковые результаты на всех платформах. */
+        STRICT,
+        /** {@link Math}: встроенные реализации JIT, по спецификации не более 1 ulp от точного значения. */
+        DEFAULT,
+        /**
+         * Полиномы и таблицы без ветвлений на особые случаи внутри основного диапазона:
+         * sin, cos — до 2 ulp, tan — до 4 ulp (|x| ≤ 2^20, дальше — {@link Math});
+         * asin — до 3 ulp, acos, atan — до 2 ulp; exp — до 2 ulp (|x| ≤ 708); ln, log — до 2 ulp;
+         * pow — до 11 ulp для целых |y| ≤ 16 и до 7 ulp при |y·ln x| ≤ 4 (погрешность растет
+         * вместе с |y·ln x|, поэтому дальше используется {@link Math#pow}).
+         */
+        FAST
+    }
+
+    // Разложение π/2 на части по 33 бита: произведения n·PIO2_1 и n·PIO2_2 точны при |n| < 2^20
+    private static final double PIO2_1 = 1.5707963267341256;
+    private static final double PIO2_2 = 6.077100506303966e-11;
+    private static final double PIO2_3 = 2.0222662487959506e-21;
+    private static final double PIO2_HI = 1.5707963267948966; // π/2, округленное до double
+    private static final double PIO2_LO = 6.123233995736766e-17; // Остаток π/2 - PIO2_HI
+    private static final double TWO_OVER_PI = 0.6366197723675814;
+    private static final double FAST_TRIG_LIMIT = 0x1p20; // Граница быстрого приведения аргумента
+    private static final double TINY = 0x1p-27; // Для |x| меньше границы sin x = tan x = x, cos x = 1 в double
+
+    // Коэффициенты рядов Тейлора синуса и косинуса на [-π/4, π/4]
+    private static final double S3 = -1.0 / 6;
+    private static final double S5 = 1.0 / 120;
+    private static final double S7 = -1.0 / 5040;
+    private static final double S9 = 1.0 / 362880;
+    private static final double S11 = -1.0 / 39916800;
+    private static final double S13 = 1.0 / 6227020800.0;
+    private static final double S15 = -1.0 / 1307674368000.0;
+    private static final double S17 = 1.0 / 355687428096000.0;
+    private static final double C4 = 1.0 / 24;
+    private static final double C6 = -1.0 / 720;
+    private static final double C8 = 1.0 / 40320;
+    private static final double C10 = -1.0 / 3628800;
+    private static final double C12 = 1.0 / 479001600;
+    private static final double C14 = -1.0 / 87178291200.0;
+    private static final double C16 = 1.0 / 20922789888000.0;
+
+    // Экспонента: x = (32k + j)·ln2/32 + r, |r| ≤ ln2/64
+    private static final double EXP_LIMIT = 708; // Дальше результат близок к переполнению или денормализован
+    private static final double INV_LN2_32 = 46.16624130844683; // 32 / ln2
+    private static final double LN2_32_HI = 0.021660849392446835; // ln2/32, 38 значащих битов
+    private static final double LN2_32_LO = 5.145609244655338e-14; // Остаток ln2/32 - LN2_32_HI
+    private static final double[] EXP2_TABLE = new double[32]; // 2^(j/32)
+
+    // Логарифм: x = 2^e·m, m ≈ j/64, ln m = ln(j/64) + ln(1 + (m - j/64)·64/j)
+    private static final double SQRT2 = 1.4142135623730951;
+    private static final double LN2_HI = 0.6931471805598903; // ln2, 42 значащих бита
+    private static final double LN2_LO = 5.497923018708371e-14; // Остаток ln2 - LN2_HI
+    private static final double INV_LN10 = 0.4342944819032518; // 1 / ln10
+    private static final double[] LOG_TABLE = new double[92]; // ln(j/64) для j от 45 до 91
+    private static final double[] INV_TABLE = new double[92]; // 64/j для j от 45 до 91
+
+    // Арктангенс: atan x = atan(k/8) + atan((x - k/8) / (1 + x·k/8))
+    private static final double[] ATAN_TABLE = new double[9]; // atan(k/8)
+
+    // Гамма-функция: приближение Ланцоша (g = 7, 9 коэффициентов)
+    private static final double[] LANCZOS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+            -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+            1.5056327351493116e-7
+    };
+    private static final double SQRT_2PI = 2.5066282746310002;
+
+    private static final int MAX_FACTORIAL = 170; // Наибольшее n, для которого n! конечен в double
+    private static final int MAX_LONG_FACTORIAL = 20; // Наибольшее n, для которого n! помещается в long
+    private static final double[] FACTORIALS = new double[MAX_FACTORIAL + 1]; // n!, округленные до double
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_FACTORIAL + 1]; // n! в long
+    private static final int MAX_FAST_POW_EXPONENT = 16; // Наибольший целый показатель для умножений
+    // Граница |y·ln x| для exp(y·ln x): погрешность логарифма умножается на |y·ln x|, дальше — Math.pow
+    private static final double FAST_POW_LIMIT = 4;
+
+    static {
+        for (int j = 0; j < EXP2_TABLE.length; j++) {
+            EXP2_TABLE[j] = StrictMath.pow(2, j / 32.0);
+        }
+        for (int j = 45; j < LOG_TABLE.length; j++) {
+            LOG_TABLE[j] = StrictMath.log(j / 64.0);
+            INV_TABLE[j] = 64.0 / j;
+        }
+        for (int k = 0; k < ATAN_TABLE.length; k++) {
+            ATAN_TABLE[k] = StrictMath.atan(k / 8.0);
+        }
+        // Точные факториалы округляются до double один раз
+        BigInteger factorial = BigInteger.ONE;
+        for (int n = 0; n <= MAX_FACTORIAL; n++) {
+            if (n > 0) {
+                factorial = factorial.multiply(BigInteger.valueOf(n));
+            }
+            FACTORIALS[n] = factorial.doubleValue();
+            if (n <= MAX_LONG_FACTORIAL) {
+                LONG_FACTORIALS[n] = factorial.longValueExact();
+            }
+        }
+    }
+
+    private ScientificFunctions() {
+    }
+
+    /**
+     * Возвращает синус угла.
+     * @param x угол в радианах
+     * @param tier уровень точности
+     * @return синус
+     */
+    public static double sin(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.sin(x);
+            case DEFAULT -> Math.sin(x);
+            case FAST -> fastSin(x);
+        };
+    }
+
+    /**
+     * Возвращает косинус угла.
+     * @param x угол в радианах
+     * @param tier уровень точности
+     * @return косинус
+     */
+    public static double cos(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.cos(x);
+            case DEFAULT -> Math.cos(x);
+            case FAST -> fastCos(x);
+        };
+    }
+
+    /**
+     * Возвращает тангенс угла.
+     * @param x угол в радианах
+     * @param tier уровень точности
+     * @return тангенс
+     */
+    public static double tan(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.tan(x);
+            case DEFAULT -> Math.tan(x);
+            case FAST -> fastTan(x);
+        };
+    }
+
+    /**
+     * Возвращает арксинус.
+     * @param x значение от -1 до 1
+     * @param tier уровень точности
+     * @return угол в радианах от -π/2 до π/2 или NaN вне области определения
+     */
+    public static double asin(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.asin(x);
+            case DEFAULT -> Math.asin(x);
+            case FAST -> fastAsin(x);
+        };
+    }
+
+    /**
+     * Возвращает арккосинус.
+     * @param x значение от -1 до 1
+     * @param tier уровень точности
+     * @return угол в радианах от 0 до π или NaN вне области определения
+     */
+    public static double acos(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.acos(x);
+            case DEFAULT -> Math.acos(x);
+            case FAST -> fastAcos(x);
+        };
+    }
+
+    /**
+     * Возвращает арктангенс.
+     * @param x значение
+     * @param tier уровень точности
+     * @return угол в радианах от -π/2 до π/2
+     */
+    public static double atan(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.atan(x);
+            case DEFAULT -> Math.atan(x);
+            case FAST -> fastAtan(x);
+        };
+    }
+
+    /**
+     * Возвращает экспоненту.
+     * @param x показатель
+     * @param tier уровень точности
+     * @return e^x
+     */
+    public static double exp(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.exp(x);
+            case DEFAULT -> Math.exp(x);
+            case FAST -> fastExp(x);
+        };
+    }
+
+    /**
+     * Возвращает натуральный логарифм.
+     * @param x положительное число
+     * @param tier уровень точности
+     * @return ln x или NaN для отрицательных чисел (минус бесконечность для нуля)
+     */
+    public static double ln(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.log(x);
+            case DEFAULT -> Math.log(x);
+            case FAST -> fastLn(x);
+        };
+    }
+
+    /**
+     * Возвращает десятичный логарифм.
+     * @param x положительное число
+     * @param tier уровень точности
+     * @return log10 x или NaN для отрицательных чисел (минус бесконечность для нуля)
+     */
+    public static double log10(double x, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.log10(x);
+            case DEFAULT -> Math.log10(x);
+            case FAST -> fastLn(x) * INV_LN10;
+        };
+    }
+
+    /**
+     * Возводит число в степень.
+     * @param x основание
+     * @param y показатель
+     * @param tier уровень точности
+     * @return x^y
+     */
+    public static double pow(double x, double y, AccuracyTier tier) {
+        return switch (tier) {
+            case STRICT -> StrictMath.pow(x, y);
+            case DEFAULT -> Math.pow(x, y);
+            case FAST -> fastPow(x, y);
+        };
+    }
+
+    /**
+     * Возвращает факториал: для целых n от 0 до 170 — табличное значение n!, округленное до double,
+     * для дробных x — Γ(x + 1).
+     * @param x аргумент
+     * @param tier уровень точности (для дробных аргументов)
+     * @return x!, NaN для отрицательных целых и бесконечность для целых больше 170
+     */
+    public static double factorial(double x, AccuracyTier tier) {
+        if (x == Math.rint(x)) {
+            if (x < 0) {
+                return Double.NaN;
+            }
+            return x <= MAX_FACTORIAL ? FACTORIALS[(int) x] : Double.POSITIVE_INFINITY;
+        }
+        return gamma(x + 1, tier);
+    }
+
+    /**
+     * Возвращает значение гамма-функции. Для положительных целых аргументов значение берется
+     * из таблицы факториалов. Остальные аргументы приводятся к отрезку [1/2, 2): для x ≥ 2 —
+     * произведением (x - 1)(x - 2)…, для x &lt; 1/2 — формулой отражения; на отрезке значение
+     * вычисляется приближением Ланцоша с элементарными функциями выбранного уровня точности.
+     * Погрешность на всех уровнях (проверена на полуцелых аргументах) — до 12 ulp при x ≥ 1/2
+     * и до 14 ulp при x &lt; 1/2, где к ней добавляются погрешности синуса и деления формулы отражения.
+     * @param x аргумент
+     * @param tier уровень точности
+     * @return Γ(x) или NaN в полюсах (нуль и отрицательные целые числа)
+     */
+    public static double gamma(double x, AccuracyTier tier) {
+        if (x == Math.rint(x)) {
+            if (x <= 0) {
+                return Double.NaN;
+            }
+            return x <= MAX_FACTORIAL + 1 ? FACTORIALS[(int) x - 1] : Double.POSITIVE_INFINITY;
+        }
+        if (Double.isNaN(x)) {
+            return x;
+        }
+        if (x < 0.5) {
+            // Γ(x)·Γ(1 - x) = π / sin(πx); sin(πx) вычисляется по дробной части, без потери точности на πx
+            double nearest = Math.rint(x);
+            double sine = sin(Math.PI * (x - nearest), tier);
+            if (((long) nearest & 1) != 0) {
+                sine = -sine;
+            }
+            return Math.PI / (sine * gamma(1 - x, tier));
+        }
+        if (x > MAX_FACTORIAL + 2) {
+            return Double.POSITIVE_INFINITY; // Γ(172) больше Double.MAX_VALUE
+        }
+        if (x >= 2) {
+            // Γ(x) = (x - 1)(x - 2)…(x - k)·Γ(x - k): разности точны, погрешность растет медленнее, чем у x^x·e^-x
+            double product = 1;
+            while (x >= 2) {
+                x -= 1;
+                product *= x;
+            }
+            return product * gamma(x, tier);
+        }
+        x -= 1;
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) {
+            sum += LANCZOS[i] / (x + i);
+        }
+        double t = x + 7.5;
+        return SQRT_2PI * sum * pow(t, x + 0.5, tier) * exp(-t, tier);
+    }
+
+    /**
+     * Возвращает число сочетаний из n по r. Результат точен, пока помещается в long,
+     * иначе вычисляется в double (относительная погрешность не больше примерно 2r ulp).
+     * @param n количество элементов (неотрицательное целое)
+     * @param r количество выбираемых элементов (целое от 0 до n)
+     * @return C(n, r), NaN для недопустимых аргументов или бесконечность при переполнении
+     */
+    public static double combinations(double n, double r) {
+        if (n != Math.rint(n) || r != Math.rint(r) || r < 0 || r > n || Double.isInfinite(n)) {
+            return Double.NaN;
+        }
+        r = Math.min(r, n - r);
+        if (n <= Long.MAX_VALUE / 2) {
+            try {
+                return combinationsExact((long) n, (long) r);
+            } catch (ArithmeticException e) {
+                // Результат не помещается в long — вычисление в double
+            }
+        }
+        double result = 1;
+        for (double i = 1; i <= r && result < Double.POSITIVE_INFINITY; i++) {
+            result = result * (n - r + i) / i;
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает число сочетаний из n по r в long.
+     * @param n количество элементов (неотрицательное)
+     * @param r количество выбираемых элементов от 0 до n
+     * @return C(n, r)
+     * @throws ArithmeticException если результат или промежуточное произведение не помещается в long
+     * @throws IllegalArgumentException если r вне диапазона от 0 до n
+     */
+    static long combinationsExact(long n, long r) {
+        if (r < 0 || r > n) {
+            throw new IllegalArgumentException("Неверное число сочетаний: " + n + " по " + r);
+        }
+        r = Math.min(r, n - r);
+        long result = 1;
+        for (long i = 1; i <= r; i++) {
+            // result·(n - r + i) делится на i нацело: это i·C(n - r + i, i)
+            result = Math.multiplyExact(result, n - r + i) / i;
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает факториал в long.
+     * @param n число от 0 до 20
+     * @return n!
+     * @throws ArithmeticException если n! не помещается в long
+     * @throws IllegalArgumentException если n отрицательно
+     */
+    static long factorialExact(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Факториал отрицательного числа: " + n);
+        }
+        if (n > MAX_LONG_FACTORIAL) {
+            throw new ArithmeticException("Переполнение long");
+        }
+        return LONG_FACTORIALS[(int) n];
+    }
+
+    /**
+     * Возводит целое число в целую неотрицательную степень в long.
+     * @param base основание
+     * @param exponent неотрицательный показатель
+     * @return base^exponent
+     * @throws ArithmeticException если результат не помещается в long
+     * @throws IllegalArgumentException если показатель отрицателен
+     */
+    static long powExact(long base, long exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Отрицательный показатель: " + exponent);
+        }
+        if (base == 0 || base == 1 || exponent == 0) {
+            return exponent == 0 ? 1 : base;
+        }
+        if (base == -1) {
+            return (exponent & 1) == 0 ? 1 : -1;
+        }
+        long result = 1;
+        while (true) {
+            if ((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            base = Math.multiplyExact(base, base); // При |base| ≥ 2 показатель не больше 63, возведений — не больше 6
+        }
+    }
+
+    // Быстрые приближения (уровень FAST)
+
+    private static double fastSin(double x) {
+        if (Math.abs(x) < TINY) {
+            return x;
+        }
+        if (!(Math.abs(x) <= FAST_TRIG_LIMIT)) {
+            return Math.sin(x);
+        }
+        double n = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, n);
+        return switch ((int) n & 3) {
+            case 0 -> sinPolynomial(r);
+            case 1 -> cosPolynomial(r);
+            case 2 -> -sinPolynomial(r);
+            default -> -cosPolynomial(r);
+        };
+    }
+
+    private static double fastCos(double x) {
+        if (Math.abs(x) < TINY) {
+            return 1;
+        }
+        if (!(Math.abs(x) <= FAST_TRIG_LIMIT)) {
+            return Math.cos(x);
+        }
+        double n = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, n);
+        return switch ((int) n & 3) {
+            case 0 -> cosPolynomial(r);
+            case 1 -> -sinPolynomial(r);
+            case 2 -> -cosPolynomial(r);
+            default -> sinPolynomial(r);
+        };
+    }
+
+    private static double fastTan(double x) {
+        if (Math.abs(x) < TINY) {
+            return x;
+        }
+        if (!(Math.abs(x) <= FAST_TRIG_LIMIT)) {
+            return Math.tan(x);
+        }
+        double n = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, n);
+        double s = sinPolynomial(r);
+        double c = cosPolynomial(r);
+        return ((int) n & 1) == 0 ? s / c : -c / s;
+    }
+
+    /**
+     * Приводит аргумент к отрезку [-π/4, π/4]: x - n·π/2 (метод Коди — Уэйта).
+     */
+    private static double reduce(double x, double n) {
+        return ((x - n * PIO2_1) - n * PIO2_2) - n * PIO2_3;
+    }
+
+    private static double sinPolynomial(double r) {
+        double z = r * r;
+        return r + r * z * (S3 + z * (S5 + z * (S7 + z * (S9 + z * (S11 + z * (S13 + z * (S15 + z * S17)))))));
+    }
+
+    private static double cosPolynomial(double r) {
+        double z = r * r;
+        return 1 - 0.5 * z + z * z * (C4 + z * (C6 + z * (C8 + z * (C10 + z * (C12 + z * (C14 + z * C16))))));
+    }
+
+    private static double fastAtan(double x) {
+        double a = Math.abs(x);
+        boolean inverted = a > 1;
+        if (inverted) {
+            a = 1 / a; // atan x = π/2 - atan(1/x)
+        }
+        int k = (int) (a * 8 + 0.5);
+        double c = k * 0.125;
+        double t = (a - c) / (1 + a * c); // |t| ≤ 1/16
+        double z = t * t;
+        double p = t + t * z * (-1.0 / 3 + z * (1.0 / 5 + z * (-1.0 / 7 + z * (1.0 / 9
+                + z * (-1.0 / 11 + z * (1.0 / 13 + z * (-1.0 / 15)))))));
+        double result = ATAN_TABLE[k] + p;
+        if (inverted) {
+            result = PIO2_HI - (result - PIO2_LO);
+        }
+        return Math.copySign(result, x);
+    }
+
+    private static double fastAsin(double x) {
+        if (!(Math.abs(x) <= 1)) {
+            return Double.NaN;
+        }
+        if (Math.abs(x) < TINY) {
+            return x;
+        }
+        // (1 - x)(1 + x) вместо 1 - x² сохраняет точность около |x| = 1
+        return fastAtan(x / Math.sqrt((1 - x) * (1 + x)));
+    }
+
+    private static double fastAcos(double x) {
+        if (!(Math.abs(x) <= 1)) {
+            return Double.NaN;
+        }
+        return 2 * fastAtan(Math.sqrt((1 - x) / (1 + x)));
+    }
+
+    private static double fastExp(double x) {
+        if (!(Math.abs(x) <= EXP_LIMIT)) {
+            return Math.exp(x); // NaN, переполнение и денормализованные результаты
+        }
+        double k = Math.rint(x * INV_LN2_32);
+        int n = (int) k;
+        double r = (x - k * LN2_32_HI) - k * LN2_32_LO;
+        double p = 1 + r * (1 + r * (1.0 / 2 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120 + r * (1.0 / 720))))));
+        double scale = Double.longBitsToDouble((long) ((n >> 5) + 1023) << 52); // 2^(n/32), целая часть
+        return EXP2_TABLE[n & 31] * p * scale;
+    }
+
+    private static double fastLn(double x) {
+        if (!(x >= Double.MIN_NORMAL) || x == Double.POSITIVE_INFINITY) {
+            return Math.log(x); // NaN, ноль, отрицательные, денормализованные числа и бесконечность
+        }
+        long bits = Double.doubleToRawLongBits(x);
+        int e = (int) (bits >>> 52) - 1023;
+        double m = Double.longBitsToDouble(bits & 0x000FFFFFFFFFFFFFL | 0x3FF0000000000000L); // [1, 2)
+        if (m > SQRT2) {
+            m *= 0.5;
+            e++;
+        }
+        int j = (int) (m * 64 + 0.5);
+        double r = (m - j * (1.0 / 64)) * INV_TABLE[j]; // Разность точна (теорема Штербенца)
+        double log1p = r - r * r * (1.0 / 2 - r * (1.0 / 3 - r * (1.0 / 4 - r * (1.0 / 5
+                - r * (1.0 / 6 - r * (1.0 / 7 - r * (1.0 / 8)))))));
+        return e * LN2_HI + (LOG_TABLE[j] + (e * LN2_LO + log1p));
+    }
+
+    private static double fastPow(double x, double y) {
+        if (y == 0) {
+            return 1;
+        }
+        if (Double.isNaN(x) || Double.isNaN(y) || Double.isInfinite(x) || Double.isInfinite(y)) {
+            return Math.pow(x, y);
+        }
+        if (y == Math.rint(y) && Math.abs(y) <= MAX_FAST_POW_EXPONENT) {
+            // Целый показатель: возведение в квадрат и умножения
+            int n = (int) Math.abs(y);
+            double result = 1;
+            double base = x;
+            while (true) {
+                if ((n & 1) != 0) {
+                    result *= base;
+                }
+                n >>= 1;
+                if (n == 0) {
+                    break;
+                }
+                base *= base;
+            }
+            if (y < 0) {
+                result = 1 / result;
+            }
+            if (Math.abs(result) >= Double.MIN_NORMAL && Math.abs(result) <= Double.MAX_VALUE) {
+                return result;
+            }
+            return Math.pow(x, y); // Промежуточное переполнение или потеря значимости
+        }
+        if (x <= 0) {
+            return Math.pow(x, y);
+        }
+        double t = y * fastLn(x);
+        return Math.abs(t) <= FAST_POW_LIMIT ? fastExp(t) : Math.pow(x, y);
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.calculatorapp;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Компактный двоичный журнал сессий калькулятора (только добавление).
+ *
+ * <p>Формат файла: заголовок {@link #MAGIC}, затем записи. Каждая запись начинается с байта кода:</p>
+ * <ul>
+ *     <li>{@code 0x00–0x3F} — нажатие кнопки (код {@link Opcode}, сейчас до {@code 0x3B});</li>
+ *     <li>{@link #SESSION_START} — начало новой сессии (новая модель);</li>
+ *     <li>{@link #PROGRAMMER_START} — начало новой сессии режима программиста ({@link ProgrammerModel});</li>
+ *     <li>{@link #RESULT_LONG} — целый результат, zigzag-varint;</li>
+ *     <li>{@link #RESULT_DOUBLE} — дробный результат, 8 байт IEEE 754;</li>
+ *     <li>{@link #RESULT_TEXT} — сообщение об ошибке: длина (varint) и байты UTF-8;</li>
+ *     <li>{@link #PRECISION} — смена режима точности: точность контекста + 1 (varint, 0 — режим double)
+ *     и, для режима BigDecimal, байт {@link RoundingMode#ordinal()};</li>
+ *     <li>{@link #ACCURACY_TIER} — смена уровня точности функций: байт
+ *     {@link ScientificFunctions.AccuracyTier#ordinal()};</li>
+ *     <li>{@link #UNDO}, {@link #REDO} — отмена и повтор шага десятичной модели; шагами считаются нажатия
+ *     и смены режима точности, глубина отмены — {@link CalculatorStateStore#UNDO_LIMIT}.</li>
+ * </ul>
+ * Результат записывается после каждого нажатия «=», и после него буфер сбрасывается в файл,
+ * поэтому при аварийном завершении теряются только нажатия незавершенного вычисления.
+ */
+public class SessionJournal implements Closeable, Flushable {
+    /** Заголовок файла журнала. */
+    static final byte[] MAGIC = {'C', 'A', 'L', 'C', 'J', 'R', 'N', '1'};
+
+    static final int SESSION_START = 0x40; // Начало сессии
+    static final int RESULT_LONG = 0x41; // Целый результат
+    static final int RESULT_DOUBLE = 0x42; // Дробный результат
+    static final int RESULT_TEXT = 0x43; // Текстовый результат (ошибка)
+    static final int PROGRAMMER_START = 0x44; // Начало сессии режима программиста
+    static final int PRECISION = 0x45; // Смена режима точности
+    static final int ACCURACY_TIER = 0x46; // Смена уровня точности функций научного режима
+    static final int UNDO = 0x47; // Отмена шага
+    static final int REDO = 0x48; // Повтор отмененного шага
+    static final int MAX_TEXT_LENGTH = 255; // Максимальная длина текстового результата в байтах
+
+    private final FileChannel channel; // Канал файла журнала
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16); // Буфер записи
+
+    /**
+     * Открывает журнал для добавления записей и начинает новую сессию.
+     * @param path путь к файлу журнала (создается при отсутствии)
+     * @throws IOException при ошибке открытия или записи
+     */
+    public SessionJournal(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            buffer.put(MAGIC);
+        }
+        startSession();
+    }
+
+    /**
+     * Отмечает начало новой сессии.
+     * @throws IOException при ошибке записи
+     */
+    public void startSession() throws IOException {
+        ensure(1);
+        buffer.put((byte) SESSION_START);
+    }
+
+    /**
+     * Отмечает начало новой сессии режима программиста.
+     * @throws IOException при ошибке записи
+     */
+    public void startProgrammerSession() throws IOException {
+        ensure(1);
+        buffer.put((byte) PROGRAMMER_START);
+    }
+
+    /**
+     * Отмечает смену режима точности модели.
+     * @param mathContext контекст режима повышенной точности или null для режима double
+     * @throws IOException при ошибке записи
+     */
+    public void recordPrecision(MathContext mathContext) throws IOException {
+        ensure(12); // Код, varint до 10 байт и режим округления
+        buffer.put((byte) PRECISION);
+        writeVarint(buffer, mathContext == null ? 0 : mathContext.getPrecision() + 1L);
+        if (mathContext != null) {
+            buffer.put((byte) mathContext.getRoundingMode().ordinal());
+        }
+    }
+
+    /**
+     * Отмечает смену уровня точности функций научного режима.
+     * @param accuracyTier уровень точности
+     * @throws IOException при ошибке записи
+     */
+    public void recordAccuracyTier(ScientificFunctions.AccuracyTier accuracyTier) throws IOException {
+        ensure(2);
+        buffer.put((byte) ACCURACY_TIER);
+        buffer.put((byte) accuracyTier.ordinal());
+    }
+
+    /**
+     * Отмечает отмену шага.
+     * @throws IOException при ошибке записи
+     */
+    public void recordUndo() throws IOException {
+        ensure(1);
+        buffer.put((byte) UNDO);
+    }
+
+    /**
+     * Отмечает повтор отмененного шага.
+     * @throws IOException при ошибке записи
+     */
+    public void recordRedo() throws IOException {
+        ensure(1);
+        buffer.put((byte) REDO);
+    }
+
+    /**
+     * Читает контекст, записанный {@link #recordPrecision(MathContext)}.
+     * @param buffer буфер, позиция которого стоит сразу после кода записи
+     * @return контекст или null для режима double
+     */
+    static MathContext readPrecision(ByteBuffer buffer) {
+        long precision = readVarint(buffer);
+        if (precision == 0) {
+            return null;
+        }
+        return new MathContext((int) (precision - 1), RoundingMode.values()[buffer.get()]);
+    }
+
+    /**
+     * Записывает нажатие кнопки и, для «=», отображаемый результат.
+     * @param token текст кнопки
+     * @param value значение на дисплее после обработки кнопки
+     * @throws IOException при ошибке записи
+     */
+    public void record(String token, String value) throws IOException {
+        Opcode opcode = Opcode.fromText(token);
+        if (opcode != null) {
+            record(opcode, value);
+        }
+    }
+
+    /**
+     * Записывает нажатие кнопки и, для «=», отображаемый результат.
+     * @param opcode нажатая кнопка
+     * @param value значение на дисплее после обработки кнопки
+     * @throws IOException при ошибке записи
+     */
+    public void record(Opcode opcode, String value) throws IOException {
+        ensure(1);
+        buffer.put((byte) opcode.ordinal());
+        if (opcode == Opcode.EQUALS) {
+            recordResult(value);
+            flush(); // Завершенное вычисление сохраняется сразу
+        }
+    }
+
+    /**
+     * Записывает нажатие кнопки режима программиста и, для «=», целый результат без форматирования в текст.
+     * @param opcode нажатая кнопка
+     * @param value значение модели после обработки кнопки
+     * @throws IOException при ошибке записи
+     */
+    public void record(Opcode opcode, long value) throws IOException {
+        ensure(12); // Код, тип результата и varint до 10 байт
+        buffer.put((byte) opcode.ordinal());
+        if (opcode == Opcode.EQUALS) {
+            buffer.put((byte) RESULT_LONG);
+            writeVarint(buffer, (value << 1) ^ (value >> 63));
+            flush(); // Завершенное вычисление сохраняется сразу
+        }
+    }
+
+    /**
+     * Записывает отображаемый результат в компактной форме.
+     * @param value значение на дисплее
+     * @throws IOException при ошибке записи
+     */
+    private void recordResult(String value) throws IOException {
+        ensure(MAX_TEXT_LENGTH + 8);
+        if (isLong(value)) {
+            buffer.put((byte) RESULT_LONG);
+            long v = Long.parseLong(value);
+            writeVarint(buffer, (v << 1) ^ (v >> 63));
+            return;
+        }
+        try {
+            double v = Double.parseDouble(value);
+            buffer.put((byte) RESULT_DOUBLE);
+            buffer.putDouble(v);
+        } catch (NumberFormatException e) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, MAX_TEXT_LENGTH);
+            buffer.put((byte) RESULT_TEXT);
+            writeVarint(buffer, length);
+            buffer.put(bytes, 0, length);
+        }
+    }
+
+    /**
+     * Проверяет, является ли текст целым числом, помещающимся в long, без создания исключений.
+     */
+    static boolean isLong(String value) {
+        int start = value.startsWith("-") ? 1 : 0;
+        int length = value.length() - start;
+        if (length == 0 || length > 18) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Записывает беззнаковое число в формате varint (7 бит на байт).
+     */
+    static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Читает беззнаковое число в формате varint.
+     */
+    static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Обеспечивает наличие места в буфере, при необходимости сбрасывая его в файл.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Записывает накопленные данные в файл.
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Сбрасывает данные и закрывает файл журнала.
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.calculatorapp;
+
+import java.time.Instant;
+
+/**
+ * Замер времени запуска приложения.
+ * Отметки этапов ({@link #mark(String)}) отсчитываются от старта процесса JVM, а при недоступности
+ * времени старта — от первой отметки. Отчет выводится в stderr, если задано системное свойство
+ * {@code calculator.startupReport}.
+ */
+public final class StartupTimer {
+    private static final int MAX_MARKS = 16; // Максимальное количество отметок
+
+    private static final long originNanos = System.nanoTime() - processAgeNanos(); // Точка отсчета
+    private static final String[] names = new String[MAX_MARKS]; // Названия этапов
+    private static final long[] times = new long[MAX_MARKS]; // Время этапов в наносекундах
+    private static int count = 0; // Количество отметок
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Возвращает возраст текущего процесса в наносекундах или 0, если время старта неизвестно.
+     */
+    private static long processAgeNanos() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Math.max(0, (Instant.now().toEpochMilli() - start.toEpochMilli()) * 1_000_000L))
+                .orElse(0L);
+    }
+
+    /**
+     * Отмечает завершение этапа запуска. Повторные отметки после заполнения таблицы игнорируются.
+     * @param name название этапа
+     */
+    public static synchronized void mark(String name) {
+        if (count < MAX_MARKS) {
+            names[count] = name;
+            times[count] = System.nanoTime();
+            count++;
+        }
+    }
+
+    /**
+     * Проверяет, включен ли вывод отчета о запуске.
+     * @return true, если задано свойство calculator.startupReport
+     */
+    public static boolean isReportEnabled() {
+        return System.getProperty("calculator.startupReport") != null;
+    }
+
+    /**
+     * Формирует отчет: время каждого этапа от старта JVM и от предыдущего этапа.
+     * @return текст отчета
+     */
+    public static synchronized String report() {
+        StringBuilder report = new StringBuilder("Запуск калькулятора:");
+        long previous = originNanos;
+        for (int i = 0; i < count; i++) {
+            report.append(String.format("%n  %-24s %8.1f мс (+%.1f мс)", names[i],
+                    (times[i] - originNanos) / 1e6, (times[i] - previous) / 1e6));
+            previous = times[i];
+        }
+        return report.toString();
+    }
+
+    /**
+     * Выводит отчет в stderr, если он включен свойством calculator.startupReport.
+     */
+    public static void printReportIfEnabled() {
+        if (isReportEnabled()) {
+            System.err.println(report());
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.calculatorapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Потоковый (headless) конвейер вычислений для файлов произвольного размера:
+ * чтение канала NIO → разбиение на порции по границам строк → параллельные вычислители → упорядоченная запись.
+ * Каждой входной строке соответствует одна строка вывода, порядок строк сохраняется.
+ *
+ * <p>Память постоянна: конвейер владеет фиксированным набором порций ({@code 2 × вычислители + 2}),
+ * которые передаются по ограниченным очередям и возвращаются в пул после записи. Когда все порции
+ * в работе, чтение ждет записи (обратное давление). Буфер порции растет только для строк длиннее порции.</p>
+ *
+ * <p>Форматы строк ({@link Mode}): последовательность кнопок, как в {@link BatchEvaluator};
+ * CSV-строка {@code число,оператор[,число]}; инфиксное выражение ({@link ExpressionCompiler}).
+ * Вычисления и сообщения об ошибках — те же, что у {@link CalculatorModel}.</p>
+ */
+public class StreamingEvaluator {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20; // Размер порции по умолчанию (байт)
+
+    /**
+     * Формат входных строк.
+     */
+    public enum Mode {
+        /** Кнопки калькулятора через пробел ({@code 7 + 3 =}); каждая строка — новая сессия. */
+        TOKENS,
+        /** Операнды и оператор через запятую: {@code 7,+,3} или {@code 9,√x} для унарных операторов. */
+        CSV,
+        /** Инфиксное выражение без переменных ({@code (7 + 3) * sin(1)}). */
+        EXPR
+    }
+
+    /**
+     * Порция входных данных (целые строки) и результатов ее вычисления.
+     */
+    private static final class Chunk {
+        long sequence; // Порядковый номер порции
+        byte[] input; // Входные строки
+        int inputLength; // Длина входных данных
+        byte[] output; // Результаты, по строке на входную строку
+        int outputLength; // Длина результатов
+        int lines; // Количество строк порции
+
+        Chunk(int size) {
+            input = new byte[size];
+            output = new byte[size];
+        }
+    }
+
+    private final Mode mode; // Формат входных строк
+    private final int workers; // Количество вычислителей
+    private final int chunkSize; // Размер порции
+    private long lineCount = 0; // Количество обработанных строк
+
+    /**
+     * Конструктор с размером порции по умолчанию и вычислителем на каждое ядро.
+     * @param mode формат входных строк
+     */
+    public StreamingEvaluator(Mode mode) {
+        this(mode, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Конструктор.
+     * @param mode формат входных строк
+     * @param workers количество потоков-вычислителей
+     * @param chunkSize размер порции в байтах
+     */
+    public StreamingEvaluator(Mode mode, int workers, int chunkSize) {
+        if (workers <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Количество вычислителей и размер порции должны быть положительными");
+        }
+        this.mode = mode;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Читает строки из канала, вычисляет их параллельно и записывает результаты в исходном порядке.
+     * Чтение выполняется в вызывающем потоке.
+     * @param in источник строк (UTF-8)
+     * @param out приемник результатов
+     * @throws IOException при ошибке чтения или записи
+     */
+    public void run(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        int capacity = 2 * workers + 2;
+        BlockingQueue<Chunk> pool = new ArrayBlockingQueue<>(capacity); // Свободные порции
+        BlockingQueue<Chunk> work = new ArrayBlockingQueue<>(capacity + workers); // Порции для вычисления
+        BlockingQueue<Chunk> done = new ArrayBlockingQueue<>(capacity + 1); // Вычисленные порции
+        for (int i = 0; i < capacity; i++) {
+            pool.add(new Chunk(chunkSize));
+        }
+        Chunk end = new Chunk(0); // Маркер конца данных; номер — общее количество порций
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = Thread.currentThread();
+        Thread[] threads = new Thread[workers + 1];
+        for (int i = 0; i < workers; i++) {
+            threads[i] = new Thread(() -> compute(work, done, end, failure, reader), "calc-stream-worker-" + i);
+        }
+        long[] written = new long[1];
+        threads[workers] = new Thread(() -> written[0] = write(out, done, pool, end, capacity, failure, reader),
+                "calc-stream-writer");
+        for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try {
+            end.sequence = read(in, pool, work);
+            for (int i = 0; i < workers; i++) {
+                work.put(end);
+            }
+            done.put(end); // Писатель узнает общее количество порций
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException | IOException e) {
+            // Ошибка чтения или остановка другим потоком (прерванный канал бросает ClosedByInterruptException)
+            Thread.interrupted();
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Throwable cause = failure.get();
+            if (cause == null && e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw new IOException("Конвейер остановлен: " + (cause != null ? cause.getMessage() : "прерван"),
+                    cause != null ? cause : e);
+        }
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IOException("Конвейер остановлен: " + cause.getMessage(), cause);
+        }
+        lineCount += written[0];
+    }
+
+    /**
+     * Читает канал в порции, заканчивающиеся на границе строки. Неполная последняя строка порции
+     * переносится в начало следующей.
+     * @return количество отправленных порций
+     */
+    private long read(ReadableByteChannel in, BlockingQueue<Chunk> pool, BlockingQueue<Chunk> work)
+            throws IOException, InterruptedException {
+        byte[] carry = new byte[chunkSize]; // Неполная строка предыдущей порции
+        int carryLength = 0;
+        long sequence = 0;
+        boolean eof = false;
+        while (!eof) {
+            Chunk chunk = pool.take(); // Ожидание свободной порции — обратное давление
+            if (chunk.input.length < Math.max(chunkSize, carryLength)) {
+                chunk.input = new byte[Math.max(chunkSize, carryLength * 2)];
+            }
+            System.arraycopy(carry, 0, chunk.input, 0, carryLength);
+            int length = carryLength;
+            int lineEnd = -1; // Позиция после последнего перевода строки
+            while (lineEnd < 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(chunk.input, length, chunk.input.length - length);
+                while (buffer.hasRemaining()) {
+                    if (in.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                int start = length;
+                length = buffer.position();
+                if (eof) {
+                    lineEnd = length; // Последняя строка может не заканчиваться переводом строки
+                    break;
+                }
+                for (int i = length - 1; i >= start; i--) {
+                    if (chunk.input[i] == '\n') {
+                        lineEnd = i + 1;
+                        break;
+                    }
+                }
+                if (lineEnd < 0) {
+                    chunk.input = Arrays.copyOf(chunk.input, chunk.input.length * 2); // Строка длиннее порции
+                }
+            }
+            carryLength = length - lineEnd;
+            if (carry.length < carryLength) {
+                carry = new byte[carryLength];
+            }
+            System.arraycopy(chunk.input, lineEnd, carry, 0, carryLength);
+            if (lineEnd == 0) {
+                pool.put(chunk); // Пустой конец входных данных
+                break;
+            }
+            chunk.inputLength = lineEnd;
+            chunk.sequence = sequence++;
+            work.put(chunk);
+        }
+        return sequence;
+    }
+
+    /**
+     * Цикл вычислителя: берет порции, вычисляет каждую строку и передает результаты писателю.
+     */
+    private void compute(BlockingQueue<Chunk> work, BlockingQueue<Chunk> done, Chunk end,
+                         AtomicReference<Throwable> failure, Thread reader) {
+        LineEvaluator evaluator = newEvaluator(mode);
+        try {
+            while (true) {
+                Chunk chunk = work.take();
+                if (chunk == end) {
+                    return;
+                }
+                evaluate(chunk, evaluator);
+                done.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            // Конвейер остановлен
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            reader.interrupt();
+        }
+    }
+
+    /**
+     * Вычисляет все строки порции и записывает результаты в ее выходной буфер.
+     */
+    private static void evaluate(Chunk chunk, LineEvaluator evaluator) {
+        byte[] input = chunk.input;
+        int end = chunk.inputLength;
+        chunk.outputLength = 0;
+        chunk.lines = 0;
+        int start = 0;
+        while (start < end) {
+            int lineEnd = start;
+            while (lineEnd < end && input[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int length = lineEnd - start;
+            if (length > 0 && input[lineEnd - 1] == '\r') {
+                length--;
+            }
+            String line = new String(input, start, length, StandardCharsets.UTF_8);
+            appendLine(chunk, evaluator.evaluate(line));
+            chunk.lines++;
+            start = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Добавляет строку результата в выходной буфер порции (символы ASCII — без кодировщика).
+     */
+    private static void appendLine(Chunk chunk, String value) {
+        int length = value.length();
+        ensureOutput(chunk, length * 3 + 1);
+        byte[] output = chunk.output;
+        int position = chunk.outputLength;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(bytes, 0, output, chunk.outputLength, bytes.length);
+                position = chunk.outputLength + bytes.length;
+                break;
+            }
+            output[position++] = (byte) c;
+        }
+        output[position++] = '\n';
+        chunk.outputLength = position;
+    }
+
+    private static void ensureOutput(Chunk chunk, int bytes) {
+        if (chunk.output.length - chunk.outputLength < bytes) {
+            chunk.output = Arrays.copyOf(chunk.output, Math.max(chunk.output.length * 2, chunk.outputLength + bytes));
+        }
+    }
+
+    /**
+     * Цикл писателя: записывает порции строго по порядку номеров и возвращает их в пул.
+     * Номера порций в работе отличаются меньше чем на {@code capacity}, поэтому для переупорядочивания
+     * достаточно кольцевого массива из {@code capacity} ячеек.
+     * @return количество записанных строк
+     */
+    private static long write(WritableByteChannel out, BlockingQueue<Chunk> done, BlockingQueue<Chunk> pool,
+                              Chunk end, int capacity, AtomicReference<Throwable> failure, Thread reader) {
+        Chunk[] pending = new Chunk[capacity];
+        long next = 0;
+        long total = Long.MAX_VALUE;
+        long lines = 0;
+        try {
+            while (next < total) {
+                Chunk chunk = done.take();
+                if (chunk == end) {
+                    total = chunk.sequence;
+                    continue;
+                }
+                pending[(int) (chunk.sequence % capacity)] = chunk;
+                Chunk ready;
+                while ((ready = pending[(int) (next % capacity)]) != null && ready.sequence == next) {
+                    pending[(int) (next % capacity)] = null;
+                    ByteBuffer buffer = ByteBuffer.wrap(ready.output, 0, ready.outputLength);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    lines += ready.lines;
+                    next++;
+                    pool.put(ready);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Конвейер остановлен
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+            reader.interrupt();
+        }
+        return lines;
+    }
+
+    /**
+     * Вычислитель одной строки. Экземпляр используется одним потоком.
+     */
+    private interface LineEvaluator {
+        String evaluate(String line);
+    }
+
+    /**
+     * Создает вычислитель строк для формата.
+     * @param mode формат входных строк
+     * @return вычислитель
+     */
+    private static LineEvaluator newEvaluator(Mode mode) {
+        return switch (mode) {
+            case TOKENS -> BatchEvaluator::evaluateSession;
+            case CSV -> new CsvEvaluator();
+            case EXPR -> new ExpressionEvaluator();
+        };
+    }
+
+    /**
+     * Вычисление строк {@code число,оператор[,число]} на одной переиспользуемой модели.
+     */
+    private static final class CsvEvaluator implements LineEvaluator {
+        private final CalculatorModel model = new CalculatorModel(); // Модель потока-вычислителя
+
+        @Override
+        public String evaluate(String line) {
+            if (line.isBlank()) {
+                return "";
+            }
+            int first = line.indexOf(',');
+            int second = first < 0 ? -1 : line.indexOf(',', first + 1);
+            Opcode operator = first < 0 ? null
+                    : Opcode.fromText(line.substring(first + 1, second < 0 ? line.length() : second).trim());
+            if (operator == null || !operator.isOperator() || operator.isUnaryOperator() != (second < 0)) {
+                return "Ошибка: неизвестный оператор";
+            }
+            model.clear();
+            model.appendNumber(line.substring(0, first).trim());
+            InputProcessor.process(model, operator);
+            if (second >= 0) {
+                model.appendNumber(line.substring(second + 1).trim());
+            }
+            return InputProcessor.process(model, Opcode.EQUALS);
+        }
+    }
+
+    /**
+     * Вычисление инфиксных выражений без переменных.
+     */
+    private static final class ExpressionEvaluator implements LineEvaluator {
+        private final char[] buffer = new char[32]; // Буфер форматирования результата
+
+        @Override
+        public String evaluate(String line) {
+            if (line.isBlank()) {
+                return "";
+            }
+            try {
+                double value = ExpressionCompiler.compile(line, List.of()).evaluate(new double[0]);
+                // Недопустимые результаты выводятся сообщениями модели, как в FormulaSheet
+                if (Double.isNaN(value)) {
+                    return "Ошибка: недопустимый аргумент";
+                }
+                if (Double.isInfinite(value)) {
+                    return "Ошибка: переполнение";
+                }
+                return new String(buffer, 0, NumberFormatter.formatDouble(value, buffer, 0));
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+    }
+
+    /**
+     * Возвращает количество обработанных строк.
+     * @return количество строк
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Точка входа потокового режима.
+     * Использование: {@code StreamingEvaluator [--mode tokens|csv|expr] [--workers N] [входной файл|-] [выходной файл]}.
+     * @param args аргументы командной строки
+     * @throws IOException при ошибке чтения или записи
+     */
+    public static void main(String[] args) throws IOException {
+        Mode mode = Mode.TOKENS;
+        int workers = Runtime.getRuntime().availableProcessors();
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--mode" -> mode = Mode.valueOf(args[++i].toUpperCase());
+                case "--workers" -> workers = Integer.parseInt(args[++i]);
+                default -> files.add(args[i]);
+            }
+        }
+        String input = files.isEmpty() ? "-" : files.get(0);
+        String output = files.size() > 1 ? files.get(1) : null;
+        ReadableByteChannel in = input.equals("-")
+                ? Channels.newChannel(System.in)
+                : FileChannel.open(Path.of(input), StandardOpenOption.READ);
+        WritableByteChannel out = output != null
+                ? FileChannel.open(Path.of(output), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)
+                : Channels.newChannel(System.out);
+
+        StreamingEvaluator evaluator = new StreamingEvaluator(mode, workers, DEFAULT_CHUNK_SIZE);
+        long start = System.nanoTime();
+        try (in; out) {
+            evaluator.run(in, out);
+        }
+        System.out.flush();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("Строк: %d, время: %.3f с, скорость: %.0f строк/с%n",
+                evaluator.getLineCount(), seconds, evaluator.getLineCount() / seconds);
+    }
+}
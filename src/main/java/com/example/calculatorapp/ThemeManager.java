@@ -0,0 +1,153 @@
+package com.example.calculatorapp;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.util.List;
+
+/**
+ * Управление темами оформления.
+ * Все файлы тем подключаются к корню один раз и разбираются при первом применении стилей;
+ * правила каждой темы ограничены стилевым классом темы (например, {@code .theme-dark .button}).
+ * Переключение темы — замена одного стилевого класса на корне, без повторного разбора CSS.
+ * Задержка переключения (от замены класса до завершения стилизации и компоновки на ближайшем кадре)
+ * замеряется и доступна через {@link #getLastSwitchNanos()} и {@link #getMaxSwitchNanos()}.
+ */
+public class ThemeManager {
+
+    /**
+     * Доступные темы: файл стилей и стилевой класс корня.
+     */
+    public enum Theme {
+        DEFAULT("style.css", "theme-default"),
+        DARK("dark.css", "theme-dark"),
+        LIGHT("light.css", "theme-light"),
+        GAMER("gamer.css", "theme-gamer");
+
+        private final String file; // Имя файла CSS
+        private final String styleClass; // Стилевой класс корня
+
+        Theme(String file, String styleClass) {
+            this.file = file;
+            this.styleClass = styleClass;
+        }
+
+        /**
+         * Возвращает имя файла CSS темы.
+         * @return имя файла
+         */
+        public String getFile() {
+            return file;
+        }
+
+        /**
+         * Возвращает стилевой класс темы.
+         * @return стилевой класс
+         */
+        public String getStyleClass() {
+            return styleClass;
+        }
+
+        /**
+         * Находит тему по имени файла CSS.
+         * @param file имя файла (например, {@code dark.css})
+         * @return тема
+         * @throws IllegalArgumentException если темы с таким файлом нет
+         */
+        public static Theme fromFile(String file) {
+            for (Theme theme : values()) {
+                if (theme.file.equals(file)) {
+                    return theme;
+                }
+            }
+            throw new IllegalArgumentException("Неизвестная тема: " + file);
+        }
+    }
+
+    private final Parent root; // Корень, к которому применяются темы
+    private Theme theme; // Текущая тема
+    private long switchStart = 0; // Время начала незавершенного переключения (0 — переключения нет)
+    private long lastSwitchNanos = 0; // Задержка последнего переключения
+    private long maxSwitchNanos = 0; // Максимальная задержка переключения
+    private Scene listenedScene; // Сцена, к которой подключен слушатель кадров
+
+    // Завершение замера: вызывается после компоновки на каждом кадре и срабатывает только после переключения
+    private final Runnable switchListener = () -> {
+        if (switchStart != 0) {
+            lastSwitchNanos = System.nanoTime() - switchStart;
+            maxSwitchNanos = Math.max(maxSwitchNanos, lastSwitchNanos);
+            switchStart = 0;
+        }
+    };
+
+    /**
+     * Подключает к корню файлы всех тем и применяет тему по умолчанию.
+     * @param root корень интерфейса калькулятора
+     */
+    public ThemeManager(Parent root) {
+        this.root = root;
+        List<String> stylesheets = root.getStylesheets();
+        for (Theme theme : Theme.values()) {
+            stylesheets.add(getClass().getResource("/com/example/calculatorapp/" + theme.file).toExternalForm());
+        }
+        this.theme = Theme.DEFAULT;
+        root.getStyleClass().add(theme.styleClass);
+    }
+
+    /**
+     * Применяет тему заменой стилевого класса корня. Должен вызываться в потоке JavaFX.
+     * @param theme новая тема
+     */
+    public void apply(Theme theme) {
+        if (theme == this.theme) {
+            return;
+        }
+        List<String> styleClasses = root.getStyleClass();
+        int index = styleClasses.indexOf(this.theme.styleClass);
+        if (index >= 0) {
+            styleClasses.set(index, theme.styleClass); // Одно изменение списка — одна повторная стилизация
+        } else {
+            styleClasses.add(theme.styleClass);
+        }
+        this.theme = theme;
+
+        Scene scene = root.getScene();
+        if (scene != listenedScene) {
+            // Слушатель подключается один раз: изменять список слушателей во время кадра нельзя
+            if (listenedScene != null) {
+                listenedScene.removePostLayoutPulseListener(switchListener);
+            }
+            if (scene != null) {
+                scene.addPostLayoutPulseListener(switchListener);
+            }
+            listenedScene = scene;
+        }
+        if (scene != null && switchStart == 0) {
+            switchStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Возвращает текущую тему.
+     * @return тема
+     */
+    public Theme getTheme() {
+        return theme;
+    }
+
+    /**
+     * Возвращает задержку последнего переключения темы.
+     * @return задержка в наносекундах или 0, если переключений еще не было
+     */
+    public long getLastSwitchNanos() {
+        return lastSwitchNanos;
+    }
+
+    /**
+     * Возвращает максимальную задержку переключения темы.
+     * @return задержка в наносекундах
+     */
+    public long getMaxSwitchNanos() {
+        return maxSwitchNanos;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.calculatorapp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: обработка одного токена моделью. Длительность события — время работы модели.
+ * Записывается, только если включены метрики контроллера (свойство calculator.metrics)
+ * и событие включено в настройках записи JFR.
+ */
+@Name("com.example.calculatorapp.Token")
+@Label("Обработка токена")
+@Description("Применение одного токена ввода к модели калькулятора")
+@Category("Калькулятор")
+@StackTrace(false)
+public class TokenEvent extends Event {
+    @Label("Токен")
+    String token;
+
+    @Label("Тип токена")
+    String type;
+
+    @Label("Ошибка")
+    @Description("Сообщение об ошибке, если токен перевел модель в состояние ошибки")
+    String error;
+}
@@ -0,0 +1,29 @@
+package com.example.calculatorapp;
+
+import java.util.List;
+
+/**
+ * Пользовательская функция, например {@code f(x) = x^2 + rate*x}.
+ * Тело подставляется в место вызова при компиляции ({@link ExpressionCompiler}).
+ *
+ * @param name имя функции
+ * @param parameters имена параметров в порядке аргументов
+ * @param body текст тела функции
+ */
+public record UserFunction(String name, List<String> parameters, String body) {
+
+    /**
+     * Проверяет и копирует параметры.
+     */
+    public UserFunction {
+        parameters = List.copyOf(parameters);
+        if (parameters.stream().distinct().count() != parameters.size()) {
+            throw new IllegalArgumentException("Ошибка: повторяющиеся параметры функции " + name);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + String.join(", ", parameters) + ") = " + body;
+    }
+}
@@ -1,6 +1,9 @@
 module com.example.calculatorapp {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
 
 
     opens com.example.calculatorapp to javafx.fxml;
@@ -0,0 +1,86 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты агрегатных операций: произведение без промежуточного переполнения, согласованность сводки
+ * и независимость от пула.
+ */
+class AggregatesTest {
+
+    @Test
+    void productDoesNotOverflowOnLargeOperands() {
+        assertEquals(0x1p400, Aggregates.product(new double[]{0x1p400, 0x1p1000, 0x1p-1000}));
+        assertEquals(0x1p-400, Aggregates.product(new double[]{0x1p-400, 0x1p-1000, 0x1p1000}));
+        double product = Aggregates.product(new double[]{1.9, 1.7e308, 1e-300});
+        assertTrue(Double.isFinite(product), "Произведение: " + product);
+        assertEquals(1.9 * 1.7e8, product, 1.9 * 1.7e8 * 1e-15);
+    }
+
+    @Test
+    void productKeepsZeroInfinityAndNaN() {
+        assertEquals(0.0, Aggregates.product(new double[]{0x1p1000, 0, 0x1p1000}));
+        assertEquals(Double.POSITIVE_INFINITY, Aggregates.product(new double[]{0x1p-1000, Double.POSITIVE_INFINITY, 2}));
+        assertTrue(Double.isNaN(Aggregates.product(new double[]{1, Double.NaN, 0x1p1000})));
+        assertEquals(Double.POSITIVE_INFINITY, Aggregates.product(new double[]{0x1p1000, 0x1p1000}));
+        assertEquals(Double.MIN_VALUE, Aggregates.product(new double[]{Double.MIN_VALUE, 0x1p1000, 0x1p-1000}));
+    }
+
+    @Test
+    void productIsIdenticalForAnyPoolSize() {
+        SplittableRandom random = new SplittableRandom(23);
+        double[] values = new double[50 * Aggregates.BLOCK_SIZE + 123];
+        for (int i = 0; i < values.length; i++) {
+            if (i % 2 == 0) {
+                // Порядки операндов от 2^-1000 до 2^1000, знак — случайный
+                values[i] = Math.scalb(random.nextDouble(1, 2), random.nextInt(-1000, 1001)) * (random.nextBoolean() ? 1 : -1);
+            } else {
+                // Порядки пар почти сокращаются, поэтому произведение остается в диапазоне double
+                values[i] = 1 / values[i - 1] * random.nextDouble(0.999, 1.001);
+            }
+        }
+        double expected = Double.NaN;
+        for (int parallelism : new int[]{1, 2, 3, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                double product = Aggregates.product(values, pool);
+                if (parallelism == 1) {
+                    expected = product;
+                    assertTrue(expected != 0 && Double.isFinite(expected), "Произведение: " + expected);
+                }
+                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(product),
+                        "Пул из " + parallelism + " потоков: " + product + " вместо " + expected);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void summaryMeanMatchesMean() {
+        SplittableRandom random = new SplittableRandom(23);
+        double[] values = new double[20 * Aggregates.BLOCK_SIZE + 45];
+        for (int i = 0; i < values.length; i++) {
+            // Большие слагаемые почти сокращаются, поэтому среднее по формуле Чана отличается от точного
+            values[i] = (i % 2 == 0 ? 1e16 : -1e16) + random.nextDouble(-1, 1);
+        }
+        for (int parallelism : new int[]{1, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                Aggregates.Summary summary = Aggregates.summarize(values, pool);
+                assertEquals(Aggregates.sum(values, pool), summary.sum());
+                assertEquals(Aggregates.mean(values, pool), summary.mean(), "Пул из " + parallelism + " потоков");
+                assertEquals(values.length, summary.count());
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertEquals(2.5, Aggregates.summarize(new double[]{1, 2, 3, 4}).mean());
+    }
+}
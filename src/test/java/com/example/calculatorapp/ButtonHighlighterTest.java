@@ -0,0 +1,102 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты подсветки кнопок. {@link ButtonHighlighter} требует запущенного JavaFX, поэтому проверяется
+ * его расписание {@link HighlightSchedule} с виртуальными часами: нажатия и импульсы таймера
+ * обрабатываются так же, как в подсветке, но кнопки заменены простыми объектами.
+ */
+class ButtonHighlighterTest {
+    private static final long EVENT_NANOS = 100_000L; // 10 000 нажатий в секунду
+    private static final long PULSE_NANOS = 16_666_667L; // Импульс JavaFX (60 Гц)
+
+    /** Кнопка с эффектом подсветки. */
+    private static final class Key {
+        boolean lit; // Включена ли подсветка
+        long lastPress; // Время последнего нажатия
+    }
+
+    @Test
+    void tenThousandEventsPerSecondAreAllReset() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long threadsBefore = threads.getTotalStartedThreadCount();
+
+        Key[] keys = new Key[24];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Key();
+        }
+        HighlightSchedule<Key> schedule = new HighlightSchedule<>(ButtonHighlighter.HIGHLIGHT_NANOS);
+        int[] resets = new int[1];
+        int lights = 0;
+        boolean running = false; // Запущен ли таймер
+        Random random = new Random(11);
+
+        long now = 0;
+        long nextPulse = PULSE_NANOS;
+        long end = 3_000_000_000L; // Три секунды нажатий
+        for (; now < end; now += EVENT_NANOS) {
+            while (running && nextPulse <= now) {
+                running = pulse(schedule, keys, nextPulse, resets);
+                nextPulse += PULSE_NANOS;
+            }
+            // Половина нажатий — автоповтор одной кнопки, остальные — случайные кнопки
+            Key key = keys[random.nextBoolean() ? 0 : random.nextInt(keys.length)];
+            key.lastPress = now;
+            if (schedule.add(key, now)) {
+                assertFalse(key.lit, "Повторное включение подсветки");
+                key.lit = true;
+                lights++;
+                if (!running) {
+                    running = true;
+                    nextPulse = now + PULSE_NANOS;
+                }
+            }
+        }
+        // После последнего нажатия таймер работает, пока не снимет всю подсветку
+        long lastPress = now - EVENT_NANOS;
+        while (running) {
+            running = pulse(schedule, keys, nextPulse, resets);
+            nextPulse += PULSE_NANOS;
+        }
+
+        assertTrue(nextPulse - PULSE_NANOS <= lastPress + ButtonHighlighter.HIGHLIGHT_NANOS + PULSE_NANOS,
+                "Таймер остановлен слишком поздно");
+        assertEquals(0, schedule.size());
+        assertEquals(lights, resets[0]);
+        for (Key key : keys) {
+            assertFalse(key.lit);
+        }
+        assertEquals(threadsBefore, threads.getTotalStartedThreadCount(), "Подсветка создала потоки");
+    }
+
+    /**
+     * Импульс таймера: снимает истекшую подсветку и проверяет, что остальные кнопки подсвечены не дольше срока.
+     * @return true, если таймер должен продолжать работу
+     */
+    private static boolean pulse(HighlightSchedule<Key> schedule, Key[] keys, long now, int[] resets) {
+        int active = schedule.expire(now, key -> {
+            assertTrue(key.lit, "Снятие подсветки с неподсвеченной кнопки");
+            assertTrue(key.lastPress + ButtonHighlighter.HIGHLIGHT_NANOS <= now, "Подсветка снята раньше срока");
+            key.lit = false;
+            resets[0]++;
+        });
+        int lit = 0;
+        for (Key key : keys) {
+            if (key.lit) {
+                assertTrue(key.lastPress + ButtonHighlighter.HIGHLIGHT_NANOS > now, "Подсветка не снята после срока");
+                lit++;
+            }
+        }
+        assertEquals(lit, active);
+        return active > 0;
+    }
+}
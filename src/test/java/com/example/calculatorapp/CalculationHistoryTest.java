@@ -0,0 +1,123 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты истории вычислений: кольцевой буфер, вытеснение в файл и выражение модели с подключенной историей.
+ */
+class CalculationHistoryTest {
+
+    private static void press(CalculatorModel model, String keys) {
+        for (Opcode opcode : InputProcessor.tokenize(keys)) {
+            InputProcessor.process(model, opcode);
+        }
+    }
+
+    @Test
+    void ringBufferKeepsLatestEntries() {
+        CalculationHistory history = new CalculationHistory(3);
+        for (int i = 0; i < 10; i++) {
+            history.add("e" + i);
+            assertEquals(Math.min(i + 1, 3), history.size());
+            assertEquals("e" + i, history.get(history.size() - 1));
+        }
+        assertEquals("e7", history.get(0));
+        assertEquals("e8", history.get(1));
+        assertEquals("e9", history.get(2));
+        assertEquals(10, history.getTotalCount());
+        assertEquals(0, history.getSpilledCount()); // Без файла вытесненные записи отбрасываются
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(3));
+
+        history.clear();
+        assertEquals(0, history.size());
+        history.add("e10");
+        assertEquals("e10", history.get(0));
+        assertEquals(11, history.getTotalCount());
+    }
+
+    @Test
+    void evictedEntriesAreSpilledInOrder() throws IOException {
+        Path spill = Files.createTempFile("history", ".txt");
+        try {
+            try (CalculationHistory history = new CalculationHistory(3, spill)) {
+                for (int i = 0; i < 10; i++) {
+                    history.add("e" + i);
+                }
+                assertEquals(7, history.getSpilledCount());
+            }
+            assertEquals(List.of("e0", "e1", "e2", "e3", "e4", "e5", "e6"), Files.readAllLines(spill));
+
+            // Новая история дописывает файл
+            try (CalculationHistory history = new CalculationHistory(1, spill)) {
+                history.add("a");
+                history.add("b");
+            }
+            assertEquals(List.of("e0", "e1", "e2", "e3", "e4", "e5", "e6", "a"), Files.readAllLines(spill));
+        } finally {
+            Files.deleteIfExists(spill);
+        }
+    }
+
+    @Test
+    void spillFailureKeepsHistoryInMemory() throws IOException {
+        Path directory = Files.createTempDirectory("history");
+        try (CalculationHistory history = new CalculationHistory(2, directory)) {
+            for (int i = 0; i < 5; i++) {
+                history.add("e" + i);
+            }
+            assertEquals(0, history.getSpilledCount());
+            assertEquals("e3", history.get(0));
+            assertEquals("e4", history.get(1));
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    void completedCalculationStaysInExpression() {
+        CalculationHistory history = new CalculationHistory(4);
+        CalculatorModel model = new CalculatorModel();
+        model.setHistory(history);
+
+        press(model, "12+3=");
+        assertEquals("12 + 3 = 15", model.getCurrentExpression());
+        assertEquals("12 + 3 = 15", history.get(0));
+        // Продолжение начинается с результата
+        press(model, "*2");
+        assertEquals("15 * 2", model.getCurrentExpression());
+        press(model, "=");
+        assertEquals("15 * 2 = 30", model.getCurrentExpression());
+        // Новое число начинает новое выражение
+        press(model, "7-");
+        assertEquals("7 - ", model.getCurrentExpression());
+        press(model, "2+");
+        assertEquals("5 + ", model.getCurrentExpression());
+        assertEquals("7 - 2 = 5", history.get(history.size() - 1));
+        assertEquals(3, history.getTotalCount());
+    }
+
+    @Test
+    void chainedOperationsDoNotGrowExpression() {
+        CalculationHistory history = new CalculationHistory(16);
+        CalculatorModel model = new CalculatorModel();
+        model.setHistory(history);
+        press(model, "1");
+        for (int i = 0; i < 10_000; i++) {
+            press(model, "+1");
+            assertTrue(model.getCurrentExpression().length() < 20, model.getCurrentExpression());
+        }
+        press(model, "=");
+        assertEquals("10000 + 1 = 10001", model.getCurrentExpression());
+        assertEquals(16, history.size());
+        assertEquals(10_000, history.getTotalCount());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты модели калькулятора: ввод числа с кнопок и вычисления над введенными числами.
+ */
+class CalculatorModelTest {
+    private static final Opcode[] KEYSTROKES = {
+            Opcode.DIGIT_1, Opcode.DIGIT_2, Opcode.POINT, Opcode.DIGIT_5, Opcode.TOGGLE_SIGN,
+            Opcode.BACKSPACE, Opcode.DIGIT_7, Opcode.TOGGLE_SIGN, Opcode.CLEAR_ENTRY
+    };
+
+    /**
+     * Применяет кнопки к модели так же, как контроллер, и возвращает отображаемое значение.
+     */
+    private static String press(CalculatorModel model, Opcode... opcodes) {
+        String value = "";
+        for (Opcode opcode : opcodes) {
+            value = InputProcessor.process(model, opcode);
+        }
+        return value;
+    }
+
+    /**
+     * Нажимает кнопки ввода числа, не запрашивая отображаемое значение.
+     */
+    private static void type(CalculatorModel model, int repetitions) {
+        for (int i = 0; i < repetitions; i++) {
+            for (Opcode opcode : KEYSTROKES) {
+                switch (opcode) {
+                    case TOGGLE_SIGN -> model.toggleSign();
+                    case BACKSPACE -> model.backspace();
+                    case CLEAR_ENTRY -> model.clearEntry();
+                    default -> model.appendNumber(opcode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void keystrokesDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        CalculatorModel model = new CalculatorModel();
+        model.clear();
+        type(model, 20_000); // Прогрев, чтобы измерялся скомпилированный код
+        model.clear(); // Выражение не растет бесконечно: очищаем накопленное при прогреве
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        type(model, 10_000);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // Запас на служебные выделения самого измерения; 90 000 нажатий со строками дали бы мегабайты
+        assertTrue(allocated < 4096, "Выделено байт при вводе: " + allocated);
+    }
+
+    @Test
+    void enteredNumbersAreDisplayedAndCalculated() {
+        CalculatorModel model = new CalculatorModel();
+        assertEquals("12", press(model, Opcode.DIGIT_1, Opcode.DIGIT_2));
+        assertEquals("12", press(model, Opcode.POINT));
+        assertEquals("12.5", press(model, Opcode.DIGIT_5));
+        assertEquals("-12.5", press(model, Opcode.TOGGLE_SIGN));
+        assertEquals("-12", press(model, Opcode.BACKSPACE));
+        assertEquals("-12.25", press(model, Opcode.DIGIT_2, Opcode.DIGIT_5));
+        assertEquals("-24.5", press(model, Opcode.MULTIPLY, Opcode.DIGIT_2, Opcode.EQUALS));
+        assertEquals("-24.5", model.getCurrentExpression().substring(model.getCurrentExpression().lastIndexOf(' ') + 1));
+        assertEquals("0.001", press(model, Opcode.DIGIT_0, Opcode.POINT, Opcode.DIGIT_0, Opcode.DIGIT_0, Opcode.DIGIT_1));
+    }
+
+    @Test
+    void entryLongerThanNumberEntryKeepsAllDigits() {
+        CalculatorModel model = new CalculatorModel();
+        Opcode[] digits = {Opcode.DIGIT_9, Opcode.DIGIT_0, Opcode.DIGIT_0, Opcode.DIGIT_7, Opcode.DIGIT_1, Opcode.DIGIT_9,
+                Opcode.DIGIT_9, Opcode.DIGIT_2, Opcode.DIGIT_5, Opcode.DIGIT_4, Opcode.DIGIT_7, Opcode.DIGIT_4,
+                Opcode.DIGIT_0, Opcode.DIGIT_9, Opcode.DIGIT_9, Opcode.DIGIT_3};
+        assertEquals("9007199254740993", press(model, digits));
+        assertEquals("9007199254740995", press(model, Opcode.ADD, Opcode.DIGIT_2, Opcode.EQUALS));
+    }
+
+    @Test
+    void textInputStillAcceptsWholeNumbers() {
+        CalculatorModel model = new CalculatorModel();
+        model.appendNumber("1.5E3");
+        model.setOperator(Opcode.ADD);
+        model.appendNumber("250");
+        model.calculate();
+        assertEquals("1750", model.getCurrentValue());
+    }
+
+    @Test
+    void squareRootOfLargestLongTerminates() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            CalculatorModel model = new CalculatorModel();
+            model.appendNumber(Long.toString(Long.MAX_VALUE));
+            assertEquals("3.03700049997605E9", press(model, Opcode.SQUARE_ROOT, Opcode.EQUALS));
+
+            model.clear();
+            model.appendNumber("9223372030926249001"); // 3037000499 в квадрате
+            assertEquals("3037000499", press(model, Opcode.SQUARE_ROOT, Opcode.EQUALS));
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты сервера калькулятора: ограниченная история сессии, ограниченное чтение запросов
+ * и вытеснение сессий режима stdin/stdout.
+ */
+class CalculatorServerTest {
+
+    @Test
+    void responseDoesNotGrowWithSessionLength() {
+        CalculatorServer server = new CalculatorServer(1);
+        CalculatorServer.Session session = server.openSession();
+        assertNotNull(session);
+        String response = "";
+        for (int i = 0; i < 10_000; i++) {
+            session.process("1");
+            response = session.process("+");
+        }
+        assertEquals("10000\t10000 + ", response);
+        assertEquals(CalculatorServer.HISTORY_SIZE, session.getHistory().size());
+        assertEquals(9_999, session.getHistory().getTotalCount());
+    }
+
+    @Test
+    void leastRecentlyUsedStreamSessionIsEvictedAtLimit() throws IOException {
+        CalculatorServer server = new CalculatorServer(2);
+        StringWriter output = new StringWriter();
+        server.serveStreams(new BufferedReader(new StringReader("a 1\nb 2\na +\nc 3\nb 4\n")), output);
+        String text = output.toString();
+        assertFalse(text.contains("превышено"), text);
+        assertTrue(text.contains("c 3\t3\n"), text);
+        // Сессия b была самой давно использованной при открытии c и начинается заново
+        assertTrue(text.endsWith("b 4\t4\n"), text);
+        assertEquals(2, server.getSessionCount());
+    }
+
+    @Test
+    void endlessLineClosesSocketSessionAfterBoundedRead() throws IOException {
+        // Одна строка «7», затем бесконечная строка без перевода строки
+        long[] read = new long[1];
+        Reader endless = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                for (int i = 0; i < length; i++) {
+                    buffer[offset + i] = read[0] == 0 ? '7' : read[0] == 1 ? '\n' : '1';
+                    read[0]++;
+                }
+                return length;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        CalculatorServer server = new CalculatorServer(1);
+        StringWriter output = new StringWriter();
+        server.serveSession(server.openSession(), new BufferedReader(endless, 256), output);
+        assertEquals("7\t7\nОшибка: слишком длинный запрос\n", output.toString());
+        assertTrue(read[0] <= 2 + CalculatorServer.MAX_LINE_LENGTH + 512, "Прочитано символов: " + read[0]);
+    }
+
+    @Test
+    void longStreamLineIsRejectedAndSkipped() throws IOException {
+        CalculatorServer server = new CalculatorServer(2);
+        StringWriter output = new StringWriter();
+        String input = "a 1\r\na " + "1".repeat(1_000_000) + "\nb 2\n";
+        server.serveStreams(new BufferedReader(new StringReader(input)), output);
+        assertEquals("a 1\t1\nОшибка: неверный запрос\nb 2\t2\n", output.toString());
+    }
+
+    @Test
+    void repeatedDigitsDoNotGrowEntryWithoutBound() {
+        CalculatorServer server = new CalculatorServer(1);
+        CalculatorServer.Session session = server.openSession();
+        String response = "";
+        for (int i = 0; i < 10_000; i++) {
+            response = session.process("1");
+        }
+        // Выражение повторяет введенное число, цифры сверх MAX_ENTRY_LENGTH игнорируются
+        assertEquals("1".repeat(CalculatorModel.MAX_ENTRY_LENGTH), response.substring(response.indexOf('\t') + 1));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты снимков модели: совпадение с моделью, неизменяемость, отмена и повтор.
+ */
+class CalculatorStateTest {
+
+    private static void press(CalculatorModel model, String keys) {
+        for (Opcode opcode : InputProcessor.tokenize(keys)) {
+            InputProcessor.process(model, opcode);
+        }
+    }
+
+    @Test
+    void snapshotMatchesModelIncludingExactIntegers() {
+        CalculatorModel model = new CalculatorModel();
+        press(model, "9007199254740993+2=");
+        CalculatorState state = model.snapshot();
+        assertEquals("9007199254740995", model.getCurrentValue());
+        assertEquals(model.getCurrentValue(), state.getCurrentValue());
+        assertEquals(model.getCurrentExpression(), state.getCurrentExpression());
+    }
+
+    @Test
+    void snapshotValueIsFormattedLikeModel() {
+        String[] inputs = {"-", "0.0", "1.50", "-0.005", "123456789012345", "9.99999999999999",
+                "2/3=", "1/8=", "2*0.5=", "9223372036854775807+1=", "5/0=", "1/3*3="};
+        for (MathContext precision : new MathContext[]{null, MathContext.DECIMAL64}) {
+            for (String input : inputs) {
+                CalculatorModel model = new CalculatorModel();
+                model.setPrecision(precision);
+                press(model, input);
+                assertEquals(model.getCurrentValue(), model.snapshot().getCurrentValue(), input + " при " + precision);
+            }
+        }
+        CalculatorModel model = new CalculatorModel();
+        model.appendNumber("-9223372036854775808");
+        assertEquals(model.getCurrentValue(), model.snapshot().getCurrentValue());
+        model.appendNumber("0");
+        assertEquals(model.getCurrentValue(), model.snapshot().getCurrentValue());
+    }
+
+    @Test
+    void snapshotIsNotAffectedByLaterInput() {
+        CalculatorModel model = new CalculatorModel();
+        press(model, "12+3.5");
+        CalculatorState state = model.snapshot();
+        press(model, "⌫⌫7*2=");
+        press(model, "CE");
+        assertEquals("3.5", state.getCurrentValue());
+        assertEquals("12 + 3.5", state.getCurrentExpression());
+        assertEquals(Opcode.ADD, state.getOperator());
+    }
+
+    @Test
+    void undoAndRedoRestoreModel() {
+        CalculatorModel model = new CalculatorModel();
+        CalculatorStateStore store = new CalculatorStateStore(10);
+        for (Opcode opcode : InputProcessor.tokenize("8*4")) {
+            InputProcessor.process(model, opcode);
+            store.push(model.snapshot());
+        }
+        assertNull(store.redo());
+        model.restore(store.undo()); // Отмена «4»
+        assertEquals("8 * ", model.getCurrentExpression());
+        model.restore(store.redo());
+        assertEquals("4", model.getCurrentValue());
+        InputProcessor.process(model, Opcode.EQUALS);
+        assertEquals("32", model.getCurrentValue());
+
+        model.restore(store.undo());
+        model.restore(store.undo()); // Отмена «*» и «4»: модель снова вводит 8
+        press(model, "5=");
+        assertEquals("85", model.getCurrentValue());
+        assertEquals("85", model.getCurrentExpression());
+    }
+
+    @Test
+    void snapshotDoesNotCopyExpression() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        CalculatorModel model = new CalculatorModel();
+        for (int i = 0; i < 5_000; i++) {
+            press(model, "1+"); // Без истории выражение растет до десятков тысяч символов
+        }
+        for (int i = 0; i < 10_000; i++) {
+            model.snapshot(); // Прогрев
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 10_000; i++) {
+            model.snapshot();
+        }
+        long perSnapshot = (threads.getThreadAllocatedBytes(thread) - before) / 10_000;
+        assertTrue(model.getCurrentExpression().length() > 20_000);
+        assertTrue(perSnapshot < 256, "Байт на снимок: " + perSnapshot);
+    }
+
+    @Test
+    void snapshotsAreReadableFromAnotherThread() throws InterruptedException {
+        Opcode[] input = new Opcode[20_000];
+        CalculatorModel expected = new CalculatorModel();
+        for (int i = 0; i < input.length; i++) {
+            input[i] = i % 2 == 0 ? Opcode.DIGIT_1 : Opcode.ADD;
+            InputProcessor.process(expected, input[i]);
+        }
+        String full = expected.getCurrentExpression();
+
+        CalculatorModel model = new CalculatorModel();
+        CalculatorStateStore store = new CalculatorStateStore(10);
+        String[] failure = new String[1];
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 10_000 && failure[0] == null; i++) {
+                // Без истории выражение только растет: любой снимок — начало итогового выражения
+                String expression = store.snapshot().getCurrentExpression();
+                if (!full.startsWith(expression)) {
+                    failure[0] = expression;
+                }
+            }
+        });
+        reader.start();
+        for (Opcode opcode : input) {
+            InputProcessor.process(model, opcode);
+            store.push(model.snapshot());
+        }
+        reader.join();
+        assertNull(failure[0]);
+        assertEquals(full, store.snapshot().getCurrentExpression());
+    }
+}
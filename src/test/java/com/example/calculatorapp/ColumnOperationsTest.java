@@ -0,0 +1,114 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты массовых операций над столбцами: массивы и буферы вне кучи дают одинаковые результаты и маски ошибок.
+ */
+class ColumnOperationsTest {
+    private static final Opcode[] OPERATORS = {Opcode.ADD, Opcode.SUBTRACT, Opcode.MULTIPLY, Opcode.DIVIDE,
+            Opcode.PERCENT, Opcode.RECIPROCAL, Opcode.SQUARE, Opcode.SQUARE_ROOT};
+    private static final int SIZE = 200; // Не кратно 64, чтобы проверить неполное последнее слово маски
+    private static final int OFFSET = 3; // Начальная позиция буферов
+
+    /**
+     * Возвращает столбец с нулями и отрицательными элементами.
+     */
+    private static double[] column() {
+        double[] values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i % 7 == 0 ? 0 : (i - SIZE / 2) * 0.75;
+        }
+        return values;
+    }
+
+    /**
+     * Возвращает прямой буфер с копией значений, начинающейся с позиции {@link #OFFSET}.
+     */
+    private static DoubleBuffer direct(double[] values) {
+        DoubleBuffer buffer = ByteBuffer.allocateDirect((values.length + OFFSET) * Double.BYTES).asDoubleBuffer();
+        buffer.position(OFFSET);
+        buffer.put(values);
+        buffer.position(OFFSET);
+        return buffer;
+    }
+
+    private static void assertSameColumns(Opcode operator, double k) {
+        double[] operands = column();
+        double[] results = new double[SIZE];
+        long[] errors = new long[ColumnOperations.errorMaskLength(SIZE)];
+        int count = ColumnOperations.apply(operator, operands, k, results, errors);
+
+        DoubleBuffer bufferResults = direct(new double[SIZE]);
+        long[] bufferErrors = new long[errors.length];
+        int bufferCount = ColumnOperations.apply(operator, direct(operands), k, bufferResults, bufferErrors);
+
+        assertEquals(count, bufferCount, operator.getText());
+        assertEquals(OFFSET, bufferResults.position(), "Позиция буфера не должна изменяться");
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(ColumnOperations.isError(errors, i), ColumnOperations.isError(bufferErrors, i), operator.getText());
+            assertEquals(Double.doubleToLongBits(results[i]), Double.doubleToLongBits(bufferResults.get(OFFSET + i)),
+                    operator.getText() + " [" + i + "]");
+        }
+    }
+
+    @Test
+    void bufferOverloadMatchesArrayOverload() {
+        for (Opcode operator : OPERATORS) {
+            assertSameColumns(operator, 3);
+        }
+        assertSameColumns(Opcode.DIVIDE, 0);
+    }
+
+    @Test
+    void errorsAreMaskedAndReplacedWithNaN() {
+        double[] operands = column();
+        double[] results = new double[SIZE];
+        long[] errors = new long[ColumnOperations.errorMaskLength(SIZE)];
+        int count = ColumnOperations.apply(Opcode.SQUARE_ROOT, operands, 0, results, errors);
+        int expected = 0;
+        for (int i = 0; i < SIZE; i++) {
+            boolean negative = operands[i] < 0;
+            expected += negative ? 1 : 0;
+            assertEquals(negative, ColumnOperations.isError(errors, i));
+            assertTrue(negative ? Double.isNaN(results[i]) : results[i] == Math.sqrt(operands[i]));
+        }
+        assertEquals(expected, count);
+        assertEquals(SIZE, ColumnOperations.apply(Opcode.DIVIDE, operands, 0, results, errors));
+    }
+
+    @Test
+    void squareRootOfNaNIsAnErrorAsInModel() {
+        // Модель отвечает ошибкой на любое значение, кроме x >= 0
+        double[] operands = {4, Double.NaN, -0.0, -1, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        boolean[] expected = {false, true, false, true, false, true};
+        double[] results = new double[operands.length];
+        long[] errors = new long[ColumnOperations.errorMaskLength(operands.length)];
+        assertEquals(3, ColumnOperations.apply(Opcode.SQUARE_ROOT, operands, 0, results, errors));
+        DoubleBuffer bufferResults = direct(new double[operands.length]);
+        long[] bufferErrors = new long[errors.length];
+        assertEquals(3, ColumnOperations.apply(Opcode.SQUARE_ROOT, direct(operands), 0, bufferResults, bufferErrors));
+        for (int i = 0; i < operands.length; i++) {
+            assertEquals(expected[i], ColumnOperations.isError(errors, i), "Элемент " + operands[i]);
+            assertEquals(expected[i], ColumnOperations.isError(bufferErrors, i), "Элемент буфера " + operands[i]);
+        }
+        assertEquals(2, results[0]);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(results[2]));
+    }
+
+    @Test
+    void nonColumnOperatorIsRejected() {
+        double[] operands = column();
+        assertThrows(IllegalArgumentException.class, () -> ColumnOperations.apply(Opcode.SINE, operands, 1,
+                new double[SIZE], new long[ColumnOperations.errorMaskLength(SIZE)]));
+        assertThrows(IllegalArgumentException.class, () -> ColumnOperations.apply(Opcode.SQUARE, operands, operands,
+                new double[SIZE], new long[ColumnOperations.errorMaskLength(SIZE)]));
+    }
+}
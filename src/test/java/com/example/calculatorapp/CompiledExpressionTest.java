@@ -0,0 +1,123 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Проверки компиляции и вычисления выражений: приоритет операций, подстановка пользовательских функций,
+ * позиции ошибок разбора; результат вне области определения сообщается тем же текстом ошибки, что и в модели.
+ */
+class CompiledExpressionTest {
+
+    /**
+     * Компилирует и вычисляет выражение без переменных.
+     */
+    private static double eval(String expression) {
+        return ExpressionCompiler.compile(expression).evaluate(new double[0]);
+    }
+
+    /**
+     * Возвращает сообщение об ошибке компиляции выражения.
+     */
+    private static String compileError(String expression) {
+        return assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile(expression)).getMessage();
+    }
+
+    @Test
+    void operatorsFollowPrecedence() {
+        assertEquals(14, eval("2 + 3 * 4"));
+        assertEquals(20, eval("(2 + 3) * 4"));
+        assertEquals(1, eval("10 - 4 - 5")); // Левая ассоциативность
+        assertEquals(1, eval("12 / 3 / 4"));
+        assertEquals(5, eval("2 + 7 % 4"));
+        assertEquals(7, eval("1 + 2 * 3 ^ 2 / 3"));
+        assertEquals(3, eval("((((3))))"));
+    }
+
+    @Test
+    void powerIsRightAssociativeAndBindsTighterThanUnaryMinus() {
+        assertEquals(512, eval("2 ^ 3 ^ 2"));
+        assertEquals(64, eval("(2 ^ 3) ^ 2"));
+        assertEquals(-4, eval("-2 ^ 2"));
+        assertEquals(4, eval("(-2) ^ 2"));
+        assertEquals(0.5, eval("2 ^ -1"));
+        assertEquals(25, eval("5^2")); // Квадрат компилируется отдельной инструкцией
+    }
+
+    @Test
+    void unaryOperatorsNest() {
+        assertEquals(-3, eval("-3"));
+        assertEquals(3, eval("--3"));
+        assertEquals(-1, eval("2 * -3 + 5"));
+        assertEquals(5, eval("+5"));
+        assertEquals(-4, eval("-√16"));
+        assertEquals(2, eval("√√16"));
+        assertEquals(6, eval("3 - -3"));
+    }
+
+    @Test
+    void userFunctionsAreInlined() {
+        Map<String, UserFunction> functions = Map.of(
+                "f", new UserFunction("f", List.of("x"), "x^2 + rate*x"),
+                "g", new UserFunction("g", List.of("a", "b"), "f(a) - b"),
+                "r", new UserFunction("r", List.of("x"), "r(x)"));
+        CompiledExpression expression = ExpressionCompiler.compile("g(x + 1, 2) * 2", functions::get,
+                ScientificFunctions.AccuracyTier.DEFAULT);
+        // Переменные тел функций становятся переменными выражения
+        assertEquals(List.of("x", "rate"), expression.getVariables());
+        assertEquals(2 * ((3 * 3 + 10 * 3) - 2), expression.evaluate(new double[]{2, 10}));
+        // Аргумент-выражение вычисляется один раз и подставляется в оба вхождения параметра
+        assertEquals(12, ExpressionCompiler.compile("f(1 + 2)", functions::get, ScientificFunctions.AccuracyTier.DEFAULT)
+                .evaluate(new double[]{1}));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ExpressionCompiler.compile("r(1)", functions::get, ScientificFunctions.AccuracyTier.DEFAULT));
+        assertEquals("Ошибка: рекурсивное определение функции r", e.getMessage());
+        e = assertThrows(IllegalArgumentException.class,
+                () -> ExpressionCompiler.compile("1 + f(1, 2)", functions::get, ScientificFunctions.AccuracyTier.DEFAULT));
+        assertEquals("Ошибка: неверный формат выражения (позиция 5)", e.getMessage());
+    }
+
+    @Test
+    void syntaxErrorsReportPosition() {
+        assertEquals("Ошибка: неверный формат выражения (позиция 5)", compileError("1 + * 2"));
+        assertEquals("Ошибка: неверный формат выражения (позиция 7)", compileError("(1 + 2"));
+        assertEquals("Ошибка: неверный формат выражения (позиция 3)", compileError("2 3"));
+        assertEquals("Ошибка: неверный формат выражения (позиция 1)", compileError(""));
+        assertEquals("Ошибка: неверный формат выражения (позиция 1)", compileError("sin(1, 2)"));
+
+        Map<String, UserFunction> functions = Map.of("f", new UserFunction("f", List.of("x"), "x +"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ExpressionCompiler.compile("f(1)", functions::get, ScientificFunctions.AccuracyTier.DEFAULT));
+        assertEquals("Ошибка: неверный формат выражения (позиция 4, функция f)", e.getMessage());
+    }
+
+    @Test
+    void divisionAndRemainderByZeroAreErrors() {
+        for (String expression : new String[]{"1 / 0", "7 % 0", "7 % (2 - 2)", "inv(0)"}) {
+            ArithmeticException e = assertThrows(ArithmeticException.class, () -> eval(expression), expression);
+            assertEquals("Ошибка: деление на ноль", e.getMessage(), expression);
+        }
+        assertEquals(1, eval("7 % 3"));
+        assertEquals(-1, eval("-7 % 3"));
+    }
+
+    @Test
+    void powerOfNegativeBaseWithFractionalExponentIsInvalidArgument() {
+        CompiledExpression expression = ExpressionCompiler.compile("(-8)^(1/3)");
+        ArithmeticException e = assertThrows(ArithmeticException.class, () -> expression.evaluate(new double[0]));
+        assertEquals("Ошибка: недопустимый аргумент", e.getMessage());
+    }
+
+    @Test
+    void powerWithVariablesStillEvaluates() {
+        CompiledExpression expression = ExpressionCompiler.compile("x^y", List.of("x", "y"));
+        assertEquals(8.0, expression.evaluate(new double[]{2, 3}));
+        assertEquals(0.5, expression.evaluate(new double[]{4, -0.5}));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты десятичного числа режима повышенной точности.
+ */
+class DecimalNumberTest {
+
+    @Test
+    void remainderOfLargeDividendIsComputedExactlyThenRounded() {
+        DecimalNumber dividend = DecimalNumber.parse("100000000000000000000");
+        assertEquals("1", dividend.remainder(DecimalNumber.parse("3"), MathContext.DECIMAL64).toString());
+        DecimalNumber huge = DecimalNumber.valueOf(new BigDecimal("1E+400"));
+        assertEquals("1", huge.remainder(DecimalNumber.parse("9"), MathContext.DECIMAL64).toString());
+    }
+
+    @Test
+    void remainderOfLargeDividendInModel() {
+        CalculatorModel model = new CalculatorModel();
+        model.setPrecision(MathContext.DECIMAL64);
+        model.appendNumber("100000000000000000000");
+        model.setOperator(Opcode.PERCENT);
+        model.appendNumber(Opcode.DIGIT_3);
+        model.calculate();
+        assertEquals("1", model.getCurrentValue());
+    }
+
+    @Test
+    void largeMagnitudesUseExponentNotation() {
+        assertEquals("1.0E50", DecimalNumber.valueOf(new BigDecimal("1E+50")).toString());
+        assertEquals("-1.25E-60", DecimalNumber.valueOf(new BigDecimal("-1.25E-60")).toString());
+        assertEquals("1267650600228229401496703205376", DecimalNumber.valueOf(BigDecimal.valueOf(2).pow(100)).toString());
+        assertEquals("0.00001", DecimalNumber.valueOf(new BigDecimal("1E-5")).toString());
+    }
+
+    @Test
+    void exponentNotationParsesBack() {
+        DecimalNumber value = DecimalNumber.parse("7");
+        for (int i = 0; i < 12; i++) {
+            value = value.multiply(value, MathContext.DECIMAL64); // 7^4096 — запись без экспоненты заняла бы тысячи цифр
+        }
+        String text = value.toString();
+        assertEquals(text, DecimalNumber.parse(text).toString());
+        assertEquals(0, value.toBigDecimal().compareTo(DecimalNumber.parse(text).toBigDecimal()));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты листа формул: инкрементальный пересчет, циклы, ошибки и пользовательские функции.
+ */
+class FormulaSheetTest {
+
+    /**
+     * Запоминает отображаемые значения всех переменных листа.
+     */
+    private static Map<String, String> values(FormulaSheet sheet) {
+        Map<String, String> values = new HashMap<>();
+        for (String name : sheet.getNames()) {
+            values.put(name, sheet.getDisplayValue(name));
+        }
+        return values;
+    }
+
+    @Test
+    void incrementalRecalculationMatchesRecomputeAll() {
+        FormulaSheet sheet = new FormulaSheet();
+        SplittableRandom random = new SplittableRandom(21);
+        for (int i = 0; i < 10; i++) {
+            sheet.setValue("v" + i, random.nextInt(-5, 6));
+        }
+        // Каждая формула ссылается на входы и на предыдущие формулы, поэтому граф имеет несколько уровней
+        for (int i = 0; i < 200; i++) {
+            String a = random.nextInt(3) == 0 || i == 0 ? "v" + random.nextInt(10) : "f" + random.nextInt(i);
+            String b = "v" + random.nextInt(10);
+            String formula = switch (random.nextInt(4)) {
+                case 0 -> a + " + " + b;
+                case 1 -> a + " * 0.5 - " + b;
+                case 2 -> a + " / " + b; // Деление на ноль дает ошибку, которая передается дальше
+                default -> "sqrt(" + a + " * " + a + ") + 1";
+            };
+            sheet.set("f" + i, formula);
+        }
+        for (int step = 0; step < 100; step++) {
+            sheet.setValue("v" + random.nextInt(10), random.nextInt(-5, 6));
+            if (step % 10 == 0) {
+                sheet.set("v" + random.nextInt(10), "2^" + random.nextInt(4) + " - 3"); // Формула вместо числа
+            }
+            Map<String, String> incremental = values(sheet);
+            assertEquals(210, sheet.recomputeAll());
+            assertEquals(incremental, values(sheet), "Шаг " + step);
+        }
+    }
+
+    @Test
+    void onlyDependentFormulasAreRecalculated() {
+        FormulaSheet sheet = new FormulaSheet();
+        sheet.define("price = 100");
+        sheet.define("rate = 0.07");
+        sheet.define("total = price * (1 + rate)");
+        sheet.define("other = price * 2");
+        assertEquals(2, sheet.define("rate = 0.2")); // rate и total
+        assertEquals(120, sheet.getValue("total"), 1e-12);
+        assertEquals(200, sheet.getValue("other"));
+    }
+
+    @Test
+    void cycleIsRejectedAndSheetIsUnchanged() {
+        FormulaSheet sheet = new FormulaSheet();
+        sheet.define("a = 1");
+        sheet.define("b = a + 1");
+        sheet.define("c = b * 2");
+        Map<String, String> before = values(sheet);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> sheet.define("a = c + 1"));
+        assertTrue(e.getMessage().contains("циклическая зависимость"), e.getMessage());
+        assertEquals("1", sheet.getFormula("a"));
+        assertEquals(before, values(sheet));
+
+        // Цикл через новую переменную не оставляет ее в листе
+        assertThrows(IllegalArgumentException.class, () -> sheet.define("d = d + 1"));
+        assertNull(sheet.getFormula("d"));
+        assertFalse(sheet.getNames().contains("d"));
+
+        // После отклонения лист пересчитывается как прежде
+        assertEquals(3, sheet.define("a = 5"));
+        assertEquals(12, sheet.getValue("c"));
+    }
+
+    @Test
+    void errorsPropagateAndRemovedVariableBecomesUnknown() {
+        FormulaSheet sheet = new FormulaSheet();
+        sheet.define("x = 0");
+        sheet.define("y = 1 / x");
+        sheet.define("z = y + 1");
+        assertEquals("Ошибка: деление на ноль", sheet.getError("y"));
+        assertEquals("Ошибка: деление на ноль", sheet.getDisplayValue("z"));
+        assertTrue(Double.isNaN(sheet.getValue("z")));
+
+        assertEquals(3, sheet.setValue("x", 4));
+        assertEquals(1.25, sheet.getValue("z"));
+
+        assertEquals(3, sheet.remove("x"));
+        assertNull(sheet.getFormula("x"));
+        assertEquals("Ошибка: неизвестная переменная x", sheet.getError("y"));
+        assertEquals("Ошибка: неизвестная переменная x", sheet.getError("z"));
+        assertFalse(sheet.getNames().contains("x"));
+
+        // Формула без зависящих от нее удаляется из листа целиком
+        assertEquals(0, sheet.remove("z"));
+        assertEquals("Ошибка: неизвестная переменная z", sheet.getError("z"));
+        assertEquals(0, sheet.remove("z"));
+
+        sheet.define("x = 2");
+        assertEquals(0.5, sheet.getValue("y"));
+    }
+
+    @Test
+    void redefiningUsedFunctionRecalculatesItsUsers() {
+        FormulaSheet sheet = new FormulaSheet();
+        sheet.define("rate = 2");
+        sheet.define("f(x) = x^2 + rate*x");
+        sheet.define("a = 3");
+        sheet.define("b = f(a) + 1");
+        sheet.define("c = a * 10");
+        assertEquals(16, sheet.getValue("b"));
+
+        assertEquals(1, sheet.define("f(x) = 2*x"));
+        assertEquals(7, sheet.getValue("b"));
+        assertEquals(3, sheet.define("a = 4")); // a, b и c
+        assertEquals(9, sheet.getValue("b"));
+
+        // Тело, ссылающееся на использующую функцию формулу, создает цикл: прежнее определение остается
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> sheet.define("f(x) = x + b"));
+        assertTrue(e.getMessage().contains("циклическая зависимость"), e.getMessage());
+        assertEquals("2*x", sheet.getFunction("f").body());
+        assertEquals(9, sheet.getValue("b"));
+
+        // Рекурсия и неверное тело тоже не меняют функцию
+        assertThrows(IllegalArgumentException.class, () -> sheet.define("f(x) = f(x) + 1"));
+        assertThrows(IllegalArgumentException.class, () -> sheet.define("f(x) = x +"));
+        assertEquals("2*x", sheet.getFunction("f").body());
+        assertEquals(1, sheet.define("b = f(a) * f(1)"));
+        assertEquals(16, sheet.getValue("b"));
+    }
+
+    @Test
+    void largeLevelIsEvaluatedInParallel() {
+        FormulaSheet sheet = new FormulaSheet();
+        int count = 4 * FormulaSheet.PARALLEL_THRESHOLD + 7;
+        sheet.setValue("base", 1);
+        for (int i = 0; i < count; i++) {
+            sheet.set("c" + i, "base * " + i + " + 1 / (base - " + (i % 5) + ")");
+        }
+        sheet.define("sum = c0 + c1 + c2");
+        // Уровень из всех c_i не меньше порога параллельного пересчета
+        assertEquals(count + 2, sheet.setValue("base", 3));
+        for (int i = 0; i < count; i++) {
+            String name = "c" + i;
+            if (i % 5 == 3) {
+                assertEquals("Ошибка: деление на ноль", sheet.getError(name));
+            } else {
+                assertEquals(3.0 * i + 1 / (3.0 - i % 5), sheet.getValue(name), name);
+            }
+        }
+        assertEquals(1 / 3.0 + 3 + 1 / 2.0 + 6 + 1, sheet.getValue("sum"), 1e-12);
+
+        Map<String, String> incremental = values(sheet);
+        sheet.recomputeAll();
+        assertEquals(incremental, values(sheet));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты гистограммы задержек: границы корзин, относительная погрешность и перцентили.
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Проверяет, что значение попадает в корзину с верхней границей не дальше 1/16 от него.
+     */
+    private static void assertBucketHolds(long value) {
+        int index = LatencyHistogram.bucketIndex(value);
+        long upper = LatencyHistogram.bucketUpperBound(index);
+        assertTrue(upper >= value, value + ": граница " + upper);
+        assertTrue(upper - value <= value / 16, value + ": граница " + upper);
+        // Граница — последнее значение корзины
+        assertEquals(index, LatencyHistogram.bucketIndex(upper), "Граница корзины " + index);
+        if (upper < Long.MAX_VALUE) {
+            assertEquals(index + 1, LatencyHistogram.bucketIndex(upper + 1), "Значение после корзины " + index);
+        }
+    }
+
+    @Test
+    void bucketUpperBoundIsWithinRelativeError() {
+        for (long value = 0; value < 4096; value++) {
+            assertBucketHolds(value);
+        }
+        for (int exponent = 4; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            assertBucketHolds(power - 1);
+            assertBucketHolds(power);
+            assertBucketHolds(power + 1);
+            assertBucketHolds(power + power / 32);
+        }
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < 100_000; i++) {
+            assertBucketHolds(random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+        }
+    }
+
+    @Test
+    void largestValuesFitLastBuckets() {
+        // Значения до 16 хранятся точно
+        assertEquals(15, LatencyHistogram.bucketIndex(15));
+        assertEquals(15, LatencyHistogram.bucketUpperBound(15));
+        assertEquals(16, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(16)));
+
+        // Возле 2^62 ширина корзины — 2^58, а граница последней — Long.MAX_VALUE без переполнения
+        long power = 1L << 62;
+        int index = LatencyHistogram.bucketIndex(power);
+        assertEquals(power + (1L << 58) - 1, LatencyHistogram.bucketUpperBound(index));
+        assertEquals(index - 1, LatencyHistogram.bucketIndex(power - 1));
+        assertEquals(power - 1, LatencyHistogram.bucketUpperBound(index - 1));
+        int last = LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+        assertEquals(index + 15, last);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(last));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(power);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(power + (1L << 58) - 1, histogram.getPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+    @Test
+    void percentilesAreBucketBoundsClampedToMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMean());
+
+        // Одно значение: граница его корзины больше, но перцентиль не превышает максимума
+        histogram.record(1_000_003);
+        assertTrue(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(1_000_003)) > 1_000_003);
+        assertEquals(1_000_003, histogram.getPercentile(50));
+        assertEquals(1_000_003, histogram.getPercentile(99));
+        assertEquals(1_000_003, histogram.getPercentile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        histogram.record(-5); // Отрицательное значение считается нулем
+        assertEquals(1001, histogram.getCount());
+        assertEquals(1000 * 1001 / 2 * 1000 / 1001.0, histogram.getMean(), 1e-9);
+        assertEquals(0, histogram.getPercentile(0));
+        long p50 = histogram.getPercentile(50);
+        assertTrue(p50 >= 500_000 && p50 - 500_000 <= 500_000 / 16, "p50 = " + p50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990_000 && p99 - 990_000 <= 990_000 / 16, "p99 = " + p99);
+        // Верхние перцентили попадают в корзину максимума и ограничены им
+        assertEquals(1_000_000, histogram.getPercentile(99.9));
+        assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+}
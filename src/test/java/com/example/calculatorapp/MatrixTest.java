@@ -0,0 +1,141 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты матриц: блочное умножение, невязка обращения и проверка вырожденности
+ * в LU-разложении действительных и комплексных матриц.
+ */
+class MatrixTest {
+
+    /**
+     * Создает матрицу со случайными элементами из [-1, 1).
+     */
+    private static Matrix random(SplittableRandom random, int rows, int cols) {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                m.set(i, j, random.nextDouble(-1, 1));
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Умножает матрицы простым тройным циклом.
+     */
+    private static double[] naiveMultiply(Matrix a, Matrix b) {
+        double[] c = new double[a.getRows() * b.getCols()];
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < b.getCols(); j++) {
+                double sum = 0;
+                for (int k = 0; k < a.getCols(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c[i * b.getCols() + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    @Test
+    void blockedMultiplyMatchesNaiveLoop() {
+        SplittableRandom random = new SplittableRandom(25);
+        int block = Matrix.BLOCK_SIZE;
+        // Размеры не кратны блоку; последний — выше порога параллельного умножения
+        int[][] sizes = {{1, 1, 1}, {3, 5, 7}, {block - 1, block + 1, 2 * block + 3},
+                {block + 5, 3 * block - 1, block + 7}, {150, 2 * block + 9, 130}};
+        assertTrue((long) 150 * (2 * block + 9) * 130 >= Matrix.PARALLEL_THRESHOLD);
+        for (int[] size : sizes) {
+            Matrix a = random(random, size[0], size[1]);
+            Matrix b = random(random, size[1], size[2]);
+            // Сумма по k накапливается в том же порядке, поэтому результат совпадает побитово
+            double[] expected = naiveMultiply(a, b);
+            for (int parallelism : new int[]{1, 3}) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    Matrix c = a.multiply(b, pool);
+                    assertEquals(size[0], c.getRows());
+                    assertEquals(size[2], c.getCols());
+                    double[] actual = c.toArray();
+                    for (int i = 0; i < expected.length; i++) {
+                        assertEquals(expected[i], actual[i], size[0] + "×" + size[1] + "×" + size[2] + ", элемент " + i);
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    @Test
+    void inverseHasSmallResidual() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int n : new int[]{2, 17, Matrix.BLOCK_SIZE + 3, 150}) {
+            Matrix a = random(random, n, n);
+            Matrix residual = a.multiply(a.inverse()).subtract(Matrix.identity(n));
+            double max = 0;
+            for (double r : residual.toArray()) {
+                max = Math.max(max, Math.abs(r));
+            }
+            // Случайные матрицы обусловлены умеренно: невязка — порядка n·ε·cond(A)
+            assertTrue(max < 1e-9, "n = " + n + ": невязка " + max);
+        }
+
+        ComplexMatrix c = ComplexMatrix.of(random(random, 40, 40), random(random, 40, 40));
+        double[] residual = c.multiply(c.inverse()).subtract(ComplexMatrix.identity(40)).toArray();
+        for (double r : residual) {
+            assertTrue(Math.abs(r) < 1e-9, "Невязка комплексной матрицы " + r);
+        }
+    }
+
+    @Test
+    void badlyScaledRegularMatrixIsInverted() {
+        Matrix diagonal = Matrix.of(2, 2, 1e20, 0, 0, 1);
+        assertEquals(1e20, diagonal.determinant());
+        Matrix inverse = diagonal.inverse();
+        assertEquals(1e-20, inverse.get(0, 0));
+        assertEquals(1, inverse.get(1, 1));
+
+        // Одна большая строка: масштаб столбцов задает она, но ведущий элемент второй строки — порядка 1
+        Matrix row = Matrix.of(2, 2, 1e20, 1e20, 1, 2);
+        assertEquals(1e20, row.determinant(), 1e5);
+        double[] x = row.solve(new double[]{2e20, 3});
+        assertEquals(1, x[0], 1e-15);
+        assertEquals(1, x[1], 1e-15);
+    }
+
+    @Test
+    void singularMatrixIsRejected() {
+        Matrix exact = Matrix.of(2, 2, 1, 2, 2, 4);
+        assertEquals(0, exact.determinant(), 0);
+        ArithmeticException e = assertThrows(ArithmeticException.class, exact::inverse);
+        assertEquals("Ошибка: вырожденная матрица", e.getMessage());
+        // Вырожденность, скрытая ошибками округления: определитель — 0, а не остаток округления
+        Matrix rounded = Matrix.of(3, 3, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertEquals(0, rounded.determinant(), 0);
+        assertThrows(ArithmeticException.class, rounded::inverse);
+        assertThrows(ArithmeticException.class, () -> Matrix.of(2, 2, 1e20, 0, 0, 0).inverse());
+    }
+
+    @Test
+    void badlyScaledComplexMatrixIsInverted() {
+        ComplexMatrix diagonal = ComplexMatrix.of(2, 2, 0, 1e20, 0, 0, 0, 0, 1, 0);
+        assertEquals(new Complex(0, 1e20), diagonal.determinant());
+        ComplexMatrix inverse = diagonal.inverse();
+        assertEquals(-1e-20, inverse.getImaginary(0, 0));
+        assertEquals(1, inverse.getReal(1, 1));
+
+        ComplexMatrix singular = ComplexMatrix.of(2, 2, 1, 1, 2, 2, 2, 2, 4, 4);
+        assertEquals(Complex.ZERO, singular.determinant());
+        ArithmeticException e = assertThrows(ArithmeticException.class, singular::inverse);
+        assertEquals("Ошибка: вырожденная матрица", e.getMessage());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты режима программиста: ограничения ввода, циклическое переполнение, знаковость,
+ * сдвиги и вращения, воспроизведение журнала.
+ */
+class ProgrammerModelTest {
+
+    /**
+     * Нажимает кнопки, заданные текстом через пробел (например, {@code "F F RoL 1 ="}).
+     */
+    private static ProgrammerModel press(ProgrammerModel model, String keys) {
+        for (String key : keys.split(" ")) {
+            model.process(Opcode.fromText(key));
+        }
+        return model;
+    }
+
+    /**
+     * Создает модель с указанной разрядностью и знаковостью.
+     */
+    private static ProgrammerModel model(ProgrammerModel.WordSize wordSize, boolean signed) {
+        ProgrammerModel model = new ProgrammerModel();
+        model.setWordSize(wordSize);
+        model.setSigned(signed);
+        return model;
+    }
+
+    @Test
+    void digitsBeyondWordSizeAreIgnored() {
+        assertEquals(127, press(model(ProgrammerModel.WordSize.BYTE, true), "1 2 7 9").getValue());
+        // Отрицательные числа допускают на единицу больший модуль
+        assertEquals(-128, press(model(ProgrammerModel.WordSize.BYTE, true), "1 2 +/- 8 0").getValue());
+        assertEquals(25, press(model(ProgrammerModel.WordSize.BYTE, false), "2 5 6").getValue());
+        assertEquals(255, press(model(ProgrammerModel.WordSize.BYTE, false), "2 5 5").getValue());
+        assertEquals(Long.MAX_VALUE, press(new ProgrammerModel(), "9 2 2 3 3 7 2 0 3 6 8 5 4 7 7 5 8 0 7 1").getValue());
+
+        ProgrammerModel hex = model(ProgrammerModel.WordSize.BYTE, true);
+        press(hex, "HEX F F F");
+        assertEquals(-1, hex.getValue());
+        assertEquals("FF", hex.getCurrentValue());
+        // Цифры не меньше основания игнорируются
+        ProgrammerModel bin = press(new ProgrammerModel(), "BIN 1 2 0 9 1");
+        assertEquals("101", bin.getCurrentValue());
+        press(bin, "⌫");
+        assertEquals("10", bin.getCurrentValue());
+    }
+
+    @Test
+    void overflowWrapsAround() {
+        assertEquals(-128, press(model(ProgrammerModel.WordSize.BYTE, true), "1 2 7 + 1 =").getValue());
+        assertEquals(0, press(model(ProgrammerModel.WordSize.BYTE, false), "2 5 5 + 1 =").getValue());
+        assertEquals(65535, press(model(ProgrammerModel.WordSize.WORD, false), "0 - 1 =").getValue());
+        assertEquals(Long.MIN_VALUE, press(new ProgrammerModel(), "9 2 2 3 3 7 2 0 3 6 8 5 4 7 7 5 8 0 7 + 1 =").getValue());
+        // 200 · 200 = 40000 = 0x9C40, младший байт 0x40
+        assertEquals(64, press(model(ProgrammerModel.WordSize.BYTE, false), "2 0 0 * 2 0 0 =").getValue());
+        assertEquals(-128, press(model(ProgrammerModel.WordSize.BYTE, true), "1 2 +/- 8 +/-").getValue());
+    }
+
+    @Test
+    void signednessKeepsBitPattern() {
+        ProgrammerModel model = press(model(ProgrammerModel.WordSize.BYTE, true), "1 +/-");
+        assertEquals("-1", model.getCurrentValue());
+        press(model, "UINT");
+        assertEquals("255", model.getCurrentValue());
+        press(model, "INT HEX");
+        assertEquals("FF", model.getCurrentValue());
+
+        ProgrammerModel unsigned = press(model(ProgrammerModel.WordSize.QWORD, false), "0 NOT");
+        assertEquals("18446744073709551615", unsigned.getCurrentValue());
+        press(unsigned, "/ 2 =");
+        assertEquals(Long.MAX_VALUE, unsigned.getValue());
+        assertEquals(0, press(new ProgrammerModel(), "1 +/- / 2 =").getValue());
+        assertEquals(1, press(model(ProgrammerModel.WordSize.BYTE, false), "2 5 5 % 2 =").getValue());
+        assertEquals(-1, press(model(ProgrammerModel.WordSize.BYTE, true), "1 +/- % 2 =").getValue());
+
+        // Уменьшение разрядности усекает значение
+        ProgrammerModel truncated = press(new ProgrammerModel(), "HEX 1 2 3 4");
+        press(truncated, "BYTE");
+        assertEquals(0x34, truncated.getValue());
+        press(truncated, "BIN");
+        assertEquals("11 0100", truncated.getCurrentValue());
+    }
+
+    @Test
+    void rotationsStayWithinWordSize() {
+        assertEquals(0x03, press(model(ProgrammerModel.WordSize.BYTE, false), "HEX 8 1 RoL 1 =").getValue());
+        assertEquals(0xC0, press(model(ProgrammerModel.WordSize.BYTE, false), "HEX 8 1 RoR 1 =").getValue());
+        // Вращение по модулю разрядности: 9 бит для байта — то же, что 1
+        assertEquals(0x03, press(model(ProgrammerModel.WordSize.BYTE, false), "HEX 8 1 RoL 9 =").getValue());
+        assertEquals(0x81, press(model(ProgrammerModel.WordSize.BYTE, false), "HEX 8 1 RoL 8 =").getValue());
+        assertEquals(-127, press(model(ProgrammerModel.WordSize.BYTE, true), "HEX 8 1 RoL 0 =").getValue());
+        assertEquals(Long.MIN_VALUE, press(new ProgrammerModel(), "1 RoR 1 =").getValue());
+        assertEquals(0x8000, press(model(ProgrammerModel.WordSize.WORD, false), "1 RoR 1 =").getValue());
+        // Отрицательное количество бит вращает в обратную сторону
+        assertEquals(0x03, press(model(ProgrammerModel.WordSize.BYTE, false), "HEX 8 1 RoR 1 +/- =").getValue());
+    }
+
+    @Test
+    void shiftsByWordSizeOrMoreGiveZeroOrSign() {
+        assertEquals(0, press(model(ProgrammerModel.WordSize.BYTE, true), "1 << 8 =").getValue());
+        assertEquals(-128, press(model(ProgrammerModel.WordSize.BYTE, true), "1 << 7 =").getValue());
+        assertEquals(0, press(new ProgrammerModel(), "1 << 6 4 =").getValue());
+        assertEquals(0, press(new ProgrammerModel(), "1 << 1 +/- =").getValue());
+        assertEquals(-1, press(model(ProgrammerModel.WordSize.BYTE, true), "1 2 +/- 8 >> 9 =").getValue());
+        assertEquals(-1, press(new ProgrammerModel(), "4 +/- >> 1 +/- =").getValue());
+        assertEquals(0, press(model(ProgrammerModel.WordSize.BYTE, false), "1 2 8 >> 8 =").getValue());
+        assertEquals(64, press(model(ProgrammerModel.WordSize.BYTE, false), "1 2 8 >> 1 =").getValue());
+        assertEquals(-64, press(model(ProgrammerModel.WordSize.BYTE, true), "1 2 +/- 8 >> 1 =").getValue());
+    }
+
+    @Test
+    void divisionByZeroIsAnError() {
+        ProgrammerModel model = press(new ProgrammerModel(), "7 % 0 =");
+        assertEquals("Ошибка: деление на ноль", model.getCurrentValue());
+        press(model, "5"); // В состоянии ошибки действуют только C и CE
+        assertEquals("Ошибка: деление на ноль", model.getCurrentValue());
+        press(model, "CE 5");
+        assertEquals("5", model.getCurrentValue());
+    }
+
+    @Test
+    void programmerSessionIsReplayed() throws IOException {
+        Path path = Files.createTempFile("journal", ".bin");
+        try {
+            Files.delete(path);
+            try (SessionJournal journal = new SessionJournal(path)) {
+                journal.startProgrammerSession();
+                ProgrammerModel model = new ProgrammerModel();
+                String keys = "BYTE UINT 2 5 5 + 1 = HEX F 0 RoL 4 = INT 1 +/- >> 9 = QWORD UINT 0 NOT / 0 = C"
+                        + " DEC 9 2 2 3 3 7 2 0 3 6 8 5 4 7 7 5 8 0 7 * 3 =";
+                // Запись так же, как в контроллере: при ошибке — текст, иначе — значение
+                for (String key : keys.split(" ")) {
+                    Opcode opcode = Opcode.fromText(key);
+                    model.process(opcode);
+                    String error = model.getErrorMessage();
+                    if (error.isEmpty()) {
+                        journal.record(opcode, model.getValue());
+                    } else {
+                        journal.record(opcode, error);
+                    }
+                }
+                assertEquals(Long.MAX_VALUE * 3, model.getValue());
+            }
+            JournalReplayer.Summary summary = JournalReplayer.replay(path);
+            assertEquals(5, summary.getResults());
+            assertEquals(0, summary.getMismatches(), summary.toString());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты точности научных функций: границы погрешности уровня FAST из документации
+ * {@link ScientificFunctions.AccuracyTier#FAST} относительно {@link StrictMath} и погрешность гамма-функции.
+ */
+class ScientificFunctionsTest {
+    private static final int SAMPLES = 200_000; // Случайных аргументов на каждую функцию
+    private static final ScientificFunctions.AccuracyTier FAST = ScientificFunctions.AccuracyTier.FAST;
+    private static final MathContext EXACT = new MathContext(40); // Точность эталонных значений гамма-функции
+    private static final BigDecimal SQRT_PI = new BigDecimal("1.772453850905516027298167483341145182797549456122");
+
+    /**
+     * Возвращает погрешность значения в ulp относительно эталона.
+     */
+    private static double ulps(double value, double expected) {
+        if (value == expected) {
+            return 0;
+        }
+        return Math.abs(value - expected) / Math.ulp(expected);
+    }
+
+    /**
+     * Проверяет, что погрешность функции на аргументах из [from, to] не превышает bound ulp.
+     */
+    private static void assertUlps(String name, double bound, double from, double to,
+                                   DoubleUnaryOperator fast, DoubleUnaryOperator strict) {
+        SplittableRandom random = new SplittableRandom(20);
+        double max = 0;
+        double worst = Double.NaN;
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble(from, to);
+            double error = ulps(fast.applyAsDouble(x), strict.applyAsDouble(x));
+            if (!(error <= max)) {
+                max = error;
+                worst = x;
+            }
+        }
+        assertTrue(max <= bound, name + ": " + max + " ulp при x = " + worst);
+    }
+
+    /**
+     * Возвращает случайное положительное число с двоичным порядком из [minExponent, maxExponent].
+     */
+    private static double logUniform(SplittableRandom random, int minExponent, int maxExponent) {
+        return Math.scalb(random.nextDouble(1, 2), random.nextInt(minExponent, maxExponent + 1));
+    }
+
+    @Test
+    void trigonometricFunctionsStayWithinDocumentedBounds() {
+        double limit = 0x1p20;
+        assertUlps("sin", 2, -limit, limit, x -> ScientificFunctions.sin(x, FAST), StrictMath::sin);
+        assertUlps("cos", 2, -limit, limit, x -> ScientificFunctions.cos(x, FAST), StrictMath::cos);
+        assertUlps("tan", 4, -limit, limit, x -> ScientificFunctions.tan(x, FAST), StrictMath::tan);
+        // Основной диапазон, где результаты не близки к нулю
+        assertUlps("sin", 2, -10, 10, x -> ScientificFunctions.sin(x, FAST), StrictMath::sin);
+        assertUlps("cos", 2, -10, 10, x -> ScientificFunctions.cos(x, FAST), StrictMath::cos);
+        assertUlps("tan", 4, -10, 10, x -> ScientificFunctions.tan(x, FAST), StrictMath::tan);
+    }
+
+    @Test
+    void inverseTrigonometricFunctionsStayWithinDocumentedBounds() {
+        assertUlps("asin", 3, -1, 1, x -> ScientificFunctions.asin(x, FAST), StrictMath::asin);
+        assertUlps("acos", 2, -1, 1, x -> ScientificFunctions.acos(x, FAST), StrictMath::acos);
+        assertUlps("atan", 2, -20, 20, x -> ScientificFunctions.atan(x, FAST), StrictMath::atan);
+
+        SplittableRandom random = new SplittableRandom(20);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = logUniform(random, -60, 60) * (random.nextBoolean() ? 1 : -1);
+            double error = ulps(ScientificFunctions.atan(x, FAST), StrictMath.atan(x));
+            assertTrue(error <= 2, "atan: " + error + " ulp при x = " + x);
+        }
+    }
+
+    @Test
+    void exponentAndLogarithmsStayWithinDocumentedBounds() {
+        assertUlps("exp", 2, -708, 708, x -> ScientificFunctions.exp(x, FAST), StrictMath::exp);
+        assertUlps("exp", 2, -1, 1, x -> ScientificFunctions.exp(x, FAST), StrictMath::exp);
+        assertUlps("ln", 2, 0.5, 2, x -> ScientificFunctions.ln(x, FAST), StrictMath::log);
+        assertUlps("log", 2, 0.5, 2, x -> ScientificFunctions.log10(x, FAST), StrictMath::log10);
+
+        SplittableRandom random = new SplittableRandom(20);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = logUniform(random, -1022, 1023);
+            double ln = ulps(ScientificFunctions.ln(x, FAST), StrictMath.log(x));
+            double log = ulps(ScientificFunctions.log10(x, FAST), StrictMath.log10(x));
+            assertTrue(ln <= 2, "ln: " + ln + " ulp при x = " + x);
+            assertTrue(log <= 2, "log: " + log + " ulp при x = " + x);
+        }
+    }
+
+    @Test
+    void powerStaysWithinDocumentedBounds() {
+        SplittableRandom random = new SplittableRandom(20);
+        DoubleBinaryOperator fast = (x, y) -> ScientificFunctions.pow(x, y, FAST);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Целые показатели |y| ≤ 16, основание любого знака
+            double x = logUniform(random, -40, 40) * (random.nextBoolean() ? 1 : -1);
+            double y = random.nextInt(-16, 17);
+            double error = ulps(fast.applyAsDouble(x, y), StrictMath.pow(x, y));
+            assertTrue(error <= 11, "pow: " + error + " ulp при x = " + x + ", y = " + y);
+
+            // Дробные показатели при |y·ln x| ≤ 4
+            x = logUniform(random, -20, 20);
+            y = random.nextDouble(-4, 4) / Math.abs(StrictMath.log(x));
+            error = ulps(fast.applyAsDouble(x, y), StrictMath.pow(x, y));
+            assertTrue(error <= 7, "pow: " + error + " ulp при x = " + x + ", y = " + y);
+        }
+    }
+
+    @Test
+    void gammaAtHalfIntegersStaysWithinDocumentedBounds() {
+        for (ScientificFunctions.AccuracyTier tier : ScientificFunctions.AccuracyTier.values()) {
+            // Γ(1/2) = √π, Γ(x + 1) = x·Γ(x)
+            BigDecimal up = SQRT_PI;
+            BigDecimal down = SQRT_PI;
+            for (int n = 0; n <= 170; n++) {
+                double x = n + 0.5;
+                double error = ulps(ScientificFunctions.gamma(x, tier), up.doubleValue());
+                assertTrue(error <= 12, tier + ": Γ(" + x + ") — " + error + " ulp");
+                up = up.multiply(BigDecimal.valueOf(x), EXACT);
+
+                double negative = -x;
+                down = down.divide(BigDecimal.valueOf(negative), EXACT); // Γ(x - 1) = Γ(x) / (x - 1)
+                // Формула отражения для отрицательных аргументов добавляет погрешность синуса и деления
+                if (Math.abs(down.doubleValue()) >= Double.MIN_NORMAL) {
+                    error = ulps(ScientificFunctions.gamma(negative, tier), down.doubleValue());
+                    assertTrue(error <= 14, tier + ": Γ(" + negative + ") — " + error + " ulp");
+                }
+            }
+        }
+    }
+}
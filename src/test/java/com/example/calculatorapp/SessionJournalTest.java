@@ -0,0 +1,137 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.MathContext;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты двоичного журнала сессий и его воспроизведения.
+ */
+class SessionJournalTest {
+    private static final Opcode[] TWO_THIRDS = {Opcode.DIGIT_2, Opcode.DIVIDE, Opcode.DIGIT_3, Opcode.EQUALS};
+
+    /**
+     * Применяет кнопки к модели и записывает их в журнал так же, как контроллер.
+     */
+    private static void play(SessionJournal journal, CalculatorModel model, Opcode... opcodes) throws IOException {
+        for (Opcode opcode : opcodes) {
+            journal.record(opcode, InputProcessor.process(model, opcode));
+        }
+    }
+
+    @Test
+    void precisionAndAccuracyMarkersAreReplayed() throws IOException {
+        Path path = Files.createTempFile("journal", ".bin");
+        try {
+            Files.delete(path);
+            try (SessionJournal journal = new SessionJournal(path)) {
+                CalculatorModel model = new CalculatorModel();
+                play(journal, model, TWO_THIRDS); // 0.6666666666666666 в режиме double
+                model.setPrecision(MathContext.DECIMAL64);
+                journal.recordPrecision(MathContext.DECIMAL64);
+                play(journal, model, TWO_THIRDS); // 0.6666666666666667 в режиме DECIMAL64
+                model.setAccuracyTier(ScientificFunctions.AccuracyTier.FAST);
+                journal.recordAccuracyTier(ScientificFunctions.AccuracyTier.FAST);
+                model.setPrecision(null);
+                journal.recordPrecision(null);
+                play(journal, model, Opcode.DIGIT_1, Opcode.EXP, Opcode.EQUALS);
+            }
+            JournalReplayer.Summary summary = JournalReplayer.replay(path);
+            assertEquals(1, summary.getSessions());
+            assertEquals(3, summary.getResults());
+            assertEquals(0, summary.getMismatches(), summary.toString());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Применяет кнопки к модели, записывает их в журнал и сохраняет снимки так же, как контроллер.
+     */
+    private static void play(SessionJournal journal, CalculatorModel model, CalculatorStateStore states,
+                             Opcode... opcodes) throws IOException {
+        for (Opcode opcode : opcodes) {
+            journal.record(opcode, InputProcessor.process(model, opcode));
+            states.push(model.snapshot());
+        }
+    }
+
+    @Test
+    void undoAndRedoAreReplayed() throws IOException {
+        Path path = Files.createTempFile("journal", ".bin");
+        try {
+            Files.delete(path);
+            try (SessionJournal journal = new SessionJournal(path)) {
+                CalculatorModel model = new CalculatorModel();
+                CalculatorStateStore states = new CalculatorStateStore(CalculatorStateStore.UNDO_LIMIT);
+                // 7 × 6, отмена «6» и ввод «5»: 7 × 5 = 35
+                play(journal, model, states, Opcode.DIGIT_7, Opcode.MULTIPLY, Opcode.DIGIT_6);
+                model.restore(states.undo());
+                journal.recordUndo();
+                play(journal, model, states, Opcode.DIGIT_5, Opcode.EQUALS);
+                assertEquals("35", model.getCurrentValue());
+
+                // Отмена и повтор смены режима точности
+                model.setPrecision(MathContext.DECIMAL64);
+                states.push(model.snapshot());
+                journal.recordPrecision(MathContext.DECIMAL64);
+                model.restore(states.undo());
+                journal.recordUndo();
+                play(journal, model, states, TWO_THIRDS); // 0.6666666666666666 в режиме double
+                model.restore(states.undo());
+                journal.recordUndo();
+                model.restore(states.redo());
+                journal.recordRedo();
+                play(journal, model, states, Opcode.MULTIPLY, Opcode.DIGIT_3, Opcode.EQUALS);
+            }
+            JournalReplayer.Summary summary = JournalReplayer.replay(path);
+            assertEquals(3, summary.getResults());
+            assertEquals(0, summary.getMismatches(), summary.toString());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void completedCalculationIsFlushedImmediately() throws IOException {
+        Path path = Files.createTempFile("journal", ".bin");
+        try (SessionJournal journal = new SessionJournal(path)) {
+            CalculatorModel model = new CalculatorModel();
+            play(journal, model, Opcode.DIGIT_7, Opcode.MULTIPLY, Opcode.DIGIT_6);
+            assertEquals(0, Files.size(path), "Незавершенное вычисление остается в буфере");
+            play(journal, model, Opcode.EQUALS);
+            // Заголовок, начало сессии, четыре нажатия и целый результат (код и один байт varint)
+            assertEquals(SessionJournal.MAGIC.length + 1 + 4 + 2, Files.size(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void truncatedTailIsReportedAsIOException() throws IOException {
+        Path path = Files.createTempFile("journal", ".bin");
+        try {
+            Files.delete(path);
+            try (SessionJournal journal = new SessionJournal(path)) {
+                play(journal, new CalculatorModel(), TWO_THIRDS); // Дробный результат — 8 байт
+            }
+            long size = Files.size(path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size - 3);
+            }
+            IOException e = assertThrows(IOException.class, () -> JournalReplayer.replay(path));
+            assertTrue(e.getMessage().contains("обрезан"), e.getMessage());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.calculatorapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты потокового режима.
+ */
+class StreamingEvaluatorTest {
+
+    /**
+     * Вычисляет строки в указанном режиме и возвращает результаты.
+     */
+    private static String run(StreamingEvaluator.Mode mode, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StreamingEvaluator(mode, 2, 64).run(
+                Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+                Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void invalidExpressionResultsAreReportedAsErrors() throws IOException {
+        String output = run(StreamingEvaluator.Mode.EXPR, "exp(1000) - exp(1000)\nexp(1000)\nsqrt(-1)\n(7 + 3) * 2\n");
+        assertEquals("Ошибка: недопустимый аргумент\nОшибка: переполнение\nОшибка: отрицательное число\n20\n", output);
+    }
+}